@@ -1,67 +1,35 @@
 plugins {
-    java
-    application
-    id("org.openjfx.javafxplugin") version "0.1.0"
-    id("org.beryx.jlink") version "2.26.0"
+    id("org.openjfx.javafxplugin") version "0.1.0" apply false
+    id("org.beryx.jlink") version "2.26.0" apply false
 }
 
-group = "com.capital7software.ai"
-version = "1.0.0"
-
-java {
-    sourceCompatibility = JavaVersion.VERSION_21
-}
-
-repositories {
-    mavenCentral()
+allprojects {
+    group = "com.capital7software.ai"
+    version = "1.0.0"
 }
 
-dependencies {
-    implementation("org.jetbrains:annotations:24.0.1")
-    testImplementation("org.junit.jupiter:junit-jupiter-api:5.9.2")
-    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.9.2")
-    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
-}
+subprojects {
+    apply(plugin = "java")
 
-javafx {
-    version = "21.0.1"
-    modules.add("javafx.controls")
-    modules.add("javafx.fxml")
-}
-
-jlink {
-    launcher {
-        name = "local-search"
-        moduleName = "com.capital7software.ai.localsearch"
-        mainClass = "com.capital7software.ai.localsearch.FindScheduleApplication"
+    configure<JavaPluginExtension> {
+        sourceCompatibility = JavaVersion.VERSION_21
     }
-}
 
-tasks.getByName<Test>("test") {
-    useJUnitPlatform()
-}
+    repositories {
+        mavenCentral()
+    }
 
-tasks.withType<JavaCompile>().configureEach {
-    options.compilerArgs.add("-Xlint:unchecked")
-}
+    dependencies {
+        "testImplementation"("org.junit.jupiter:junit-jupiter-api:5.9.2")
+        "testRuntimeOnly"("org.junit.jupiter:junit-jupiter-engine:5.9.2")
+        "testRuntimeOnly"("org.junit.platform:junit-platform-launcher")
+    }
 
-tasks.withType<Jar>().configureEach {
-    manifest {
-        attributes["Implementation-Title"] = "AI Local Search Example"
-        attributes["Implementation-Version"] = "1.0.0.0"
-        attributes["Main-Class"] = "com.capital7software.ai.localsearch.FindScheduleApplication"
+    tasks.withType<Test>().configureEach {
+        useJUnitPlatform()
     }
-}
 
-//create a single Jar with all dependencies
-tasks.register("fatJar", Jar::class) {
-    group = "build"
-    archiveBaseName = "${project.name}-fat"
-    from(configurations.runtimeClasspath.get().map { if (it.isDirectory) it else zipTree(it) })
-    duplicatesStrategy = DuplicatesStrategy.EXCLUDE
-    with(tasks.jar.get() as CopySpec)
+    tasks.withType<JavaCompile>().configureEach {
+        options.compilerArgs.add("-Xlint:unchecked")
+    }
 }
-
-tasks.getByName<JavaExec>("run") {
-    mainClass = "com.capital7software.ai.localsearch.FindScheduleApplication"
-}
\ No newline at end of file
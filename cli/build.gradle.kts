@@ -0,0 +1,56 @@
+// The headless command line runner, which never loads JavaFX.
+plugins {
+    application
+    id("org.beryx.jlink")
+}
+
+dependencies {
+    implementation(project(":core"))
+}
+
+application {
+    applicationName = "find-schedule"
+    mainClass = "com.capital7software.ai.localsearch.cli.FindScheduleCommand"
+
+    // The JVM writes an AppCDS archive of the classes it loaded on the first run and maps it on every run after
+    // that, which keeps startup short.
+    applicationDefaultJvmArgs = listOf(
+        "-XX:+AutoCreateSharedArchive", "-Xlog:cds=off", "-XX:SharedArchiveFile=__APP_HOME__/lib/find-schedule.jsa"
+    )
+}
+
+tasks.startScripts {
+    doLast {
+        unixScript.writeText(unixScript.readText().replace("__APP_HOME__", "'\"\$APP_HOME\"'"))
+        windowsScript.writeText(windowsScript.readText().replace("__APP_HOME__", "%APP_HOME%"))
+    }
+}
+
+// Runs the installed command line runner once so that its AppCDS archive already exists before the first real run.
+tasks.register<Exec>("cdsArchive") {
+    group = "distribution"
+    description = "Installs the command line runner and creates its AppCDS archive with a training run."
+    dependsOn(tasks.installDist)
+
+    val windows = System.getProperty("os.name").lowercase().contains("windows")
+    val script = layout.buildDirectory.file("install/find-schedule/bin/find-schedule" + if (windows) ".bat" else "")
+
+    commandLine(script.get().asFile.absolutePath, "--seed", "1", "--max-assignments", "1000")
+    outputs.file(layout.buildDirectory.file("install/find-schedule/lib/find-schedule.jsa"))
+}
+
+jlink {
+    launcher {
+        name = "find-schedule"
+        moduleName = "com.capital7software.ai.localsearch.cli"
+        mainClass = "com.capital7software.ai.localsearch.cli.FindScheduleCommand"
+    }
+}
+
+tasks.withType<Jar>().configureEach {
+    manifest {
+        attributes["Implementation-Title"] = "AI Local Search Command Line"
+        attributes["Implementation-Version"] = "1.0.0.0"
+        attributes["Main-Class"] = "com.capital7software.ai.localsearch.cli.FindScheduleCommand"
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * File: FindScheduleCommand.java
+ */
+package com.capital7software.ai.localsearch.cli;
+
+import com.capital7software.ai.localsearch.AlgorithmSelector;
+import com.capital7software.ai.localsearch.Course;
+import com.capital7software.ai.localsearch.InitialAssignment;
+import com.capital7software.ai.localsearch.LocalSearch;
+import com.capital7software.ai.localsearch.LocalSearchProblem;
+import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.SearchParameters;
+import com.capital7software.ai.localsearch.SearchStrategy;
+import com.capital7software.ai.localsearch.SearchVariable;
+import com.capital7software.ai.localsearch.io.Json;
+import com.capital7software.ai.localsearch.io.ProblemDefinition;
+import com.capital7software.ai.localsearch.io.SearchParametersFile;
+import com.capital7software.ai.localsearch.io.SelectionTable;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The FindScheduleCommand is a headless command line runner for LocalSearch that never starts JavaFX. It loads one
+ * or more problem definitions, searches each of them and writes the results to standard out or to a directory. If no
+ * problem definitions are specified, the problem that is built into LocalSearchProblem is searched.
+ * <p>
+ * The problems are searched concurrently on a fixed pool of threads. Every problem gets its own LocalSearchProblem
+ * so that the searches do not share any variables. The exit status is 0 if every problem was solved, 1 if at least
+ * one problem was not solved or the command was interrupted and 2 if the arguments or a problem definition are
+ * invalid or a search failed.
+ * <p>
+ * The file that a result is written to in the output directory is named after the problem, with every character
+ * other than a letter, digit, '.', '_' or '-' replaced by '_' so that a name cannot reach outside the directory.
+ * When more than one problem would be written to the same file, the later ones are numbered from 2.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public class FindScheduleCommand {
+    private static final int EXIT_SOLVED = 0;
+    private static final int EXIT_UNSOLVED = 1;
+    private static final int EXIT_USAGE = 2;
+
+    private static final String USAGE = """
+            Usage: find-schedule [options] [problem.json ...]
+
+            Searches each problem definition for a schedule. The built-in problem is searched when no problem
+            definitions are given.
+
+            Options:
+              --seed <n>             seed the search; problem i is searched with seed n + i
+              --deadline <ms>        give up on a problem after this many milliseconds
+              --max-assignments <n>  give up on a problem after this many assignments
+              --strategy <name>      random-conflict (default), highest-score, steepest-descent or auto
+              --selection <file>     choose the configuration of auto from the trained table in <file>
+              --initial <name>       random (default) or greedy initial assignment
+              --parameters <file>    search with the parameters in <file>, such as one written by tune-parameters
+              --parallelism <n>      number of problems searched at once (default: available processors)
+              --format <name>        summary (default), verbose or json
+              --out-dir <dir>        write each result to <dir>/<problem>.<txt|json> instead of standard out;
+                                     repeated problem names are numbered <problem>-2, <problem>-3, ...
+              --help                 print this message
+            """;
+
+    /**
+     * The format of the results that are written for every problem.
+     */
+    enum Format {
+        SUMMARY, VERBOSE, JSON
+    }
+
+    /**
+     * The result of searching a single problem.
+     *
+     * @param name the name of the problem.
+     * @param solved true if a solution was found.
+     * @param output the formatted output of the search.
+     */
+    record Result(String name, boolean solved, String output) {
+    }
+
+    private final List<ProblemDefinition> problems;
+    private final Set<String> fileNames;
+    private Long seed;
+    private Duration deadline;
+    private int maxAssignments;
+    private SearchStrategy strategy;
+    private InitialAssignment initialAssignment;
+    private SearchParameters parameters;
+    private AlgorithmSelector selector;
+    private int parallelism;
+    private Format format;
+    private Path outDir;
+
+    /**
+     * Initializes a runner with the default options and no problems.
+     */
+    FindScheduleCommand() {
+        problems = new ArrayList<>();
+        strategy = SearchStrategy.RANDOM_CONFLICT;
+        initialAssignment = InitialAssignment.RANDOM;
+        parameters = SearchParameters.DEFAULT;
+        selector = AlgorithmSelector.getDefault();
+        parallelism = Runtime.getRuntime().availableProcessors();
+        format = Format.SUMMARY;
+        fileNames = new HashSet<>();
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Parses the arguments, searches every problem and writes the results.
+     *
+     * @param args the command line arguments.
+     * @param out where results are written to when there is no output directory.
+     * @param err where errors and usage information are written to.
+     * @return the exit status.
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        FindScheduleCommand command = new FindScheduleCommand();
+
+        try {
+            if (!command.parseArguments(args)) {
+                out.print(USAGE);
+                return EXIT_SOLVED;
+            }
+        } catch (IllegalArgumentException | IOException ex) {
+            err.println("find-schedule: " + ex.getMessage());
+            err.print(USAGE);
+            return EXIT_USAGE;
+        }
+
+        try {
+            boolean allSolved = true;
+
+            for (Result result : command.searchAll()) {
+                allSolved &= result.solved();
+                command.write(result, out);
+            }
+
+            return allSolved ? EXIT_SOLVED : EXIT_UNSOLVED;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            err.println("find-schedule: interrupted");
+            return EXIT_UNSOLVED;
+        } catch (ExecutionException ex) {
+            err.println("find-schedule: " + ex.getCause().getMessage());
+            return EXIT_USAGE;
+        } catch (IOException ex) {
+            err.println("find-schedule: " + ex.getMessage());
+            return EXIT_USAGE;
+        }
+    }
+
+    /**
+     * Parses the command line arguments.
+     *
+     * @param args the command line arguments.
+     * @return false if help was requested; otherwise true.
+     * @throws IOException indicates that a problem definition could not be read.
+     * @throws IllegalArgumentException indicates that an argument or problem definition is invalid.
+     */
+    boolean parseArguments(String[] args) throws IOException {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+
+            switch (arg) {
+                case "--help", "-h" -> {
+                    return false;
+                }
+                case "--seed" -> seed = parseLong(arg, value(args, ++i, arg));
+                case "--deadline" -> deadline = Duration.ofMillis(parsePositive(arg, value(args, ++i, arg)));
+                case "--max-assignments" -> maxAssignments = (int) parsePositive(arg, value(args, ++i, arg));
+                case "--parallelism" -> parallelism = (int) parsePositive(arg, value(args, ++i, arg));
+                case "--strategy" -> {
+                    String name = value(args, ++i, arg);
+
+                    // The strategy of a search that is configured by the AlgorithmSelector is null.
+                    strategy = name.equals("auto") ? null : parseEnum(SearchStrategy.class, arg, name);
+                }
+                case "--initial" -> initialAssignment = parseEnum(InitialAssignment.class, arg,
+                        value(args, ++i, arg));
+                case "--parameters" -> parameters = SearchParametersFile.read(Paths.get(value(args, ++i, arg)));
+                case "--selection" -> selector = SelectionTable.read(Paths.get(value(args, ++i, arg)));
+                case "--format" -> format = parseEnum(Format.class, arg, value(args, ++i, arg));
+                case "--out-dir" -> outDir = Paths.get(value(args, ++i, arg));
+                default -> {
+                    if (arg.startsWith("-")) {
+                        throw new IllegalArgumentException("unknown option " + arg);
+                    }
+
+                    problems.add(ProblemDefinition.read(Paths.get(arg)));
+                }
+            }
+        }
+
+        if (problems.isEmpty()) {
+            problems.add(ProblemDefinition.builtIn());
+        }
+
+        return true;
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(option + " requires a value");
+        }
+
+        return args[index];
+    }
+
+    private static long parseLong(String option, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(option + " must be a number: " + value);
+        }
+    }
+
+    private static long parsePositive(String option, String value) {
+        long answer = parseLong(option, value);
+
+        if (answer <= 0 || answer > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(option + " must be greater than zero: " + value);
+        }
+
+        return answer;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String option, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("unknown " + option.substring(2) + " " + value);
+        }
+    }
+
+    /**
+     * Searches every problem on a fixed pool of threads and returns the results in the order the problems were
+     * specified. The searches that are still running are aborted if the calling thread is interrupted or a search
+     * fails.
+     *
+     * @return the results in the order the problems were specified.
+     * @throws InterruptedException indicates that the calling thread was interrupted while waiting for a search.
+     * @throws ExecutionException indicates that a search failed.
+     */
+    List<Result> searchAll() throws InterruptedException, ExecutionException {
+        List<Result> answer = new ArrayList<>(problems.size());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, problems.size()));
+
+        try {
+            List<Future<Result>> futures = new ArrayList<>(problems.size());
+
+            for (int i = 0; i < problems.size(); i++) {
+                ProblemDefinition definition = problems.get(i);
+                Long problemSeed = seed == null ? null : seed + i;
+
+                futures.add(executor.submit(() -> search(definition, problemSeed)));
+            }
+
+            for (Future<Result> future : futures) {
+                answer.add(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return answer;
+    }
+
+    private Result search(ProblemDefinition definition, Long problemSeed) {
+        LocalSearchProblem lsp = definition.createProblem();
+        lsp.compileConstraints();
+        LocalSearch ls = new LocalSearch(lsp.getVariables(), lsp, lsp.getConstraints());
+
+        if (problemSeed != null) {
+            lsp.setSeed(problemSeed);
+            ls.setSeed(problemSeed);
+        }
+
+        if (strategy == null) {
+            selector.configure(ls, lsp.getVariables(), lsp, lsp.getConstraints());
+        } else {
+            ls.setStrategy(strategy);
+            ls.setInitialAssignment(initialAssignment);
+        }
+
+        ls.setParameters(parameters);
+
+        long start = System.nanoTime();
+        Map<Object, SearchVariable> solution = ls.search(maxAssignments, deadline);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        String output = switch (format) {
+            case SUMMARY -> ls.getSummary();
+            case VERBOSE -> ls.getLog();
+            case JSON -> toJson(definition.getName(), solution, millis);
+        };
+
+        return new Result(definition.getName(), solution != null, output);
+    }
+
+    private static String toJson(String name, Map<Object, SearchVariable> solution, long millis) {
+        Map<String, Object> answer = new LinkedHashMap<>();
+
+        answer.put("name", name);
+        answer.put("solved", solution != null);
+        answer.put("millis", millis);
+
+        if (solution != null) {
+            Map<String, Object> schedule = new LinkedHashMap<>();
+
+            for (SearchVariable variable : solution.values()) {
+                ScheduledCourse scheduledCourse = (ScheduledCourse) variable;
+                Course course = scheduledCourse.getCourse();
+
+                schedule.put(course.getDepartment() + " " + course.getNumberAsString(),
+                        scheduledCourse.getSemester().getId());
+            }
+
+            answer.put("schedule", schedule);
+        }
+
+        return Json.write(answer) + System.lineSeparator();
+    }
+
+    private void write(Result result, PrintStream out) throws IOException {
+        if (outDir == null) {
+            if (format != Format.JSON) {
+                out.println("Problem: " + result.name());
+            }
+
+            out.print(result.output());
+            out.flush();
+        } else {
+            Files.createDirectories(outDir);
+            Path file = outDir.resolve(fileName(result.name()));
+
+            if (!file.normalize().startsWith(outDir.normalize())) {
+                throw new IOException("the result of " + result.name() + " would be written outside " + outDir);
+            }
+
+            Files.writeString(file, result.output(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Returns the name of the file in the output directory that the result of the problem with the specified name
+     * is written to, which is not the name of a file that an earlier result was written to.
+     */
+    private String fileName(String name) {
+        String base = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        String extension = format == Format.JSON ? ".json" : ".txt";
+
+        if (base.isEmpty()) {
+            base = "problem";
+        }
+
+        String answer = base;
+
+        // Names are compared without case, since two of them may be the same file on some file systems.
+        for (int index = 2; !fileNames.add(answer.toLowerCase(Locale.ROOT)); index++) {
+            answer = base + "-" + index;
+        }
+
+        return answer + extension;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * File: TuneParametersCommand.java
+ */
+package com.capital7software.ai.localsearch.cli;
+
+import com.capital7software.ai.localsearch.LocalSearchProblem;
+import com.capital7software.ai.localsearch.ParameterRace;
+import com.capital7software.ai.localsearch.SearchParameters;
+import com.capital7software.ai.localsearch.io.ProblemDefinition;
+import com.capital7software.ai.localsearch.io.SearchParametersFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * The TuneParametersCommand tunes the SearchParameters of LocalSearch offline. It loads one or more benchmark problem
+ * definitions, races a sample of candidate parameters over them with a ParameterRace and writes the winner as a
+ * parameters file that find-schedule reads with --parameters. If no problem definitions are specified, the problem
+ * that is built into LocalSearchProblem is used.
+ * <p>
+ * The runs of each block of the race are searched on a pool with the requested parallelism. The exit status is 0
+ * if the race finished and 2 if the arguments or a problem definition are invalid.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public class TuneParametersCommand {
+    private static final int EXIT_TUNED = 0;
+    private static final int EXIT_USAGE = 2;
+
+    private static final String USAGE = """
+            Usage: tune-parameters [options] [problem.json ...]
+
+            Races candidate search parameters over the problem definitions and writes the winner. The built-in
+            problem is used when no problem definitions are given.
+
+            Options:
+              --candidates <n>       number of candidate parameters, including the defaults (default: 16)
+              --seeds <n>            number of seeds each problem is searched with (default: 10)
+              --seed <n>             seed of the candidates and of the first block of the race (default: 1)
+              --max-assignments <n>  budget of assignments of each run (default: 10000)
+              --parallelism <n>      number of runs searched at once (default: available processors)
+              --out <file>           write the winner to <file> instead of standard out
+              --help                 print this message
+            """;
+
+    private final List<ProblemDefinition> problems;
+    private int candidates;
+    private int seeds;
+    private long seed;
+    private int maxAssignments;
+    private int parallelism;
+    private Path out;
+
+    /**
+     * Initializes a tuner with the default options and no problems.
+     */
+    TuneParametersCommand() {
+        problems = new ArrayList<>();
+        candidates = 16;
+        seeds = 10;
+        seed = 1;
+        maxAssignments = 10_000;
+        parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Parses the arguments, races the candidates and writes the winner.
+     *
+     * @param args the command line arguments.
+     * @param out where the winner and a summary of the race are written to.
+     * @param err where errors and usage information are written to.
+     * @return the exit status.
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        TuneParametersCommand command = new TuneParametersCommand();
+
+        try {
+            if (!command.parseArguments(args)) {
+                out.print(USAGE);
+                return EXIT_TUNED;
+            }
+        } catch (IllegalArgumentException | IOException ex) {
+            err.println("tune-parameters: " + ex.getMessage());
+            err.print(USAGE);
+            return EXIT_USAGE;
+        }
+
+        try {
+            command.tune(out, err);
+            return EXIT_TUNED;
+        } catch (IOException ex) {
+            err.println("tune-parameters: " + ex.getMessage());
+            return EXIT_USAGE;
+        }
+    }
+
+    /**
+     * Parses the command line arguments.
+     *
+     * @param args the command line arguments.
+     * @return false if help was requested; otherwise true.
+     * @throws IOException indicates that a problem definition could not be read.
+     * @throws IllegalArgumentException indicates that an argument or problem definition is invalid.
+     */
+    boolean parseArguments(String[] args) throws IOException {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+
+            switch (arg) {
+                case "--help", "-h" -> {
+                    return false;
+                }
+                case "--candidates" -> candidates = parsePositive(arg, value(args, ++i, arg));
+                case "--seeds" -> seeds = parsePositive(arg, value(args, ++i, arg));
+                case "--seed" -> seed = parseLong(arg, value(args, ++i, arg));
+                case "--max-assignments" -> maxAssignments = parsePositive(arg, value(args, ++i, arg));
+                case "--parallelism" -> parallelism = parsePositive(arg, value(args, ++i, arg));
+                case "--out" -> out = Paths.get(value(args, ++i, arg));
+                default -> {
+                    if (arg.startsWith("-")) {
+                        throw new IllegalArgumentException("unknown option " + arg);
+                    }
+
+                    problems.add(ProblemDefinition.read(Paths.get(arg)));
+                }
+            }
+        }
+
+        if (problems.isEmpty()) {
+            problems.add(ProblemDefinition.builtIn());
+        }
+
+        return true;
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(option + " requires a value");
+        }
+
+        return args[index];
+    }
+
+    private static long parseLong(String option, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(option + " must be a number: " + value);
+        }
+    }
+
+    private static int parsePositive(String option, String value) {
+        long answer = parseLong(option, value);
+
+        if (answer <= 0 || answer > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(option + " must be greater than zero: " + value);
+        }
+
+        return (int) answer;
+    }
+
+    private void tune(PrintStream out, PrintStream err) throws IOException {
+        List<Supplier<LocalSearchProblem>> suppliers = new ArrayList<>(problems.size());
+
+        for (ProblemDefinition definition : problems) {
+            suppliers.add(() -> {
+                LocalSearchProblem problem = definition.createProblem();
+
+                problem.compileConstraints();
+
+                return problem;
+            });
+        }
+
+        ParameterRace race = new ParameterRace(suppliers);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        SearchParameters winner;
+
+        race.setSeed(seed);
+        race.setSeeds(seeds);
+        race.setMaxAssignments(maxAssignments);
+        race.setPool(pool);
+
+        try {
+            winner = race.race(ParameterRace.sample(candidates, new Random(seed)));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        err.println("tune-parameters: " + race.getBlocks() + " blocks, " + race.getNumRuns() + " runs, "
+                + race.getSurvivors().size() + " of " + candidates + " candidates left");
+
+        String json = SearchParametersFile.write(winner) + System.lineSeparator();
+
+        if (this.out == null) {
+            out.print(json);
+            out.flush();
+        } else {
+            Path parent = this.out.toAbsolutePath().getParent();
+
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            Files.writeString(this.out, json, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+module com.capital7software.ai.localsearch.cli {
+    requires com.capital7software.ai.localsearch;
+
+    exports com.capital7software.ai.localsearch.cli;
+}
@@ -0,0 +1,191 @@
+package com.capital7software.ai.localsearch.cli;
+
+import com.capital7software.ai.localsearch.AlgorithmSelector;
+import com.capital7software.ai.localsearch.EngineConfiguration;
+import com.capital7software.ai.localsearch.InitialAssignment;
+import com.capital7software.ai.localsearch.InstanceFeatures;
+import com.capital7software.ai.localsearch.LocalSearchProblem;
+import com.capital7software.ai.localsearch.MoveType;
+import com.capital7software.ai.localsearch.SearchStrategy;
+import com.capital7software.ai.localsearch.io.Json;
+import com.capital7software.ai.localsearch.io.SelectionTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FindScheduleCommandTest {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    private int run(String... args) {
+        return FindScheduleCommand.run(args, new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void builtInProblemShouldBeSolvedWithSummaryOutput() {
+        assertEquals(0, run("--seed", "42", "--deadline", "60000"));
+
+        String output = out.toString(StandardCharsets.UTF_8);
+
+        assertTrue(output.contains("Problem: built-in"));
+        assertTrue(output.contains("Local Search Summary:"));
+        assertFalse(output.contains("No Solution"));
+    }
+
+    @Test
+    public void greedyInitialAssignmentShouldFindTheSchedule() {
+        assertEquals(0, run("--initial", "greedy", "--seed", "5"));
+        assertFalse(out.toString(StandardCharsets.UTF_8).contains("No Solution"));
+        assertEquals(2, run("--initial", "perfect"));
+    }
+
+    @Test
+    public void automaticStrategyShouldFindTheSchedule() {
+        assertEquals(0, run("--strategy", "auto", "--seed", "5"));
+        assertFalse(out.toString(StandardCharsets.UTF_8).contains("No Solution"));
+    }
+
+    @Test
+    public void automaticStrategyShouldUseATrainedTable() throws IOException {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        EngineConfiguration greedy = new EngineConfiguration(SearchStrategy.HIGHEST_SCORE,
+                EnumSet.of(MoveType.REASSIGN), InitialAssignment.GREEDY, 8, 0, false);
+        Path table = Files.createTempFile("selection", ".json");
+
+        problem.compileConstraints();
+        Files.writeString(table, SelectionTable.write(new AlgorithmSelector(List.of(new AlgorithmSelector.Entry(
+                InstanceFeatures.extract(problem.getVariables(), problem, problem.getConstraints()), greedy)))));
+
+        assertEquals(0, run("--strategy", "auto", "--selection", table.toString(), "--seed", "5"));
+        assertFalse(out.toString(StandardCharsets.UTF_8).contains("No Solution"));
+
+        Files.writeString(table, "{ not json");
+
+        assertEquals(2, run("--strategy", "auto", "--selection", table.toString()));
+    }
+
+    @Test
+    public void parametersShouldBeReadFromAFile() throws IOException {
+        Path parameters = Files.createTempFile("parameters", ".json");
+        Files.writeString(parameters, "{ \"maxVariableTries\": 64, \"weights\": { \"restriction\": 2.0 } }");
+
+        assertEquals(0, run("--parameters", parameters.toString(), "--seed", "5"));
+        assertFalse(out.toString(StandardCharsets.UTF_8).contains("No Solution"));
+        assertEquals(2, run("--parameters", parameters.resolveSibling("missing.json").toString()));
+    }
+
+    @Test
+    public void jsonOutputShouldContainTheSchedule() {
+        assertEquals(0, run("--format", "json", "--strategy", "highest-score", "--seed", "7"));
+
+        Map<?, ?> result = (Map<?, ?>) Json.parse(out.toString(StandardCharsets.UTF_8).trim());
+
+        assertEquals("built-in", result.get("name"));
+        assertEquals(true, result.get("solved"));
+        assertEquals(19, ((Map<?, ?>) result.get("schedule")).size());
+    }
+
+    @Test
+    public void problemsShouldBeWrittenToTheOutputDirectory() throws IOException {
+        Path dir = Files.createTempDirectory("find-schedule");
+        Path problem = dir.resolve("small.json");
+        Files.writeString(problem, """
+                {
+                  "semesters": [ { "id": 1 }, { "id": 2 } ],
+                  "courses": [ "ICS 140", "ICS 141" ],
+                  "constraints": [ { "type": "prerequisite", "course": "ICS 141", "prerequisite": "ICS 140" } ]
+                }
+                """);
+        Path outDir = dir.resolve("out");
+
+        assertEquals(0, run("--parallelism", "2", "--max-assignments", "1000", "--out-dir", outDir.toString(),
+                problem.toString(), problem.toString()));
+        assertTrue(Files.exists(outDir.resolve("small.txt")));
+    }
+
+    @Test
+    public void problemNamesShouldNotReachOutsideTheOutputDirectory() throws IOException {
+        Path dir = Files.createTempDirectory("find-schedule");
+        Path problem = dir.resolve("escape.json");
+        Files.writeString(problem, """
+                {
+                  "name": "../../escaped",
+                  "semesters": [ { "id": 1 }, { "id": 2 } ],
+                  "courses": [ "ICS 140" ]
+                }
+                """);
+        Path outDir = dir.resolve("out");
+
+        assertEquals(0, run("--max-assignments", "1000", "--out-dir", outDir.toString(), problem.toString()));
+        assertTrue(Files.exists(outDir.resolve(".._.._escaped.txt")));
+        assertFalse(Files.exists(dir.getParent().resolve("escaped.txt")));
+    }
+
+    @Test
+    public void problemsWithTheSameNameShouldBeWrittenToDifferentFiles() throws IOException {
+        Path dir = Files.createTempDirectory("find-schedule");
+        String definition = """
+                {
+                  "name": "same",
+                  "semesters": [ { "id": 1 }, { "id": 2 } ],
+                  "courses": [ "%s" ]
+                }
+                """;
+        Path first = dir.resolve("first.json");
+        Path second = dir.resolve("second.json");
+        Path outDir = dir.resolve("out");
+
+        Files.writeString(first, definition.formatted("ICS 140"));
+        Files.writeString(second, definition.formatted("ICS 141"));
+
+        assertEquals(0, run("--format", "json", "--max-assignments", "1000", "--out-dir", outDir.toString(),
+                first.toString(), second.toString()));
+        assertTrue(Files.readString(outDir.resolve("same.json")).contains("ICS 140"));
+        assertTrue(Files.readString(outDir.resolve("same-2.json")).contains("ICS 141"));
+    }
+
+    @Test
+    public void unsolvableProblemsShouldExitWithOne() throws IOException {
+        Path problem = Files.createTempFile("unsolvable", ".json");
+        Files.writeString(problem, """
+                {
+                  "semesters": [ { "id": 1 } ],
+                  "courses": [ "ICS 140", "ICS 141" ],
+                  "constraints": [ { "type": "prerequisite", "course": "ICS 141", "prerequisite": "ICS 140" } ]
+                }
+                """);
+
+        assertEquals(1, run("--max-assignments", "10", problem.toString()));
+    }
+
+    @Test
+    public void invalidArgumentsShouldExitWithTwo() {
+        assertEquals(2, run("--strategy", "sideways"));
+        assertEquals(2, run("--deadline"));
+        assertEquals(2, run("--bogus"));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Usage:"));
+    }
+
+    @Test
+    public void interruptedCommandsShouldStopAndStayInterrupted() {
+        Thread.currentThread().interrupt();
+
+        int status = run("--seed", "42");
+
+        // Clear the interrupt so that it does not leak into the other tests.
+        assertTrue(Thread.interrupted());
+        assertEquals(1, status);
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("find-schedule: interrupted"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.capital7software.ai.localsearch.cli;
+
+import com.capital7software.ai.localsearch.SearchParameters;
+import com.capital7software.ai.localsearch.io.SearchParametersFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TuneParametersCommandTest {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    private int run(String... args) {
+        return TuneParametersCommand.run(args, new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void winnerShouldBeWrittenAsAParametersFile() throws IOException {
+        Path file = Files.createTempDirectory("tune-parameters").resolve("tuned.json");
+
+        assertEquals(0, run("--candidates", "3", "--seeds", "3", "--seed", "2", "--max-assignments", "500",
+                "--parallelism", "2", "--out", file.toString()));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("3 blocks"));
+
+        SearchParameters winner = SearchParametersFile.read(file);
+
+        assertNotNull(winner);
+        assertEquals(0, FindScheduleCommand.run(new String[]{"--seed", "5", "--parameters", file.toString()},
+                new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void invalidArgumentsShouldExitWithTwo() {
+        assertEquals(2, run("--candidates", "0"));
+        assertEquals(2, run("--fastest"));
+        assertEquals(0, run("--help"));
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("Usage: tune-parameters"));
+    }
+}
@@ -0,0 +1,21 @@
+// The search engine, constraints, model and problem definitions. The core must never depend on JavaFX so that it
+// can be embedded in servers and batch jobs.
+plugins {
+    `java-library`
+}
+
+dependencies {
+    implementation("org.jetbrains:annotations:24.0.1")
+}
+
+tasks.withType<Jar>().configureEach {
+    manifest {
+        attributes["Implementation-Title"] = "AI Local Search Core"
+        attributes["Implementation-Version"] = "1.0.0.0"
+    }
+}
+
+// Check prerequisites with the Vector API during the tests. Without the module the scalar loop is used instead.
+tasks.withType<Test>().configureEach {
+    jvmArgs("--add-modules", "jdk.incubator.vector")
+}
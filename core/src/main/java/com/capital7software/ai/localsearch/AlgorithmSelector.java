@@ -0,0 +1,212 @@
+/*
+ * File: AlgorithmSelector.java
+ */
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.ConstraintList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An AlgorithmSelector chooses the EngineConfiguration that is most likely to search a problem fastest from the
+ * shape of the problem. It holds a table of the features of benchmark problems and the configuration that searched
+ * each of them fastest, and selects the configuration of the benchmark problem whose features are nearest to the
+ * features of the problem, comparing them as InstanceFeatures.toVector.
+ * <p>
+ * A table is trained offline by searching a set of benchmark problems with each candidate configuration and passing
+ * the runs to train, which keeps the configuration that solved each problem most often in the least time. A trained
+ * table can be saved and loaded with the SelectionTable class.
+ * <p>
+ * No benchmark runs ship with the engine, so the default table only holds the problem that is built into
+ * LocalSearchProblem with EngineConfiguration.DEFAULT, and selects the default configuration for every problem.
+ * Selecting anything else takes a table that was trained on the problems of the deployment.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public final class AlgorithmSelector {
+    /**
+     * An entry of the table of a selector.
+     *
+     * @param features the features of a benchmark problem.
+     * @param configuration the configuration that searched the benchmark problem fastest.
+     */
+    public record Entry(InstanceFeatures features, EngineConfiguration configuration) {
+        /**
+         * Validates the entry.
+         *
+         * @throws IllegalArgumentException indicates that a parameter is null.
+         */
+        public Entry {
+            if (features == null) {
+                throw new IllegalArgumentException("features cannot be null.");
+            }
+
+            if (configuration == null) {
+                throw new IllegalArgumentException("configuration cannot be null.");
+            }
+        }
+    }
+
+    /**
+     * A benchmark run of a configuration on a problem.
+     *
+     * @param features the features of the problem.
+     * @param configuration the configuration that searched the problem.
+     * @param solved true if the search found a solution.
+     * @param millis the number of milliseconds the search took.
+     */
+    public record Run(InstanceFeatures features, EngineConfiguration configuration, boolean solved, long millis) {
+    }
+
+    private static final AlgorithmSelector DEFAULT = new AlgorithmSelector(List.of(
+            new Entry(builtInFeatures(), EngineConfiguration.DEFAULT)));
+
+    private final List<Entry> entries;
+
+    /**
+     * Initializes a selector with the specified table.
+     *
+     * @param entries the table of the selector. Cannot be null or empty.
+     * @throws IllegalArgumentException indicates that entries is null, empty or contains null.
+     */
+    public AlgorithmSelector(List<Entry> entries) {
+        if (entries == null || entries.isEmpty() || entries.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("entries cannot be null, cannot be empty and cannot contain null.");
+        }
+
+        this.entries = List.copyOf(entries);
+    }
+
+    private static InstanceFeatures builtInFeatures() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+
+        problem.compileConstraints();
+
+        return InstanceFeatures.extract(problem.getVariables(), problem, problem.getConstraints());
+    }
+
+    /**
+     * Returns the selector with the default table, which selects EngineConfiguration.DEFAULT for every problem.
+     *
+     * @return the selector with the default table.
+     */
+    public static AlgorithmSelector getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Trains a selector from the specified benchmark runs. For each problem, the configuration that solved it in
+     * the most runs is kept, with ties going to the configuration with the least total time of its solved runs.
+     *
+     * @param runs the benchmark runs. Cannot be null or empty.
+     * @return a selector with an entry for each problem of the runs.
+     * @throws IllegalArgumentException indicates that runs is null or empty.
+     */
+    public static AlgorithmSelector train(List<Run> runs) {
+        if (runs == null || runs.isEmpty()) {
+            throw new IllegalArgumentException("runs cannot be null and cannot be empty.");
+        }
+
+        // The number of solved runs and their total time of each configuration of each problem.
+        Map<InstanceFeatures, Map<EngineConfiguration, long[]>> results = new LinkedHashMap<>();
+
+        for (Run run : runs) {
+            long[] result = results.computeIfAbsent(run.features(), features -> new LinkedHashMap<>())
+                    .computeIfAbsent(run.configuration(), configuration -> new long[2]);
+
+            if (run.solved()) {
+                result[0]++;
+                result[1] += run.millis();
+            }
+        }
+
+        List<Entry> entries = new ArrayList<>(results.size());
+
+        for (Map.Entry<InstanceFeatures, Map<EngineConfiguration, long[]>> problem : results.entrySet()) {
+            EngineConfiguration best = null;
+            long[] bestResult = null;
+
+            for (Map.Entry<EngineConfiguration, long[]> candidate : problem.getValue().entrySet()) {
+                long[] result = candidate.getValue();
+
+                if (bestResult == null || result[0] > bestResult[0]
+                        || (result[0] == bestResult[0] && result[1] < bestResult[1])) {
+                    best = candidate.getKey();
+                    bestResult = result;
+                }
+            }
+
+            entries.add(new Entry(problem.getKey(), best));
+        }
+
+        return new AlgorithmSelector(entries);
+    }
+
+    /**
+     * Returns the table of this selector.
+     *
+     * @return the table of this selector.
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Returns the configuration of the entry whose features are nearest to the specified features.
+     *
+     * @param features the features of the problem to search. Cannot be null.
+     * @return the configuration that is most likely to search the problem fastest.
+     * @throws IllegalArgumentException indicates that features is null.
+     */
+    public EngineConfiguration select(InstanceFeatures features) {
+        if (features == null) {
+            throw new IllegalArgumentException("features cannot be null.");
+        }
+
+        double[] vector = features.toVector();
+        Entry nearest = null;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+
+        for (Entry entry : entries) {
+            double[] other = entry.features().toVector();
+            double distance = 0.0;
+
+            for (int i = 0; i < vector.length; i++) {
+                distance += (vector[i] - other[i]) * (vector[i] - other[i]);
+            }
+
+            if (distance < nearestDistance) {
+                nearest = entry;
+                nearestDistance = distance;
+            }
+        }
+
+        return nearest.configuration();
+    }
+
+    /**
+     * Computes the features of the specified problem and configures the specified search with the configuration
+     * that is most likely to search it fastest.
+     *
+     * @param search the search to configure. Cannot be null.
+     * @param variables the variables of the problem.
+     * @param domain the domain of the variables.
+     * @param constraints the constraints of the problem.
+     * @return the configuration that the search was configured with.
+     * @throws IllegalArgumentException indicates that a parameter is null.
+     */
+    public EngineConfiguration configure(LocalSearch search, Collection<SearchVariable> variables,
+                                         VariableDomain domain, ConstraintList constraints) {
+        EngineConfiguration answer = select(InstanceFeatures.extract(variables, domain, constraints));
+
+        answer.apply(search);
+
+        return answer;
+    }
+}
@@ -7,6 +7,7 @@ import com.capital7software.ai.localsearch.constraints.Constraint;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 /**
  * The ConflictList class provides data about a list of conflicts. It is capable of providing the total number of
@@ -53,6 +54,20 @@ public interface ConflictList {
      */
     SearchVariable getVariableWithTheHighestScore();
 
+    /**
+     * Returns a variable that has the most conflicts within the list of constraints contained within this
+     * ConstraintList. If more than one variable have the greatest number of conflicts, then the specified random
+     * number generator is used to select the one returned. Implementing classes that do not use the random number
+     * generator break ties the way getVariableWithTheHighestScore() does.
+     *
+     * @param random the random number generator used to break ties. Cannot be null.
+     * @return a variable that has the most conflicts within the list of constraints contained within this
+     * ConstraintList.
+     */
+    default SearchVariable getVariableWithTheHighestScore(Random random) {
+        return getVariableWithTheHighestScore();
+    }
+
     /**
      * Returns true if this ConflictList is empty
      *
@@ -72,6 +87,28 @@ public interface ConflictList {
      */
     void scoreConflicts();
 
+    /**
+     * Calculates the scores based on the current list of conflicts with the specified weights of the types of
+     * constraints. Implementing classes that do not weight the types of constraints ignore the weights.
+     *
+     * @param weights the weights of the types of constraints. Cannot be null.
+     */
+    default void scoreConflicts(ConflictWeights weights) {
+        scoreConflicts();
+    }
+
+    /**
+     * Calculates the scores based on the current list of conflicts with the specified weights of the types of
+     * constraints, using the ids of the specified registry to keep track of the variables that are registered in it.
+     * Implementing classes that do not use the ids ignore the registry.
+     *
+     * @param weights the weights of the types of constraints. Cannot be null.
+     * @param registry the registry of the variables of the search. Cannot be null.
+     */
+    default void scoreConflicts(ConflictWeights weights, SearchRegistry registry) {
+        scoreConflicts(weights);
+    }
+
     /**
      * Returns the number of variables that are in conflict. scoreConflicts must be called first
      * in order for this method to return valid results.
@@ -88,6 +125,18 @@ public interface ConflictList {
      */
     SearchVariable getRandomVariableInConflict();
 
+    /**
+     * Returns a variable in conflict that is selected with the specified random number generator. Implementing
+     * classes that do not use the random number generator select the variable the way
+     * getRandomVariableInConflict() does.
+     *
+     * @param random the random number generator used to select the variable. Cannot be null.
+     * @return a variable in conflict at random.
+     */
+    default SearchVariable getRandomVariableInConflict(Random random) {
+        return getRandomVariableInConflict();
+    }
+
     /**
      * Returns another variable in conflict. If the specified variable is the only one in conflict it is simply
      * returned.
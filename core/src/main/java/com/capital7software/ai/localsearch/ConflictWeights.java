@@ -0,0 +1,39 @@
+/*
+ * File: ConflictWeights.java
+ */
+package com.capital7software.ai.localsearch;
+
+/**
+ * The ConflictWeights are how much a ScheduleConflictList adds to the score of a variable for each degree of
+ * violation of each type of constraint that it violates. The defaults weight a prerequisite course a little more than
+ * the course that requires it, a course list more than a prerequisite and a semester restriction the most, so that a
+ * walk moves the variables whose violations are hardest to repair first.
+ *
+ * @param prerequisiteCourse the weight added to a course that is scheduled before one of its prerequisites.
+ * @param prerequisite the weight added to a prerequisite that is scheduled after a course that requires it.
+ * @param courseList the weight added to each course in conflict with a course list constraint.
+ * @param restriction the weight added to a course that violates a semester restriction.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public record ConflictWeights(double prerequisiteCourse, double prerequisite, double courseList,
+                              double restriction) {
+
+    /**
+     * The weights that a ScheduleConflictList uses when it is not given any.
+     */
+    public static final ConflictWeights DEFAULT = new ConflictWeights(1.0, 1.1, 1.2, 1.3);
+
+    /**
+     * Validates the weights.
+     *
+     * @throws IllegalArgumentException indicates that a weight is not a positive finite number.
+     */
+    public ConflictWeights {
+        for (double weight : new double[]{prerequisiteCourse, prerequisite, courseList, restriction}) {
+            if (!(weight > 0.0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("weights must be positive finite numbers.");
+            }
+        }
+    }
+}
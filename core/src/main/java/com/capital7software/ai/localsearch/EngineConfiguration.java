@@ -0,0 +1,79 @@
+/*
+ * File: EngineConfiguration.java
+ */
+package com.capital7software.ai.localsearch;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * An EngineConfiguration is the configuration of a LocalSearch that an AlgorithmSelector chooses for a problem: how
+ * the walk selects its moves, how it starts, and what it does when it stalls.
+ *
+ * @param strategy how the walk selects the variable to move.
+ * @param moveTypes the types of moves that the walk makes.
+ * @param initialAssignment how the variables are assigned when the search starts and restarts.
+ * @param neighborhoodSize the number of variables whose moves a STEEPEST_DESCENT search scores in parallel.
+ * @param largeNeighborhoodSize the number of variables repaired before restarting, or 0 to always restart.
+ * @param learnNogoods true if nogoods are learned across restarts.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public record EngineConfiguration(SearchStrategy strategy, Set<MoveType> moveTypes,
+                                  InitialAssignment initialAssignment, int neighborhoodSize,
+                                  int largeNeighborhoodSize, boolean learnNogoods) {
+
+    /**
+     * The configuration of a LocalSearch that has not been configured.
+     */
+    public static final EngineConfiguration DEFAULT = new EngineConfiguration(SearchStrategy.RANDOM_CONFLICT,
+            EnumSet.of(MoveType.REASSIGN), InitialAssignment.RANDOM, 8, 0, false);
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException indicates that a parameter is null or out of range.
+     */
+    public EngineConfiguration {
+        if (strategy == null) {
+            throw new IllegalArgumentException("strategy cannot be null.");
+        }
+
+        if (moveTypes == null || moveTypes.isEmpty()) {
+            throw new IllegalArgumentException("moveTypes cannot be null and cannot be empty.");
+        }
+
+        if (initialAssignment == null) {
+            throw new IllegalArgumentException("initialAssignment cannot be null.");
+        }
+
+        if (neighborhoodSize < 1) {
+            throw new IllegalArgumentException("neighborhoodSize must be at least 1.");
+        }
+
+        if (largeNeighborhoodSize < 0) {
+            throw new IllegalArgumentException("largeNeighborhoodSize cannot be negative.");
+        }
+
+        moveTypes = Set.copyOf(moveTypes);
+    }
+
+    /**
+     * Configures the specified search with this configuration.
+     *
+     * @param search the search to configure. Cannot be null.
+     * @throws IllegalArgumentException indicates that search is null.
+     */
+    public void apply(LocalSearch search) {
+        if (search == null) {
+            throw new IllegalArgumentException("search cannot be null.");
+        }
+
+        search.setStrategy(strategy);
+        search.setMoveTypes(moveTypes);
+        search.setInitialAssignment(initialAssignment);
+        search.setNeighborhoodSize(neighborhoodSize);
+        search.setLargeNeighborhoodSize(largeNeighborhoodSize);
+        search.setLearnNogoods(learnNogoods);
+    }
+}
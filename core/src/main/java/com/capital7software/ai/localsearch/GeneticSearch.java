@@ -0,0 +1,477 @@
+/*
+ * File: GeneticSearch.java
+ */
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.ConstraintList;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * The GeneticSearch class searches for a solution with a population of assignments instead of the single assignment
+ * that LocalSearch walks, over the same variables, VariableDomain and ConstraintList. Where a walk can be trapped in
+ * the same basins restart after restart, a population explores many of them at once, and each generation is
+ * evaluated on every core.
+ * <p>
+ * Each assignment is kept as an array of the ids of the values of the variables, and its fitness is the number of
+ * constraints it violates, counted the same way a steepest descent counts them, with every lists flattened. A
+ * generation keeps the ELITES fittest assignments and replaces the others with children. The parents of a child are
+ * chosen by tournament, and the child inherits whole semesters from them. Each semester is given to one of the
+ * parents at random, and every course that parent scheduled in that semester keeps it, so the courses that were
+ * placed together stay together. The child is then mutated with a few min-conflict steps, each of which moves a
+ * variable in conflict to the value of its domain that violates the fewest constraints.
+ * <p>
+ * The children of a generation are mutated and evaluated in parallel on a ForkJoinPool, each worker against its own
+ * compiled copy of the constraints, so the variables are not changed until the search is over. If a constraint can
+ * only be checked by assigning the variables, the children are mutated and evaluated one at a time on the calling
+ * thread instead. Every child is mutated with its own random number generator, so a search with the same seed finds
+ * the same solution however many workers there are.
+ * <p>
+ * The search stops when an assignment violates no constraints, after the maximum number of generations, when the
+ * time limit has elapsed or when the thread performing it is interrupted. The variables are left with the fittest
+ * assignment that was found.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public class GeneticSearch {
+    private static final int DEFAULT_POPULATION_SIZE = 32;
+    private static final int DEFAULT_MUTATION_STEPS = 3;
+    private static final int MIN_POPULATION_SIZE = 4;
+    private static final int ELITES = 2;
+    private static final int TOURNAMENT_SIZE = 3;
+    private static final int UNSCHEDULED = SearchRegistry.UNKNOWN;
+
+    private final Map<Object, SearchVariable> variables;
+    private final ConstraintList constraints;
+    private final SearchRegistry registry;
+    private final int[][] allowedValues;
+    private final List<Neighborhood> neighborhoods;
+    private Random random;
+    private int populationSize;
+    private int mutationSteps;
+    private ForkJoinPool pool;
+    private int generations;
+    private int bestFitness;
+
+    /**
+     * Initializes the search to be performed. The collection of search variables, the domain for the variables, and
+     * the constraints of the variables are used to find a solution.
+     *
+     * @param variables the collection of search variables to perform a genetic search on
+     * @param domain the domain of possible values for each of the variables in the collection
+     * @param constraints the list of constraints that need to be satisfied in order for the assignment
+     *                    to be a solution.
+     * @throws IllegalArgumentException if any of the parameters are null or invalid.
+     */
+    public GeneticSearch(Collection<SearchVariable> variables, VariableDomain domain, ConstraintList constraints) {
+        if (variables == null || variables.isEmpty()) {
+            throw new IllegalArgumentException("variables cannot be null and cannot be empty.");
+        }
+
+        if (domain == null) {
+            throw new IllegalArgumentException("domain cannot be null.");
+        }
+
+        if (constraints == null) {
+            throw new IllegalArgumentException("constraints cannot be null.");
+        }
+
+        this.variables = new LinkedHashMap<>();
+
+        for (SearchVariable variable : variables) {
+            this.variables.put(variable.getUniqueID(), variable);
+        }
+
+        this.constraints = constraints;
+        this.registry = new SearchRegistry(this.variables.values(), domain.getAllValues());
+        this.allowedValues = new int[registry.getNumVariables()][];
+        this.neighborhoods = new ArrayList<>();
+
+        for (int id = 0; id < allowedValues.length; id++) {
+            allowedValues[id] = domain.getValues(registry.getVariable(id)).stream().mapToInt(registry::getValueId)
+                    .filter(value -> value != SearchRegistry.UNKNOWN).toArray();
+        }
+
+        neighborhoods.add(new Neighborhood(registry, constraints));
+
+        random = new Random(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        populationSize = DEFAULT_POPULATION_SIZE;
+        mutationSteps = DEFAULT_MUTATION_STEPS;
+        pool = ForkJoinPool.commonPool();
+        bestFitness = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Sets the seed of the random number generator of this search.
+     *
+     * @param seed the seed of the random number generator.
+     */
+    public void setSeed(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Returns the number of assignments in the population.
+     *
+     * @return the number of assignments in the population.
+     */
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    /**
+     * Sets the number of assignments in the population. The default is 32.
+     *
+     * @param populationSize the number of assignments in the population. Must be at least 4.
+     * @throws IllegalArgumentException indicates that populationSize is less than 4.
+     */
+    public void setPopulationSize(int populationSize) {
+        if (populationSize < MIN_POPULATION_SIZE) {
+            throw new IllegalArgumentException("populationSize must be at least " + MIN_POPULATION_SIZE + ".");
+        }
+
+        this.populationSize = populationSize;
+    }
+
+    /**
+     * Returns the number of min-conflict steps that each child is mutated with.
+     *
+     * @return the number of min-conflict steps that each child is mutated with.
+     */
+    public int getMutationSteps() {
+        return mutationSteps;
+    }
+
+    /**
+     * Sets the number of min-conflict steps that each child is mutated with. The default is 3.
+     *
+     * @param mutationSteps the number of min-conflict steps that each child is mutated with.
+     * @throws IllegalArgumentException indicates that mutationSteps is negative.
+     */
+    public void setMutationSteps(int mutationSteps) {
+        if (mutationSteps < 0) {
+            throw new IllegalArgumentException("mutationSteps cannot be negative.");
+        }
+
+        this.mutationSteps = mutationSteps;
+    }
+
+    /**
+     * Sets the pool that the children are mutated and evaluated on. The default is the common pool.
+     *
+     * @param pool the pool that the children are mutated and evaluated on. Cannot be null.
+     * @throws IllegalArgumentException indicates that pool is null.
+     */
+    public void setPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool cannot be null.");
+        }
+
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the number of generations of the last search.
+     *
+     * @return the number of generations of the last search.
+     */
+    public int getGenerations() {
+        return generations;
+    }
+
+    /**
+     * Returns the number of constraints violated by the fittest assignment of the last search.
+     *
+     * @return the number of constraints violated by the fittest assignment of the last search.
+     */
+    public int getBestFitness() {
+        return bestFitness;
+    }
+
+    /**
+     * Performs a search for a solution for up to the specified number of generations, or until one is found if it
+     * is 0.
+     *
+     * @param maxGenerations the maximum number of generations, or 0 for no limit.
+     * @return a map of the variables to their values that satisfies the constraints, or null if none was found.
+     */
+    public Map<Object, SearchVariable> search(int maxGenerations) {
+        return search(maxGenerations, null);
+    }
+
+    /**
+     * Performs a search for a solution for up to the specified number of generations, or until one is found if it
+     * is 0, and gives up once the time limit has elapsed. The variables are left with the fittest assignment that
+     * was found.
+     *
+     * @param maxGenerations the maximum number of generations, or 0 for no limit.
+     * @param timeLimit the maximum time to search for, or null for no limit.
+     * @return a map of the variables to their values that satisfies the constraints, or null if none was found.
+     */
+    public Map<Object, SearchVariable> search(int maxGenerations, Duration timeLimit) {
+        long deadline = timeLimit == null ? 0 : System.nanoTime() + timeLimit.toNanos();
+        int workers = neighborhoods.get(0).isParallel() ? Math.min(pool.getParallelism(), populationSize) : 1;
+        int[][] population = new int[populationSize][];
+        int[] fitness = new int[populationSize];
+
+        while (neighborhoods.size() < workers) {
+            neighborhoods.add(new Neighborhood(registry, constraints));
+        }
+
+        for (int i = 0; i < populationSize; i++) {
+            population[i] = randomAssignment();
+        }
+
+        evolve(population, fitness, 0, new long[populationSize], 0, workers);
+        generations = 0;
+
+        int best = fittest(fitness);
+
+        while (fitness[best] > 0 && (generations < maxGenerations || maxGenerations == 0)
+                && !isAborted(timeLimit, deadline)) {
+            int[][] next = new int[populationSize][];
+            int[] nextFitness = new int[populationSize];
+            long[] seeds = new long[populationSize];
+            int[] ranked = rank(fitness);
+
+            for (int i = 0; i < ELITES; i++) {
+                next[i] = population[ranked[i]];
+                nextFitness[i] = fitness[ranked[i]];
+            }
+
+            for (int i = ELITES; i < populationSize; i++) {
+                next[i] = crossover(population[select(fitness)], population[select(fitness)], random);
+                seeds[i] = random.nextLong();
+            }
+
+            evolve(next, nextFitness, ELITES, seeds, mutationSteps, workers);
+            population = next;
+            fitness = nextFitness;
+            best = fittest(fitness);
+            ++generations;
+        }
+
+        bestFitness = fitness[best];
+        assign(population[best]);
+
+        return fitness[best] == 0 ? copyCurrentAssignment() : null;
+    }
+
+    private boolean isAborted(Duration timeLimit, long deadline) {
+        return Thread.currentThread().isInterrupted() || (timeLimit != null && System.nanoTime() - deadline >= 0);
+    }
+
+    private int[] randomAssignment() {
+        int[] answer = new int[allowedValues.length];
+
+        for (int id = 0; id < answer.length; id++) {
+            int[] values = allowedValues[id];
+
+            answer[id] = values.length == 0 ? UNSCHEDULED : values[random.nextInt(values.length)];
+        }
+
+        return answer;
+    }
+
+    private static int fittest(int[] fitness) {
+        int answer = 0;
+
+        for (int i = 1; i < fitness.length; i++) {
+            if (fitness[i] < fitness[answer]) {
+                answer = i;
+            }
+        }
+
+        return answer;
+    }
+
+    private static int[] rank(int[] fitness) {
+        return IntStream.range(0, fitness.length).boxed()
+                .sorted((a, b) -> Integer.compare(fitness[a], fitness[b])).mapToInt(Integer::intValue).toArray();
+    }
+
+    private int select(int[] fitness) {
+        int answer = random.nextInt(fitness.length);
+
+        for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+            int other = random.nextInt(fitness.length);
+
+            if (fitness[other] < fitness[answer]) {
+                answer = other;
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns a child that inherits whole semesters from the specified parents. Each value is given to one of the
+     * parents at random, and the values are ranked in a random order. A variable takes the value it has in a parent
+     * if that parent was given the value, preferring the higher ranked value if both were, and otherwise the value
+     * it has in one of the parents at random.
+     */
+    int[] crossover(int[] first, int[] second, Random random) {
+        int numValues = registry.getNumValues();
+        boolean[] fromFirst = new boolean[numValues];
+        int[] ranks = new int[numValues];
+        int[] child = new int[first.length];
+
+        for (int value = 0; value < numValues; value++) {
+            fromFirst[value] = random.nextBoolean();
+            ranks[value] = value;
+        }
+
+        for (int i = numValues - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ranks[i];
+
+            ranks[i] = ranks[j];
+            ranks[j] = swap;
+        }
+
+        for (int id = 0; id < child.length; id++) {
+            boolean firstGives = first[id] != UNSCHEDULED && fromFirst[first[id]];
+            boolean secondGives = second[id] != UNSCHEDULED && !fromFirst[second[id]];
+
+            if (firstGives && secondGives) {
+                child[id] = ranks[first[id]] <= ranks[second[id]] ? first[id] : second[id];
+            } else if (firstGives || secondGives) {
+                child[id] = firstGives ? first[id] : second[id];
+            } else {
+                child[id] = random.nextBoolean() ? first[id] : second[id];
+            }
+        }
+
+        return child;
+    }
+
+    /**
+     * Mutates the assignments of the population from the specified index on with the specified number of steps and
+     * evaluates them, in parallel if there is more than one worker.
+     */
+    private void evolve(int[][] population, int[] fitness, int from, long[] seeds, int steps, int workers) {
+        if (workers == 1) {
+            for (int i = from; i < population.length; i++) {
+                fitness[i] = mutate(neighborhoods.get(0), population[i], new Random(seeds[i]), steps);
+            }
+
+            return;
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(workers);
+
+        for (int worker = 0; worker < workers; worker++) {
+            Neighborhood neighborhood = neighborhoods.get(worker);
+            int start = from + worker;
+
+            tasks.add(pool.submit(() -> {
+                for (int i = start; i < population.length; i += workers) {
+                    fitness[i] = mutate(neighborhood, population[i], new Random(seeds[i]), steps);
+                }
+            }));
+        }
+
+        // Joining is not interrupted, so every assignment has been evaluated once evolve returns.
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    /**
+     * Performs up to the specified number of min-conflict steps on the specified assignment and returns the number
+     * of constraints that it violates afterward.
+     */
+    int mutate(Neighborhood neighborhood, int[] assignment, Random random, int steps) {
+        int[] conflicted = new int[assignment.length];
+
+        load(neighborhood, assignment);
+
+        for (int step = 0; step < steps; step++) {
+            int numConflicted = 0;
+
+            for (int id = 0; id < assignment.length; id++) {
+                if (neighborhood.isInConflict(id)) {
+                    conflicted[numConflicted++] = id;
+                }
+            }
+
+            if (numConflicted == 0) {
+                break;
+            }
+
+            int variable = conflicted[random.nextInt(numConflicted)];
+            int bestValue = UNSCHEDULED;
+            int bestDelta = Integer.MAX_VALUE;
+            int ties = 0;
+
+            // Ties are broken at random by keeping each of them with equal probability.
+            for (int value : allowedValues[variable]) {
+                if (value == assignment[variable]) {
+                    continue;
+                }
+
+                int delta = neighborhood.delta(variable, value);
+
+                if (delta < bestDelta) {
+                    bestValue = value;
+                    bestDelta = delta;
+                    ties = 1;
+                } else if (delta == bestDelta && random.nextInt(++ties) == 0) {
+                    bestValue = value;
+                }
+            }
+
+            if (bestValue == UNSCHEDULED || bestDelta > 0) {
+                continue;
+            }
+
+            assignment[variable] = bestValue;
+            load(neighborhood, assignment);
+        }
+
+        return neighborhood.getViolations();
+    }
+
+    /**
+     * Takes a snapshot of the specified assignment with the specified neighborhood. If the constraints can only be
+     * checked by assigning the variables, the variables are assigned as well.
+     */
+    private void load(Neighborhood neighborhood, int[] assignment) {
+        if (neighborhood.isParallel()) {
+            neighborhood.snapshot(assignment);
+        } else {
+            assign(assignment);
+            neighborhood.snapshot();
+        }
+    }
+
+    private void assign(int[] assignment) {
+        for (int id = 0; id < assignment.length; id++) {
+            if (assignment[id] != UNSCHEDULED) {
+                registry.getVariable(id).setValue(registry.getValue(assignment[id]));
+            }
+        }
+    }
+
+    private Map<Object, SearchVariable> copyCurrentAssignment() {
+        Map<Object, SearchVariable> answer = new LinkedHashMap<>();
+
+        for (Object key : variables.keySet()) {
+            answer.put(key, variables.get(key).clone());
+        }
+
+        return answer;
+    }
+}
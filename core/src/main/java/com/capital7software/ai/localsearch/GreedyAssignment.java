@@ -0,0 +1,323 @@
+/*
+ * File: GreedyAssignment.java
+ */
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.Constraint;
+import com.capital7software.ai.localsearch.constraints.ConstraintList;
+import com.capital7software.ai.localsearch.constraints.CoursesPerSemesterConstraint;
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+import com.capital7software.ai.localsearch.constraints.Prerequisite;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A GreedyAssignment builds an initial assignment that starts close to a solution, instead of the uniformly random
+ * assignment that violates a large fraction of the prerequisites and capacities.
+ * <p>
+ * The variables are assigned in a topological order of their prerequisites, so every course is assigned after the
+ * courses it requires. Each course is assigned the first value of its domain that has capacity left in every
+ * CoursesPerSemesterConstraint that limits that semester and that satisfies every other constraint whose variables
+ * have all been assigned. If no value does, the course is assigned the value with capacity left that violates the
+ * fewest of them. The order is chosen at random from the courses whose prerequisites have all been assigned, which
+ * keeps the assignments of successive restarts diverse. Courses on a cycle of prerequisites are assigned last in a
+ * random order.
+ * <p>
+ * When the search learns nogoods, a value that completes a nogood with the courses assigned before it is only
+ * assigned if every value that does not complete one is at capacity, so the greedy restarts avoid the nogoods as
+ * the random ones do.
+ * <p>
+ * Every lists are flattened so that each of their constraints is checked on its own. Constraints that do not return
+ * their variables are ignored, and the unary constraints are expected to have been folded into the domain.
+ *
+ * @author Vincent J. Palodichuk
+ */
+final class GreedyAssignment {
+    private final SearchRegistry registry;
+    private final VariableDomain domain;
+    private final List<Constraint> units;
+    private final List<int[]> unitVariables;
+    private final int[][] unitsOf;
+    private final int[][] requiredBy;
+    private final int[] numRequired;
+    private final List<CoursesPerSemesterConstraint> capacities;
+    private final int[][] capacitiesOf;
+    // Whether each capacity limits each value, which is the case if the value is one of the semesters of the
+    // capacity.
+    private final boolean[][] limits;
+
+    /**
+     * Compiles the specified constraints against the ids of the specified registry.
+     *
+     * @param registry the registry of the variables and values of the search.
+     * @param constraints the constraints of the search.
+     * @param domain the domain of the variables.
+     */
+    GreedyAssignment(SearchRegistry registry, ConstraintList constraints, VariableDomain domain) {
+        this.registry = registry;
+        this.domain = domain;
+        this.units = new ArrayList<>();
+        this.unitVariables = new ArrayList<>();
+        this.capacities = new ArrayList<>();
+
+        flatten(constraints);
+
+        int n = registry.getNumVariables();
+        List<List<Integer>> unitLists = new ArrayList<>(n);
+        List<List<Integer>> edgeLists = new ArrayList<>(n);
+        List<List<Integer>> capacityLists = new ArrayList<>(n);
+
+        numRequired = new int[n];
+
+        for (int id = 0; id < n; id++) {
+            unitLists.add(new ArrayList<>());
+            edgeLists.add(new ArrayList<>());
+            capacityLists.add(new ArrayList<>());
+        }
+
+        for (int unit = 0; unit < units.size(); unit++) {
+            int[] ids = unitVariables.get(unit);
+
+            for (int id : ids) {
+                unitLists.get(id).add(unit);
+            }
+
+            if (units.get(unit) instanceof Prerequisite prerequisite) {
+                int course = registry.getVariableId(prerequisite.getCourse());
+                int required = registry.getVariableId(prerequisite.getPrerequisiteCourse());
+
+                if (course != SearchRegistry.UNKNOWN && required != SearchRegistry.UNKNOWN && course != required) {
+                    edgeLists.get(required).add(course);
+                    numRequired[course]++;
+                }
+            }
+        }
+
+        for (int capacity = 0; capacity < capacities.size(); capacity++) {
+            for (ScheduledCourse course : capacities.get(capacity).getClassList()) {
+                int id = registry.getVariableId(course);
+
+                if (id != SearchRegistry.UNKNOWN) {
+                    capacityLists.get(id).add(capacity);
+                }
+            }
+        }
+
+        unitsOf = toArrays(unitLists);
+        requiredBy = toArrays(edgeLists);
+        capacitiesOf = toArrays(capacityLists);
+        limits = new boolean[capacities.size()][registry.getNumValues()];
+
+        for (int capacity = 0; capacity < capacities.size(); capacity++) {
+            Set<Integer> semesters = new HashSet<>();
+
+            for (Semester semester : capacities.get(capacity).getSemesters()) {
+                semesters.add(semester.getId());
+            }
+
+            for (int valueId = 0; valueId < registry.getNumValues(); valueId++) {
+                limits[capacity][valueId] = registry.getValue(valueId) instanceof Semester semester
+                        && semesters.contains(semester.getId());
+            }
+        }
+    }
+
+    private static int[][] toArrays(List<List<Integer>> lists) {
+        int[][] answer = new int[lists.size()][];
+
+        for (int i = 0; i < answer.length; i++) {
+            answer[i] = lists.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        return answer;
+    }
+
+    private void flatten(Constraint constraint) {
+        if (constraint instanceof EveryConstraintList list) {
+            for (Constraint child : list.getConstraints()) {
+                flatten(child);
+            }
+        } else if (constraint instanceof CoursesPerSemesterConstraint capacity) {
+            capacities.add(capacity);
+        } else if (constraint.getVariables() != null) {
+            units.add(constraint);
+            unitVariables.add(constraint.getVariables().stream().mapToInt(registry::getVariableId)
+                    .filter(id -> id != SearchRegistry.UNKNOWN).distinct().toArray());
+        }
+    }
+
+    /**
+     * Returns the variables in a random topological order of their prerequisites, followed by the variables on a
+     * cycle in a random order.
+     *
+     * @param random the random number generator used to break ties.
+     * @return the ids of the variables in the order that they are assigned.
+     */
+    int[] order(Random random) {
+        int n = registry.getNumVariables();
+        int[] remaining = numRequired.clone();
+        int[] ready = new int[n];
+        int[] answer = new int[n];
+        boolean[] ordered = new boolean[n];
+        int numReady = 0;
+        int size = 0;
+
+        for (int id = 0; id < n; id++) {
+            if (remaining[id] == 0) {
+                ready[numReady++] = id;
+            }
+        }
+
+        while (numReady > 0) {
+            int pick = random.nextInt(numReady);
+            int id = ready[pick];
+
+            ready[pick] = ready[--numReady];
+            answer[size++] = id;
+            ordered[id] = true;
+
+            for (int course : requiredBy[id]) {
+                if (--remaining[course] == 0) {
+                    ready[numReady++] = course;
+                }
+            }
+        }
+
+        int cycle = size;
+
+        for (int id = 0; id < n; id++) {
+            if (!ordered[id]) {
+                answer[size++] = id;
+            }
+        }
+
+        for (int i = n - 1; i > cycle; i--) {
+            int j = cycle + random.nextInt(i - cycle + 1);
+            int swap = answer[i];
+
+            answer[i] = answer[j];
+            answer[j] = swap;
+        }
+
+        return answer;
+    }
+
+    /**
+     * Assigns every variable a value, one at a time in a random topological order.
+     *
+     * @param random the random number generator used to break ties.
+     */
+    void assign(Random random) {
+        assign(random, null);
+    }
+
+    /**
+     * Assigns every variable a value, one at a time in a random topological order, avoiding the values that complete
+     * a nogood of the specified store.
+     *
+     * @param random the random number generator used to break ties.
+     * @param nogoods the nogoods to avoid, which may be null.
+     */
+    void assign(Random random, NogoodStore nogoods) {
+        int[][] counts = new int[capacities.size()][registry.getNumValues()];
+        int[] unassigned = new int[units.size()];
+        boolean[] assigned = new boolean[registry.getNumVariables()];
+
+        for (int unit = 0; unit < unassigned.length; unit++) {
+            unassigned[unit] = unitVariables.get(unit).length;
+        }
+
+        for (int id : order(random)) {
+            SearchVariable variable = registry.getVariable(id);
+            SearchVariable best = null;
+            boolean bestForbidden = false;
+            int fewest = Integer.MAX_VALUE;
+
+            for (int unit : unitsOf[id]) {
+                unassigned[unit]--;
+            }
+
+            for (SearchVariable value : domain.getValues(variable)) {
+                int valueId = registry.getValueId(value);
+
+                if (isFull(id, valueId, counts)) {
+                    continue;
+                }
+
+                boolean forbidden = nogoods != null && nogoods.isForbidden(id, value, assigned);
+
+                // A value that completes a nogood never beats one that does not.
+                if (forbidden && best != null && !bestForbidden) {
+                    continue;
+                }
+
+                boolean preferred = bestForbidden && !forbidden;
+
+                variable.setValue(value);
+
+                int violations = countViolations(id, unassigned, preferred ? Integer.MAX_VALUE : fewest);
+
+                if (preferred || violations < fewest) {
+                    best = value;
+                    bestForbidden = forbidden;
+                    fewest = violations;
+                }
+
+                if (violations == 0 && !forbidden) {
+                    break;
+                }
+            }
+
+            // Every value is at capacity, so the capacity is violated wherever the variable goes.
+            if (best == null) {
+                best = domain.getRandomValue(variable);
+            }
+
+            variable.setValue(best);
+            assigned[id] = true;
+
+            int valueId = registry.getValueId(best);
+
+            if (valueId != SearchRegistry.UNKNOWN) {
+                for (int capacity : capacitiesOf[id]) {
+                    counts[capacity][valueId]++;
+                }
+            }
+        }
+    }
+
+    private boolean isFull(int id, int valueId, int[][] counts) {
+        if (valueId == SearchRegistry.UNKNOWN) {
+            return false;
+        }
+
+        for (int capacity : capacitiesOf[id]) {
+            if (limits[capacity][valueId]
+                    && counts[capacity][valueId] >= capacities.get(capacity).getCoursesPerSemester()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the number of violated constraints of the specified variable whose variables have all been assigned,
+     * counting no further than limit.
+     */
+    private int countViolations(int id, int[] unassigned, int limit) {
+        int answer = 0;
+
+        for (int unit : unitsOf[id]) {
+            if (unassigned[unit] == 0 && !units.get(unit).isSatisfied() && ++answer >= limit) {
+                break;
+            }
+        }
+
+        return answer;
+    }
+}
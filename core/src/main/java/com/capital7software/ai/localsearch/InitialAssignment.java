@@ -0,0 +1,23 @@
+/*
+ * File: InitialAssignment.java
+ */
+package com.capital7software.ai.localsearch;
+
+/**
+ * The InitialAssignment determines how LocalSearch assigns every variable a value when a search starts and each time
+ * it performs a Random Restart.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public enum InitialAssignment {
+    /**
+     * Assigns each variable a random value of its domain. This is the default.
+     */
+    RANDOM,
+
+    /**
+     * Assigns the variables in a random topological order of their prerequisites, each to the earliest value of its
+     * domain that satisfies the constraints of the variables assigned before it and that still has capacity.
+     */
+    GREEDY
+}
@@ -0,0 +1,176 @@
+/*
+ * File: InstanceFeatures.java
+ */
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.Constraint;
+import com.capital7software.ai.localsearch.constraints.ConstraintList;
+import com.capital7software.ai.localsearch.constraints.CoursesPerSemesterConstraint;
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+import com.capital7software.ai.localsearch.constraints.Prerequisite;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The InstanceFeatures of a problem are the statistics of its shape that an AlgorithmSelector uses to choose how to
+ * search it. Every lists, including prerequisite graphs, are flattened so that each of their constraints is counted
+ * on its own.
+ *
+ * @param variables the number of variables.
+ * @param values the number of values in the domain.
+ * @param constraints the number of flattened constraints.
+ * @param prerequisites the number of prerequisites and concurrent prerequisites between the variables.
+ * @param prerequisiteDepth the number of prerequisites on the longest chain of them, ignoring any cycles.
+ * @param prerequisiteDensity the number of prerequisites divided by the number of pairs of variables.
+ * @param capacityTightness the highest number of courses divided by the number of courses the semesters can hold
+ *                          of any courses per semester constraint, or 0 if there are none.
+ * @param unaryFraction the fraction of the flattened constraints that depend on a single one of the variables.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public record InstanceFeatures(int variables, int values, int constraints, int prerequisites, int prerequisiteDepth,
+                               double prerequisiteDensity, double capacityTightness, double unaryFraction) {
+
+    /**
+     * Computes the features of the problem of the specified variables, domain and constraints.
+     *
+     * @param variables the variables of the problem. Cannot be null.
+     * @param domain the domain of the variables. Cannot be null.
+     * @param constraints the constraints of the problem. Cannot be null.
+     * @return the features of the problem.
+     * @throws IllegalArgumentException indicates that a parameter is null.
+     */
+    public static InstanceFeatures extract(Collection<SearchVariable> variables, VariableDomain domain,
+                                           ConstraintList constraints) {
+        if (variables == null) {
+            throw new IllegalArgumentException("variables cannot be null.");
+        }
+
+        if (domain == null) {
+            throw new IllegalArgumentException("domain cannot be null.");
+        }
+
+        if (constraints == null) {
+            throw new IllegalArgumentException("constraints cannot be null.");
+        }
+
+        Map<SearchVariable, Integer> ids = new IdentityHashMap<>();
+
+        for (SearchVariable variable : variables) {
+            ids.putIfAbsent(variable, ids.size());
+        }
+
+        List<Constraint> units = new ArrayList<>();
+
+        flatten(constraints, units);
+
+        int n = ids.size();
+        List<List<Integer>> requiredBy = new ArrayList<>(n);
+        int[] numRequired = new int[n];
+        int prerequisites = 0;
+        int unary = 0;
+        double tightness = 0.0;
+
+        for (int id = 0; id < n; id++) {
+            requiredBy.add(new ArrayList<>());
+        }
+
+        for (Constraint unit : units) {
+            if (unit instanceof Prerequisite prerequisite) {
+                Integer course = ids.get(prerequisite.getCourse());
+                Integer before = ids.get(prerequisite.getPrerequisiteCourse());
+
+                if (course != null && before != null && !course.equals(before)) {
+                    requiredBy.get(before).add(course);
+                    numRequired[course]++;
+                    prerequisites++;
+                }
+            } else if (unit instanceof CoursesPerSemesterConstraint capacity) {
+                int room = capacity.getCoursesPerSemester() * capacity.getSemesters().size();
+
+                tightness = Math.max(tightness, (double) capacity.getClassList().size() / Math.max(1, room));
+            }
+
+            List<SearchVariable> dependencies = unit.getVariables();
+
+            // A restriction also depends on its semester, which is a value rather than a variable.
+            if (dependencies != null && dependencies.stream().filter(ids::containsKey).distinct().count() == 1) {
+                unary++;
+            }
+        }
+
+        double pairs = n * (n - 1) / 2.0;
+
+        return new InstanceFeatures(n, domain.getAllValues().size(), units.size(), prerequisites,
+                longestChain(requiredBy, numRequired), pairs == 0 ? 0.0 : prerequisites / pairs, tightness,
+                units.isEmpty() ? 0.0 : (double) unary / units.size());
+    }
+
+    private static void flatten(Constraint constraint, List<Constraint> units) {
+        if (constraint instanceof EveryConstraintList list) {
+            for (Constraint child : list.getConstraints()) {
+                flatten(child, units);
+            }
+        } else {
+            units.add(constraint);
+        }
+    }
+
+    /**
+     * Returns the number of edges on the longest path through the courses that are not on a cycle, found in
+     * topological order.
+     */
+    private static int longestChain(List<List<Integer>> requiredBy, int[] numRequired) {
+        int n = numRequired.length;
+        int[] remaining = numRequired.clone();
+        int[] depths = new int[n];
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        int answer = 0;
+
+        for (int id = 0; id < n; id++) {
+            if (remaining[id] == 0) {
+                queue[tail++] = id;
+            }
+        }
+
+        while (head < tail) {
+            int id = queue[head++];
+
+            answer = Math.max(answer, depths[id]);
+
+            for (int course : requiredBy.get(id)) {
+                depths[course] = Math.max(depths[course], depths[id] + 1);
+
+                if (--remaining[course] == 0) {
+                    queue[tail++] = course;
+                }
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns the features as a vector in which a difference of 1 in any component is roughly as significant as in
+     * any other. The counts are compared by their logarithms, since a catalog that is twice as large has much the
+     * same shape.
+     *
+     * @return the features as a vector.
+     */
+    double[] toVector() {
+        return new double[]{
+                Math.log1p(variables),
+                Math.log1p(constraints),
+                Math.log1p(prerequisiteDepth),
+                Math.log1p(100.0 * prerequisiteDensity),
+                2.0 * capacityTightness,
+                2.0 * unaryFraction
+        };
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * File: LargeNeighborhood.java
+ */
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.Constraint;
+import com.capital7software.ai.localsearch.constraints.ConstraintList;
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+import com.capital7software.ai.localsearch.constraints.Prerequisite;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A LargeNeighborhood repairs an assignment that a search has stalled on by destroying part of it and solving that
+ * part again exactly while every other variable keeps its value, so that most of the assignment survives instead of
+ * being thrown away by a Random Restart.
+ * <p>
+ * The part that is destroyed is one of three structured neighborhoods, tried in turn from one chosen at random:
+ * <ul>
+ *     <li>the variables in conflict along with the variables that share a constraint with them,</li>
+ *     <li>the chain of prerequisites through a variable in conflict, and</li>
+ *     <li>the variables in the same semester as a variable in conflict.</li>
+ * </ul>
+ * Every lists are flattened so that each of their constraints is counted on its own, and the part is solved by a
+ * branch and bound backtracking search for the values that violate the fewest constraints. A constraint is checked
+ * as soon as the last of its variables in the part has been assigned, and a branch is abandoned once it violates as
+ * many constraints as the best assignment found so far. The search starts with the current values as the best
+ * assignment and gives up after NODE_LIMIT assignments, so a repair never makes the assignment worse.
+ *
+ * @author Vincent J. Palodichuk
+ */
+final class LargeNeighborhood {
+    /**
+     * The maximum number of values that are tried by the backtracking search of a single repair.
+     */
+    static final int NODE_LIMIT = 100_000;
+
+    private static final int KINDS = 3;
+
+    private final SearchRegistry registry;
+    private final VariableDomain domain;
+    private final List<Constraint> units;
+    // The ids of the variables of each constraint, or null if the constraint does not return its variables.
+    private final List<int[]> unitVariables;
+    private final int[][] unitsOf;
+    private final int[] globalUnits;
+    private final int maxVariables;
+
+    /**
+     * Compiles the specified constraints against the ids of the specified registry.
+     *
+     * @param registry the registry of the variables and values of the search.
+     * @param constraints the constraints of the search.
+     * @param domain the domain of the variables.
+     * @param maxVariables the maximum number of variables that are destroyed and repaired at once.
+     */
+    LargeNeighborhood(SearchRegistry registry, ConstraintList constraints, VariableDomain domain, int maxVariables) {
+        this.registry = registry;
+        this.domain = domain;
+        this.maxVariables = maxVariables;
+        this.units = new ArrayList<>();
+        this.unitVariables = new ArrayList<>();
+
+        flatten(constraints);
+
+        List<List<Integer>> unitLists = new ArrayList<>();
+        List<Integer> globalList = new ArrayList<>();
+
+        for (int id = 0; id < registry.getNumVariables(); id++) {
+            unitLists.add(new ArrayList<>());
+        }
+
+        for (int unit = 0; unit < units.size(); unit++) {
+            List<SearchVariable> dependencies = units.get(unit).getVariables();
+
+            if (dependencies == null) {
+                unitVariables.add(null);
+                globalList.add(unit);
+                continue;
+            }
+
+            int[] ids = dependencies.stream().mapToInt(registry::getVariableId)
+                    .filter(id -> id != SearchRegistry.UNKNOWN).distinct().toArray();
+
+            unitVariables.add(ids);
+
+            for (int id : ids) {
+                unitLists.get(id).add(unit);
+            }
+        }
+
+        unitsOf = new int[unitLists.size()][];
+
+        for (int id = 0; id < unitsOf.length; id++) {
+            unitsOf[id] = unitLists.get(id).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        globalUnits = globalList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void flatten(Constraint constraint) {
+        if (constraint instanceof EveryConstraintList list) {
+            for (Constraint child : list.getConstraints()) {
+                flatten(child);
+            }
+        } else {
+            units.add(constraint);
+        }
+    }
+
+    /**
+     * Destroys and repairs the neighborhoods of the variables in conflict, trying each kind of neighborhood in turn,
+     * until one of them is improved. Returns true if the assignment was improved and false if it was left unchanged.
+     *
+     * @param conflictList the scored conflicts of the current assignment.
+     * @param random the random number generator used to choose the neighborhoods.
+     * @return true if the assignment was improved.
+     */
+    boolean repair(ConflictList conflictList, Random random) {
+        List<SearchVariable> conflicted = new ArrayList<>(conflictList.getVariablesInConflictWithScores().keySet());
+        int[] ids = conflicted.stream().mapToInt(registry::getVariableId)
+                .filter(id -> id != SearchRegistry.UNKNOWN).toArray();
+
+        if (ids.length == 0) {
+            return false;
+        }
+
+        int first = random.nextInt(KINDS);
+
+        for (int attempt = 0; attempt < KINDS; attempt++) {
+            int[] part = switch ((first + attempt) % KINDS) {
+                case 0 -> conflictsAndNeighbors(ids, random);
+                case 1 -> prerequisiteChain(ids[random.nextInt(ids.length)]);
+                default -> sameSemester(ids[random.nextInt(ids.length)], random);
+            };
+
+            if (solve(part)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the variables in conflict, in a random order, each followed by the variables that share a constraint
+     * with it. Constraints over more variables than fit in a neighborhood, such as the number of courses per
+     * semester, would make every variable a neighbor, so they are skipped.
+     */
+    int[] conflictsAndNeighbors(int[] conflicted, Random random) {
+        List<Integer> order = new ArrayList<>();
+
+        for (int id : conflicted) {
+            order.add(id);
+        }
+
+        Collections.shuffle(order, random);
+
+        Part part = new Part();
+
+        for (int id : order) {
+            part.add(id);
+
+            for (int unit : unitsOf[id]) {
+                int[] variables = unitVariables.get(unit);
+
+                if (variables.length <= maxVariables) {
+                    for (int variable : variables) {
+                        part.add(variable);
+                    }
+                }
+            }
+        }
+
+        return part.toArray();
+    }
+
+    /**
+     * Returns the variables that are connected to the specified variable through prerequisites, nearest first.
+     */
+    int[] prerequisiteChain(int start) {
+        Part part = new Part();
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        part.add(start);
+        queue.add(start);
+
+        while (!queue.isEmpty() && !part.isFull()) {
+            int id = queue.poll();
+
+            for (int unit : unitsOf[id]) {
+                if (units.get(unit) instanceof Prerequisite) {
+                    for (int variable : unitVariables.get(unit)) {
+                        if (part.add(variable)) {
+                            queue.add(variable);
+                        }
+                    }
+                }
+            }
+        }
+
+        return part.toArray();
+    }
+
+    /**
+     * Returns the specified variable followed by the other variables that have the same value, in a random order.
+     */
+    int[] sameSemester(int start, Random random) {
+        Object value = registry.getVariable(start).getValue();
+        List<Integer> others = new ArrayList<>();
+
+        for (int id = 0; id < registry.getNumVariables(); id++) {
+            if (id != start && value != null && value == registry.getVariable(id).getValue()) {
+                others.add(id);
+            }
+        }
+
+        Collections.shuffle(others, random);
+
+        Part part = new Part();
+
+        part.add(start);
+
+        for (int id : others) {
+            part.add(id);
+        }
+
+        return part.toArray();
+    }
+
+    /**
+     * Solves the specified part of the assignment again and returns true if it now violates fewer constraints. The
+     * variables keep their values if it does not.
+     */
+    boolean solve(int[] part) {
+        int n = part.length;
+
+        if (n == 0) {
+            return false;
+        }
+
+        int[] positions = new int[registry.getNumVariables()];
+        SearchVariable[] variables = new SearchVariable[n];
+        List<List<SearchVariable>> values = new ArrayList<>(n);
+        Object[] original = new Object[n];
+
+        Arrays.fill(positions, -1);
+
+        for (int i = 0; i < n; i++) {
+            positions[part[i]] = i;
+            variables[i] = registry.getVariable(part[i]);
+            values.add(domain.getValues(variables[i]));
+            original[i] = variables[i].getValue();
+        }
+
+        // Each constraint is checked at the depth of the last of its variables in the part. A constraint that does
+        // not return its variables is checked once the whole part has been assigned.
+        List<List<Integer>> checks = new ArrayList<>(n);
+        boolean[] seen = new boolean[units.size()];
+        int initial = 0;
+
+        for (int i = 0; i < n; i++) {
+            checks.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < n; i++) {
+            for (int unit : unitsOf[part[i]]) {
+                if (!seen[unit]) {
+                    int depth = 0;
+
+                    seen[unit] = true;
+
+                    for (int variable : unitVariables.get(unit)) {
+                        depth = Math.max(depth, positions[variable]);
+                    }
+
+                    checks.get(depth).add(unit);
+                }
+            }
+        }
+
+        for (int unit : globalUnits) {
+            checks.get(n - 1).add(unit);
+        }
+
+        for (List<Integer> check : checks) {
+            for (int unit : check) {
+                if (!units.get(unit).isSatisfied()) {
+                    initial++;
+                }
+            }
+        }
+
+        Search search = new Search(variables, values, checks, initial);
+
+        search.run(0, 0);
+
+        for (int i = 0; i < n; i++) {
+            variables[i].setValue(search.best == null ? original[i] : search.best[i]);
+        }
+
+        return search.best != null;
+    }
+
+    /**
+     * The branch and bound search of a part.
+     */
+    private final class Search {
+        private final SearchVariable[] variables;
+        private final List<List<SearchVariable>> values;
+        private final List<List<Integer>> checks;
+        private final Object[] current;
+        private Object[] best;
+        private int bound;
+        private int nodes;
+
+        Search(SearchVariable[] variables, List<List<SearchVariable>> values, List<List<Integer>> checks, int bound) {
+            this.variables = variables;
+            this.values = values;
+            this.checks = checks;
+            this.current = new Object[variables.length];
+            this.bound = bound;
+        }
+
+        void run(int depth, int violations) {
+            if (depth == variables.length) {
+                bound = violations;
+                best = current.clone();
+
+                return;
+            }
+
+            for (SearchVariable value : values.get(depth)) {
+                if (nodes++ >= NODE_LIMIT || bound == 0) {
+                    return;
+                }
+
+                variables[depth].setValue(value);
+                current[depth] = value;
+
+                int cost = violations;
+
+                for (int unit : checks.get(depth)) {
+                    if (!units.get(unit).isSatisfied() && ++cost >= bound) {
+                        break;
+                    }
+                }
+
+                if (cost < bound) {
+                    run(depth + 1, cost);
+                }
+            }
+        }
+    }
+
+    /**
+     * The variables of a neighborhood, in the order they were added, up to maxVariables of them.
+     */
+    private final class Part {
+        private final int[] ids = new int[maxVariables];
+        private final boolean[] added = new boolean[registry.getNumVariables()];
+        private int size;
+
+        boolean add(int id) {
+            if (size == ids.length || added[id]) {
+                return false;
+            }
+
+            added[id] = true;
+            ids[size++] = id;
+
+            return true;
+        }
+
+        boolean isFull() {
+            return size == ids.length;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
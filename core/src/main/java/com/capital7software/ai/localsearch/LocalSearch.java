@@ -0,0 +1,1069 @@
+/*
+ * File: LocalSearch.java
+ */
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.Constraint;
+import com.capital7software.ai.localsearch.constraints.ConstraintList;
+import com.capital7software.ai.localsearch.constraints.ConstraintProfiler;
+import com.capital7software.ai.localsearch.constraints.ConstraintProgram;
+
+import java.text.DecimalFormat;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>
+ * This particular LocalSearch class uses an Iterative Best Improvement strategy to ensure that a solution is found if
+ * one exists. We start with a Random Start and if we don't have a solution, we go walking by first selecting a
+ * variable and then randomly select a value from that variable's domain. If the variable value pair improves the
+ * current assignment we accept the variable and value; otherwise we reject it. In both cases we start walking again.
+ * By default we select a variable in conflict at random. With the HIGHEST_SCORE SearchStrategy we select the variable
+ * by the one that has the highest conflict score. The ConstraintList randomly decides which variable to return if
+ * more than one variable are tied for the highest conflict score.
+ * <p>
+ * With the STEEPEST_DESCENT SearchStrategy we instead score every move of the variables with the highest conflict
+ * scores to each of the other values of their domains by how much it changes the number of violated constraints,
+ * and make the best move. The moves are scored against a snapshot of the current assignment without changing it, so
+ * they are scored in parallel on a ForkJoinPool, which for large problems turns idle cores into better moves. The
+ * best move is made even if it does not reduce the number of violated constraints, unless it leads to an assignment
+ * that has already been visited since the last restart, in which case we perform a Random Restart.
+ * <p>
+ * To ensure we don't keep trying the same variable value pair we keep a small tabu list
+ * for the current variable of the values that were already tried. If we move to a new variable, the tabu list is
+ * cleared and a new one started for the new variable. The size of the Tabu list is the size of the domain of possible
+ * values for that variable up to the maxVariableTries of the SearchParameters, 256 by default. This way we don't
+ * consume too much memory of the domain is infinite or really large.
+ * <p>
+ * If we get stuck on the same variable that has the most conflicts we perform a Random Walk where we randomly select a
+ * new variable from the list of variables with conflicts that is not our current variable. If we are unsuccessful in
+ * selecting another variable we perform a Random Restart and begin again. Additionally, if we have not found a
+ * solution by the time we have walked (typically domain size * number of variables * 2 but is capped at 256)
+ * iterations, we perform a Random Restart. These limits and the weights of the conflicts are SearchParameters that
+ * can be tuned for a set of problems with a ParameterRace.
+ * <p>
+ * A Random Restart throws away all of the progress of the search, so with a large neighborhood size the search first
+ * tries to repair the assignment it stalled on. A small structured part of the assignment is unassigned and solved
+ * again exactly while every other variable keeps its value, and the search only restarts if no part improves.
+ * <p>
+ * With the GREEDY InitialAssignment the search starts and restarts from a greedy assignment instead of a random one.
+ * The courses are placed in a random topological order of their prerequisites, each in the earliest semester that
+ * satisfies the courses placed before it and that still has room, so the search starts near a solution.
+ * <p>
+ * When it learns nogoods, the search records the values of the variables of the small constraints that are violated
+ * each time it gives up on an assignment. A combination that is recorded at several of them is a nogood, and the
+ * random or greedy assignments of later restarts avoid it, so a hard problem does not keep rediscovering the same
+ * dead ends.
+ * <p>
+ * When it breaks symmetries, the search finds the interchangeable variables and values from the constraints, records
+ * the assignments it visits in a canonical form and returns a solution in its canonical form, so symmetric copies
+ * of an assignment are neither visited again nor reported as different solutions.
+ * <p>
+ * The search checks whether it is done with a ConstraintProgram compiled from the constraints when it starts, so
+ * every check is a flat loop that short-circuits instead of recursive calls through the lists. While a profiler is
+ * attached the lists are checked themselves so that their evaluations are recorded.
+ * <p>
+ * To avoid not halting search may be called with an option non-zero value. The value represents the maximum number of
+ * assignments to try before completely giving up finding a solution. A time limit may be given as well, and a search
+ * gives up when the thread performing it is interrupted.
+ * <p>
+ * The search commits Java Flight Recorder events when it starts, restarts, gets stuck on a plateau and finds a
+ * solution. A sample of the evaluated moves is committed as well. The events are only populated when a recording is
+ * in progress, so a search can be profiled in production with jcmd JFR.start without rebuilding.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public class LocalSearch {
+    private static final long SEED;
+    private static final Random RANDOM;
+    private static final int DEFAULT_NEIGHBORHOOD_SIZE;
+
+    /**
+     * Only one MoveEvaluatedEvent is committed for every MOVE_EVENT_SAMPLE_INTERVAL moves that are evaluated.
+     */
+    static final int MOVE_EVENT_SAMPLE_INTERVAL;
+
+    static {
+        SEED = LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        RANDOM = new Random(SEED);
+        DEFAULT_NEIGHBORHOOD_SIZE = 8;
+        MOVE_EVENT_SAMPLE_INTERVAL = 64;
+    }
+
+    private Map<Object, SearchVariable> variables;
+    private ConstraintList constraints;
+    // Decides whether the search is done, which is the compiled program of the constraints unless they are profiled.
+    private Constraint goal;
+    private VariableDomain domain;
+    private SearchRegistry registry;
+    private StringBuffer log;
+    private long movesEvaluated;
+    private ConstraintProfiler profiler;
+    private Random random;
+    private SearchStrategy strategy;
+    private Neighborhood neighborhood;
+    private int neighborhoodSize;
+    private LargeNeighborhood largeNeighborhood;
+    private Set<MoveType> moveTypes;
+    private boolean compoundMoves;
+    private int largeNeighborhoodSize;
+    private InitialAssignment initialAssignment;
+    private GreedyAssignment greedyAssignment;
+    private boolean learnNogoods;
+    private NogoodStore nogoods;
+    private boolean breakSymmetries;
+    private Symmetry symmetry;
+    private ForkJoinPool pool;
+    private SearchParameters parameters;
+    private int numAssignments;
+
+    /**
+     * The constructor for the LocalSearch class initializes the search to be performed. The collection of search
+     * variables, the domain for the variables, and the constraints of the variables are used to find a solution.
+     * A solution is found when the assignment of values to the variables causes the constraint list to return true
+     * when isSatisfied is activated.
+     *
+     * @param variables the collection of search variables to perform a local search on
+     * @param domain the domain of possible values for each of the variables in the collection
+     * @param constraints the list of constraints that need to be satisfied in order for the assignment
+     *                    to be a solution.
+     * @throws IllegalArgumentException if any of the parameters are null or invalid.
+     */
+    public LocalSearch(Collection<SearchVariable> variables, VariableDomain domain, ConstraintList constraints) {
+        if (variables == null || variables.isEmpty()) {
+            throw new IllegalArgumentException("variables cannot be null and cannot be empty.");
+        }
+
+        if (domain == null) {
+            throw new IllegalArgumentException("domain cannot be null.");
+        }
+
+        if (constraints == null) {
+            throw new IllegalArgumentException("constraints cannot be null.");
+        }
+
+        this.variables = new LinkedHashMap<>();
+
+        for (SearchVariable variable : variables) {
+            this.variables.put(variable.getUniqueID(), variable);
+        }
+
+        this.domain = domain;
+        this.constraints = constraints;
+        this.registry = new SearchRegistry(this.variables.values(), domain.getAllValues());
+
+        log = new StringBuffer();
+        random = RANDOM;
+        strategy = SearchStrategy.RANDOM_CONFLICT;
+        neighborhoodSize = DEFAULT_NEIGHBORHOOD_SIZE;
+        pool = ForkJoinPool.commonPool();
+        moveTypes = EnumSet.of(MoveType.REASSIGN);
+        initialAssignment = InitialAssignment.RANDOM;
+        parameters = SearchParameters.DEFAULT;
+    }
+
+    private void logIt() {
+        logIt("\n");
+    }
+
+    private void logIt(String entry) {
+        log.append(entry);
+        log.append("\n");
+    }
+
+    /**
+     * Returns the verbose log of activity since the log was last cleared.
+     *
+     * @return the verbose log of activity since the log was last cleared.
+     */
+    public String getLog() {
+        return log.toString();
+    }
+
+    /**
+     * Clears the verbose log.
+     */
+    public void clearLog() {
+        log = new StringBuffer();
+    }
+
+    /**
+     * Seeds the random number generator this search uses to select variables so that a search can be reproduced.
+     * The VariableDomain selects values with its own random number generator, which needs to be seeded as well
+     * for the whole search to be reproducible.
+     *
+     * @param seed the seed for the random number generator.
+     */
+    public void setSeed(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Returns the strategy used to select the variable to walk from the variables that are in conflict.
+     *
+     * @return the strategy used to select the variable to walk from the variables that are in conflict.
+     */
+    public SearchStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Sets the strategy used to select the variable to walk from the variables that are in conflict.
+     *
+     * @param strategy the strategy used to select the variable to walk. Cannot be null.
+     * @throws IllegalArgumentException indicates that strategy is null.
+     */
+    public void setStrategy(SearchStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("strategy cannot be null.");
+        }
+
+        this.strategy = strategy;
+    }
+
+    /**
+     * Returns the number of variables in conflict whose moves are scored at each step of a STEEPEST_DESCENT search.
+     *
+     * @return the number of variables in conflict whose moves are scored at each step of a steepest descent.
+     */
+    public int getNeighborhoodSize() {
+        return neighborhoodSize;
+    }
+
+    /**
+     * Sets the number of variables in conflict, those with the highest conflict scores, whose moves are scored at
+     * each step of a STEEPEST_DESCENT search. The default is 8.
+     *
+     * @param neighborhoodSize the number of variables whose moves are scored. Must be greater than 0.
+     * @throws IllegalArgumentException indicates that neighborhoodSize is less than 1.
+     */
+    public void setNeighborhoodSize(int neighborhoodSize) {
+        if (neighborhoodSize < 1) {
+            throw new IllegalArgumentException("neighborhoodSize must be greater than 0.");
+        }
+
+        this.neighborhoodSize = neighborhoodSize;
+    }
+
+    /**
+     * Returns the types of moves that the search makes.
+     *
+     * @return the types of moves that the search makes.
+     */
+    public Set<MoveType> getMoveTypes() {
+        return Collections.unmodifiableSet(moveTypes);
+    }
+
+    /**
+     * Sets the types of moves that the search makes. A STEEPEST_DESCENT search scores every move of each type at
+     * each step. The other strategies always try to reassign the variable they select first, and if that is rejected
+     * they make the best swap or ejection chain that moves the variable to the same value when it reduces the number
+     * of violated constraints. Swaps and ejection chains help most when the semesters are at their capacity, where
+     * moving a course on its own always adds a course to a full semester. The default is only REASSIGN.
+     *
+     * @param moveTypes the types of moves that the search makes. Cannot be null or empty.
+     * @throws IllegalArgumentException indicates that moveTypes is null or empty.
+     */
+    public void setMoveTypes(Set<MoveType> moveTypes) {
+        if (moveTypes == null || moveTypes.isEmpty()) {
+            throw new IllegalArgumentException("moveTypes cannot be null and cannot be empty.");
+        }
+
+        this.moveTypes = EnumSet.copyOf(moveTypes);
+        this.compoundMoves = moveTypes.contains(MoveType.SWAP) || moveTypes.contains(MoveType.EJECTION_CHAIN);
+    }
+
+    /**
+     * Returns the maximum number of variables that are destroyed and repaired when the search stalls, or 0 if the
+     * search performs a Random Restart instead.
+     *
+     * @return the maximum number of variables that are destroyed and repaired when the search stalls.
+     */
+    public int getLargeNeighborhoodSize() {
+        return largeNeighborhoodSize;
+    }
+
+    /**
+     * Sets the maximum number of variables that are destroyed and repaired when the search stalls. If it is greater
+     * than 0, a stalled search first unassigns a structured part of the assignment, such as a chain of prerequisites
+     * or the courses of a semester, and solves that part exactly while every other variable keeps its value. A Random
+     * Restart is only performed if none of the parts can be improved. Keep the size small, as the part is solved by
+     * a backtracking search. The default is 0, which always performs a Random Restart.
+     *
+     * @param largeNeighborhoodSize the maximum number of variables that are repaired at once, or 0.
+     * @throws IllegalArgumentException indicates that largeNeighborhoodSize is negative.
+     */
+    public void setLargeNeighborhoodSize(int largeNeighborhoodSize) {
+        if (largeNeighborhoodSize < 0) {
+            throw new IllegalArgumentException("largeNeighborhoodSize cannot be negative.");
+        }
+
+        this.largeNeighborhoodSize = largeNeighborhoodSize;
+        this.largeNeighborhood = null;
+    }
+
+    /**
+     * Returns how the variables are assigned when the search starts and restarts.
+     *
+     * @return how the variables are assigned when the search starts and restarts.
+     */
+    public InitialAssignment getInitialAssignment() {
+        return initialAssignment;
+    }
+
+    /**
+     * Sets how the variables are assigned when the search starts and restarts. A GREEDY assignment places each course
+     * in the earliest semester that its prerequisites and the capacity of the semesters allow, in a random
+     * topological order, so the search starts near a solution. The default is RANDOM.
+     *
+     * @param initialAssignment how the variables are assigned when the search starts and restarts. Cannot be null.
+     * @throws IllegalArgumentException indicates that initialAssignment is null.
+     */
+    public void setInitialAssignment(InitialAssignment initialAssignment) {
+        if (initialAssignment == null) {
+            throw new IllegalArgumentException("initialAssignment cannot be null.");
+        }
+
+        this.initialAssignment = initialAssignment;
+    }
+
+    /**
+     * Returns true if the search learns nogoods from the assignments it restarts from.
+     *
+     * @return true if the search learns nogoods from the assignments it restarts from.
+     */
+    public boolean isLearnNogoods() {
+        return learnNogoods;
+    }
+
+    /**
+     * Sets whether the search learns nogoods from the assignments it restarts from. A nogood is a combination of one
+     * or two variables and values that was involved in a violated constraint at several of the assignments the search
+     * gave up on, and the random assignments of later restarts avoid completing them. The nogoods are forgotten when
+     * a new search starts. The default is false.
+     *
+     * @param learnNogoods true if the search learns nogoods from the assignments it restarts from.
+     */
+    public void setLearnNogoods(boolean learnNogoods) {
+        this.learnNogoods = learnNogoods;
+    }
+
+    /**
+     * Returns the number of nogoods the last search learned.
+     *
+     * @return the number of nogoods the last search learned.
+     */
+    public int getNumNogoods() {
+        return nogoods == null ? 0 : nogoods.getNumNogoods();
+    }
+
+    /**
+     * Returns true if the search treats symmetric copies of an assignment as the same assignment.
+     *
+     * @return true if the search treats symmetric copies of an assignment as the same assignment.
+     */
+    public boolean isBreakSymmetries() {
+        return breakSymmetries;
+    }
+
+    /**
+     * Sets whether the search treats symmetric copies of an assignment as the same assignment. The variables that are
+     * interchangeable, such as two courses with identical constraints, and the values that are interchangeable are
+     * found from the constraints when the search starts. Each assignment is then recorded as visited in a canonical
+     * form, so the search does not walk back into a copy of an assignment it has already visited, and a solution is
+     * returned in its canonical form, so searches that find copies of the same solution return equal solutions. The
+     * default is false.
+     *
+     * @param breakSymmetries true if the search treats symmetric copies of an assignment as the same assignment.
+     */
+    public void setBreakSymmetries(boolean breakSymmetries) {
+        this.breakSymmetries = breakSymmetries;
+    }
+
+    /**
+     * Returns the numeric parameters of the walk.
+     *
+     * @return the numeric parameters of the walk.
+     */
+    public SearchParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Sets the numeric parameters of the walk: how many values of a variable are tried, how long the walk goes
+     * without an improvement before it restarts and how the conflicts are weighted. The default is
+     * SearchParameters.DEFAULT.
+     *
+     * @param parameters the numeric parameters of the walk. Cannot be null.
+     * @throws IllegalArgumentException indicates that parameters is null.
+     */
+    public void setParameters(SearchParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("parameters cannot be null.");
+        }
+
+        this.parameters = parameters;
+    }
+
+    /**
+     * Returns the number of assignments that the last search made, including its initial assignments.
+     *
+     * @return the number of assignments that the last search made.
+     */
+    public int getNumAssignments() {
+        return numAssignments;
+    }
+
+    /**
+     * Sets the pool that the moves of a STEEPEST_DESCENT search are scored on. The default is the common pool.
+     *
+     * @param pool the pool that the moves are scored on. Cannot be null.
+     * @throws IllegalArgumentException indicates that pool is null.
+     */
+    public void setPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool cannot be null.");
+        }
+
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the profiler that is recording the evaluations of the constraints, which may be null.
+     *
+     * @return the profiler that is recording the evaluations of the constraints, which may be null.
+     */
+    public ConstraintProfiler getConstraintProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Sets the profiler that records the evaluations of the constraints during a search. The statistics of the
+     * profiler are reset at the start of every search and a ranked report of the constraints is appended to the
+     * verbose log at the end of every search. Profiling is off by default as timing every evaluation slows the
+     * search down.
+     *
+     * @param profiler the profiler to record evaluations with, which may be null to stop profiling.
+     */
+    public void setConstraintProfiler(ConstraintProfiler profiler) {
+        if (this.profiler != null) {
+            this.profiler.detach(constraints);
+        }
+
+        this.profiler = profiler;
+
+        if (profiler != null) {
+            profiler.attach(constraints);
+        }
+    }
+
+    /**
+     * Performs the local search on the variables. Please see the class description for the logic used to perform the
+     * search. The return value is a complete assignment of the variables that satisfies all of the constraints.
+     * If the local search problem does not contain a solution then this method will never return!
+     *
+     * @return the return value is a complete assignment of the variables that satisfies all of the constraints.
+     * If there is no solution to the problem, this method will never return.
+     */
+    public Map<Object, SearchVariable> search() {
+    	return search(0);
+    }
+    
+    /**
+     * Performs the local search on the variables. Please see the class description for the logic used to perform the
+     * search. If maxAssignments is non-zero then, regardless if a solution is found, the search will abort if
+     * maxAssignments is reached. If no solution is found because maxAssignments has been reached, null is returned;
+     * otherwise the return value is a complete assignment of the variables that satisfies all of the constraints.
+     * If the local search problem does not contain a solution and maxAssignments is 0, then this method will never
+     * return!
+     *
+     * @param maxAssignments if non-zero then, regardless if a solution is found, the search will abort if
+     *                      maxAssignments is reached. If equal to 0, the search will continue until a solution is found.
+     * @return if no solution is found, null is returned; otherwise the return value is a complete
+     * assignment of the variables that satisfies all of the constraints. If there is no solution to the problem, this
+     * method will never return unless maxAssignments is non-zero.
+     */
+    public Map<Object, SearchVariable> search(int maxAssignments) {
+        return search(maxAssignments, null);
+    }
+
+    /**
+     * Performs the local search on the variables. Please see the class description for the logic used to perform the
+     * search. If maxAssignments is non-zero then, regardless if a solution is found, the search will abort if
+     * maxAssignments is reached. If timeLimit is non-null, the search will also abort once the time limit has
+     * elapsed. The search is aborted as well if the thread performing the search is interrupted. If no solution is
+     * found because the search was aborted, null is returned; otherwise the return value is a complete assignment of
+     * the variables that satisfies all of the constraints.
+     *
+     * @param maxAssignments if non-zero then, regardless if a solution is found, the search will abort if
+     *                      maxAssignments is reached. If equal to 0, the search will continue until a solution is
+     *                      found.
+     * @param timeLimit if non-null then, regardless if a solution is found, the search will abort once this much
+     *                  time has elapsed.
+     * @return if no solution is found, null is returned; otherwise the return value is a complete
+     * assignment of the variables that satisfies all of the constraints.
+     */
+    public Map<Object, SearchVariable> search(int maxAssignments, Duration timeLimit) {
+        long deadline = timeLimit == null ? 0 : System.nanoTime() + timeLimit.toNanos();
+
+        // Clear any pre-existing results.
+        clear();
+        // The constraints may have been changed since the last search.
+        neighborhood = null;
+        largeNeighborhood = null;
+        greedyAssignment = null;
+        nogoods = learnNogoods ? new NogoodStore(registry, constraints) : null;
+        symmetry = breakSymmetries ? new Symmetry(registry, constraints, domain) : null;
+        goal = profiler == null ? ConstraintProgram.compile(constraints) : constraints;
+        boolean done = false;
+        int assignments = 0;
+        int restarts = 0;
+        movesEvaluated = 0;
+
+        if (profiler != null) {
+            profiler.reset();
+        }
+
+        SolutionFoundEvent solutionFoundEvent = new SolutionFoundEvent();
+        solutionFoundEvent.begin();
+        commitSearchStartedEvent(maxAssignments);
+
+        logIt(getVerboseVariableHeaders());
+        int maxVariableTries = Math.min(domain.size(), parameters.maxVariableTries());
+        int maxWalk = parameters.getMaxWalk(domain.size(), variables.size());
+        ConflictWeights weights = parameters.weights();
+
+        Set<Assignment> previousAssignments = new HashSet<>();
+
+        while (!done && (assignments < maxAssignments || maxAssignments == 0) && !isAborted(timeLimit, deadline)) {
+            // Try to repair the assignment we stalled on before throwing it away.
+            boolean repaired = assignments > 0 && largeNeighborhoodSize > 0 && repair();
+
+            if (assignments > 0 && !repaired) {
+                commitRestartEvent(++restarts, assignments);
+
+                // Remember the combinations that keep turning up in the conflicts we gave up on.
+                if (nogoods != null) {
+                    nogoods.learn();
+                }
+            }
+
+            previousAssignments.clear();
+
+            if (!repaired && initialAssignment == InitialAssignment.GREEDY) {
+                // Start off near a solution with a greedy assignment in a random topological order.
+                greedyTotalAssignment();
+            } else if (!repaired) {
+                // Start off with a Random assignment of values.
+                randomTotalAssignment();
+            }
+
+            previousAssignments.add(currentAssignment());
+
+            ++assignments;
+            ConflictList conflictList = constraints.getConflicts();
+            conflictList.scoreConflicts(weights, registry);
+            logIt(getVerboseVariableValues(conflictList));
+
+            int variableIterations = 1;
+            // The tabu list of the values tried for the current variable, indexed by the id of each value.
+            boolean[] triedValues = new boolean[registry.getNumValues()];
+            int numTriedValues = 0;
+            SearchVariable lastVariable = null;
+            int walkIterations = 1;
+
+            // We keep walking as long as we are making progress. We stop making progress when the variable with the
+            // most conflicts doesn't improve with each iteration. We use a small tabu list to know what values have
+            // been tried and when it is time to pull the plug and do a Random Restart. The size of the tabu list is
+            // the same size as the domain for the variable. That way if the variable with the most conflicts is still
+            // the same as the previous one and all values have been tried we can jump to a new search space.
+            // Every time the variable with the most conflicts changes, the tabu list is reset.
+            while (!goal.isSatisfied() && walkIterations < maxWalk && !isAborted(timeLimit, deadline)) {
+                double currentScore = conflictList.getConflictsScore();
+
+                if (strategy == SearchStrategy.STEEPEST_DESCENT) {
+                    int violations = descend(conflictList, previousAssignments);
+
+                    if (violations == Integer.MAX_VALUE) {
+                        // There is no move left that is worth making, so do a Random Restart.
+                        break;
+                    }
+
+                    ++assignments;
+                    conflictList = constraints.getConflicts();
+                    conflictList.scoreConflicts(weights, registry);
+                    logIt(getVerboseVariableValues(conflictList));
+
+                    if (violations < 0) {
+                        walkIterations = 1;
+                    } else {
+                        ++walkIterations;
+                    }
+
+                    continue;
+                }
+
+                SearchVariable variable = selectVariable(conflictList);
+
+                // Are we stuck?
+                if (variableIterations >= maxVariableTries) {
+                    // Try to jiggle us out of here without having to resort to a restart by selecting another
+                    // variable with a conflict.
+                    variable = conflictList.getAnotherVariableInConflict(variable);
+                    commitWalkPlateauEvent(variable, currentScore, walkIterations, variable != lastVariable);
+
+                    if (variable == lastVariable) {
+                        // If we are unable to get a new variable with a conflict then
+                        // bail out of the while loop and do a RandomRestart
+                        break;
+                    }
+                }
+
+                SearchVariable oldValue = (SearchVariable)variable.getValue();
+                // We will reset and keep walking as long as we keep improving. That is, we improve when
+                // the variable with the most conflicts changes before the current variable exhausts all
+                // values in the domain.
+                if (variable != lastVariable) {
+                    Arrays.fill(triedValues, false);
+                    lastVariable = variable;
+                    variableIterations = 1;
+                    numTriedValues = markTried(triedValues, oldValue, 0);
+                }
+
+                SearchVariable value = domain.getRandomValue(variable);
+                int variableDomainSize = Math.min(domain.size(variable), maxVariableTries);
+
+                if (numTriedValues < variableDomainSize) {
+                    // Skip any values we have already tried for this variable
+                    // and try to get a new value if possible.
+                    // Have we tried this value for this particular neighbor node yet?
+                    if (!isTried(triedValues, value)) {
+                        variable.setValue(value);
+//                        variables.put(variable, value);
+                        numTriedValues = markTried(triedValues, value, numTriedValues);
+
+                        ConflictList newConflictList = constraints.getConflicts();
+                        newConflictList.scoreConflicts(weights, registry);
+                        double score = newConflictList.getConflictsScore();
+
+                        // Is it an improvement? An improvement is a lower score or, the same score but we are no longer
+                        // the variable with the most conflicts :-D
+                        boolean accepted = previousAssignments.add(currentAssignment()) &&
+                                ((score < currentScore) ||
+                                (score >= currentScore && newConflictList.getNumVariablesInConflict() < conflictList.getNumVariablesInConflict()));
+
+                        if (++movesEvaluated % MOVE_EVENT_SAMPLE_INTERVAL == 0) {
+                            commitMoveEvaluatedEvent(variable, value, currentScore, score, accepted);
+                        }
+
+                        if (accepted) {
+                            ++assignments;
+                            conflictList = newConflictList;
+                            logIt(getVerboseVariableValues(conflictList));
+                            // Walk back a bit so that we have an opportunity to improve this.
+                            walkIterations = 1;
+                        } else {
+                            // Reject and go back to the old value and start again at the next iteration.
+                            variable.setValue(oldValue);
+//                            variables.put(variable, oldValue);
+
+                            // The value may be full, so try to make room for the variable with a swap or a chain.
+                            if (compoundMoves && makeRoom(variable, value, previousAssignments)) {
+                                ++assignments;
+                                conflictList = constraints.getConflicts();
+                                conflictList.scoreConflicts(weights, registry);
+                                logIt(getVerboseVariableValues(conflictList));
+                                walkIterations = 1;
+                            }
+                        }
+                    }
+                }
+                ++variableIterations;
+                ++walkIterations;
+
+            }
+            done = goal.isSatisfied();
+        }
+
+        logIt();
+        numAssignments = assignments;
+
+        if (profiler != null) {
+            logIt(profiler.getReport());
+        }
+
+        Map<Object, SearchVariable> answer = null;
+
+        if (done) {
+            if (symmetry != null) {
+                symmetry.canonicalize();
+            }
+
+            answer = copyCurrentAssignment();
+
+            if (solutionFoundEvent.shouldCommit()) {
+                solutionFoundEvent.variables = variables.size();
+                solutionFoundEvent.restarts = restarts;
+                solutionFoundEvent.assignments = assignments;
+                solutionFoundEvent.movesEvaluated = movesEvaluated;
+                solutionFoundEvent.commit();
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Makes the best move of the variables in conflict with the highest scores and returns the change in the number
+     * of violated constraints, or Integer.MAX_VALUE if no move was made because there are no moves or because the
+     * best move leads to an assignment that has already been visited.
+     */
+    private int descend(ConflictList conflictList, Set<Assignment> previousAssignments) {
+        if (neighborhood == null) {
+            neighborhood = new Neighborhood(registry, constraints);
+        }
+
+        List<Map.Entry<SearchVariable, Double>> ranked =
+                new ArrayList<>(conflictList.getVariablesInConflictWithScores().entrySet());
+
+        ranked.sort(Map.Entry.<SearchVariable, Double>comparingByValue().reversed()
+                .thenComparingInt(entry -> registry.getVariableId(entry.getKey())));
+
+        List<SearchVariable> candidates = new ArrayList<>(Math.min(ranked.size(), neighborhoodSize));
+
+        for (int i = 0; i < ranked.size() && candidates.size() < neighborhoodSize; i++) {
+            candidates.add(ranked.get(i).getKey());
+        }
+
+        neighborhood.update();
+
+        long move = neighborhood.findBestMove(candidates, domain, pool, moveTypes, random);
+
+        if (move == Neighborhood.NO_MOVES) {
+            return Integer.MAX_VALUE;
+        }
+
+        int delta = Neighborhood.getDelta(move);
+        int violations = neighborhood.getViolations();
+        boolean accepted;
+
+        neighborhood.apply(move);
+        accepted = previousAssignments.add(currentAssignment());
+
+        if (!accepted) {
+            neighborhood.undo(move);
+        }
+
+        if (++movesEvaluated % MOVE_EVENT_SAMPLE_INTERVAL == 0) {
+            commitMoveEvaluatedEvent(neighborhood.getVariable(move), neighborhood.getValue(move), violations,
+                    violations + delta, accepted);
+        }
+
+        return accepted ? delta : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Makes the best swap or ejection chain that moves the specified variable to the specified value, after moving
+     * it there on its own was rejected, and returns true if it reduces the number of violated constraints and leads
+     * to an assignment that has not been visited.
+     */
+    private boolean makeRoom(SearchVariable variable, SearchVariable value, Set<Assignment> previousAssignments) {
+        if (neighborhood == null) {
+            neighborhood = new Neighborhood(registry, constraints);
+        }
+
+        int variableId = registry.getVariableId(variable);
+        int valueId = registry.getValueId(value);
+
+        if (variableId == SearchRegistry.UNKNOWN || valueId == SearchRegistry.UNKNOWN) {
+            return false;
+        }
+
+        // Only the constraints of the variables that changed since the last move are checked again.
+        neighborhood.update();
+
+        long move = neighborhood.findBestCompoundMove(variableId, valueId, domain, pool, moveTypes, random);
+
+        if (move == Neighborhood.NO_MOVES || Neighborhood.getDelta(move) >= 0) {
+            return false;
+        }
+
+        neighborhood.apply(move);
+        ++movesEvaluated;
+
+        if (!previousAssignments.add(currentAssignment())) {
+            neighborhood.undo(move);
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Destroys and repairs part of the current assignment and returns true if it was improved.
+     */
+    private boolean repair() {
+        if (largeNeighborhood == null) {
+            largeNeighborhood = new LargeNeighborhood(registry, constraints, domain, largeNeighborhoodSize);
+        }
+
+        ConflictList conflictList = constraints.getConflicts();
+        conflictList.scoreConflicts(parameters.weights(), registry);
+
+        return largeNeighborhood.repair(conflictList, random);
+    }
+
+    private boolean isAborted(Duration timeLimit, long deadline) {
+        return Thread.currentThread().isInterrupted() || (timeLimit != null && System.nanoTime() - deadline >= 0);
+    }
+
+    private SearchVariable selectVariable(ConflictList conflictList) {
+        SearchVariable answer;
+
+        if (strategy == SearchStrategy.HIGHEST_SCORE) {
+            answer = conflictList.getVariableWithTheHighestScore(random);
+        } else {
+            answer = conflictList.getRandomVariableInConflict(random);
+        }
+
+        return answer;
+    }
+
+    // The JFR events are only populated when they are enabled so that they cost next to nothing when
+    // a recording is not in progress.
+
+    private void commitSearchStartedEvent(int maxAssignments) {
+        SearchStartedEvent event = new SearchStartedEvent();
+
+        if (event.isEnabled()) {
+            event.variables = variables.size();
+            event.domainSize = domain.size();
+            event.constraints = constraints.getNumConstraints();
+            event.maxAssignments = maxAssignments;
+            event.commit();
+        }
+    }
+
+    private void commitRestartEvent(int restart, int assignments) {
+        RestartEvent event = new RestartEvent();
+
+        if (event.isEnabled()) {
+            event.variables = variables.size();
+            event.restart = restart;
+            event.assignments = assignments;
+            ConflictList conflictList = constraints.getConflicts();
+            conflictList.scoreConflicts(parameters.weights(), registry);
+            event.score = conflictList.getConflictsScore();
+            event.commit();
+        }
+    }
+
+    private void commitWalkPlateauEvent(SearchVariable variable, double score, int walkIterations, boolean escaped) {
+        WalkPlateauEvent event = new WalkPlateauEvent();
+
+        if (event.isEnabled()) {
+            event.variables = variables.size();
+            event.variable = variable.getName();
+            event.score = score;
+            event.walkIterations = walkIterations;
+            event.escaped = escaped;
+            event.commit();
+        }
+    }
+
+    private void commitMoveEvaluatedEvent(SearchVariable variable, SearchVariable value, double score,
+                                          double newScore, boolean accepted) {
+        MoveEvaluatedEvent event = new MoveEvaluatedEvent();
+
+        if (event.isEnabled()) {
+            event.variables = variables.size();
+            event.variable = variable.getName();
+            event.value = value.getValueAsString();
+            event.score = score;
+            event.newScore = newScore;
+            event.accepted = accepted;
+            event.commit();
+        }
+    }
+
+    /**
+     * Resets the variables to their initial unassigned state.
+     */
+    public void clear() {
+        // Initialize the variable map
+        for (SearchVariable variable : variables.values()) {
+            variable.clearValue();
+        }
+    }
+
+    private boolean isTried(boolean[] triedValues, SearchVariable value) {
+        int id = registry.getValueId(value);
+
+        return id != SearchRegistry.UNKNOWN && triedValues[id];
+    }
+
+    private int markTried(boolean[] triedValues, SearchVariable value, int numTriedValues) {
+        int id = registry.getValueId(value);
+
+        if (id == SearchRegistry.UNKNOWN) {
+            return numTriedValues + 1;
+        }
+
+        if (triedValues[id]) {
+            return numTriedValues;
+        }
+
+        triedValues[id] = true;
+
+        return numTriedValues + 1;
+    }
+
+    /**
+     * Returns the ids of the current values of the variables, in the order of the ids of the variables, along with
+     * any values that are not equal to a value of the registry.
+     */
+    private Assignment currentAssignment() {
+        int[] answer = new int[registry.getNumVariables()];
+        Object[] unregistered = null;
+
+        for (int id = 0; id < answer.length; id++) {
+            Object value = registry.getVariable(id).getValue();
+
+            answer[id] = registry.getValueId(value);
+
+            if (answer[id] == SearchRegistry.UNKNOWN && value != null) {
+                if (unregistered == null) {
+                    unregistered = new Object[answer.length];
+                }
+
+                unregistered[id] = value;
+            }
+        }
+
+        return new Assignment(symmetry == null ? answer : symmetry.canonicalize(answer), unregistered);
+    }
+
+    /**
+     * An Assignment is the ids of the values of the variables, which is compared by content so that the assignments
+     * that have already been visited can be kept in a set without cloning the variables. A value that has no id is
+     * kept at the id of its variable in unregistered, which is null if every value has an id, and compared with
+     * equals, so that assignments with different values of that kind are never mistaken for each other.
+     */
+    private record Assignment(int[] values, Object[] unregistered) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Assignment that && Arrays.equals(values, that.values)
+                    && Arrays.equals(unregistered, that.unregistered);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(values) + Arrays.hashCode(unregistered);
+        }
+    }
+
+    private Map<Object, SearchVariable> copyCurrentAssignment() {
+        Map<Object, SearchVariable> answer = new LinkedHashMap<>();
+
+        for (Object key : variables.keySet()) {
+            answer.put(key, variables.get(key).clone());
+        }
+
+        return answer;
+    }
+
+    private String getVerboseVariableHeaders() {
+        StringBuilder sb = new StringBuilder();
+        StringBuilder dashed = new StringBuilder();
+        for (SearchVariable variable : variables.values()) {
+            sb.append(" ");
+            sb.append(variable.getName());
+            dashed.append("----");
+        }
+        sb.append(" ");
+        sb.append("Score");
+        sb.append("");
+        dashed.append("-------");
+        sb.append("\n");
+        sb.append(dashed);
+        return sb.toString();
+    }
+
+    private String getVerboseVariableValues(ConflictList conflictList) {
+        StringBuilder sb = new StringBuilder();
+
+        for (SearchVariable variable : variables.values()) {
+            sb.append("  ");
+            sb.append(((SearchVariable)variable.getValue()).getValueAsString());
+            sb.append(" ");
+        }
+
+        DecimalFormat df = new DecimalFormat("0.00");
+
+        sb.append("  ");
+        sb.append(String.format("%1$6s", df.format(conflictList.getConflictsScore())));
+        sb.append(" ");
+
+        return sb.toString();
+    }
+
+    /**
+     * Returns a summary of the solution from the current assignment. If the current assignment is not a solution,
+     * then the summary output states there is no solution and asks that you perform a search.
+     *
+     * @return a summary of the solution from the current assignment. If the current assignment is not a solution,
+     * then the summary output states there is no solution and asks that you perform a search.
+     */
+    public String getSummary() {
+        StringBuilder sb = new StringBuilder();
+
+        List<SearchVariable> values = domain.getAllValues();
+
+        sb.append("Local Search Summary:\n\n");
+
+        if (constraints.isSatisfied()) {
+            for (SearchVariable valueVariable : values) {
+                sb.append(valueVariable.getName());
+                sb.append(":");
+                for (SearchVariable variable : variables.values()) {
+                    if (Objects.equals(variable.getValue(), valueVariable)) {
+                        sb.append(" ");
+                        sb.append(variable.getName());
+                    }
+                }
+                sb.append("\n\n");
+            }
+        } else {
+            sb.append("No Solution. Please try to perform a search.\n\n");
+        }
+
+        return sb.toString();
+    }
+
+    private void greedyTotalAssignment() {
+        if (greedyAssignment == null) {
+            greedyAssignment = new GreedyAssignment(registry, constraints, domain);
+        }
+
+        greedyAssignment.assign(random, nogoods);
+    }
+
+    private void randomTotalAssignment() {
+        if (nogoods != null) {
+            nogoods.assign(domain);
+            return;
+        }
+
+        for (Object key : variables.keySet()) {
+            SearchVariable variable = variables.get(key);
+            SearchVariable value = domain.getRandomValue(variable);
+            variable.setValue(value);
+            variables.put(key, variable);
+        }
+    }
+
+}
@@ -0,0 +1,756 @@
+/*
+ * File: LocalSearchProblem.java
+ */
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * The LocalSearchProblem class is used to define all aspects of the local search problem to be solved. In this
+ * instance, the class is used to define a class scheduling problem where the classes may have different types of
+ * constraints, such as Prerequisite constraints, ConcurrentPrerequisite constraints, SemesterRestriction constraints,
+ * SemesterExclusion constraints, CourseList constraints and of course, ConstraintList constraints, and the classes all
+ * have to be scheduled such that all of the constraints are satisfied. The LocalSearchProblem also acts as the
+ * VariableDomain but that isn't an absolute requirement of the framework.
+ */
+public class LocalSearchProblem implements VariableDomain {
+    private static final String ICS_DEPARTMENT;
+    private static final String MATH_DEPARTMENT;
+    private static final String LIBS_DEPARTMENT;
+    private static final int COURSES_PER_SEMESTER;
+    private static final long SEED;
+    private static final Random RANDOM;
+
+    static {
+        ICS_DEPARTMENT = "ICS";
+        MATH_DEPARTMENT = "MATH";
+        LIBS_DEPARTMENT = "LIBS";
+
+        COURSES_PER_SEMESTER = 3;
+
+        SEED = LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        RANDOM = new Random(SEED);
+    }
+
+    private final ConstraintList constraints;
+    private final List<Semester> semesters;
+    private final Map<Course, ScheduledCourse> courses;
+    private Random random;
+    private PrerequisiteGraph prerequisiteGraph;
+    private final List<Constraint> foldedConstraints;
+    private ConstraintProgram program;
+    private SearchRegistry registry;
+    // The semesters each course is allowed in as a bitmask of indexes into semesters, and the values that are
+    // selected from for each course. Both are indexed by the id of the course in the registry, and are null for a
+    // course that can be taken in any semester.
+    private BitSet[] allowedSemesters;
+    private List<List<Semester>> domains;
+
+    /**
+     * Initializes this problem so that it can immediately be used.
+     */
+    public LocalSearchProblem() {
+        constraints = new EveryConstraintList();
+        courses = new LinkedHashMap<>();
+        semesters = new ArrayList<>();
+        foldedConstraints = new ArrayList<>();
+        random = RANDOM;
+
+        loadCourses();
+        loadSemesters();
+        loadConstraints();
+        initRegistry();
+    }
+
+    /**
+     * Initializes a problem with the specified courses and semesters and an empty list of constraints. The
+     * constraints are added to the list returned by getConstraints and must be built from the ScheduledCourses and
+     * Semesters that this problem returns from getScheduledCourse and getSemester.
+     *
+     * @param courses the courses that need to be scheduled. Cannot be null or empty.
+     * @param semesters the semesters the courses can be scheduled in. Cannot be null or empty.
+     * @throws IllegalArgumentException indicates that courses or semesters is null or empty.
+     */
+    public LocalSearchProblem(Collection<Course> courses, Collection<Semester> semesters) {
+        if (courses == null || courses.isEmpty()) {
+            throw new IllegalArgumentException("courses cannot be null and cannot be empty.");
+        }
+
+        if (semesters == null || semesters.isEmpty()) {
+            throw new IllegalArgumentException("semesters cannot be null and cannot be empty.");
+        }
+
+        this.constraints = new EveryConstraintList();
+        this.courses = new LinkedHashMap<>();
+        this.semesters = new ArrayList<>(semesters);
+        this.foldedConstraints = new ArrayList<>();
+        this.random = RANDOM;
+
+        for (Course course : courses) {
+            this.courses.put(course, new ScheduledCourse(course));
+        }
+
+        initRegistry();
+    }
+
+    private void initRegistry() {
+        registry = new SearchRegistry(courses.values(), semesters);
+        allowedSemesters = new BitSet[registry.getNumVariables()];
+        domains = new ArrayList<>(Collections.nCopies(registry.getNumVariables(), null));
+    }
+
+    /**
+     * Returns the registry of the ids of the courses and semesters of this problem. The courses and semesters are
+     * registered in the order that getScheduledCourses and getSemesters return them.
+     *
+     * @return the registry of the ids of the courses and semesters of this problem.
+     */
+    public SearchRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Seeds the random number generator this problem uses to select values from the domain so that searches on
+     * this problem can be reproduced.
+     *
+     * @param seed the seed for the random number generator.
+     */
+    public void setSeed(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Compiles the constraints of this problem into equivalent constraints that are faster to evaluate. Call this
+     * once all of the constraints have been added and before the problem is searched. Calling it again after more
+     * constraints have been added compiles them as well.
+     * <p>
+     * The Prerequisite and ConcurrentPrerequisite constraints at the top of the constraint list are replaced by a
+     * single PrerequisiteGraph, which checks them with scans of primitive arrays.
+     * <p>
+     * Constraints that only depend on the semester of a single course, such as a SemesterRestriction, a
+     * SemesterExclusion or an any, every or none list of them for the same course, are folded into a bitmask of the
+     * semesters that the course is allowed to be taken in and removed from the constraint list. Only constraints that
+     * must always hold are folded, which are those at the top of the constraint list and in every lists nested
+     * directly within it. The values of a course are then only ever selected from its allowed semesters that are also
+     * between the earliest and latest semesters that the prerequisites allow, so the folded constraints can never be
+     * violated by a search. If no semester is allowed for a course, its constraints are left in the list so that the
+     * problem is still reported as unsolvable.
+     */
+    public void compileConstraints() {
+        List<Prerequisite> prerequisites = new ArrayList<>();
+        List<Constraint> others = new ArrayList<>(foldedConstraints);
+
+        for (Constraint constraint : constraints.getConstraints()) {
+            if (constraint instanceof PrerequisiteGraph graph) {
+                for (Constraint prerequisite : graph.getConstraints()) {
+                    prerequisites.add((Prerequisite) prerequisite);
+                }
+
+                // Stop the old graph from listening to the courses.
+                graph.clear();
+            } else if (constraint instanceof Prerequisite prerequisite) {
+                prerequisites.add(prerequisite);
+            } else {
+                others.add(constraint);
+            }
+        }
+
+        constraints.clear();
+        foldedConstraints.clear();
+        prerequisiteGraph = null;
+
+        if (!prerequisites.isEmpty()) {
+            prerequisiteGraph = new PrerequisiteGraph(prerequisites, semesters);
+            constraints.add(prerequisiteGraph);
+        }
+
+        for (Constraint constraint : others) {
+            constraints.add(constraint);
+        }
+
+        Map<ScheduledCourse, BitSet> masks = new IdentityHashMap<>();
+        Map<ScheduledCourse, List<Constraint>> folded = new IdentityHashMap<>();
+
+        foldUnaryConstraints(constraints, masks, folded);
+
+        Arrays.fill(allowedSemesters, null);
+        Collections.fill(domains, null);
+
+        for (ScheduledCourse course : folded.keySet()) {
+            BitSet mask = masks.get(course);
+
+            if (mask.isEmpty()) {
+                // Nothing is allowed, so keep the constraints to report the problem as unsolvable.
+                for (Constraint constraint : folded.get(course)) {
+                    constraints.add(constraint);
+                }
+            } else {
+                foldedConstraints.addAll(folded.get(course));
+                allowedSemesters[registry.getVariableId(course)] = mask;
+            }
+        }
+
+        for (ScheduledCourse course : courses.values()) {
+            List<Semester> domain = computeDomain(course);
+
+            if (domain.size() < semesters.size()) {
+                domains.set(registry.getVariableId(course), domain);
+            }
+        }
+    }
+
+    private void foldUnaryConstraints(ConstraintList list, Map<ScheduledCourse, BitSet> masks,
+                                      Map<ScheduledCourse, List<Constraint>> folded) {
+        List<Constraint> kept = new ArrayList<>();
+
+        for (Constraint constraint : list.getConstraints()) {
+            ScheduledCourse course = getUnaryCourse(constraint);
+
+            if (course != null) {
+                BitSet mask = getAllowedMask(constraint);
+
+                masks.computeIfAbsent(course, key -> allSemestersMask()).and(mask);
+                folded.computeIfAbsent(course, key -> new ArrayList<>()).add(constraint);
+            } else {
+                if (isEveryList(constraint)) {
+                    foldUnaryConstraints((ConstraintList) constraint, masks, folded);
+                }
+
+                if (!isEveryList(constraint) || ((ConstraintList) constraint).getNumConstraints() > 0) {
+                    kept.add(constraint);
+                }
+            }
+        }
+
+        if (kept.size() < list.getNumConstraints()) {
+            list.clear();
+
+            for (Constraint constraint : kept) {
+                list.add(constraint);
+            }
+        }
+    }
+
+    private static boolean isEveryList(Constraint constraint) {
+        return constraint instanceof EveryConstraintList && !(constraint instanceof PrerequisiteGraph);
+    }
+
+    /**
+     * Returns the course that the specified constraint depends on if it depends on the semester of a single course
+     * and nothing else; otherwise null is returned.
+     */
+    private static ScheduledCourse getUnaryCourse(Constraint constraint) {
+        if (constraint instanceof SemesterRestriction restriction) {
+            return restriction.getCourse();
+        } else if (constraint instanceof AbstractConstraintList list && !(list instanceof PrerequisiteGraph)
+                && list.getNumConstraints() > 0) {
+            ScheduledCourse answer = null;
+
+            for (Constraint child : list.getConstraints()) {
+                ScheduledCourse course = getUnaryCourse(child);
+
+                if (course == null || (answer != null && answer != course)) {
+                    return null;
+                }
+
+                answer = course;
+            }
+
+            return answer;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the semesters, as indexes into the list of semesters, that satisfy the specified unary constraint.
+     */
+    private BitSet getAllowedMask(Constraint constraint) {
+        BitSet answer;
+
+        if (constraint instanceof SemesterRestriction restriction) {
+            int index = semesters.indexOf(restriction.getRestriction());
+
+            if (restriction instanceof SemesterExclusion) {
+                answer = allSemestersMask();
+
+                if (index >= 0) {
+                    answer.clear(index);
+                }
+            } else {
+                answer = new BitSet(semesters.size());
+
+                if (index >= 0) {
+                    answer.set(index);
+                }
+            }
+        } else {
+            boolean every = constraint instanceof EveryConstraintList;
+            answer = every ? allSemestersMask() : new BitSet(semesters.size());
+
+            for (Constraint child : ((ConstraintList) constraint).getConstraints()) {
+                if (every) {
+                    answer.and(getAllowedMask(child));
+                } else {
+                    answer.or(getAllowedMask(child));
+                }
+            }
+
+            if (constraint instanceof NoneConstraintList) {
+                answer.flip(0, semesters.size());
+            }
+        }
+
+        return answer;
+    }
+
+    private BitSet allSemestersMask() {
+        BitSet answer = new BitSet(semesters.size());
+
+        answer.set(0, semesters.size());
+
+        return answer;
+    }
+
+    /**
+     * Returns the compiled domain of the specified variable, or null if it can be taken in any semester.
+     */
+    private List<Semester> getDomain(SearchVariable variable) {
+        int id = registry.getVariableId(variable);
+
+        return id == SearchRegistry.UNKNOWN ? null : domains.get(id);
+    }
+
+    /**
+     * Returns the semesters that the specified course is allowed to be taken in that are also between its earliest
+     * and latest semesters. The bounds are ignored if they leave no semester.
+     */
+    private List<Semester> computeDomain(ScheduledCourse course) {
+        BitSet mask = allowedSemesters[registry.getVariableId(course)];
+        List<Semester> allowed = new ArrayList<>(semesters.size());
+        List<Semester> answer = new ArrayList<>(semesters.size());
+
+        for (int i = 0; i < semesters.size(); i++) {
+            if (mask == null || mask.get(i)) {
+                allowed.add(semesters.get(i));
+            }
+        }
+
+        if (prerequisiteGraph == null) {
+            return allowed;
+        }
+
+        int earliestIndex = prerequisiteGraph.getEarliestSemester(course);
+        int latestIndex = prerequisiteGraph.getLatestSemester(course);
+
+        // A chain of prerequisites longer than the semesters leaves no bounds, so the course is left unbounded.
+        if (earliestIndex > latestIndex || earliestIndex >= prerequisiteGraph.getNumSemesters() || latestIndex < 0) {
+            return allowed;
+        }
+
+        Semester earliest = prerequisiteGraph.getSemester(earliestIndex);
+        Semester latest = prerequisiteGraph.getSemester(latestIndex);
+
+        for (Semester semester : allowed) {
+            if (semester.compareTo(earliest) >= 0 && semester.compareTo(latest) <= 0) {
+                answer.add(semester);
+            }
+        }
+
+        return answer.isEmpty() ? allowed : answer;
+    }
+
+    /**
+     * Returns the constraints that compileConstraints folded into the allowed semesters of the courses and removed
+     * from the constraint list.
+     *
+     * @return the constraints that were folded into the allowed semesters of the courses.
+     */
+    public List<Constraint> getFoldedConstraints() {
+        return Collections.unmodifiableList(foldedConstraints);
+    }
+
+    /**
+     * Returns true if the current values of the variables satisfy every constraint of this problem, including the
+     * constraints that compileConstraints folded into the allowed semesters of the courses. The constraints are
+     * checked with a ConstraintProgram compiled from the constraint list.
+     *
+     * @return true if the current values of the variables satisfy every constraint of this problem.
+     */
+    public boolean isSatisfied() {
+        if (program == null) {
+            program = ConstraintProgram.compile(constraints);
+        }
+
+        if (!program.isSatisfied()) {
+            return false;
+        }
+
+        for (Constraint constraint : foldedConstraints) {
+            if (!constraint.isSatisfied()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the graph that the prerequisites of this problem were compiled into by compileConstraints, or null if
+     * they have not been compiled.
+     *
+     * @return the graph that the prerequisites of this problem were compiled into, or null.
+     */
+    public PrerequisiteGraph getPrerequisiteGraph() {
+        return prerequisiteGraph;
+    }
+
+    /**
+     * Returns a list of search variables that this problem defines and that need to have values assigned to
+     * them such that all of the constraints are satisfied. This method is typically used to pass a Collection of
+     * SearchVariables to the LocalSearch class.
+     *
+     * @return a list of search variables that this problem defines and that need to have values assigned to
+     * them such that all of the constraints are satisfied.
+     */
+    public List<SearchVariable> getVariables() {
+        List<SearchVariable> answer = new ArrayList<>(courses.size());
+
+        answer.addAll(courses.values());
+
+        return answer;
+    }
+
+    /**
+     * Returns the ConstraintList for this problem. The ConstraintList is directly tied to the variables that this
+     * problem defines. Changes to the variable's values have a direct impact on the state of the ConstraintList. If
+     * a variable's value is changed, then the isSatisfied method of the returned ConstraintList should be activated
+     * to see if the new assignment is a solution.
+     *
+     * @return the ConstraintList for this problem.
+     */
+    public ConstraintList getConstraints() {
+        return constraints;
+    }
+
+    /**
+     * Returns the list of ScheduledCourses that this problem defines. The ScheduledCourses are the same instances
+     * as the variables returned by getVariables.
+     *
+     * @return the list of ScheduledCourses that this problem defines.
+     */
+    public List<ScheduledCourse> getScheduledCourses() {
+        return new ArrayList<>(courses.values());
+    }
+
+    /**
+     * Returns the list of semesters that the courses of this problem can be scheduled in.
+     *
+     * @return the list of semesters that the courses of this problem can be scheduled in.
+     */
+    public List<Semester> getSemesters() {
+        return new ArrayList<>(semesters);
+    }
+
+    /**
+     * Returns the ScheduledCourse of this problem for the specified course, or null if the problem does not
+     * define the course.
+     *
+     * @param dept the department of the course.
+     * @param courseId the number of the course.
+     * @return the ScheduledCourse of this problem for the specified course, or null if it is not defined.
+     */
+    public final ScheduledCourse getScheduledCourse(String dept, int courseId) {
+        Course course = new Course(dept, courseId);
+
+        ScheduledCourse scheduledCourse = null;
+
+        if (courses.containsKey(course)) {
+            scheduledCourse = courses.get(course);
+        }
+
+        return scheduledCourse;
+    }
+
+    /**
+     * Returns the Semester of this problem with the specified id, or null if the problem does not define it.
+     *
+     * @param semesterId the id of the semester.
+     * @return the Semester of this problem with the specified id, or null if it is not defined.
+     */
+    public final Semester getSemester(int semesterId) {
+        Semester semester = null;
+
+        int semesterIndex = semesters.indexOf(new Semester(semesterId));
+
+        if (semesterIndex >= 0) {
+            semester = semesters.get(semesterIndex);
+
+        }
+
+        return semester;
+    }
+
+    private void addPrerequisite(String dept, int courseId, String prerequisiteDept, int prerequisiteId) {
+        addPrerequisite(dept, courseId, prerequisiteDept, prerequisiteId, false);
+    }
+
+    private void addPrerequisite(String dept, int courseId, String prerequisiteDept, int prerequisiteId, boolean concurrent) {
+
+        ScheduledCourse scheduledCourse = getScheduledCourse(dept, courseId);
+        ScheduledCourse scheduledPrerequisite = getScheduledCourse(prerequisiteDept, prerequisiteId);
+
+        if (concurrent) {
+            constraints.add(new ConcurrentPrerequisite(scheduledCourse, scheduledPrerequisite));
+        } else {
+            constraints.add(new Prerequisite(scheduledCourse, scheduledPrerequisite));
+        }
+    }
+
+    private void loadConstraints() {
+        // Prerequisite constraints.
+        addPrerequisite(MATH_DEPARTMENT, 210, MATH_DEPARTMENT, 120);
+        addPrerequisite(MATH_DEPARTMENT, 215, MATH_DEPARTMENT, 120);
+        addPrerequisite(ICS_DEPARTMENT, 140, MATH_DEPARTMENT, 120, true);
+        addPrerequisite(ICS_DEPARTMENT, 141, MATH_DEPARTMENT, 215, true);
+        addPrerequisite(ICS_DEPARTMENT, 141, ICS_DEPARTMENT, 140);
+        addPrerequisite(ICS_DEPARTMENT, 232, ICS_DEPARTMENT, 141);
+        addPrerequisite(ICS_DEPARTMENT, 240, ICS_DEPARTMENT, 141);
+        addPrerequisite(ICS_DEPARTMENT, 311, ICS_DEPARTMENT, 141);
+        addPrerequisite(ICS_DEPARTMENT, 311, ICS_DEPARTMENT, 240);
+        addPrerequisite(ICS_DEPARTMENT, 340, ICS_DEPARTMENT, 240);
+        addPrerequisite(ICS_DEPARTMENT, 365, ICS_DEPARTMENT, 240);
+        addPrerequisite(ICS_DEPARTMENT, 372, ICS_DEPARTMENT, 240);
+        addPrerequisite(ICS_DEPARTMENT, 440, ICS_DEPARTMENT, 340);
+        addPrerequisite(ICS_DEPARTMENT, 499, ICS_DEPARTMENT, 372);
+
+        // All classes below 300 must be taken before any 400 level course
+        // So we will add a prerequisite for them.
+        for (Course key : courses.keySet()) {
+            ScheduledCourse scheduledCourse = courses.get(key);
+            Course course = scheduledCourse.getCourse();
+            int num = course.getNumber();
+
+            if (num < 300) {
+                String dept = course.getDepartment();
+                addPrerequisite(ICS_DEPARTMENT, 440, dept, num);
+                addPrerequisite(ICS_DEPARTMENT, 460, dept, num);
+                addPrerequisite(ICS_DEPARTMENT, 462, dept, num);
+                addPrerequisite(ICS_DEPARTMENT, 490, dept, num);
+                addPrerequisite(ICS_DEPARTMENT, 492, dept, num);
+                addPrerequisite(ICS_DEPARTMENT, 499, dept, num);
+            }
+        }
+
+        // Semester bases constraints
+        ConstraintList clr = new AnyConstraintList();
+        ConstraintList cle = new EveryConstraintList();
+
+        // ICS 490 is never offered in the summer and ICS 492 is only offered in the summer.
+        for (Semester semester : semesters) {
+            if (semester.isSummer()) {
+                clr.add(new SemesterRestriction(getScheduledCourse(ICS_DEPARTMENT, 492), semester));
+                cle.add(new SemesterExclusion(getScheduledCourse(ICS_DEPARTMENT, 490), semester));
+            }
+        }
+
+        constraints.add(clr);
+        constraints.add(cle);
+
+        // ICS 499 must be taken in teh last semester
+        constraints.add(new SemesterRestriction(getScheduledCourse(ICS_DEPARTMENT, 499), getSemester(semesters.size())));
+
+        // Class list based constraints.
+        // No semester can have more than 3 courses.
+        constraints.add(new CoursesPerSemesterConstraint(COURSES_PER_SEMESTER, semesters, courses.values()));
+    }
+
+    private void loadCourses() {
+        Course course = new Course(MATH_DEPARTMENT, 120);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(ICS_DEPARTMENT, 140);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(ICS_DEPARTMENT, 141);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(MATH_DEPARTMENT, 210);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(MATH_DEPARTMENT, 215);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(ICS_DEPARTMENT, 232);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(ICS_DEPARTMENT, 240);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(ICS_DEPARTMENT, 311);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(ICS_DEPARTMENT, 340);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(ICS_DEPARTMENT, 365);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(ICS_DEPARTMENT, 372);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(ICS_DEPARTMENT, 440);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(ICS_DEPARTMENT, 460);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(ICS_DEPARTMENT, 462);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(ICS_DEPARTMENT, 490);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(ICS_DEPARTMENT, 492);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(ICS_DEPARTMENT, 499);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(LIBS_DEPARTMENT, 998);
+        courses.put(course, new ScheduledCourse(course));
+        course = new Course(LIBS_DEPARTMENT, 999);
+        courses.put(course, new ScheduledCourse(course));
+    }
+
+    private void loadSemesters() {
+        semesters.add(new Semester(1, "Summer", true));
+        semesters.add(new Semester(2, "Autumn"));
+        semesters.add(new Semester(3, "Spring"));
+        semesters.add(new Semester(4, "Summer", true));
+        semesters.add(new Semester(5, "Autumn"));
+        semesters.add(new Semester(6, "Spring"));
+        semesters.add(new Semester(7, "Summer", true));
+        semesters.add(new Semester(8, "Summer"));
+    }
+
+    /**
+     * For purposes of this LocalSearch problem, the domain of every variable is the list of semesters. Once the
+     * constraints have been compiled, the value is selected only from the semesters that the course is allowed to be
+     * taken in and that are between the earliest and latest semesters that the prerequisites allow.
+     *
+     * @param variable the variable to get a random value from the domain for.
+     * @return a random value selected from the domain of possible values for the specified variable.
+     * @throws IllegalArgumentException indicates that variable is null.
+     */
+    @Override
+    public SearchVariable getRandomValue(SearchVariable variable) {
+        if (variable == null) {
+            throw new IllegalArgumentException("variable cannot be null.");
+        }
+
+        List<Semester> domain = getDomain(variable);
+
+        if (domain != null) {
+            return domain.get(random.nextInt(domain.size()));
+        }
+
+        return semesters.get(random.nextInt(semesters.size()));
+    }
+
+    /**
+     * Returns a value close to the current value. Values wrap around and so a value at the beginning of the domain
+     * would be considered to be close to a value at the end of the domain. Meaning if the domain size is 8 and the
+     * current value is 7, then 1 is just as close to 7 as 5 is. The proximity parameter determines how close of a
+     * value we are interested in.
+     *
+     * @param variable the variable to get a close value for. Cannot be null.
+     * @return a random value value close to the current value.
+     * @throws IllegalArgumentException indicates that variable is null.
+     */
+    @Override
+    public SearchVariable getCloseValue(SearchVariable variable) {
+        if (variable == null) {
+            throw new IllegalArgumentException("variable cannot be null.");
+        }
+
+        List<Semester> values = getDomain(variable);
+
+        if (values == null) {
+            values = semesters;
+        }
+
+        int currentIndex = values.indexOf(variable.getValue());
+        int maxValue = values.size();
+
+        boolean up = random.nextInt() % 2 == 0;
+
+        if (up) {
+            if (currentIndex + 1 == maxValue) {
+                currentIndex = 0;
+            } else {
+                ++currentIndex;
+            }
+        } else {
+            if (currentIndex - 1 < 0) {
+                currentIndex = maxValue - 1;
+            } else {
+                --currentIndex;
+            }
+        }
+
+        return values.get(currentIndex);
+    }
+
+    /**
+     * For purposes of this LocalSearch problem, the domain of every variable is the list of semesters, restricted
+     * to the semesters that the course is allowed to be taken in once the constraints have been compiled.
+     *
+     * @param variable the variable to get the domain for.
+     * @return the list of possible values for the specified variable.
+     * @throws IllegalArgumentException indicates that variable is null.
+     */
+    @Override
+    public List<SearchVariable> getValues(SearchVariable variable) {
+        if (variable == null) {
+            throw new IllegalArgumentException("variable cannot be null.");
+        }
+
+        List<Semester> domain = getDomain(variable);
+
+        return domain == null ? getAllValues() : new ArrayList<SearchVariable>(domain);
+    }
+
+    /**
+     * For purposes of this LocalSearch problem, the domain of every variable is the list of semesters.
+     *
+     * @return the list of possible values for all variables.
+     */
+    @Override
+    public List<SearchVariable> getAllValues() {
+        List<SearchVariable> answer = new ArrayList<>(semesters.size());
+
+        answer.addAll(semesters);
+
+        return answer;
+    }
+
+    /**
+     * Returns the size of the entire domain. For purposes of this LocalSearch problem, the domain size of all variables
+     * is the size of the list of semesters.
+     *
+     * @return the size of the entire domain. For purposes of this LocalSearch problem, the domain size of all variables
+     * is the size of the list of semesters.
+     */
+    @Override
+    public int size() {
+        return semesters.size();
+    }
+
+    /**
+     * Returns the size of the entire domain for the specified variable. For purposes of this LocalSearch problem,
+     * the domain size of all variables is the size of the list of semesters, restricted to the semesters that the
+     * course is allowed to be taken in once the constraints have been compiled.
+     *
+     * @return the size of the entire domain for the specified variable.
+     * @throws IllegalArgumentException indicates that variable is null.
+     */
+    @Override
+    public int size(SearchVariable variable) {
+        if (variable == null) {
+            throw new IllegalArgumentException("variable cannot be null.");
+        }
+
+        List<Semester> domain = getDomain(variable);
+
+        return domain == null ? size() : domain.size();
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * File: MoveEvaluatedEvent.java
+ */
+package com.capital7software.ai.localsearch;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The MoveEvaluatedEvent is a Java Flight Recorder event that is committed when LocalSearch evaluates a new value
+ * for a variable. Moves are evaluated far too often to record every one of them, so LocalSearch only commits one
+ * event for every LocalSearch.MOVE_EVENT_SAMPLE_INTERVAL moves that are evaluated.
+ *
+ * @author Vincent J. Palodichuk
+ */
+@Name("com.capital7software.ai.localsearch.MoveEvaluated")
+@Label("Move Evaluated")
+@Category({"Local Search"})
+@Description("A sampled move that a local search evaluated")
+@StackTrace(false)
+class MoveEvaluatedEvent extends jdk.jfr.Event {
+    @Label("Variables")
+    @Description("The number of variables in the problem")
+    int variables;
+
+    @Label("Variable")
+    @Description("The name of the variable that was moved")
+    String variable;
+
+    @Label("Value")
+    @Description("The value that was tried for the variable")
+    String value;
+
+    @Label("Score")
+    @Description("The conflict score before the move")
+    double score;
+
+    @Label("New Score")
+    @Description("The conflict score after the move")
+    double newScore;
+
+    @Label("Accepted")
+    @Description("True if the move was accepted")
+    boolean accepted;
+}
@@ -0,0 +1,27 @@
+/*
+ * File: MoveType.java
+ */
+package com.capital7software.ai.localsearch;
+
+/**
+ * The MoveType determines the moves that LocalSearch scores at each step of a STEEPEST_DESCENT search, and the
+ * moves that it tries when reassigning a variable is rejected.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public enum MoveType {
+    /**
+     * Assigns a variable another value of its domain. This is the only move that is made by default.
+     */
+    REASSIGN,
+
+    /**
+     * Exchanges the values of two variables, which keeps the number of variables with each value the same.
+     */
+    SWAP,
+
+    /**
+     * Assigns a variable a value and bumps a variable that had that value along to another value of its domain.
+     */
+    EJECTION_CHAIN
+}
@@ -0,0 +1,963 @@
+/*
+ * File: Neighborhood.java
+ */
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.AnyConstraintList;
+import com.capital7software.ai.localsearch.constraints.Constraint;
+import com.capital7software.ai.localsearch.constraints.ConstraintList;
+import com.capital7software.ai.localsearch.constraints.CoursesPerSemesterConstraint;
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+import com.capital7software.ai.localsearch.constraints.NoneConstraintList;
+import com.capital7software.ai.localsearch.constraints.Prerequisite;
+import com.capital7software.ai.localsearch.constraints.SemesterExclusion;
+import com.capital7software.ai.localsearch.constraints.SemesterRestriction;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A Neighborhood scores the moves of a steepest descent by how much they change the number of violated constraints.
+ * A move either reassigns one variable to another value of its domain, swaps the values of two variables, or is an
+ * ejection chain that moves one variable to a value and bumps a variable with that value along to another value.
+ * Swaps and ejection chains keep the number of variables with each value the same or shift it by one between two
+ * values, so they can make progress when every value is at the capacity of a CoursesPerSemesterConstraint and a
+ * reassignment would always violate it. Every lists, including prerequisite graphs, are flattened so that each of
+ * their constraints is counted on its own, and every other constraint is counted once.
+ * <p>
+ * The constraints are compiled against the ids of a SearchRegistry. Before the moves of a step are scored, snapshot
+ * records the value of every variable and which constraints are violated. A move is then scored by checking only the
+ * constraints that depend on its variables with the values of the variables replaced, which reads the variables but
+ * never changes them. The moves can therefore be scored in parallel on a ForkJoinPool as long as no variable is
+ * changed until they have all been scored.
+ * <p>
+ * Prerequisites, semester restrictions and exclusions, courses per semester constraints and every, any and none
+ * lists of them are checked this way. A constraint of any other type can only be checked by assigning the value of
+ * the move and asking the constraint, so if there is one the moves are scored one at a time on the calling thread.
+ *
+ * @author Vincent J. Palodichuk
+ */
+final class Neighborhood {
+    // The number of moves that a task scores itself instead of splitting them between two new tasks.
+    private static final int SPLIT_THRESHOLD = 64;
+
+    // The maximum number of the variables with a value that an ejection chain may bump when it moves a variable to
+    // that value.
+    private static final int CHAIN_WIDTH = 16;
+
+    /**
+     * The result of findBestMove when there are no moves.
+     */
+    static final long NO_MOVES = Long.MAX_VALUE;
+
+    // The value id of a variable that is not assigned, which is the id the registry returns for null.
+    private static final int UNSCHEDULED = SearchRegistry.UNKNOWN;
+    static final int NO_MOVE = -1;
+
+    private final SearchRegistry registry;
+    private final int[] keys;
+    private final int[] values;
+    private final List<Unit> units;
+    private final int[][] unitsOf;
+    private final int[] globalUnits;
+    private final boolean[] violated;
+    private final boolean parallel;
+    private int violations;
+    // True once a snapshot has been taken, after which update only has to check the variables that changed.
+    private boolean snapshotTaken;
+    // The units that update checks again, and whether each of them is in the list.
+    private final int[] stale;
+    private final boolean[] isStale;
+    private final int[][] allowedValues;
+    // The ids of the variables that had each value when the snapshot was taken, which are found when first needed.
+    private int[][] buckets;
+    // The moves that are being scored. The second variable of a move of a single variable is NO_MOVE.
+    private int[] moveFirsts = new int[0];
+    private int[] moveFirstValues = new int[0];
+    private int[] moveSeconds = new int[0];
+    private int[] moveSecondValues = new int[0];
+    private int moveCount;
+
+    /**
+     * Compiles the specified constraints against the ids of the specified registry.
+     *
+     * @param registry the registry of the variables and values of the search.
+     * @param constraints the constraints that the moves are scored against.
+     */
+    Neighborhood(SearchRegistry registry, ConstraintList constraints) {
+        this.registry = registry;
+        this.keys = new int[registry.getNumValues()];
+        this.values = new int[registry.getNumVariables()];
+        this.units = new ArrayList<>();
+        this.allowedValues = new int[registry.getNumVariables()][];
+
+        boolean semesters = true;
+
+        for (int id = 0; id < keys.length; id++) {
+            if (registry.getValue(id) instanceof Semester semester) {
+                keys[id] = semester.getId();
+            } else {
+                semesters = false;
+            }
+        }
+
+        flatten(constraints, semesters);
+
+        List<List<Integer>> unitLists = new ArrayList<>();
+        List<Integer> globalList = new ArrayList<>();
+        boolean compiled = semesters;
+
+        for (int i = 0; i < registry.getNumVariables(); i++) {
+            unitLists.add(new ArrayList<>());
+        }
+
+        for (int unit = 0; unit < units.size(); unit++) {
+            List<SearchVariable> dependencies = units.get(unit).constraint.getVariables();
+
+            compiled &= !(units.get(unit) instanceof OpaqueUnit);
+
+            if (dependencies == null) {
+                globalList.add(unit);
+                continue;
+            }
+
+            for (SearchVariable variable : dependencies) {
+                int id = registry.getVariableId(variable);
+                List<Integer> unitList = id == SearchRegistry.UNKNOWN ? null : unitLists.get(id);
+
+                if (unitList != null && (unitList.isEmpty() || unitList.get(unitList.size() - 1) != unit)) {
+                    unitList.add(unit);
+                }
+            }
+        }
+
+        unitsOf = new int[unitLists.size()][];
+
+        for (int id = 0; id < unitsOf.length; id++) {
+            unitsOf[id] = unitLists.get(id).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        globalUnits = globalList.stream().mapToInt(Integer::intValue).toArray();
+        violated = new boolean[units.size()];
+        stale = new int[units.size()];
+        isStale = new boolean[units.size()];
+        parallel = compiled;
+    }
+
+    private void flatten(Constraint constraint, boolean semesters) {
+        if (constraint instanceof EveryConstraintList list) {
+            for (Constraint child : list.getConstraints()) {
+                flatten(child, semesters);
+            }
+        } else {
+            units.add(semesters ? compile(constraint) : new OpaqueUnit(constraint));
+        }
+    }
+
+    private Unit compile(Constraint constraint) {
+        if (constraint instanceof Prerequisite prerequisite) {
+            int course = registry.getVariableId(prerequisite.getCourse());
+            int before = registry.getVariableId(prerequisite.getPrerequisiteCourse());
+
+            if (course != SearchRegistry.UNKNOWN && before != SearchRegistry.UNKNOWN) {
+                return new PrerequisiteUnit(prerequisite, course, before);
+            }
+        } else if (constraint instanceof SemesterRestriction restriction) {
+            int course = registry.getVariableId(restriction.getCourse());
+
+            if (course != SearchRegistry.UNKNOWN && restriction.getRestriction() != null) {
+                return new RestrictionUnit(restriction, course);
+            }
+        } else if (constraint instanceof CoursesPerSemesterConstraint capacity) {
+            CapacityUnit unit = new CapacityUnit(capacity);
+
+            if (unit.courses != null) {
+                return unit;
+            }
+        } else if (constraint instanceof EveryConstraintList || constraint instanceof AnyConstraintList
+                || constraint instanceof NoneConstraintList) {
+            List<Constraint> children = ((ConstraintList) constraint).getConstraints();
+            Unit[] compiled = new Unit[children.size()];
+
+            for (int i = 0; i < compiled.length; i++) {
+                compiled[i] = compile(children.get(i));
+
+                if (compiled[i] instanceof OpaqueUnit) {
+                    return new OpaqueUnit(constraint);
+                }
+            }
+
+            return new ListUnit((ConstraintList) constraint, compiled);
+        }
+
+        return new OpaqueUnit(constraint);
+    }
+
+    /**
+     * Returns true if the moves can be scored in parallel, which is the case if every constraint could be compiled.
+     *
+     * @return true if the moves can be scored in parallel.
+     */
+    boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Records the current value of every variable and which of the constraints are violated.
+     */
+    void snapshot() {
+        for (int id = 0; id < values.length; id++) {
+            values[id] = registry.getValueId(registry.getVariable(id).getValue());
+        }
+
+        count();
+    }
+
+    /**
+     * Records the specified value ids as the values of the variables, without changing the variables, and which of
+     * the constraints they violate. The constraints are only checked against the specified values if isParallel, as
+     * any other constraint is checked against the current values of the variables.
+     *
+     * @param assignment the id of the value of each variable.
+     */
+    void snapshot(int[] assignment) {
+        System.arraycopy(assignment, 0, values, 0, values.length);
+        count();
+    }
+
+    /**
+     * Records the current value of each variable whose value has changed since the snapshot was taken and which of
+     * the constraints are violated, by only checking the constraints that depend on the variables that changed. This
+     * is the same as snapshot if a snapshot has not been taken.
+     */
+    void update() {
+        if (!snapshotTaken) {
+            snapshot();
+            return;
+        }
+
+        int count = 0;
+
+        for (int id = 0; id < values.length; id++) {
+            int value = registry.getValueId(registry.getVariable(id).getValue());
+
+            if (value == values[id]) {
+                continue;
+            }
+
+            values[id] = value;
+
+            for (int unit : unitsOf[id]) {
+                if (!isStale[unit]) {
+                    isStale[unit] = true;
+                    stale[count++] = unit;
+                }
+            }
+        }
+
+        if (count == 0) {
+            return;
+        }
+
+        for (int unit : globalUnits) {
+            if (!isStale[unit]) {
+                isStale[unit] = true;
+                stale[count++] = unit;
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            int unit = stale[i];
+
+            isStale[unit] = false;
+            units.get(unit).snapshot();
+
+            boolean answer = units.get(unit).isViolated(NO_MOVE, UNSCHEDULED, NO_MOVE, UNSCHEDULED);
+
+            violations += (answer ? 1 : 0) - (violated[unit] ? 1 : 0);
+            violated[unit] = answer;
+        }
+
+        buckets = null;
+    }
+
+    private void count() {
+        snapshotTaken = true;
+        violations = 0;
+
+        for (int unit = 0; unit < violated.length; unit++) {
+            units.get(unit).snapshot();
+            violated[unit] = units.get(unit).isViolated(NO_MOVE, UNSCHEDULED, NO_MOVE, UNSCHEDULED);
+
+            if (violated[unit]) {
+                violations++;
+            }
+        }
+
+        buckets = null;
+    }
+
+    /**
+     * Returns true if a constraint that depends on the specified variable was violated when the snapshot was taken.
+     *
+     * @param variable the id of the variable.
+     * @return true if a constraint that depends on the specified variable was violated.
+     */
+    boolean isInConflict(int variable) {
+        for (int unit : unitsOf[variable]) {
+            if (violated[unit]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the number of constraints that were violated when the snapshot was taken.
+     *
+     * @return the number of constraints that were violated when the snapshot was taken.
+     */
+    int getViolations() {
+        return violations;
+    }
+
+    /**
+     * Returns the change in the number of violated constraints if the specified variable is assigned the specified
+     * value, relative to the snapshot.
+     *
+     * @param variable the id of the variable.
+     * @param value the id of the value.
+     * @return the change in the number of violated constraints.
+     */
+    int delta(int variable, int value) {
+        return delta(variable, value, NO_MOVE, UNSCHEDULED);
+    }
+
+    /**
+     * Returns the change in the number of violated constraints if the first variable is assigned the first value and
+     * the second variable is assigned the second value at the same time, relative to the snapshot. The second
+     * variable may be NO_MOVE for a move of a single variable. A constraint of both variables is only counted once.
+     *
+     * @param first the id of the first variable.
+     * @param firstValue the id of the value of the first variable.
+     * @param second the id of the second variable, or NO_MOVE.
+     * @param secondValue the id of the value of the second variable.
+     * @return the change in the number of violated constraints.
+     */
+    int delta(int first, int firstValue, int second, int secondValue) {
+        int answer = 0;
+
+        for (int unit : unitsOf[first]) {
+            answer += change(unit, first, firstValue, second, secondValue);
+        }
+
+        if (second != NO_MOVE) {
+            // The units of a variable are in ascending order, so the units of both can be found by a search.
+            for (int unit : unitsOf[second]) {
+                if (Arrays.binarySearch(unitsOf[first], unit) < 0) {
+                    answer += change(unit, first, firstValue, second, secondValue);
+                }
+            }
+        }
+
+        for (int unit : globalUnits) {
+            answer += change(unit, first, firstValue, second, secondValue);
+        }
+
+        return answer;
+    }
+
+    private int change(int unit, int first, int firstValue, int second, int secondValue) {
+        boolean after = units.get(unit).isViolated(first, firstValue, second, secondValue);
+
+        return after == violated[unit] ? 0 : after ? 1 : -1;
+    }
+
+    /**
+     * Scores every move of the specified variables to a value of their domain other than their current value and
+     * returns the best one. See findBestMove with move types.
+     *
+     * @param variables the variables to move.
+     * @param domain the domain of the values of the variables.
+     * @param pool the pool to score the moves on if they can be scored in parallel.
+     * @return the delta and index of the best move, or NO_MOVES if there are no moves.
+     */
+    long findBestMove(List<SearchVariable> variables, VariableDomain domain, ForkJoinPool pool) {
+        return findBestMove(variables, domain, pool, EnumSet.of(MoveType.REASSIGN), null);
+    }
+
+    /**
+     * Scores every move of the specified types of the specified variables and returns the best one as the index of
+     * the move in the low 32 bits and its delta in the high 32 bits. The moves are generated variable by variable in
+     * the order the variables are given, so the move with the lowest index wins a tie and the result does not depend
+     * on how the moves were split between threads. Returns NO_MOVES if there are no moves. snapshot must have been
+     * called since any variable was last changed.
+     *
+     * @param variables the variables to move.
+     * @param domain the domain of the values of the variables.
+     * @param pool the pool to score the moves on if they can be scored in parallel.
+     * @param types the types of moves to score.
+     * @param random the random number generator used to sample the courses that are bumped by ejection chains. May
+     *               be null if types does not include EJECTION_CHAIN.
+     * @return the delta and index of the best move, or NO_MOVES if there are no moves.
+     */
+    long findBestMove(List<SearchVariable> variables, VariableDomain domain, ForkJoinPool pool, Set<MoveType> types,
+                      Random random) {
+        moveCount = 0;
+
+        for (SearchVariable variable : variables) {
+            int id = registry.getVariableId(variable);
+
+            if (id == SearchRegistry.UNKNOWN) {
+                continue;
+            }
+
+            for (int value : getAllowedValues(id, domain)) {
+                if (value == values[id]) {
+                    continue;
+                }
+
+                if (types.contains(MoveType.REASSIGN)) {
+                    addMove(id, value, NO_MOVE, UNSCHEDULED);
+                }
+
+                addCompoundMoves(id, value, domain, types, random);
+            }
+        }
+
+        return findBestMove(pool);
+    }
+
+    /**
+     * Scores the swaps and ejection chains that move the specified variable to the specified value and returns the
+     * best one. See findBestMove.
+     *
+     * @param variable the id of the variable to move.
+     * @param value the id of the value to move it to.
+     * @param domain the domain of the values of the variables.
+     * @param pool the pool to score the moves on if they can be scored in parallel.
+     * @param types the types of moves to score. REASSIGN is ignored.
+     * @param random the random number generator used to sample the courses that are bumped by ejection chains. May
+     *               be null if types does not include EJECTION_CHAIN.
+     * @return the delta and index of the best move, or NO_MOVES if there are no moves.
+     */
+    long findBestCompoundMove(int variable, int value, VariableDomain domain, ForkJoinPool pool, Set<MoveType> types,
+                              Random random) {
+        moveCount = 0;
+        addCompoundMoves(variable, value, domain, types, random);
+
+        return findBestMove(pool);
+    }
+
+    private long findBestMove(ForkJoinPool pool) {
+        if (moveCount == 0) {
+            return NO_MOVES;
+        }
+
+        MoveTask task = new MoveTask(0, moveCount);
+
+        return parallel && moveCount > SPLIT_THRESHOLD ? pool.invoke(task) : task.compute();
+    }
+
+    /**
+     * Adds the swaps of the specified variable with the variables that have the specified value, and the ejection
+     * chains that move the variable to the value and bump one of those variables to another value of its domain.
+     */
+    private void addCompoundMoves(int variable, int value, VariableDomain domain, Set<MoveType> types,
+                                  Random random) {
+        boolean swaps = types.contains(MoveType.SWAP);
+        boolean chains = types.contains(MoveType.EJECTION_CHAIN);
+
+        if ((!swaps && !chains) || values[variable] == UNSCHEDULED) {
+            return;
+        }
+
+        int[] bucket = getBucket(value);
+        int width = chains ? Math.min(bucket.length, CHAIN_WIDTH) : 0;
+        // Only the ejection chains are sampled, so swaps alone never draw from random.
+        int offset = chains && width < bucket.length ? random.nextInt(bucket.length) : 0;
+
+        for (int i = 0; swaps && i < bucket.length; i++) {
+            int other = bucket[i];
+
+            if (other != variable && isAllowed(other, values[variable], domain)) {
+                addMove(variable, value, other, values[variable]);
+            }
+        }
+
+        for (int i = 0; i < width; i++) {
+            int other = bucket[(offset + i) % bucket.length];
+
+            if (other == variable) {
+                continue;
+            }
+
+            for (int next : getAllowedValues(other, domain)) {
+                // Bumping the other variable to the value of this one is a swap.
+                if (next != value && next != values[variable]) {
+                    addMove(variable, value, other, next);
+                }
+            }
+        }
+    }
+
+    private void addMove(int first, int firstValue, int second, int secondValue) {
+        if (moveCount == moveFirsts.length) {
+            int length = Math.max(16, moveCount * 2);
+
+            moveFirsts = Arrays.copyOf(moveFirsts, length);
+            moveFirstValues = Arrays.copyOf(moveFirstValues, length);
+            moveSeconds = Arrays.copyOf(moveSeconds, length);
+            moveSecondValues = Arrays.copyOf(moveSecondValues, length);
+        }
+
+        moveFirsts[moveCount] = first;
+        moveFirstValues[moveCount] = firstValue;
+        moveSeconds[moveCount] = second;
+        moveSecondValues[moveCount++] = secondValue;
+    }
+
+    /**
+     * Returns the ids of the variables that had the specified value when the snapshot was taken.
+     */
+    private int[] getBucket(int value) {
+        if (buckets == null) {
+            int[] sizes = new int[keys.length];
+
+            for (int id : values) {
+                if (id != UNSCHEDULED) {
+                    sizes[id]++;
+                }
+            }
+
+            buckets = new int[keys.length][];
+
+            for (int id = 0; id < keys.length; id++) {
+                buckets[id] = new int[sizes[id]];
+                sizes[id] = 0;
+            }
+
+            for (int variable = 0; variable < values.length; variable++) {
+                if (values[variable] != UNSCHEDULED) {
+                    buckets[values[variable]][sizes[values[variable]]++] = variable;
+                }
+            }
+        }
+
+        return buckets[value];
+    }
+
+    /**
+     * Returns the ids of the values of the domain of the specified variable. The domain of a variable does not
+     * change during a search, so it is only asked once.
+     */
+    private int[] getAllowedValues(int variable, VariableDomain domain) {
+        if (allowedValues[variable] == null) {
+            allowedValues[variable] = domain.getValues(registry.getVariable(variable)).stream()
+                    .mapToInt(registry::getValueId).filter(id -> id != SearchRegistry.UNKNOWN).distinct().toArray();
+        }
+
+        return allowedValues[variable];
+    }
+
+    private boolean isAllowed(int variable, int value, VariableDomain domain) {
+        for (int allowed : getAllowedValues(variable, domain)) {
+            if (allowed == value) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the first variable of the specified move that was returned by findBestMove.
+     *
+     * @param move the move returned by findBestMove.
+     * @return the first variable of the move.
+     */
+    SearchVariable getVariable(long move) {
+        return registry.getVariable(moveFirsts[(int) move]);
+    }
+
+    /**
+     * Returns the value of the first variable of the specified move that was returned by findBestMove.
+     *
+     * @param move the move returned by findBestMove.
+     * @return the value of the first variable of the move.
+     */
+    SearchVariable getValue(long move) {
+        return registry.getValue(moveFirstValues[(int) move]);
+    }
+
+    /**
+     * Returns the type of the specified move that was returned by findBestMove.
+     *
+     * @param move the move returned by findBestMove.
+     * @return the type of the move.
+     */
+    MoveType getType(long move) {
+        int index = (int) move;
+
+        if (moveSeconds[index] == NO_MOVE) {
+            return MoveType.REASSIGN;
+        }
+
+        return moveSecondValues[index] == values[moveFirsts[index]] ? MoveType.SWAP : MoveType.EJECTION_CHAIN;
+    }
+
+    /**
+     * Assigns the values of the specified move that was returned by findBestMove to its variables.
+     *
+     * @param move the move returned by findBestMove.
+     */
+    void apply(long move) {
+        int index = (int) move;
+
+        registry.getVariable(moveFirsts[index]).setValue(registry.getValue(moveFirstValues[index]));
+
+        if (moveSeconds[index] != NO_MOVE) {
+            registry.getVariable(moveSeconds[index]).setValue(registry.getValue(moveSecondValues[index]));
+        }
+    }
+
+    /**
+     * Assigns the variables of the specified move that was returned by findBestMove the values they had when the
+     * snapshot was taken.
+     *
+     * @param move the move returned by findBestMove.
+     */
+    void undo(long move) {
+        int index = (int) move;
+
+        registry.getVariable(moveFirsts[index]).setValue(registry.getValue(values[moveFirsts[index]]));
+
+        if (moveSeconds[index] != NO_MOVE) {
+            registry.getVariable(moveSeconds[index]).setValue(registry.getValue(values[moveSeconds[index]]));
+        }
+    }
+
+    /**
+     * Returns the change in the number of violated constraints of the specified move that was returned by
+     * findBestMove.
+     *
+     * @param move the move returned by findBestMove.
+     * @return the change in the number of violated constraints of the move.
+     */
+    static int getDelta(long move) {
+        return (int) (move >> 32);
+    }
+
+    // Returns the id of the value of the specified course with the variables of a move assigned their values, which
+    // is UNSCHEDULED if it has no value.
+    private int semesterOf(int course, int first, int firstValue, int second, int secondValue) {
+        return course == first ? firstValue : course == second ? secondValue : values[course];
+    }
+
+    /**
+     * Scores the moves from start to end, splitting them between two tasks while there are too many.
+     */
+    private final class MoveTask extends RecursiveTask<Long> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+        private final int end;
+
+        MoveTask(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Long compute() {
+            if (!parallel || end - start <= SPLIT_THRESHOLD) {
+                long answer = NO_MOVES;
+
+                for (int move = start; move < end; move++) {
+                    int delta = delta(moveFirsts[move], moveFirstValues[move], moveSeconds[move],
+                            moveSecondValues[move]);
+
+                    answer = Math.min(answer, (long) delta << 32 | move);
+                }
+
+                return answer;
+            }
+
+            int middle = (start + end) >>> 1;
+            MoveTask left = new MoveTask(start, middle);
+
+            left.fork();
+
+            long right = new MoveTask(middle, end).compute();
+
+            return Math.min(left.join(), right);
+        }
+    }
+
+    /**
+     * A constraint that is counted on its own. isViolated returns true if the constraint is violated with the
+     * variables of a move assigned their values, or with the values of the snapshot if the first variable is
+     * NO_MOVE.
+     */
+    private abstract static class Unit {
+        final Constraint constraint;
+
+        Unit(Constraint constraint) {
+            this.constraint = constraint;
+        }
+
+        void snapshot() {
+        }
+
+        abstract boolean isViolated(int first, int firstValue, int second, int secondValue);
+    }
+
+    private final class PrerequisiteUnit extends Unit {
+        private final int course;
+        private final int prerequisite;
+        private final boolean concurrent;
+
+        PrerequisiteUnit(Prerequisite constraint, int course, int prerequisite) {
+            super(constraint);
+            this.course = course;
+            this.prerequisite = prerequisite;
+            this.concurrent = constraint.isConcurrent();
+        }
+
+        @Override
+        boolean isViolated(int first, int firstValue, int second, int secondValue) {
+            int before = semesterOf(prerequisite, first, firstValue, second, secondValue);
+            int after = semesterOf(course, first, firstValue, second, secondValue);
+
+            if (before == UNSCHEDULED || after == UNSCHEDULED) {
+                return true;
+            }
+
+            return concurrent ? keys[before] > keys[after] : keys[before] >= keys[after];
+        }
+    }
+
+    private final class RestrictionUnit extends Unit {
+        private final int course;
+        private final int restriction;
+        private final boolean exclusion;
+
+        RestrictionUnit(SemesterRestriction constraint, int course) {
+            super(constraint);
+            this.course = course;
+            this.restriction = constraint.getRestriction().getId();
+            this.exclusion = constraint instanceof SemesterExclusion;
+        }
+
+        @Override
+        boolean isViolated(int first, int firstValue, int second, int secondValue) {
+            int semester = semesterOf(course, first, firstValue, second, secondValue);
+
+            return semester == UNSCHEDULED || (keys[semester] == restriction) == exclusion;
+        }
+    }
+
+    /**
+     * Counts the courses in each semester when the snapshot is taken, so that a move only has to adjust the counts
+     * of the semester it leaves and the semester it joins.
+     */
+    private final class CapacityUnit extends Unit {
+        private final int[] courses;
+        private final boolean[] members;
+        private final int[] indexes;
+        private final int[] counts;
+        private final int capacity;
+        private int overCapacity;
+
+        CapacityUnit(CoursesPerSemesterConstraint constraint) {
+            super(constraint);
+
+            int[] ids = new int[constraint.getClassList().size()];
+
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = registry.getVariableId(constraint.getClassList().get(i));
+            }
+
+            courses = Arrays.stream(ids).anyMatch(id -> id == SearchRegistry.UNKNOWN) ? null : ids;
+            members = new boolean[values.length];
+
+            for (int id : ids) {
+                if (id != SearchRegistry.UNKNOWN) {
+                    members[id] = true;
+                }
+            }
+
+            indexes = new int[keys.length];
+            Arrays.fill(indexes, UNSCHEDULED);
+
+            List<Integer> semesters = new ArrayList<>();
+
+            for (Semester semester : constraint.getSemesters()) {
+                if (!semesters.contains(semester.getId())) {
+                    semesters.add(semester.getId());
+                }
+            }
+
+            for (int id = 0; id < keys.length; id++) {
+                indexes[id] = semesters.indexOf(keys[id]);
+            }
+
+            counts = new int[semesters.size()];
+            capacity = constraint.getCoursesPerSemester();
+        }
+
+        @Override
+        void snapshot() {
+            Arrays.fill(counts, 0);
+            overCapacity = 0;
+
+            for (int course : courses) {
+                int semester = values[course];
+
+                if (semester != UNSCHEDULED && indexes[semester] >= 0 && ++counts[indexes[semester]] == capacity + 1) {
+                    overCapacity++;
+                }
+            }
+        }
+
+        @Override
+        boolean isViolated(int first, int firstValue, int second, int secondValue) {
+            // A move of a course that is not in the class list does not change the counts.
+            boolean firstMoves = first != NO_MOVE && members[first];
+            boolean secondMoves = second != NO_MOVE && members[second];
+            int firstFrom = firstMoves ? indexOf(values[first]) : UNSCHEDULED;
+            int firstTo = firstMoves ? indexOf(firstValue) : UNSCHEDULED;
+            int secondFrom = secondMoves ? indexOf(values[second]) : UNSCHEDULED;
+            int secondTo = secondMoves ? indexOf(secondValue) : UNSCHEDULED;
+            int answer = overCapacity;
+
+            // Only the semesters that the courses leave and join change, and each of them is adjusted once.
+            answer += change(firstFrom, firstFrom, firstTo, secondFrom, secondTo);
+
+            if (firstTo != firstFrom) {
+                answer += change(firstTo, firstFrom, firstTo, secondFrom, secondTo);
+            }
+
+            if (secondFrom != firstFrom && secondFrom != firstTo) {
+                answer += change(secondFrom, firstFrom, firstTo, secondFrom, secondTo);
+            }
+
+            if (secondTo != firstFrom && secondTo != firstTo && secondTo != secondFrom) {
+                answer += change(secondTo, firstFrom, firstTo, secondFrom, secondTo);
+            }
+
+            return answer > 0;
+        }
+
+        private int indexOf(int value) {
+            return value == UNSCHEDULED ? UNSCHEDULED : indexes[value];
+        }
+
+        // Returns the change in the number of semesters over capacity of the specified semester once the courses
+        // have left and joined their semesters.
+        private int change(int semester, int firstFrom, int firstTo, int secondFrom, int secondTo) {
+            if (semester < 0) {
+                return 0;
+            }
+
+            int before = counts[semester];
+            int after = before;
+
+            after += (firstTo == semester ? 1 : 0) - (firstFrom == semester ? 1 : 0);
+            after += (secondTo == semester ? 1 : 0) - (secondFrom == semester ? 1 : 0);
+
+            return (after > capacity ? 1 : 0) - (before > capacity ? 1 : 0);
+        }
+    }
+
+    private static final class ListUnit extends Unit {
+        private final Unit[] children;
+
+        ListUnit(ConstraintList constraint, Unit[] children) {
+            super(constraint);
+            this.children = children;
+        }
+
+        @Override
+        void snapshot() {
+            for (Unit child : children) {
+                child.snapshot();
+            }
+        }
+
+        @Override
+        boolean isViolated(int first, int firstValue, int second, int secondValue) {
+            if (constraint instanceof AnyConstraintList) {
+                for (Unit child : children) {
+                    if (!child.isViolated(first, firstValue, second, secondValue)) {
+                        return false;
+                    }
+                }
+
+                return children.length > 0;
+            }
+
+            // Every list is violated by a violated constraint and a none list by a satisfied one.
+            boolean none = constraint instanceof NoneConstraintList;
+
+            for (Unit child : children) {
+                if (child.isViolated(first, firstValue, second, secondValue) != none) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * A constraint that can only be checked by assigning the value of a move to its variable, which is why the
+     * moves are not scored in parallel if there is one.
+     */
+    private final class OpaqueUnit extends Unit {
+        OpaqueUnit(Constraint constraint) {
+            super(constraint);
+        }
+
+        @Override
+        boolean isViolated(int first, int firstValue, int second, int secondValue) {
+            if (first == NO_MOVE) {
+                return !constraint.isSatisfied();
+            }
+
+            assign(first, firstValue);
+            assign(second, secondValue);
+
+            boolean answer = !constraint.isSatisfied();
+
+            if (second != NO_MOVE) {
+                assign(second, values[second]);
+            }
+
+            assign(first, values[first]);
+
+            return answer;
+        }
+
+        private void assign(int variable, int value) {
+            if (variable == NO_MOVE) {
+                return;
+            }
+
+            if (value == UNSCHEDULED) {
+                registry.getVariable(variable).clearValue();
+            } else {
+                registry.getVariable(variable).setValue(registry.getValue(value));
+            }
+        }
+    }
+}
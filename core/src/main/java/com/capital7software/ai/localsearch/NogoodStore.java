@@ -0,0 +1,287 @@
+/*
+ * File: NogoodStore.java
+ */
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.Constraint;
+import com.capital7software.ai.localsearch.constraints.ConstraintList;
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A NogoodStore remembers why the attempts of a search failed, so that the attempts after a Random Restart do not
+ * walk into the same dead ends again.
+ * <p>
+ * A nogood is a partial assignment of one or two variables to values, such as a course and its prerequisite in the
+ * semesters that violate the prerequisite. Each time the search gives up on an assignment, every violated constraint
+ * of at most MAX_SIZE variables is recorded as a candidate nogood of the values its variables had. A candidate only
+ * becomes a nogood once it has been recorded at THRESHOLD local minima, so a combination has to be involved in the
+ * conflicts consistently and not just once. The random assignment of a restart then avoids completing a nogood by
+ * drawing another value for a variable, up to MAX_TRIES times, so the nogoods bias the assignment without ever
+ * making a variable impossible to assign.
+ * <p>
+ * A variable and a value are packed into a single int code, and a candidate of two codes is packed into a long, so
+ * the candidates are counted in an open addressing table of longs and ints. The table holds at most MAX_CANDIDATES
+ * candidates and at most MAX_NOGOODS of them become nogoods, so the store stays small however long the search runs.
+ *
+ * @author Vincent J. Palodichuk
+ */
+final class NogoodStore {
+    /**
+     * The maximum number of variables of a nogood.
+     */
+    static final int MAX_SIZE = 2;
+
+    /**
+     * The number of local minima a candidate has to be recorded at to become a nogood.
+     */
+    static final int THRESHOLD = 2;
+
+    /**
+     * The maximum number of values that are drawn for a variable while avoiding the nogoods.
+     */
+    static final int MAX_TRIES = 8;
+
+    private static final int MAX_CANDIDATES = 1 << 16;
+    private static final int MAX_NOGOODS = 1 << 12;
+    private static final long EMPTY = -1L;
+    // The second code of a candidate of a single variable.
+    private static final int NONE = -1;
+
+    private final SearchRegistry registry;
+    private final int numValues;
+    private final List<Constraint> units;
+    private final List<int[]> unitVariables;
+    private long[] keys;
+    private int[] counts;
+    private int numCandidates;
+    private int numNogoods;
+    // The codes that form a nogood with each code, which are only allocated for the codes that are in a nogood, and
+    // the codes that are nogoods on their own.
+    private final int[][] partners;
+    private final int[] numPartners;
+    private final boolean[] forbidden;
+
+    /**
+     * Finds the constraints of at most MAX_SIZE variables that nogoods are learned from.
+     *
+     * @param registry the registry of the variables and values of the search.
+     * @param constraints the constraints of the search.
+     */
+    NogoodStore(SearchRegistry registry, ConstraintList constraints) {
+        this.registry = registry;
+        this.numValues = registry.getNumValues();
+        this.units = new ArrayList<>();
+        this.unitVariables = new ArrayList<>();
+        this.keys = new long[64];
+        this.counts = new int[keys.length];
+        this.partners = new int[registry.getNumVariables() * numValues][];
+        this.numPartners = new int[partners.length];
+        this.forbidden = new boolean[partners.length];
+
+        Arrays.fill(keys, EMPTY);
+        flatten(constraints);
+    }
+
+    private void flatten(Constraint constraint) {
+        if (constraint instanceof EveryConstraintList list) {
+            for (Constraint child : list.getConstraints()) {
+                flatten(child);
+            }
+        } else if (constraint.getVariables() != null) {
+            int[] ids = constraint.getVariables().stream().mapToInt(registry::getVariableId)
+                    .filter(id -> id != SearchRegistry.UNKNOWN).distinct().toArray();
+
+            if (ids.length > 0 && ids.length <= MAX_SIZE) {
+                units.add(constraint);
+                unitVariables.add(ids);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of nogoods that have been learned.
+     *
+     * @return the number of nogoods that have been learned.
+     */
+    int getNumNogoods() {
+        return numNogoods;
+    }
+
+    /**
+     * Returns the number of candidates that have been recorded at least once.
+     *
+     * @return the number of candidates that have been recorded at least once.
+     */
+    int getNumCandidates() {
+        return numCandidates;
+    }
+
+    /**
+     * Records the values of the variables of every violated constraint of the current assignment as a candidate,
+     * and makes each candidate that has now been recorded THRESHOLD times a nogood.
+     */
+    void learn() {
+        for (int unit = 0; unit < units.size(); unit++) {
+            if (units.get(unit).isSatisfied()) {
+                continue;
+            }
+
+            int[] ids = unitVariables.get(unit);
+            int first = codeOf(ids[0]);
+            int second = ids.length > 1 ? codeOf(ids[1]) : NONE;
+
+            if (first == NONE || (ids.length > 1 && second == NONE)) {
+                continue;
+            }
+
+            if (second != NONE && second < first) {
+                int swap = first;
+
+                first = second;
+                second = swap;
+            }
+
+            if (increment(((long) first << 32) | (second & 0xFFFFFFFFL)) == THRESHOLD && numNogoods < MAX_NOGOODS) {
+                add(first, second);
+            }
+        }
+    }
+
+    private int codeOf(int variable) {
+        int value = registry.getValueId(registry.getVariable(variable).getValue());
+
+        return value == SearchRegistry.UNKNOWN ? NONE : variable * numValues + value;
+    }
+
+    /**
+     * Adds one to the count of the specified candidate and returns the new count, or 0 if the table is full.
+     */
+    private int increment(long key) {
+        int slot = slotOf(key, keys);
+
+        if (keys[slot] == EMPTY) {
+            if (numCandidates == MAX_CANDIDATES) {
+                return 0;
+            }
+
+            if (2 * (numCandidates + 1) > keys.length) {
+                grow();
+                slot = slotOf(key, keys);
+            }
+
+            keys[slot] = key;
+            numCandidates++;
+        }
+
+        return ++counts[slot];
+    }
+
+    private static int slotOf(long key, long[] keys) {
+        int mask = keys.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+
+        keys = new long[oldKeys.length * 2];
+        counts = new int[keys.length];
+        Arrays.fill(keys, EMPTY);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i], keys);
+
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private void add(int first, int second) {
+        numNogoods++;
+
+        if (second == NONE) {
+            forbidden[first] = true;
+        } else {
+            addPartner(first, second);
+            addPartner(second, first);
+        }
+    }
+
+    private void addPartner(int code, int partner) {
+        if (partners[code] == null) {
+            partners[code] = new int[2];
+        } else if (numPartners[code] == partners[code].length) {
+            partners[code] = Arrays.copyOf(partners[code], partners[code].length * 2);
+        }
+
+        partners[code][numPartners[code]++] = partner;
+    }
+
+    /**
+     * Returns true if assigning the specified value to the specified variable completes a nogood with the variables
+     * that have already been assigned.
+     *
+     * @param variable the id of the variable.
+     * @param value the value to assign.
+     * @param assigned true for each variable that has already been assigned.
+     * @return true if the assignment completes a nogood.
+     */
+    boolean isForbidden(int variable, SearchVariable value, boolean[] assigned) {
+        int valueId = registry.getValueId(value);
+
+        if (valueId == SearchRegistry.UNKNOWN) {
+            return false;
+        }
+
+        int code = variable * numValues + valueId;
+
+        if (forbidden[code]) {
+            return true;
+        }
+
+        for (int i = 0; i < numPartners[code]; i++) {
+            int other = partners[code][i] / numValues;
+
+            if (assigned[other] && codeOf(other) == partners[code][i]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Assigns every variable a random value of its domain, drawing another value up to MAX_TRIES times whenever the
+     * value completes a nogood with the variables assigned before it.
+     *
+     * @param domain the domain of the variables.
+     */
+    void assign(VariableDomain domain) {
+        boolean[] assigned = new boolean[registry.getNumVariables()];
+
+        for (int id = 0; id < assigned.length; id++) {
+            SearchVariable variable = registry.getVariable(id);
+            SearchVariable value = domain.getRandomValue(variable);
+
+            for (int tries = 1; tries < MAX_TRIES && isForbidden(id, value, assigned); tries++) {
+                value = domain.getRandomValue(variable);
+            }
+
+            variable.setValue(value);
+            assigned[id] = true;
+        }
+    }
+}
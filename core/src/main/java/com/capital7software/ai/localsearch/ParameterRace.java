@@ -0,0 +1,405 @@
+/*
+ * File: ParameterRace.java
+ */
+package com.capital7software.ai.localsearch;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * A ParameterRace tunes the SearchParameters of a LocalSearch offline by racing candidate parameters over a set of
+ * benchmark problems, in the manner of F-Race. The race is run in blocks. A block is one of the problems with one
+ * seed, and every candidate that is still in the race searches it in parallel on a ForkJoinPool, each with its own
+ * LocalSearchProblem, the same seed and a budget of assignments. The cost of a run is the number of assignments it
+ * made, or twice the budget if it found no solution.
+ * <p>
+ * Once a race has run the minimum number of blocks, the candidates are ranked within each block after every block,
+ * and a Friedman test on the ranks decides whether any of them differ. If they do, every candidate whose sum of ranks
+ * is significantly worse than the best one in a pairwise Conover comparison is eliminated, so that the budget is
+ * spent on the candidates that are still in contention. The race ends when one candidate is left or every block has
+ * been run, and the winner is the candidate left with the lowest sum of ranks. Both tests are made at the 95% level
+ * with the usual large sample approximations of their quantiles.
+ * <p>
+ * Every block is searched with the same seeds however many workers there are, so a race with the same seed picks the
+ * same winner.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public final class ParameterRace {
+    private static final int DEFAULT_SEEDS = 10;
+    private static final int DEFAULT_MAX_ASSIGNMENTS = 10_000;
+    private static final int DEFAULT_MIN_BLOCKS = 5;
+    // The quantiles of the standard normal distribution of a one sided and a two sided test at the 95% level.
+    private static final double ONE_SIDED_Z = 1.6448536;
+    private static final double TWO_SIDED_Z = 1.9599640;
+
+    private final List<Supplier<LocalSearchProblem>> problems;
+    private long seed;
+    private int seeds;
+    private int maxAssignments;
+    private int minBlocks;
+    private EngineConfiguration configuration;
+    private ForkJoinPool pool;
+    private int blocks;
+    private int numRuns;
+    private List<SearchParameters> survivors;
+
+    /**
+     * Initializes a race over the specified benchmark problems. Each supplier must create a new LocalSearchProblem,
+     * with its constraints compiled if they are compiled in production, every time it is called, since the candidates
+     * search the problems at the same time.
+     *
+     * @param problems the suppliers of the benchmark problems. Cannot be null or empty.
+     * @throws IllegalArgumentException indicates that problems is null, empty or contains null.
+     */
+    public ParameterRace(List<Supplier<LocalSearchProblem>> problems) {
+        if (problems == null || problems.isEmpty() || problems.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("problems cannot be null, cannot be empty and cannot contain null.");
+        }
+
+        this.problems = List.copyOf(problems);
+        seed = LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        seeds = DEFAULT_SEEDS;
+        maxAssignments = DEFAULT_MAX_ASSIGNMENTS;
+        minBlocks = DEFAULT_MIN_BLOCKS;
+        configuration = EngineConfiguration.DEFAULT;
+        pool = ForkJoinPool.commonPool();
+        survivors = List.of();
+    }
+
+    /**
+     * Returns the specified number of candidates for a race. The first candidate is SearchParameters.DEFAULT and the
+     * others are drawn at random from ranges around it: the limits are powers of two and the weights lie between
+     * 1.0 and 2.0 in steps of 0.1, so that the winner is easy to read.
+     *
+     * @param count the number of candidates. Must be at least 1.
+     * @param random the random number generator that draws the candidates. Cannot be null.
+     * @return the candidates.
+     * @throws IllegalArgumentException indicates that count is less than 1 or random is null.
+     */
+    public static List<SearchParameters> sample(int count, Random random) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be at least 1.");
+        }
+
+        if (random == null) {
+            throw new IllegalArgumentException("random cannot be null.");
+        }
+
+        List<SearchParameters> answer = new ArrayList<>(count);
+
+        answer.add(SearchParameters.DEFAULT);
+
+        while (answer.size() < count) {
+            answer.add(new SearchParameters(1 << (3 + random.nextInt(8)), 1 << (5 + random.nextInt(8)),
+                    1 + random.nextInt(8), new ConflictWeights(sampleWeight(random), sampleWeight(random),
+                    sampleWeight(random), sampleWeight(random))));
+        }
+
+        return answer;
+    }
+
+    private static double sampleWeight(Random random) {
+        return 1.0 + random.nextInt(11) / 10.0;
+    }
+
+    /**
+     * Sets the seed of the first block of the race. Each block after it is searched with the next seed.
+     *
+     * @param seed the seed of the first block of the race.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the number of seeds that each problem is searched with, so that a race has at most this many blocks for
+     * each problem. The default is 10.
+     *
+     * @param seeds the number of seeds that each problem is searched with. Must be at least 1.
+     * @throws IllegalArgumentException indicates that seeds is less than 1.
+     */
+    public void setSeeds(int seeds) {
+        if (seeds < 1) {
+            throw new IllegalArgumentException("seeds must be at least 1.");
+        }
+
+        this.seeds = seeds;
+    }
+
+    /**
+     * Sets the budget of assignments of each run. The default is 10,000.
+     *
+     * @param maxAssignments the budget of assignments of each run. Must be at least 1.
+     * @throws IllegalArgumentException indicates that maxAssignments is less than 1.
+     */
+    public void setMaxAssignments(int maxAssignments) {
+        if (maxAssignments < 1) {
+            throw new IllegalArgumentException("maxAssignments must be at least 1.");
+        }
+
+        this.maxAssignments = maxAssignments;
+    }
+
+    /**
+     * Sets the number of blocks that are run before any candidate can be eliminated. The default is 5.
+     *
+     * @param minBlocks the number of blocks that are run before any candidate can be eliminated. Must be at least 2.
+     * @throws IllegalArgumentException indicates that minBlocks is less than 2.
+     */
+    public void setMinBlocks(int minBlocks) {
+        if (minBlocks < 2) {
+            throw new IllegalArgumentException("minBlocks must be at least 2.");
+        }
+
+        this.minBlocks = minBlocks;
+    }
+
+    /**
+     * Sets the configuration that every run is searched with. The default is EngineConfiguration.DEFAULT.
+     *
+     * @param configuration the configuration that every run is searched with. Cannot be null.
+     * @throws IllegalArgumentException indicates that configuration is null.
+     */
+    public void setConfiguration(EngineConfiguration configuration) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("configuration cannot be null.");
+        }
+
+        this.configuration = configuration;
+    }
+
+    /**
+     * Sets the pool that the runs of each block are searched on. The default is the common pool.
+     *
+     * @param pool the pool that the runs are searched on. Cannot be null.
+     * @throws IllegalArgumentException indicates that pool is null.
+     */
+    public void setPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool cannot be null.");
+        }
+
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the number of blocks that the last race ran.
+     *
+     * @return the number of blocks that the last race ran.
+     */
+    public int getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Returns the number of runs that the last race searched.
+     *
+     * @return the number of runs that the last race searched.
+     */
+    public int getNumRuns() {
+        return numRuns;
+    }
+
+    /**
+     * Returns the candidates that were not eliminated by the last race, in the order they were given.
+     *
+     * @return the candidates that were not eliminated by the last race.
+     */
+    public List<SearchParameters> getSurvivors() {
+        return survivors;
+    }
+
+    /**
+     * Races the specified candidates and returns the winner. The race ends early if the thread performing it is
+     * interrupted, and the winner of the blocks that were run is returned.
+     *
+     * @param candidates the candidates. Cannot be null or empty.
+     * @return the candidate with the lowest sum of ranks of those that were not eliminated.
+     * @throws IllegalArgumentException indicates that candidates is null, empty or contains null.
+     */
+    public SearchParameters race(List<SearchParameters> candidates) {
+        if (candidates == null || candidates.isEmpty() || candidates.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("candidates cannot be null, cannot be empty and cannot contain null.");
+        }
+
+        // The indices of the candidates still in the race and the cost of each candidate in each block.
+        List<Integer> alive = new ArrayList<>(candidates.size());
+        List<long[]> costs = new ArrayList<>();
+        int numBlocks = problems.size() * seeds;
+
+        for (int candidate = 0; candidate < candidates.size(); candidate++) {
+            alive.add(candidate);
+        }
+
+        blocks = 0;
+        numRuns = 0;
+
+        for (int block = 0; block < numBlocks && alive.size() > 1; block++) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+
+            // Each problem is searched once before any of them is searched with another seed.
+            Supplier<LocalSearchProblem> problem = problems.get(block % problems.size());
+            long blockSeed = seed + block;
+            long[] blockCosts = new long[candidates.size()];
+            List<ForkJoinTask<Long>> tasks = new ArrayList<>(alive.size());
+
+            for (int candidate : alive) {
+                SearchParameters parameters = candidates.get(candidate);
+
+                tasks.add(pool.submit(() -> run(problem, blockSeed, parameters)));
+            }
+
+            for (int i = 0; i < alive.size(); i++) {
+                blockCosts[alive.get(i)] = tasks.get(i).join();
+            }
+
+            costs.add(blockCosts);
+            numRuns += alive.size();
+            blocks++;
+
+            if (blocks >= minBlocks) {
+                eliminate(alive, costs);
+            }
+        }
+
+        survivors = alive.stream().map(candidates::get).toList();
+
+        return candidates.get(alive.get(best(alive, costs)));
+    }
+
+    private long run(Supplier<LocalSearchProblem> problems, long runSeed, SearchParameters parameters) {
+        LocalSearchProblem problem = problems.get();
+        LocalSearch search = new LocalSearch(problem.getVariables(), problem, problem.getConstraints());
+
+        problem.setSeed(runSeed);
+        search.setSeed(runSeed);
+        configuration.apply(search);
+        search.setParameters(parameters);
+
+        boolean solved = search.search(maxAssignments) != null;
+
+        return solved ? search.getNumAssignments() : 2L * Math.max(maxAssignments, search.getNumAssignments());
+    }
+
+    /**
+     * Returns the sums of the ranks of the candidates still in the race over every block, with tied costs given the
+     * average of the ranks they span. The sum of the squares of the ranks is returned in the last element.
+     */
+    private static double[] rankSums(List<Integer> alive, List<long[]> costs) {
+        int k = alive.size();
+        double[] answer = new double[k + 1];
+
+        for (long[] block : costs) {
+            for (int i = 0; i < k; i++) {
+                long cost = block[alive.get(i)];
+                int lower = 0;
+                int equal = 0;
+
+                for (int candidate : alive) {
+                    if (block[candidate] < cost) {
+                        lower++;
+                    } else if (block[candidate] == cost) {
+                        equal++;
+                    }
+                }
+
+                double rank = lower + (equal + 1) / 2.0;
+
+                answer[i] += rank;
+                answer[k] += rank * rank;
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns the index within alive of the candidate with the lowest sum of ranks, with ties going to the
+     * candidate that was given first.
+     */
+    private static int best(List<Integer> alive, List<long[]> costs) {
+        double[] sums = rankSums(alive, costs);
+        int answer = 0;
+
+        for (int i = 1; i < alive.size(); i++) {
+            if (sums[i] < sums[answer]) {
+                answer = i;
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Removes the candidates that are significantly worse than the best one if a Friedman test finds that the
+     * candidates differ.
+     */
+    private static void eliminate(List<Integer> alive, List<long[]> costs) {
+        int k = alive.size();
+        int b = costs.size();
+        double[] sums = rankSums(alive, costs);
+        // The spread of the ranks about their mean, corrected for ties. It is zero when every block is a tie.
+        double spread = sums[k] - b * k * (k + 1) * (k + 1) / 4.0;
+
+        if (k < 2 || spread <= 0.0) {
+            return;
+        }
+
+        double deviation = 0.0;
+
+        for (int i = 0; i < k; i++) {
+            deviation += (sums[i] - b * (k + 1) / 2.0) * (sums[i] - b * (k + 1) / 2.0);
+        }
+
+        double statistic = (k - 1) * deviation / spread;
+
+        if (statistic <= chiSquareQuantile(k - 1)) {
+            return;
+        }
+
+        int best = best(alive, costs);
+        double bestSum = sums[best];
+        int degrees = (b - 1) * (k - 1);
+        double variance = 2.0 * b * (1.0 - statistic / (b * (k - 1.0))) * spread / degrees;
+        double critical = tQuantile(degrees) * Math.sqrt(Math.max(0.0, variance));
+
+        for (int i = k - 1; i >= 0; i--) {
+            if (sums[i] - bestSum > critical) {
+                alive.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Returns the 95% quantile of the chi-square distribution with the specified degrees of freedom with the
+     * Wilson-Hilferty approximation.
+     */
+    private static double chiSquareQuantile(int degrees) {
+        double scale = 2.0 / (9.0 * degrees);
+        double root = 1.0 - scale + ONE_SIDED_Z * Math.sqrt(scale);
+
+        return degrees * root * root * root;
+    }
+
+    /**
+     * Returns the 97.5% quantile of Student's t distribution with the specified degrees of freedom with the
+     * Cornish-Fisher expansion.
+     */
+    private static double tQuantile(int degrees) {
+        double z = TWO_SIDED_Z;
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+
+        return z + (z3 + z) / (4.0 * degrees) + (5.0 * z5 + 16.0 * z3 + 3.0 * z) / (96.0 * degrees * degrees);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * File: RestartEvent.java
+ */
+package com.capital7software.ai.localsearch;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The RestartEvent is a Java Flight Recorder event that is committed every time LocalSearch abandons the current
+ * assignment and performs a Random Restart.
+ *
+ * @author Vincent J. Palodichuk
+ */
+@Name("com.capital7software.ai.localsearch.Restart")
+@Label("Restart")
+@Category({"Local Search"})
+@Description("A local search abandoned the current assignment and restarted")
+@StackTrace(false)
+class RestartEvent extends jdk.jfr.Event {
+    @Label("Variables")
+    @Description("The number of variables in the problem")
+    int variables;
+
+    @Label("Restart")
+    @Description("The number of restarts performed so far by this search")
+    int restart;
+
+    @Label("Assignments")
+    @Description("The number of assignments made so far by this search")
+    int assignments;
+
+    @Label("Score")
+    @Description("The conflict score of the assignment that was abandoned")
+    double score;
+}
@@ -0,0 +1,441 @@
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * A ScheduleConflictList scores the variables of a list of conflicts with primitive arrays. Each variable in conflict
+ * is given a dense id in the order that it is first scored, its score is kept in a double array at that id, and the
+ * ids are kept in an indexed max-heap ordered by score. When the conflicts are scored with the SearchRegistry of the
+ * search, the dense id of a registered variable is kept in an array indexed by its registry id. Otherwise, or for a
+ * variable that is not registered, it is kept in an identity map. The total score is summed once when the conflicts
+ * are scored and cached. After scoreConflicts, none of the queries allocate, and the variable with the highest score
+ * is found from the top of the heap rather than by a scan of every variable.
+ * <p>
+ * A violation adds the weight of its type of constraint times its violationDegree to the scores of its variables,
+ * and each course in a semester that is over capacity adds the weight of a course list times the number of courses
+ * over capacity in it. A prerequisite that is off by several semesters therefore scores more than one that is off by
+ * one, so a walk that moves a course closer to satisfying a constraint sees its score improve before the constraint
+ * is satisfied.
+ */
+public class ScheduleConflictList implements ConflictList {
+    private static final long SEED;
+    private static final Random RANDOM;
+
+    static {
+        SEED = LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        RANDOM = new Random(SEED);
+    }
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    List<Constraint> conflicts;
+    // The variables in conflict and their scores, indexed by the id of each variable.
+    private SearchVariable[] variables;
+    private double[] scores;
+    private int size;
+    private double totalScore;
+    // The dense id of each variable that is not found in the registry, created when the first one is scored.
+    private Map<SearchVariable, Integer> ids;
+    // The registry that the conflicts were scored with, if any, and the dense id of each of its variables, or -1.
+    private SearchRegistry registry;
+    private int[] registeredIds;
+    // An indexed max-heap of ids ordered by score, and the position of each id within the heap.
+    private int[] heap;
+    private int[] positions;
+    // Work space for finding the variables that are tied for the highest score.
+    private int[] ties;
+    private int[] stack;
+
+    /**
+     * Initializes a new conflict list from the specified list of
+     * constraints that are in conflict.
+     *
+     * @param conflicts the list of constraints that are in conflict.
+     * @throws IllegalArgumentException indicates that conflicts is null.
+     */
+    public ScheduleConflictList(List<Constraint> conflicts) {
+        if (conflicts == null) {
+            throw new IllegalArgumentException("conflicts cannot be null.");
+        }
+
+        variables = new SearchVariable[INITIAL_CAPACITY];
+        scores = new double[INITIAL_CAPACITY];
+        heap = new int[INITIAL_CAPACITY];
+        positions = new int[INITIAL_CAPACITY];
+        ties = new int[INITIAL_CAPACITY];
+        stack = new int[INITIAL_CAPACITY];
+        this.conflicts = new ArrayList<>(conflicts.size());
+
+        if (!conflicts.isEmpty()) {
+            this.conflicts.addAll(conflicts);
+        }
+    }
+
+    /**
+     * Returns the number of conflicts this list has with it's constraints.
+     * If there are no conflicts, then zero is returned.
+     *
+     * @return the number of conflicts this list has with it's constraints.
+     * If there are no conflicts, then zero is returned.
+     */
+    @Override
+    public int getNumberOfConflicts() {
+        return conflicts.size();
+    }
+
+    /**
+     * Returns an integer value that represents the score of the constraints that are in conflict. The higher the
+     * score, the more sever the conflicts are. The conflict score may be higher than the number of constraints as
+     * some conflicts may be weighted more than others.
+     *
+     * @return an integer value that represents the score of the constraints that are in conflict.
+     */
+    @Override
+    public double getConflictsScore() {
+        return totalScore;
+    }
+
+    /**
+     * Returns a map of the variables with conflicts and their score. Implementing classes may weight the constraint
+     * violations. This means that the score for a variable may not be 1 to 1 with the number of conflicts that the
+     * variable actually participates in.
+     *
+     * @return a map of the variables with conflicts and their score.
+     */
+    @Override
+    public Map<SearchVariable, Double> getVariablesInConflictWithScores() {
+        Map<SearchVariable, Double> answer = new LinkedHashMap<>();
+
+        for (int id = 0; id < size; id++) {
+            answer.put(variables[id], scores[id]);
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns a variable that has the highest score within the list of constraints contained within this
+     * ConflictList. If more than one variable have the greatest number of conflicts, then one of them is
+     * randomly selected to be the one returned.
+     *
+     * @return a variable that has the most conflicts within the list of constraints contained within this
+     * ConstraintList.
+     */
+    @Override
+    public SearchVariable getVariableWithTheHighestScore() {
+        return getVariableWithTheHighestScore(RANDOM);
+    }
+
+    /**
+     * Returns a variable that has the highest score within the list of constraints contained within this
+     * ConflictList. If more than one variable have the greatest number of conflicts, then the specified random
+     * number generator is used to select the one returned.
+     *
+     * @param random the random number generator used to break ties. Cannot be null.
+     * @return a variable that has the most conflicts within the list of constraints contained within this
+     * ConstraintList.
+     */
+    @Override
+    public SearchVariable getVariableWithTheHighestScore(Random random) {
+        if (size == 0) {
+            return null;
+        }
+
+        double max = scores[heap[0]];
+        int numTies = 0;
+        int top = 0;
+
+        // Every variable tied for the highest score is reached from the top of the heap through variables with the
+        // same score, since no variable in a heap has a higher score than its parent.
+        stack[top++] = 0;
+
+        while (top > 0) {
+            int position = stack[--top];
+
+            ties[numTies++] = heap[position];
+
+            for (int child = 2 * position + 1; child <= 2 * position + 2 && child < size; child++) {
+                if (scores[heap[child]] == max) {
+                    stack[top++] = child;
+                }
+            }
+        }
+
+        // If just one variable is the max we return it.
+        // Otherwise we randomly select one to return in the order that the variables were scored.
+        if (numTies == 1) {
+            return variables[ties[0]];
+        }
+
+        Arrays.sort(ties, 0, numTies);
+
+        return variables[ties[random.nextInt(numTies)]];
+    }
+
+    /**
+     * Returns true if this ConflictList is empty
+     *
+     * @return true if this ConflictList is empty
+     */
+    @Override
+    public boolean isEmpty() {
+        return conflicts.isEmpty();
+    }
+
+    /**
+     * Returns the list of Constraints that are associated with this conflict list.
+     *
+     * @return the list of Constraints that are associated with this conflict list.
+     */
+    @Override
+    public List<Constraint> getConflicts() {
+        List<Constraint> answer = new ArrayList<>(conflicts.size());
+
+        if (!conflicts.isEmpty()) {
+            answer.addAll(conflicts);
+        }
+
+        return answer;
+    }
+
+    /**
+     * Calculates the scores based on the current list of conflicts with the default weights.
+     */
+    @Override
+    public void scoreConflicts() {
+        scoreConflicts(ConflictWeights.DEFAULT);
+    }
+
+    /**
+     * Calculates the scores based on the current list of conflicts with the specified weights of the types of
+     * constraints.
+     *
+     * @param weights the weights of the types of constraints. Cannot be null.
+     * @throws IllegalArgumentException indicates that weights is null.
+     */
+    @Override
+    public void scoreConflicts(ConflictWeights weights) {
+        if (weights == null) {
+            throw new IllegalArgumentException("weights cannot be null.");
+        }
+
+        if (conflicts.isEmpty()) {
+            return;
+        }
+
+        for (Constraint constraint : conflicts) {
+            if (constraint instanceof Prerequisite prerequisite) {
+                processPrereqForConflicts(prerequisite, weights);
+            } else if (constraint instanceof AbstractConstraintList) {
+                ConstraintList cs = (ConstraintList) constraint;
+
+                for (Constraint listConstraint : cs.getConflicts().getConflicts()) {
+                    if (listConstraint instanceof Prerequisite prerequisite) {
+                        processPrereqForConflicts(prerequisite, weights);
+                    } else if (listConstraint instanceof SemesterRestriction sr) {
+                        processCourseForConflicts(sr.getCourse(), weights.restriction() * sr.violationDegree());
+                    }
+                }
+            } else if (constraint instanceof CoursesPerSemesterConstraint cps) {
+
+                for (ScheduledCourse course : cps.getConflicts()) {
+                    processCourseForConflicts(course, weights.courseList() * cps.getExcess(course.getSemester()));
+                }
+            } else if (constraint instanceof CourseListConstraint clc) {
+
+                for (ScheduledCourse course : clc.getConflicts()) {
+                    processCourseForConflicts(course, weights.courseList());
+                }
+            } else if (constraint instanceof SemesterRestriction sr) {
+                processCourseForConflicts(sr.getCourse(), weights.restriction() * sr.violationDegree());
+            }
+        }
+
+        // Summed in the order the variables were scored so that the total is the same however it is cached.
+        totalScore = 0;
+
+        for (int id = 0; id < size; id++) {
+            totalScore += scores[id];
+        }
+    }
+
+    /**
+     * Calculates the scores based on the current list of conflicts with the specified weights of the types of
+     * constraints, keeping track of the variables that are registered in the specified registry by their ids. The
+     * registry is only used if no variable has been scored yet.
+     *
+     * @param weights the weights of the types of constraints. Cannot be null.
+     * @param registry the registry of the variables of the search. Cannot be null.
+     * @throws IllegalArgumentException indicates that either argument is null.
+     */
+    @Override
+    public void scoreConflicts(ConflictWeights weights, SearchRegistry registry) {
+        if (weights == null) {
+            throw new IllegalArgumentException("weights cannot be null.");
+        }
+
+        if (registry == null) {
+            throw new IllegalArgumentException("registry cannot be null.");
+        }
+
+        if (size == 0 && !conflicts.isEmpty()) {
+            this.registry = registry;
+            registeredIds = new int[registry.getNumVariables()];
+            Arrays.fill(registeredIds, -1);
+        }
+
+        scoreConflicts(weights);
+    }
+
+    /**
+     * Returns the number of variables that are in conflict. scoreConflicts must be called first
+     * in order for this method to return valid results.
+     *
+     * @return the number of variables that are in conflict. scoreConflicts must be called first
+     * in order for this method to return valid results.
+     */
+    @Override
+    public int getNumVariablesInConflict() {
+        return size;
+    }
+
+    /**
+     * Returns a variable in conflict at random.
+     *
+     * @return a variable in conflict at random.
+     */
+    @Override
+    public SearchVariable getRandomVariableInConflict() {
+        return getRandomVariableInConflict(RANDOM);
+    }
+
+    /**
+     * Returns a variable in conflict that is selected with the specified random number generator.
+     *
+     * @param random the random number generator used to select the variable. Cannot be null.
+     * @return a variable in conflict at random.
+     */
+    @Override
+    public SearchVariable getRandomVariableInConflict(Random random) {
+        if (size == 1) {
+            return variables[0];
+        }
+
+        return variables[random.nextInt(size)];
+    }
+
+    /**
+     * Returns another variable in conflict. If the specified variable is the only one in conflict it is simply
+     * returned.
+     *
+     * @param variable the variable that we don't want to return if possible.
+     * @return another variable in conflict. If the specified variable is the only one in conflict it is simply
+     * returned.
+     */
+    @Override
+    public SearchVariable getAnotherVariableInConflict(SearchVariable variable) {
+        if (conflicts.isEmpty() || size == 1 || idOf(variable) < 0) {
+            return variable;
+        }
+
+        SearchVariable answer = variable;
+
+        for (int id = 0; id < size; id++) {
+            if (!variable.equals(variables[id])) {
+                answer = variables[id];
+                break;
+            }
+        }
+
+        return answer;
+    }
+
+    private void processPrereqForConflicts(Prerequisite prerequisite, ConflictWeights weights) {
+        double degree = prerequisite.violationDegree();
+
+        processCourseForConflicts(prerequisite.getCourse(), weights.prerequisiteCourse() * degree);
+        processCourseForConflicts(prerequisite.getPrerequisiteCourse(), weights.prerequisite() * degree);
+    }
+
+    private void processCourseForConflicts(ScheduledCourse course, double times) {
+        int id = idOf(course);
+
+        if (id < 0) {
+            id = add(course);
+        }
+
+        scores[id] += times;
+        siftUp(positions[id]);
+    }
+
+    // Returns the dense id of the specified variable, or -1 if it has not been scored.
+    private int idOf(SearchVariable variable) {
+        int registered = registry == null ? SearchRegistry.UNKNOWN : registry.getVariableId(variable);
+
+        if (registered != SearchRegistry.UNKNOWN) {
+            return registeredIds[registered];
+        }
+
+        Integer answer = ids == null ? null : ids.get(variable);
+
+        return answer == null ? -1 : answer;
+    }
+
+    private int add(SearchVariable variable) {
+        if (size == variables.length) {
+            int capacity = 2 * size;
+
+            variables = Arrays.copyOf(variables, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            ties = new int[capacity];
+            stack = new int[capacity];
+        }
+
+        int id = size++;
+
+        variables[id] = variable;
+        scores[id] = 0;
+        heap[id] = id;
+        positions[id] = id;
+
+        int registered = registry == null ? SearchRegistry.UNKNOWN : registry.getVariableId(variable);
+
+        if (registered != SearchRegistry.UNKNOWN) {
+            registeredIds[registered] = id;
+        } else {
+            if (ids == null) {
+                ids = new IdentityHashMap<>();
+            }
+
+            ids.put(variable, id);
+        }
+
+        return id;
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+
+            if (scores[heap[parent]] >= scores[id]) {
+                break;
+            }
+
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+}
@@ -3,6 +3,8 @@
  */
 package com.capital7software.ai.localsearch;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -10,12 +12,15 @@ import java.util.Objects;
  * ScheduledCourse does not have a Semester then it has not been taken or scheduled.
  * <p>
  * The ScheduledCourse also implements the SearchVariable interface so that it can be used in LocalSearch problems.
+ * Listeners can be added to be notified whenever the course or semester changes; clones do not share them.
  *
  * @author Vincent J. Palodichuk
  */
 public class ScheduledCourse implements SearchVariable, Comparable<ScheduledCourse>, Cloneable {
     private Course course;
     private Semester semester;
+    private List<ScheduledCourseListener> listeners;
+    private long version;
 
     /**
      * Initializes an empty course that is not valid and has not been scheduled.
@@ -60,6 +65,7 @@ public class ScheduledCourse implements SearchVariable, Comparable<ScheduledCour
      */
     public void setCourse(Course course) {
         this.course = course;
+        notifyListeners();
     }
 
     /**
@@ -77,7 +83,63 @@ public class ScheduledCourse implements SearchVariable, Comparable<ScheduledCour
      * @param semester the semester that this course was taken in, which may be null
      */
     public void setSemester(Semester semester) {
+        Semester previous = this.semester;
         this.semester = semester;
+
+        if (previous != semester) {
+            notifyListeners();
+        }
+    }
+
+    /**
+     * Adds a listener that is notified whenever the course or the semester of this course changes. A listener may
+     * remove itself while it is being notified.
+     *
+     * @param listener the listener to add.
+     * @throws IllegalArgumentException indicates that listener is null.
+     */
+    public void addListener(ScheduledCourseListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener cannot be null.");
+        }
+
+        if (listeners == null) {
+            listeners = new ArrayList<>(1);
+        }
+
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener that was added with addListener.
+     *
+     * @param listener the listener to remove.
+     * @return true if the listener was removed.
+     */
+    public boolean removeListener(ScheduledCourseListener listener) {
+        return listeners != null && listeners.remove(listener);
+    }
+
+    private void notifyListeners() {
+        version++;
+
+        if (listeners != null) {
+            // From the last listener to the first, so that a listener that removes itself does not skip the next.
+            for (int i = listeners.size() - 1; i >= 0; i--) {
+                listeners.get(i).scheduleChanged(this);
+            }
+        }
+    }
+
+    /**
+     * Returns the version of this course, which is increased every time the course or the semester of this course
+     * changes.
+     *
+     * @return the version of this course.
+     */
+    @Override
+    public long getVersion() {
+        return version;
     }
 
     /**
@@ -147,6 +209,8 @@ public class ScheduledCourse implements SearchVariable, Comparable<ScheduledCour
             throw new RuntimeException(ex.getMessage(), ex);
         }
 
+        answer.listeners = null;
+
         if (isScheduled()) {
             answer.course = course.clone();
             answer.semester = semester.clone();
@@ -254,6 +318,6 @@ public class ScheduledCourse implements SearchVariable, Comparable<ScheduledCour
 
     @Override
     public void clearValue() {
-        this.semester = null;
+        setSemester(null);
     }
 }
@@ -0,0 +1,21 @@
+/*
+ * File: ScheduledCourseListener.java
+ */
+package com.capital7software.ai.localsearch;
+
+/**
+ * A ScheduledCourseListener is notified whenever the course or the semester of a ScheduledCourse changes. It lets a
+ * constraint keep its own state up to date as courses move instead of rescanning every course each time it is
+ * evaluated.
+ *
+ * @author Vincent J. Palodichuk
+ */
+@FunctionalInterface
+public interface ScheduledCourseListener {
+    /**
+     * Called after the course or the semester of the specified ScheduledCourse has changed.
+     *
+     * @param course the ScheduledCourse that changed.
+     */
+    void scheduleChanged(ScheduledCourse course);
+}
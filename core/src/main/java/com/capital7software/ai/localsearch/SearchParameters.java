@@ -0,0 +1,57 @@
+/*
+ * File: SearchParameters.java
+ */
+package com.capital7software.ai.localsearch;
+
+/**
+ * The SearchParameters are the numeric parameters of the walk of a LocalSearch. A walk tries at most maxVariableTries
+ * values of the variable it is moving before it looks for another variable, and gives up on an assignment and
+ * restarts after
+ * <pre>
+ *     min(min(domain size, maxVariableTries) * number of variables * walkFactor, maxVariableWalk)
+ * </pre>
+ * steps without an improvement. The weights score the conflicts that the walk minimizes. The defaults were chosen by
+ * hand for the problem built into LocalSearchProblem; a ParameterRace tunes them for a set of problems.
+ *
+ * @param maxVariableTries the most values of a variable that are tried before another variable is moved.
+ * @param maxVariableWalk the most steps without an improvement before the walk restarts.
+ * @param walkFactor the number of steps without an improvement allowed per value of each variable.
+ * @param weights the weights of the types of constraints in the conflict scores.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public record SearchParameters(int maxVariableTries, int maxVariableWalk, int walkFactor, ConflictWeights weights) {
+
+    /**
+     * The parameters of a LocalSearch that has not been given any.
+     */
+    public static final SearchParameters DEFAULT = new SearchParameters(256, 256, 2, ConflictWeights.DEFAULT);
+
+    /**
+     * Validates the parameters.
+     *
+     * @throws IllegalArgumentException indicates that weights is null or a limit is less than 1.
+     */
+    public SearchParameters {
+        if (maxVariableTries < 1 || maxVariableWalk < 1 || walkFactor < 1) {
+            throw new IllegalArgumentException("maxVariableTries, maxVariableWalk and walkFactor must be at least 1.");
+        }
+
+        if (weights == null) {
+            throw new IllegalArgumentException("weights cannot be null.");
+        }
+    }
+
+    /**
+     * Returns the most steps without an improvement that a walk of the specified problem takes before it restarts.
+     *
+     * @param domainSize the number of values in the domain of the problem.
+     * @param numVariables the number of variables of the problem.
+     * @return the most steps without an improvement before the walk restarts.
+     */
+    int getMaxWalk(int domainSize, int numVariables) {
+        long walk = (long) Math.min(domainSize, maxVariableTries) * numVariables * walkFactor;
+
+        return (int) Math.min(walk, maxVariableWalk);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * File: SearchRegistry.java
+ */
+package com.capital7software.ai.localsearch;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A SearchRegistry gives each variable of a problem and each value of its domain a stable, dense int id, starting at
+ * 0 in the order that they were registered. The ids let a search keep its state in arrays indexed by id instead of
+ * in hash based collections.
+ * <p>
+ * Variables and values are looked up by identity rather than with equals and hashCode. The hash of a
+ * ScheduledCourse includes its semester, so it changes every time the variable is assigned a value, and a variable
+ * must keep the same id however its value changes. A VariableDomain is not required to return the same instances
+ * of its values that getAllValues returns, so a value that is not registered itself is given the id of the first
+ * registered value that it is equal to.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public class SearchRegistry {
+    /**
+     * The id that is returned for a variable or value that is not registered.
+     */
+    public static final int UNKNOWN = -1;
+
+    private final SearchVariable[] variables;
+    private final SearchVariable[] values;
+    private final Map<SearchVariable, Integer> variableIds;
+    private final Map<SearchVariable, Integer> valueIds;
+    private final Map<Object, Integer> equalValueIds;
+
+    /**
+     * Registers the specified variables and values. A variable or value that appears more than once is only
+     * registered the first time.
+     *
+     * @param variables the variables of the problem. Cannot be null.
+     * @param values the values of the domain of the problem. Cannot be null.
+     * @throws IllegalArgumentException indicates that either argument is null or contains null.
+     */
+    public SearchRegistry(Collection<? extends SearchVariable> variables, Collection<? extends SearchVariable> values) {
+        if (variables == null) {
+            throw new IllegalArgumentException("variables cannot be null.");
+        }
+
+        if (values == null) {
+            throw new IllegalArgumentException("values cannot be null.");
+        }
+
+        this.variableIds = new IdentityHashMap<>();
+        this.valueIds = new IdentityHashMap<>();
+        this.variables = register(variables, variableIds, "variables");
+        this.values = register(values, valueIds, "values");
+        this.equalValueIds = new HashMap<>();
+
+        for (int id = 0; id < this.values.length; id++) {
+            equalValueIds.putIfAbsent(this.values[id], id);
+        }
+    }
+
+    private static SearchVariable[] register(Collection<? extends SearchVariable> items,
+                                             Map<SearchVariable, Integer> ids, String name) {
+        SearchVariable[] answer = new SearchVariable[items.size()];
+
+        for (SearchVariable item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException(name + " cannot contain null.");
+            }
+
+            if (!ids.containsKey(item)) {
+                answer[ids.size()] = item;
+                ids.put(item, ids.size());
+            }
+        }
+
+        return ids.size() == answer.length ? answer : Arrays.copyOf(answer, ids.size());
+    }
+
+    /**
+     * Returns the number of variables that are registered. The ids of the variables are 0 to this number - 1.
+     *
+     * @return the number of variables that are registered.
+     */
+    public int getNumVariables() {
+        return variables.length;
+    }
+
+    /**
+     * Returns the number of values that are registered. The ids of the values are 0 to this number - 1.
+     *
+     * @return the number of values that are registered.
+     */
+    public int getNumValues() {
+        return values.length;
+    }
+
+    /**
+     * Returns the id of the specified variable, or UNKNOWN if it is not registered.
+     *
+     * @param variable the variable to return the id of.
+     * @return the id of the specified variable, or UNKNOWN if it is not registered.
+     */
+    public int getVariableId(Object variable) {
+        Integer answer = variableIds.get(variable);
+
+        return answer == null ? UNKNOWN : answer;
+    }
+
+    /**
+     * Returns the id of the specified value, or of the first registered value that it is equal to if it is not
+     * registered itself, or UNKNOWN if it is not equal to any of them.
+     *
+     * @param value the value to return the id of.
+     * @return the id of the specified value, or UNKNOWN if it is not equal to a registered value.
+     */
+    public int getValueId(Object value) {
+        Integer answer = valueIds.get(value);
+
+        if (answer == null && value != null) {
+            answer = equalValueIds.get(value);
+        }
+
+        return answer == null ? UNKNOWN : answer;
+    }
+
+    /**
+     * Returns the variable with the specified id.
+     *
+     * @param id the id of the variable to return.
+     * @return the variable with the specified id.
+     * @throws IndexOutOfBoundsException indicates that the id is not the id of a registered variable.
+     */
+    public SearchVariable getVariable(int id) {
+        return variables[id];
+    }
+
+    /**
+     * Returns the value with the specified id.
+     *
+     * @param id the id of the value to return.
+     * @return the value with the specified id.
+     * @throws IndexOutOfBoundsException indicates that the id is not the id of a registered value.
+     */
+    public SearchVariable getValue(int id) {
+        return values[id];
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * File: SearchStartedEvent.java
+ */
+package com.capital7software.ai.localsearch;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The SearchStartedEvent is a Java Flight Recorder event that is committed when LocalSearch begins a search. It
+ * records the size of the problem being searched so that the phases of a search can be correlated with the other
+ * events in a recording.
+ *
+ * @author Vincent J. Palodichuk
+ */
+@Name("com.capital7software.ai.localsearch.SearchStarted")
+@Label("Search Started")
+@Category({"Local Search"})
+@Description("A local search has started")
+@StackTrace(false)
+class SearchStartedEvent extends jdk.jfr.Event {
+    @Label("Variables")
+    @Description("The number of variables in the problem")
+    int variables;
+
+    @Label("Domain Size")
+    @Description("The number of values in the domain of the variables")
+    int domainSize;
+
+    @Label("Constraints")
+    @Description("The number of top level constraints in the problem")
+    int constraints;
+
+    @Label("Max Assignments")
+    @Description("The maximum number of assignments before the search gives up, zero if unbounded")
+    int maxAssignments;
+}
@@ -0,0 +1,28 @@
+/*
+ * File: SearchStrategy.java
+ */
+package com.capital7software.ai.localsearch;
+
+/**
+ * The SearchStrategy determines how LocalSearch selects the variable to walk from the variables that are in
+ * conflict.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public enum SearchStrategy {
+    /**
+     * Selects a variable in conflict at random. This is the default strategy.
+     */
+    RANDOM_CONFLICT,
+
+    /**
+     * Selects the variable in conflict with the highest conflict score. Ties are broken at random.
+     */
+    HIGHEST_SCORE,
+
+    /**
+     * Scores every move of the variables in conflict with the highest conflict scores to every other value of their
+     * domains, in parallel when the constraints allow it, and makes the move that violates the fewest constraints.
+     */
+    STEEPEST_DESCENT
+}
@@ -11,6 +11,12 @@ package com.capital7software.ai.localsearch;
  * able to accept SearchVariables as values. The VariableDomain demonstrates this requirement.
  */
 public interface SearchVariable extends Cloneable {
+    /**
+     * The version of a variable that does not keep track of its version. A constraint of such a variable never
+     * caches its result.
+     */
+    long UNVERSIONED = -1;
+
     /**
      * Returns a unique ID that identifies this SearchVariable.
      *
@@ -36,6 +42,17 @@ public interface SearchVariable extends Cloneable {
      */
     void clearValue();
 
+    /**
+     * Returns the version of this variable. The version is increased every time the value of this variable changes
+     * and never decreases, so a constraint can cache its result until the version of one of its variables changes.
+     * A variable that does not keep track of its version returns UNVERSIONED, which is the default.
+     *
+     * @return the version of this variable, or UNVERSIONED.
+     */
+    default long getVersion() {
+        return UNVERSIONED;
+    }
+
     /**
      * Gets the name of the variable. Implementing classes should provide some kind of short name as it is
      * used in the Summary and Verbose logs of the LocalSearch class.
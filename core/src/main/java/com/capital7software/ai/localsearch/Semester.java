@@ -18,6 +18,7 @@ public class Semester implements Cloneable, Comparable<Semester>, SearchVariable
     private int id;
     private String name;
     private boolean summer;
+    private long version;
 
     /**
      * Initializes a new semester with the specified id and no name that is not a summer semester.
@@ -77,6 +78,7 @@ public class Semester implements Cloneable, Comparable<Semester>, SearchVariable
             Integer newId = (Integer) value;
 
             this.id = newId;
+            version++;
         }
     }
 
@@ -88,6 +90,12 @@ public class Semester implements Cloneable, Comparable<Semester>, SearchVariable
     @Override
     public void clearValue() {
         this.id = -1;
+        version++;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
     }
 
     /**
@@ -0,0 +1,39 @@
+/*
+ * File: SolutionFoundEvent.java
+ */
+package com.capital7software.ai.localsearch;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The SolutionFoundEvent is a Java Flight Recorder event that is committed when LocalSearch finds an assignment
+ * that satisfies all of the constraints. The duration of the event spans the entire search.
+ *
+ * @author Vincent J. Palodichuk
+ */
+@Name("com.capital7software.ai.localsearch.SolutionFound")
+@Label("Solution Found")
+@Category({"Local Search"})
+@Description("A local search found an assignment that satisfies all of the constraints")
+@StackTrace(false)
+class SolutionFoundEvent extends jdk.jfr.Event {
+    @Label("Variables")
+    @Description("The number of variables in the problem")
+    int variables;
+
+    @Label("Restarts")
+    @Description("The number of restarts it took to find the solution")
+    int restarts;
+
+    @Label("Assignments")
+    @Description("The number of assignments it took to find the solution")
+    int assignments;
+
+    @Label("Moves Evaluated")
+    @Description("The number of moves that were evaluated to find the solution")
+    long movesEvaluated;
+}
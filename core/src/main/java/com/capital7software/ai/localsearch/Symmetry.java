@@ -0,0 +1,297 @@
+/*
+ * File: Symmetry.java
+ */
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.Constraint;
+import com.capital7software.ai.localsearch.constraints.ConstraintList;
+import com.capital7software.ai.localsearch.constraints.CoursesPerSemesterConstraint;
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+import com.capital7software.ai.localsearch.constraints.Prerequisite;
+import com.capital7software.ai.localsearch.constraints.SemesterExclusion;
+import com.capital7software.ai.localsearch.constraints.SemesterRestriction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Symmetry finds the variables and the values of a search that are interchangeable, and maps every assignment to
+ * a canonical assignment of its symmetric copies, so that a search does not visit or report the copies as different
+ * assignments.
+ * <p>
+ * Two variables are interchangeable if they have the same domain and each constraint on one of them has a twin of the
+ * same kind on the other one with the same other variables and values, such as two courses that are required by the
+ * same courses and restricted to the same semesters. Swapping the values of interchangeable variables turns every
+ * assignment into one that violates exactly the same constraints. Two values are interchangeable if no constraint
+ * tells them apart: no restriction or exclusion mentions them, every domain and every courses per semester constraint
+ * has both or neither, and there are no prerequisites, since a prerequisite depends on the order of the semesters.
+ * Constraints of any other type may depend on anything, so their variables are not interchangeable with any other
+ * variable, and there are no interchangeable values at all if there is one.
+ * <p>
+ * An assignment is made canonical by renaming the interchangeable values in the order they first appear, and then
+ * sorting the values of each group of interchangeable variables. Both steps only apply symmetries, so two assignments
+ * with the same canonical assignment are always symmetric copies. With only one kind of symmetry, every symmetric copy
+ * of an assignment has the same canonical assignment.
+ *
+ * @author Vincent J. Palodichuk
+ */
+final class Symmetry {
+    private static final int UNSCHEDULED = SearchRegistry.UNKNOWN;
+
+    private final SearchRegistry registry;
+    // The groups of two or more interchangeable variables and values, each in ascending order of their ids.
+    private final int[][] variableClasses;
+    private final int[][] valueClasses;
+
+    /**
+     * Finds the interchangeable variables and values of the specified constraints.
+     *
+     * @param registry the registry of the variables and values of the search.
+     * @param constraints the constraints of the search.
+     * @param domain the domain of the variables.
+     */
+    Symmetry(SearchRegistry registry, ConstraintList constraints, VariableDomain domain) {
+        this.registry = registry;
+
+        int n = registry.getNumVariables();
+        int numValues = registry.getNumValues();
+        List<List<String>> signatures = new ArrayList<>(n);
+        List<CoursesPerSemesterConstraint> capacities = new ArrayList<>();
+        boolean[] mentioned = new boolean[numValues];
+        boolean[] ordered = new boolean[1];
+
+        for (int id = 0; id < n; id++) {
+            signatures.add(new ArrayList<>());
+        }
+
+        sign(constraints, signatures, capacities, mentioned, ordered);
+
+        boolean[][] domains = new boolean[n][numValues];
+        Map<String, List<Integer>> variableGroups = new LinkedHashMap<>();
+
+        for (int id = 0; id < n; id++) {
+            for (SearchVariable value : domain.getValues(registry.getVariable(id))) {
+                int valueId = registry.getValueId(value);
+
+                if (valueId != SearchRegistry.UNKNOWN) {
+                    domains[id][valueId] = true;
+                }
+            }
+
+            List<String> signature = signatures.get(id);
+            String key;
+
+            signature.sort(null);
+            key = Arrays.toString(domains[id]) + signature;
+            variableGroups.computeIfAbsent(key, k -> new ArrayList<>()).add(id);
+        }
+
+        Map<String, List<Integer>> valueGroups = new LinkedHashMap<>();
+
+        for (int value = 0; value < numValues && !ordered[0]; value++) {
+            StringBuilder key = new StringBuilder(mentioned[value] ? "#" + value : "");
+            SearchVariable semester = registry.getValue(value);
+
+            for (boolean[] allowed : domains) {
+                key.append(allowed[value] ? '1' : '0');
+            }
+
+            for (CoursesPerSemesterConstraint capacity : capacities) {
+                key.append(capacity.getSemesters().contains(semester) ? '1' : '0');
+            }
+
+            valueGroups.computeIfAbsent(key.toString(), k -> new ArrayList<>()).add(value);
+        }
+
+        variableClasses = toClasses(variableGroups);
+        valueClasses = toClasses(valueGroups);
+    }
+
+    private static int[][] toClasses(Map<String, List<Integer>> groups) {
+        return groups.values().stream().filter(group -> group.size() > 1)
+                .map(group -> group.stream().mapToInt(Integer::intValue).toArray()).toArray(int[][]::new);
+    }
+
+    /**
+     * Adds the kind of each flattened constraint and its other variables and values to the signature of each of its
+     * variables.
+     */
+    private void sign(Constraint constraint, List<List<String>> signatures,
+                      List<CoursesPerSemesterConstraint> capacities, boolean[] mentioned, boolean[] ordered) {
+        if (constraint instanceof EveryConstraintList list) {
+            for (Constraint child : list.getConstraints()) {
+                sign(child, signatures, capacities, mentioned, ordered);
+            }
+        } else if (constraint instanceof Prerequisite prerequisite) {
+            int course = registry.getVariableId(prerequisite.getCourse());
+            int before = registry.getVariableId(prerequisite.getPrerequisiteCourse());
+            String kind = prerequisite.isConcurrent() ? "C" : "P";
+
+            ordered[0] = true;
+
+            // A course that is not a variable of the search is not interchangeable with any other course.
+            sign(course, before == SearchRegistry.UNKNOWN ? "O" + course : kind + ">" + before, signatures);
+            sign(before, course == SearchRegistry.UNKNOWN ? "O" + before : kind + "<" + course, signatures);
+        } else if (constraint instanceof SemesterRestriction restriction) {
+            int value = registry.getValueId(restriction.getRestriction());
+            String kind = restriction instanceof SemesterExclusion ? "X" : "R";
+            int course = registry.getVariableId(restriction.getCourse());
+
+            if (value != SearchRegistry.UNKNOWN) {
+                mentioned[value] = true;
+            }
+
+            sign(course, value == SearchRegistry.UNKNOWN ? "O" + course : kind + value, signatures);
+        } else if (constraint instanceof CoursesPerSemesterConstraint capacity) {
+            String kind = "K" + capacities.size();
+
+            capacities.add(capacity);
+
+            for (ScheduledCourse course : capacity.getClassList()) {
+                sign(registry.getVariableId(course), kind, signatures);
+            }
+        } else {
+            ordered[0] = true;
+
+            if (constraint.getVariables() != null) {
+                for (SearchVariable variable : constraint.getVariables()) {
+                    int id = registry.getVariableId(variable);
+
+                    sign(id, "O" + id, signatures);
+                }
+            } else {
+                // A constraint that does not say what it depends on may depend on any of the variables.
+                for (int id = 0; id < signatures.size(); id++) {
+                    sign(id, "O" + id, signatures);
+                }
+            }
+        }
+    }
+
+    private static void sign(int id, String entry, List<List<String>> signatures) {
+        if (id != SearchRegistry.UNKNOWN) {
+            signatures.get(id).add(entry);
+        }
+    }
+
+    /**
+     * Returns the groups of two or more interchangeable variables.
+     *
+     * @return the groups of two or more interchangeable variables.
+     */
+    List<List<SearchVariable>> getVariableClasses() {
+        List<List<SearchVariable>> answer = new ArrayList<>(variableClasses.length);
+
+        for (int[] group : variableClasses) {
+            answer.add(Arrays.stream(group).mapToObj(registry::getVariable).toList());
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns the groups of two or more interchangeable values.
+     *
+     * @return the groups of two or more interchangeable values.
+     */
+    List<List<SearchVariable>> getValueClasses() {
+        List<List<SearchVariable>> answer = new ArrayList<>(valueClasses.length);
+
+        for (int[] group : valueClasses) {
+            answer.add(Arrays.stream(group).mapToObj(registry::getValue).toList());
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns true if there are any interchangeable variables or values.
+     *
+     * @return true if there are any interchangeable variables or values.
+     */
+    boolean isSymmetric() {
+        return variableClasses.length > 0 || valueClasses.length > 0;
+    }
+
+    /**
+     * Returns the canonical assignment of the specified assignment.
+     *
+     * @param assignment the id of the value of each variable.
+     * @return the canonical assignment, which may be the specified array if it has no symmetries.
+     */
+    int[] canonicalize(int[] assignment) {
+        if (!isSymmetric()) {
+            return assignment;
+        }
+
+        int[] answer = assignment.clone();
+
+        if (valueClasses.length > 0) {
+            int[] renamed = new int[registry.getNumValues()];
+            int[] used = new int[valueClasses.length];
+            int[] classOf = new int[renamed.length];
+
+            Arrays.fill(renamed, UNSCHEDULED);
+            Arrays.fill(classOf, -1);
+
+            for (int group = 0; group < valueClasses.length; group++) {
+                for (int value : valueClasses[group]) {
+                    classOf[value] = group;
+                }
+            }
+
+            for (int id = 0; id < answer.length; id++) {
+                int value = answer[id];
+
+                if (value == UNSCHEDULED || classOf[value] < 0) {
+                    continue;
+                }
+
+                if (renamed[value] == UNSCHEDULED) {
+                    renamed[value] = valueClasses[classOf[value]][used[classOf[value]]++];
+                }
+
+                answer[id] = renamed[value];
+            }
+        }
+
+        for (int[] group : variableClasses) {
+            int[] values = new int[group.length];
+
+            for (int i = 0; i < group.length; i++) {
+                values[i] = answer[group[i]];
+            }
+
+            Arrays.sort(values);
+
+            for (int i = 0; i < group.length; i++) {
+                answer[group[i]] = values[i];
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Assigns the variables the canonical assignment of their current values, which violates exactly the same
+     * number of constraints.
+     */
+    void canonicalize() {
+        int[] assignment = new int[registry.getNumVariables()];
+
+        for (int id = 0; id < assignment.length; id++) {
+            assignment[id] = registry.getValueId(registry.getVariable(id).getValue());
+        }
+
+        int[] canonical = canonicalize(assignment);
+
+        for (int id = 0; id < canonical.length; id++) {
+            if (canonical[id] != assignment[id]) {
+                registry.getVariable(id).setValue(registry.getValue(canonical[id]));
+            }
+        }
+    }
+}
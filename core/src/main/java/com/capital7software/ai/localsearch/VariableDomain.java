@@ -52,7 +52,9 @@ public interface VariableDomain {
     List<SearchVariable> getValues(SearchVariable variable);
 
     /**
-     * Returns a list of all possible values for all variables that the domain knows about.
+     * Returns a list of all possible values for all variables that the domain knows about. The values returned by
+     * the other methods only need to be equal to values of this list, but they are looked up faster if they are the
+     * same instances.
      *
      * @return a list of all possible values for all variables that the domain knows about.
      */
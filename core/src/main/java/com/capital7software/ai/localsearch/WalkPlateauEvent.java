@@ -0,0 +1,43 @@
+/*
+ * File: WalkPlateauEvent.java
+ */
+package com.capital7software.ai.localsearch;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The WalkPlateauEvent is a Java Flight Recorder event that is committed when LocalSearch has exhausted the values
+ * it is willing to try for the current variable and has to walk to another variable in conflict.
+ *
+ * @author Vincent J. Palodichuk
+ */
+@Name("com.capital7software.ai.localsearch.WalkPlateau")
+@Label("Walk Plateau")
+@Category({"Local Search"})
+@Description("A local search got stuck on a variable and tried to walk to another variable in conflict")
+@StackTrace(false)
+class WalkPlateauEvent extends jdk.jfr.Event {
+    @Label("Variables")
+    @Description("The number of variables in the problem")
+    int variables;
+
+    @Label("Variable")
+    @Description("The name of the variable the search was stuck on")
+    String variable;
+
+    @Label("Score")
+    @Description("The conflict score of the current assignment")
+    double score;
+
+    @Label("Walk Iterations")
+    @Description("The number of iterations walked since the last improvement")
+    int walkIterations;
+
+    @Label("Escaped")
+    @Description("True if another variable in conflict was found to walk to")
+    boolean escaped;
+}
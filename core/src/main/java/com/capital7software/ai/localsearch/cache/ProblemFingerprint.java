@@ -0,0 +1,178 @@
+/*
+ * File: ProblemFingerprint.java
+ */
+package com.capital7software.ai.localsearch.cache;
+
+import com.capital7software.ai.localsearch.Course;
+import com.capital7software.ai.localsearch.LocalSearchProblem;
+import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.Semester;
+import com.capital7software.ai.localsearch.constraints.AnyConstraintList;
+import com.capital7software.ai.localsearch.constraints.Constraint;
+import com.capital7software.ai.localsearch.constraints.ConstraintList;
+import com.capital7software.ai.localsearch.constraints.CoursesPerSemesterConstraint;
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+import com.capital7software.ai.localsearch.constraints.NoneConstraintList;
+import com.capital7software.ai.localsearch.constraints.Prerequisite;
+import com.capital7software.ai.localsearch.constraints.SemesterExclusion;
+import com.capital7software.ai.localsearch.constraints.SemesterRestriction;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * ProblemFingerprint computes a canonical fingerprint of a LocalSearchProblem. Two problems have the same
+ * fingerprint when they have the same courses, the same semesters and the same constraints, regardless of the order
+ * that any of them were added in. The fingerprint is the SHA-256 hash of the canonical form of the problem.
+ * <p>
+ * In the canonical form the courses are sorted, the semesters are sorted by id and the constraints of every
+ * constraint list are sorted with duplicates removed. An every list nested directly in an every list is merged into
+ * its parent, and so is an any list nested directly in an any list, since neither changes what the list means. The
+ * constraints that LocalSearchProblem.compileConstraints folded into the domain are put back, so compiling a problem
+ * does not change its fingerprint. The names of the semesters are left out because no constraint depends on them.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public final class ProblemFingerprint {
+    // Changing the canonical form must change this version so that old fingerprints are never matched.
+    private static final String VERSION = "v1";
+
+    private ProblemFingerprint() {
+    }
+
+    /**
+     * Returns the fingerprint of the specified problem as a string of hex digits.
+     *
+     * @param problem the problem to fingerprint.
+     * @return the fingerprint of the specified problem as a string of hex digits.
+     * @throws IllegalArgumentException indicates that the problem is null or has a constraint of an unknown type.
+     */
+    public static String of(LocalSearchProblem problem) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+            return HexFormat.of().formatHex(digest.digest(canonicalForm(problem).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Returns the canonical form of the specified problem.
+     *
+     * @param problem the problem to return the canonical form of.
+     * @return the canonical form of the specified problem.
+     * @throws IllegalArgumentException indicates that the problem is null or has a constraint of an unknown type.
+     */
+    public static String canonicalForm(LocalSearchProblem problem) {
+        if (problem == null) {
+            throw new IllegalArgumentException("problem cannot be null.");
+        }
+
+        StringBuilder sb = new StringBuilder(VERSION);
+
+        sb.append(";courses=").append(String.join(",", courseNames(problem.getScheduledCourses())));
+        sb.append(";semesters=").append(String.join(",", semesterIds(problem.getSemesters(), true)));
+        sb.append(";constraints=").append(canonicalForm(problem.getConstraints(), problem.getFoldedConstraints()));
+
+        return sb.toString();
+    }
+
+    private static String canonicalForm(ConstraintList root, List<Constraint> folded) {
+        SortedSet<String> children = new TreeSet<>();
+
+        // The folded constraints were mandatory parts of the root, so they are put back to get the same form.
+        addChildren(children, root, "every");
+
+        for (Constraint constraint : folded) {
+            if (constraint instanceof EveryConstraintList list) {
+                addChildren(children, list, "every");
+            } else {
+                children.add(canonicalForm(constraint));
+            }
+        }
+
+        return "every[" + String.join(",", children) + "]";
+    }
+
+    private static String canonicalForm(Constraint constraint) {
+        if (constraint instanceof ConstraintList list) {
+            String type = listType(list);
+            SortedSet<String> children = new TreeSet<>();
+
+            addChildren(children, list, type);
+
+            return type + "[" + String.join(",", children) + "]";
+        } else if (constraint instanceof Prerequisite prerequisite) {
+            return (prerequisite.isConcurrent() ? "concurrentPrerequisite(" : "prerequisite(")
+                    + courseName(prerequisite.getCourse()) + ","
+                    + courseName(prerequisite.getPrerequisiteCourse()) + ")";
+        } else if (constraint instanceof SemesterRestriction restriction) {
+            return (restriction instanceof SemesterExclusion ? "exclusion(" : "restriction(")
+                    + courseName(restriction.getCourse()) + "," + restriction.getRestriction().getId() + ")";
+        } else if (constraint instanceof CoursesPerSemesterConstraint coursesPerSemester) {
+            return "coursesPerSemester(" + coursesPerSemester.getCoursesPerSemester() + ";"
+                    + String.join(",", semesterIds(coursesPerSemester.getSemesters(), false)) + ";"
+                    + String.join(",", courseNames(coursesPerSemester.getClassList())) + ")";
+        }
+
+        throw new IllegalArgumentException("cannot fingerprint a " + constraint.getClass().getSimpleName() + ".");
+    }
+
+    private static void addChildren(SortedSet<String> children, ConstraintList list, String type) {
+        for (Constraint child : list.getConstraints()) {
+            if (child instanceof ConstraintList nested && !type.equals("none") && type.equals(listType(nested))) {
+                addChildren(children, nested, type);
+            } else {
+                children.add(canonicalForm(child));
+            }
+        }
+    }
+
+    private static String listType(ConstraintList list) {
+        if (list instanceof EveryConstraintList) {
+            return "every";
+        } else if (list instanceof AnyConstraintList) {
+            return "any";
+        } else if (list instanceof NoneConstraintList) {
+            return "none";
+        }
+
+        throw new IllegalArgumentException("cannot fingerprint a " + list.getClass().getSimpleName() + ".");
+    }
+
+    private static SortedSet<String> courseNames(List<ScheduledCourse> courses) {
+        SortedSet<String> answer = new TreeSet<>();
+
+        for (ScheduledCourse course : courses) {
+            answer.add(courseName(course));
+        }
+
+        return answer;
+    }
+
+    private static List<String> semesterIds(List<Semester> semesters, boolean includeSummer) {
+        return semesters.stream()
+                .sorted()
+                .map(semester -> semester.getId() + (includeSummer && semester.isSummer() ? "s" : ""))
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Returns the name of the course that is used in fingerprints and cached solutions, such as ICS 140.
+     *
+     * @param course the course to return the name of.
+     * @return the name of the course.
+     */
+    static String courseName(ScheduledCourse course) {
+        Course answer = course.getCourse();
+
+        return answer.getDepartment() + " " + answer.getNumberAsString();
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * File: SolutionCache.java
+ */
+package com.capital7software.ai.localsearch.cache;
+
+import com.capital7software.ai.localsearch.LocalSearch;
+import com.capital7software.ai.localsearch.LocalSearchProblem;
+import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.SearchVariable;
+import com.capital7software.ai.localsearch.Semester;
+import com.capital7software.ai.localsearch.io.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A SolutionCache stores the solutions of problems by their ProblemFingerprint so that a problem that has already
+ * been solved does not have to be searched again. The cache has two tiers. The memory tier keeps the most recently
+ * used solutions up to a fixed capacity and evicts the least recently used solution when it is full. The optional
+ * disk tier keeps every solution as a JSON file in a directory, so that solutions survive restarts; a solution that
+ * is found on disk is promoted to the memory tier.
+ * <p>
+ * A cached solution is never trusted. Before it is served it is assigned to the variables of the problem and the
+ * constraints of the problem, including any that were folded into its domain, are checked with isSatisfied. A
+ * solution that no longer satisfies the constraints is removed from both tiers and treated as a miss. A
+ * SolutionCache is safe to use from multiple threads.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public class SolutionCache {
+    /**
+     * The number of solutions that the memory tier keeps if no capacity is specified.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final String FILE_SUFFIX = ".json";
+
+    private final Map<String, Map<String, Integer>> memory;
+    private final Path directory;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong invalidated;
+
+    /**
+     * Initializes a cache with only a memory tier of DEFAULT_CAPACITY solutions.
+     */
+    public SolutionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes a cache with only a memory tier of the specified capacity.
+     *
+     * @param capacity the number of solutions that the memory tier keeps. Must be greater than zero.
+     */
+    public SolutionCache(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Initializes a cache with a memory tier of the specified capacity and a disk tier in the specified directory.
+     * The directory is created if it does not exist.
+     *
+     * @param capacity the number of solutions that the memory tier keeps. Must be greater than zero.
+     * @param directory the directory of the disk tier, or null for a cache with only a memory tier.
+     * @throws IllegalArgumentException indicates that the capacity is not greater than zero.
+     * @throws UncheckedIOException indicates that the directory could not be created.
+     */
+    public SolutionCache(int capacity, Path directory) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than zero.");
+        }
+
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("cannot create the cache directory " + directory + ".", ex);
+            }
+        }
+
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, Integer>> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.directory = directory;
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.invalidated = new AtomicLong();
+    }
+
+    /**
+     * Returns a verified solution of the specified problem if one is cached; otherwise null is returned. When a
+     * solution is returned it has also been assigned to the variables of the problem. When null is returned the
+     * values of the variables of the problem are left as they were.
+     *
+     * @param problem the problem to return the solution of.
+     * @return a verified solution of the specified problem, in the same form as LocalSearch.search returns it, or
+     * null if no valid solution is cached.
+     */
+    public Map<Object, SearchVariable> get(LocalSearchProblem problem) {
+        String fingerprint = ProblemFingerprint.of(problem);
+        Map<String, Integer> schedule;
+
+        synchronized (memory) {
+            schedule = memory.get(fingerprint);
+        }
+
+        if (schedule == null && directory != null) {
+            schedule = readFile(fingerprint);
+
+            if (schedule != null) {
+                synchronized (memory) {
+                    memory.put(fingerprint, schedule);
+                }
+            }
+        }
+
+        Map<Object, SearchVariable> answer = schedule == null ? null : apply(problem, schedule);
+
+        if (answer != null) {
+            hits.incrementAndGet();
+        } else {
+            if (schedule != null) {
+                invalidated.incrementAndGet();
+                remove(fingerprint);
+            }
+
+            misses.incrementAndGet();
+        }
+
+        return answer;
+    }
+
+    /**
+     * Stores the specified solution of the specified problem in both tiers.
+     *
+     * @param problem the problem that was solved.
+     * @param solution the solution as it was returned by LocalSearch.search.
+     * @throws IllegalArgumentException indicates that either argument is null.
+     * @throws UncheckedIOException indicates that the solution could not be written to the disk tier.
+     */
+    public void put(LocalSearchProblem problem, Map<Object, SearchVariable> solution) {
+        if (solution == null) {
+            throw new IllegalArgumentException("solution cannot be null.");
+        }
+
+        String fingerprint = ProblemFingerprint.of(problem);
+        Map<String, Integer> schedule = new LinkedHashMap<>();
+
+        for (SearchVariable variable : solution.values()) {
+            ScheduledCourse course = (ScheduledCourse) variable;
+
+            schedule.put(ProblemFingerprint.courseName(course), course.getSemester().getId());
+        }
+
+        schedule = Collections.unmodifiableMap(schedule);
+
+        synchronized (memory) {
+            memory.put(fingerprint, schedule);
+        }
+
+        if (directory != null) {
+            writeFile(fingerprint, schedule);
+        }
+    }
+
+    /**
+     * Returns the cached solution of the specified problem if there is one; otherwise the problem is searched with
+     * the specified LocalSearch, which must have been created from the variables and constraints of the problem, and
+     * the solution, if one is found, is cached.
+     *
+     * @param problem the problem to solve.
+     * @param search the LocalSearch of the problem.
+     * @param maxAssignments passed to LocalSearch.search on a miss.
+     * @param timeLimit passed to LocalSearch.search on a miss.
+     * @return the solution of the problem, or null if it is not cached and the search did not find one.
+     * @throws UncheckedIOException indicates that the solution could not be written to the disk tier.
+     */
+    public Map<Object, SearchVariable> search(LocalSearchProblem problem, LocalSearch search, int maxAssignments,
+                                              Duration timeLimit) {
+        if (search == null) {
+            throw new IllegalArgumentException("search cannot be null.");
+        }
+
+        Map<Object, SearchVariable> answer = get(problem);
+
+        if (answer == null) {
+            answer = search.search(maxAssignments, timeLimit);
+
+            if (answer != null) {
+                put(problem, answer);
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Removes every solution from both tiers.
+     *
+     * @throws UncheckedIOException indicates that the solutions could not be removed from the disk tier.
+     */
+    public void clear() {
+        synchronized (memory) {
+            memory.clear();
+        }
+
+        if (directory != null) {
+            try (var files = Files.list(directory)) {
+                for (Path file : files.filter(file -> file.toString().endsWith(FILE_SUFFIX)).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("cannot clear the cache directory " + directory + ".", ex);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of solutions in the memory tier.
+     *
+     * @return the number of solutions in the memory tier.
+     */
+    public int size() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    /**
+     * Returns the number of times get returned a solution.
+     *
+     * @return the number of times get returned a solution.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of times get returned null.
+     *
+     * @return the number of times get returned null.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of cached solutions that were removed because they no longer satisfied the constraints.
+     *
+     * @return the number of cached solutions that were removed because they no longer satisfied the constraints.
+     */
+    public long getInvalidated() {
+        return invalidated.get();
+    }
+
+    private static Map<Object, SearchVariable> apply(LocalSearchProblem problem, Map<String, Integer> schedule) {
+        Map<ScheduledCourse, Semester> previous = new LinkedHashMap<>();
+
+        for (ScheduledCourse course : problem.getScheduledCourses()) {
+            previous.put(course, course.getSemester());
+        }
+
+        boolean valid = schedule.size() == previous.size();
+
+        for (ScheduledCourse course : previous.keySet()) {
+            Integer id = valid ? schedule.get(ProblemFingerprint.courseName(course)) : null;
+            Semester semester = id == null ? null : problem.getSemester(id);
+
+            if (semester == null) {
+                valid = false;
+                break;
+            }
+
+            course.setValue(semester);
+        }
+
+        if (valid && problem.isSatisfied()) {
+            Map<Object, SearchVariable> answer = new LinkedHashMap<>();
+
+            for (SearchVariable variable : problem.getVariables()) {
+                answer.put(variable.getUniqueID(), variable.clone());
+            }
+
+            return answer;
+        }
+
+        for (Map.Entry<ScheduledCourse, Semester> entry : previous.entrySet()) {
+            entry.getKey().setSemester(entry.getValue());
+        }
+
+        return null;
+    }
+
+    private void remove(String fingerprint) {
+        synchronized (memory) {
+            memory.remove(fingerprint);
+        }
+
+        if (directory != null) {
+            try {
+                Files.deleteIfExists(file(fingerprint));
+            } catch (IOException ex) {
+                // The entry will be found invalid again the next time and another removal attempted.
+            }
+        }
+    }
+
+    private Path file(String fingerprint) {
+        return directory.resolve(fingerprint + FILE_SUFFIX);
+    }
+
+    private Map<String, Integer> readFile(String fingerprint) {
+        Path file = file(fingerprint);
+
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try {
+            Map<?, ?> document = (Map<?, ?>) Json.parse(Files.readString(file, StandardCharsets.UTF_8));
+
+            if (!fingerprint.equals(document.get("fingerprint"))) {
+                return null;
+            }
+
+            Map<String, Integer> answer = new LinkedHashMap<>();
+
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) document.get("schedule")).entrySet()) {
+                answer.put((String) entry.getKey(), ((Long) entry.getValue()).intValue());
+            }
+
+            return Collections.unmodifiableMap(answer);
+        } catch (IOException | RuntimeException ex) {
+            // A file that cannot be read or parsed is treated as a miss and will be replaced by the next put.
+            return null;
+        }
+    }
+
+    private void writeFile(String fingerprint, Map<String, Integer> schedule) {
+        Map<String, Object> document = new LinkedHashMap<>();
+
+        document.put("fingerprint", fingerprint);
+        document.put("schedule", schedule);
+
+        try {
+            // Write to a temporary file first so that a reader never sees a partially written solution.
+            Path temporary = Files.createTempFile(directory, fingerprint, ".tmp");
+
+            Files.writeString(temporary, Json.write(document), StandardCharsets.UTF_8);
+
+            try {
+                Files.move(temporary, file(fingerprint), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporary, file(fingerprint), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("cannot write the solution to " + file(fingerprint) + ".", ex);
+        }
+    }
+}
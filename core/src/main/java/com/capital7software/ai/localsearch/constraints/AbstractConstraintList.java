@@ -5,20 +5,36 @@ package com.capital7software.ai.localsearch.constraints;
 
 import com.capital7software.ai.localsearch.ScheduleConflictList;
 import com.capital7software.ai.localsearch.ConflictList;
+import com.capital7software.ai.localsearch.SearchVariable;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 /**
  * An AbstractConstraintList is an abstract base class for a type of Constraint where any, every, or none of the
  * constraints contained within it need to return true. See AnyConstraintList, EveryConstraintList,
  * and NoneConstraintList for more details. A ConstraintList is used by LocalSearch to determine when it has found a
  * solution to the problem.
+ * <p>
+ * A list can be made adaptive with setAdaptive. An adaptive list learns which of its constraints most often decide
+ * whether it has a conflict, and how expensive they are to evaluate, and checks the cheapest, most likely deciding
+ * constraints first. The results are the same; only the number of constraints that are evaluated changes.
+ * <p>
+ * A list caches whether it is satisfied along with the versions of the variables that its constraints depend on, so
+ * checking a list again before any of its variables have changed does not evaluate its constraints. A list whose
+ * cached result is current and satisfied also has no conflicts to find. If one of the constraints within the list
+ * does not return its variables, the result is never cached.
  */
 public abstract class AbstractConstraintList implements ConstraintList {
     protected List<Constraint> constraints;
+    private ConstraintProfiler profiler;
+    private AdaptiveOrder adaptiveOrder;
+    private VersionMemo memo;
+    private long modifications;
 
     /**
      * Initializes an empty list of constraints.
@@ -47,6 +63,8 @@ public abstract class AbstractConstraintList implements ConstraintList {
     @Override
     public void clear() {
         constraints.clear();
+        modifications++;
+        resetAdaptiveOrder();
     }
 
     /**
@@ -78,6 +96,128 @@ public abstract class AbstractConstraintList implements ConstraintList {
         return constraints;
     }
 
+    /**
+     * Sets the profiler that records the evaluations of the constraints contained within this list. Use
+     * ConstraintProfiler.attach to profile a list and all of the lists nested within it.
+     *
+     * @param profiler the profiler to record evaluations with, which may be null to stop profiling.
+     */
+    void setProfiler(ConstraintProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Evaluates the specified constraint contained within this list. If a profiler has been attached to this list,
+     * the evaluation is recorded by the profiler.
+     *
+     * @param constraint the constraint to evaluate.
+     * @return true if the constraint has been satisfied; otherwise false is returned.
+     */
+    protected boolean evaluate(Constraint constraint) {
+        if (profiler == null) {
+            return constraint.isSatisfied();
+        }
+
+        return profiler.evaluate(constraint);
+    }
+
+    /**
+     * Sets whether this list and all of the lists nested within it check their constraints in an adaptive order
+     * when they only need to find one constraint that decides whether they have a conflict. Turning adaptive
+     * ordering on or off discards anything that was learned.
+     *
+     * @param adaptive true to check the constraints in an adaptive order; false to check them in the order they
+     *                 were added.
+     */
+    public void setAdaptive(boolean adaptive) {
+        adaptiveOrder = adaptive ? new AdaptiveOrder(constraints.size()) : null;
+
+        for (Constraint constraint : constraints) {
+            if (constraint instanceof AbstractConstraintList list) {
+                list.setAdaptive(adaptive);
+            }
+        }
+    }
+
+    /**
+     * Returns true if this list checks its constraints in an adaptive order.
+     *
+     * @return true if this list checks its constraints in an adaptive order.
+     */
+    public boolean isAdaptive() {
+        return adaptiveOrder != null;
+    }
+
+    /**
+     * Returns the constraints of this list in the order that hasConflict currently checks them in. This is the
+     * order that they were added in unless the list is adaptive.
+     *
+     * @return the constraints of this list in the order that hasConflict currently checks them in.
+     */
+    public List<Constraint> getEvaluationOrder() {
+        if (adaptiveOrder == null || adaptiveOrder.size() != constraints.size()) {
+            return getConstraints();
+        }
+
+        List<Constraint> answer = new ArrayList<>(constraints.size());
+
+        for (int index : adaptiveOrder.getOrder()) {
+            answer.add(constraints.get(index));
+        }
+
+        return Collections.unmodifiableList(answer);
+    }
+
+    /**
+     * Returns the number of times that constraints have been added to or cleared from this list.
+     *
+     * @return the number of times that this list has been changed.
+     */
+    long getModifications() {
+        return modifications;
+    }
+
+    /**
+     * Returns true if the cached result of isSatisfied is current and this list was satisfied, in which case there
+     * are no conflicts to find.
+     */
+    private boolean isKnownSatisfied() {
+        return memo != null && memo.isCurrent() && memo.getResult();
+    }
+
+    private void resetAdaptiveOrder() {
+        if (adaptiveOrder != null) {
+            adaptiveOrder = new AdaptiveOrder(constraints.size());
+        }
+    }
+
+    /**
+     * Returns true if at least one of the constraints of this list evaluates to the specified result. The
+     * constraints are checked in the adaptive order if this list is adaptive.
+     *
+     * @param deciding the result to find.
+     * @return true if at least one of the constraints of this list evaluates to the specified result.
+     */
+    private boolean find(boolean deciding) {
+        List<Constraint> list = getRealConstraints();
+
+        if (adaptiveOrder != null) {
+            if (adaptiveOrder.size() != list.size()) {
+                adaptiveOrder = new AdaptiveOrder(list.size());
+            }
+
+            return adaptiveOrder.find(this, list, deciding);
+        }
+
+        for (Constraint constraint : list) {
+            if (evaluate(constraint) == deciding) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Adds a single constraint to the list of constraints. If the constraint already exists it is not added.
      *
@@ -96,6 +236,8 @@ public abstract class AbstractConstraintList implements ConstraintList {
 
         if (!constraints.contains(constraint)) {
             answer = constraints.add(constraint);
+            modifications++;
+            resetAdaptiveOrder();
         }
 
         return answer;
@@ -143,8 +285,12 @@ public abstract class AbstractConstraintList implements ConstraintList {
     protected int getNumberOfConflictsAll() {
         int answer = 0;
 
+        if (isKnownSatisfied()) {
+            return answer;
+        }
+
         for (Constraint constraint : getRealConstraints()) {
-            if (!constraint.isSatisfied()) {
+            if (!evaluate(constraint)) {
                 answer++;
             }
         }
@@ -162,8 +308,12 @@ public abstract class AbstractConstraintList implements ConstraintList {
     protected int getNumberOfConflictsNone() {
         int answer = 0;
 
+        if (isKnownSatisfied()) {
+            return answer;
+        }
+
         for (Constraint constraint : getRealConstraints()) {
-            if (constraint.isSatisfied()) {
+            if (evaluate(constraint)) {
                 answer++;
             }
         }
@@ -183,8 +333,12 @@ public abstract class AbstractConstraintList implements ConstraintList {
     protected int getNumberOfConflictsAny() {
         int answer = 0;
 
+        if (isKnownSatisfied()) {
+            return answer;
+        }
+
         for (Constraint constraint : getRealConstraints()) {
-            if (!constraint.isSatisfied()) {
+            if (!evaluate(constraint)) {
                 answer++;
             } else {
                 answer = 0;
@@ -205,8 +359,12 @@ public abstract class AbstractConstraintList implements ConstraintList {
     protected ConflictList getConflictsAll() {
         List<Constraint> answer = new ArrayList<>();
 
+        if (isKnownSatisfied()) {
+            return new ScheduleConflictList(answer);
+        }
+
         for (Constraint constraint : getRealConstraints()) {
-            if (!constraint.isSatisfied()) {
+            if (!evaluate(constraint)) {
                 answer.add(constraint);
             }
         }
@@ -224,8 +382,12 @@ public abstract class AbstractConstraintList implements ConstraintList {
     protected ConflictList getConflictsNone() {
         List<Constraint> answer = new ArrayList<>();
 
+        if (isKnownSatisfied()) {
+            return new ScheduleConflictList(answer);
+        }
+
         for (Constraint constraint : getRealConstraints()) {
-            if (constraint.isSatisfied()) {
+            if (evaluate(constraint)) {
                 answer.add(constraint);
             }
         }
@@ -245,8 +407,12 @@ public abstract class AbstractConstraintList implements ConstraintList {
     protected ConflictList getConflictsAny() {
         List<Constraint> answer = new ArrayList<>();
 
+        if (isKnownSatisfied()) {
+            return new ScheduleConflictList(answer);
+        }
+
         for (Constraint constraint : getRealConstraints()) {
-            if (!constraint.isSatisfied()) {
+            if (!evaluate(constraint)) {
                 answer.add(constraint);
             } else {
                 answer.clear();
@@ -265,16 +431,7 @@ public abstract class AbstractConstraintList implements ConstraintList {
      * Counts all constraint violations as a conflict.
      */
     protected boolean hasConflictAll() {
-        boolean answer = false;
-
-        for (Constraint constraint : getRealConstraints()) {
-            if (!constraint.isSatisfied()) {
-                answer = true;
-                break;
-            }
-        }
-
-        return answer;
+        return find(false);
     }
 
     /**
@@ -285,16 +442,7 @@ public abstract class AbstractConstraintList implements ConstraintList {
      * Counts all constraint satisfactions as a conflict.
      */
     protected boolean hasConflictNone() {
-        boolean answer = false;
-
-        for (Constraint constraint : getRealConstraints()) {
-            if (constraint.isSatisfied()) {
-                answer = true;
-                break;
-            }
-        }
-
-        return answer;
+        return find(true);
     }
 
     /**
@@ -305,29 +453,58 @@ public abstract class AbstractConstraintList implements ConstraintList {
      * Counts any constraint violations as a conflict if there isn't at least one satisfying constraint.
      */
     protected boolean hasConflictAny() {
-        boolean answer = false;
+        // An empty list has no conflict; otherwise stop if at least one constraint is satisfied.
+        return !getRealConstraints().isEmpty() && !find(true);
+    }
 
-        for (Constraint constraint : getRealConstraints()) {
-            if (!constraint.isSatisfied()) {
-                answer = true;
-            } else {
-                answer = false; // Stop if at least one constraint is satisfied.
-                break;
-            }
+    /**
+     * Returns true if this constraint has been satisfied; otherwise false is returned.
+     *
+     * @return true if this constraint has been satisfied; otherwise false is returned.
+     */
+    @Override
+    public final boolean isSatisfied() {
+        if (memo != null && memo.isCurrent()) {
+            return memo.getResult();
         }
 
-        return answer;
+        if (memo == null || !memo.isStructureCurrent()) {
+            memo = new VersionMemo(this);
+        }
+
+        boolean answer = !hasConflict();
 
+        memo.store(answer);
+
+        return answer;
     }
 
     /**
-     * Returns true if this constraint has been satisfied; otherwise false is returned.
+     * Returns the variables that the constraints within this list depend on, or null if one of them does not return
+     * its variables.
      *
-     * @return true if this constraint has been satisfied; otherwise false is returned.
+     * @return the variables that the constraints within this list depend on, or null if they are not known.
      */
     @Override
-    public final boolean isSatisfied() {
-        return !hasConflict();
+    public List<SearchVariable> getVariables() {
+        Set<SearchVariable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<SearchVariable> answer = new ArrayList<>();
+
+        for (Constraint constraint : constraints) {
+            List<SearchVariable> variables = constraint.getVariables();
+
+            if (variables == null) {
+                return null;
+            }
+
+            for (SearchVariable variable : variables) {
+                if (seen.add(variable)) {
+                    answer.add(variable);
+                }
+            }
+        }
+
+        return answer;
     }
 
     @Override
@@ -0,0 +1,140 @@
+/*
+ * File: AdaptiveOrder.java
+ */
+package com.capital7software.ai.localsearch.constraints;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An AdaptiveOrder is the order that an AbstractConstraintList checks its constraints in when it only needs to find
+ * one constraint that decides the result, such as a violated constraint of an every list or a satisfied constraint
+ * of an any list. It counts how often each constraint decides the result and samples how long each constraint takes
+ * to evaluate, and every REORDER_INTERVAL checks it sorts the constraints so that those with the lowest expected
+ * cost per decision are checked first. The counts are halved after every reorder so that the order follows a search
+ * as the values of its variables change.
+ * <p>
+ * Only the order of evaluation changes. Whether a deciding constraint exists does not depend on the order, so the
+ * result of a check is always the same as when the constraints are checked in the order they were added.
+ *
+ * @author Vincent J. Palodichuk
+ */
+final class AdaptiveOrder {
+    /**
+     * The number of checks between reorders.
+     */
+    static final int REORDER_INTERVAL = 256;
+
+    // Only one in this many checks is timed, since timing a cheap constraint costs more than evaluating it.
+    private static final int TIMING_INTERVAL = 16;
+
+    private final int[] order;
+    private final long[] evaluations;
+    private final long[] decisions;
+    private final long[] timedEvaluations;
+    private final long[] nanos;
+    private int checks;
+
+    /**
+     * Initializes the order of a list with the specified number of constraints to the order they were added in.
+     *
+     * @param size the number of constraints in the list.
+     */
+    AdaptiveOrder(int size) {
+        order = new int[size];
+        evaluations = new long[size];
+        decisions = new long[size];
+        timedEvaluations = new long[size];
+        nanos = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+    }
+
+    /**
+     * Returns the number of constraints that this order was created for.
+     *
+     * @return the number of constraints that this order was created for.
+     */
+    int size() {
+        return order.length;
+    }
+
+    /**
+     * Evaluates the constraints of the specified list in this order until one of them evaluates to the deciding
+     * result.
+     *
+     * @param list the list that the constraints belong to, which evaluates them.
+     * @param constraints the constraints of the list in the order they were added.
+     * @param deciding the result that decides the check.
+     * @return true if one of the constraints evaluated to the deciding result.
+     */
+    boolean find(AbstractConstraintList list, List<Constraint> constraints, boolean deciding) {
+        boolean timed = checks % TIMING_INTERVAL == 0;
+        boolean answer = false;
+
+        for (int index : order) {
+            boolean result;
+
+            if (timed) {
+                long start = System.nanoTime();
+
+                result = list.evaluate(constraints.get(index));
+                nanos[index] += System.nanoTime() - start;
+                timedEvaluations[index]++;
+            } else {
+                result = list.evaluate(constraints.get(index));
+            }
+
+            evaluations[index]++;
+
+            if (result == deciding) {
+                decisions[index]++;
+                answer = true;
+                break;
+            }
+        }
+
+        if (++checks % REORDER_INTERVAL == 0) {
+            reorder();
+        }
+
+        return answer;
+    }
+
+    private void reorder() {
+        int n = order.length;
+        double[] ranks = new double[n];
+        Integer[] sorted = new Integer[n];
+
+        for (int i = 0; i < n; i++) {
+            // Laplace smoothing keeps constraints that have rarely been evaluated from being ranked at an extreme.
+            double cost = (nanos[i] + 1.0) / (timedEvaluations[i] + 1.0);
+            double probability = (decisions[i] + 1.0) / (evaluations[i] + 2.0);
+
+            ranks[i] = cost / probability;
+            sorted[i] = i;
+        }
+
+        // The sort is stable, so constraints with the same rank stay in the order they were added.
+        Arrays.sort(sorted, (a, b) -> Double.compare(ranks[a], ranks[b]));
+
+        for (int i = 0; i < n; i++) {
+            order[i] = sorted[i];
+            evaluations[i] >>= 1;
+            decisions[i] >>= 1;
+            timedEvaluations[i] >>= 1;
+            nanos[i] >>= 1;
+        }
+    }
+
+    /**
+     * Returns the indexes of the constraints in the order they are currently checked in.
+     *
+     * @return the indexes of the constraints in the order they are currently checked in.
+     */
+    int[] getOrder() {
+        return order.clone();
+    }
+}
@@ -47,6 +47,22 @@ public class ConcurrentPrerequisite extends Prerequisite {
         return answer;
     }
 
+    /**
+     * Returns 0 if this prerequisite is satisfied, 1 if either course is not scheduled, and otherwise the number of
+     * semesters that the prerequisite course would have to move back to be taken with the course, measured by the ids
+     * of the semesters.
+     *
+     * @return 0 if this prerequisite is satisfied; otherwise how many semesters it is off by.
+     */
+    @Override
+    public double violationDegree() {
+        if (!getCourse().isScheduled() || !getPrerequisiteCourse().isScheduled()) {
+            return 1.0;
+        }
+
+        return Math.max(0, getPrerequisiteCourse().getSemester().getId() - getCourse().getSemester().getId());
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("ConcurrentPrerequisite {");
@@ -0,0 +1,45 @@
+/*
+ * File: Constraint.java
+ */
+package com.capital7software.ai.localsearch.constraints;
+
+import com.capital7software.ai.localsearch.SearchVariable;
+
+import java.util.List;
+
+/**
+ * This Constraint interface represents a functional constraint. That is, a constraint can be anything provided it is
+ * capable of producing a boolean result that indicates if the constraint has been satisfied. The Constraint interface
+ * is used to simplify the logic involved with searching for solutions to problems.
+ */
+public interface Constraint {
+    /**
+     * Returns true if this constraint has been satisfied; otherwise false is returned.
+     *
+     * @return true if this constraint has been satisfied; otherwise false is returned.
+     */
+    boolean isSatisfied();
+
+    /**
+     * Returns how far this constraint is from being satisfied, so that a search can tell an assignment that nearly
+     * satisfies it from one that is far from satisfying it. The degree is 0 if this constraint is satisfied and at
+     * least 1 if it is not. The default is 1 for every violation; implementing classes that can measure how far off
+     * a violation is return more for a worse one.
+     *
+     * @return 0 if this constraint is satisfied; otherwise how far it is from being satisfied, which is at least 1.
+     */
+    default double violationDegree() {
+        return isSatisfied() ? 0.0 : 1.0;
+    }
+
+    /**
+     * Returns the variables whose values this constraint depends on, or null if they are not known. A ConstraintList
+     * caches its result until the version of one of the variables of its constraints changes, which it can only do
+     * if every one of its constraints returns its variables.
+     *
+     * @return the variables whose values this constraint depends on, or null if they are not known.
+     */
+    default List<SearchVariable> getVariables() {
+        return null;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * File: ConstraintProfiler.java
+ */
+package com.capital7software.ai.localsearch.constraints;
+
+import com.capital7software.ai.localsearch.Course;
+import com.capital7software.ai.localsearch.ScheduledCourse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ConstraintProfiler is an optional instrumentation layer for a tree of ConstraintLists. Once it has been
+ * attached to a ConstraintList, every evaluation of a constraint contained within the list, or within any of its
+ * nested lists, is counted and timed. The statistics are kept per Constraint instance and per type of Constraint
+ * and can be turned into a report that ranks the constraints by the time spent evaluating them.
+ * <p>
+ * A ConstraintProfiler is not thread safe. It is meant to be attached to the constraints of a single search.
+ */
+public class ConstraintProfiler {
+    private static final int DEFAULT_REPORT_SIZE = 20;
+
+    private final Map<Constraint, ConstraintStatistics> statistics;
+
+    /**
+     * Initializes a profiler that has not recorded any evaluations.
+     */
+    public ConstraintProfiler() {
+        statistics = new IdentityHashMap<>();
+    }
+
+    /**
+     * Attaches this profiler to the specified list and all of the lists nested within it.
+     *
+     * @param constraints the list of constraints to profile. Cannot be null.
+     * @throws IllegalArgumentException indicates that constraints is null.
+     */
+    public void attach(ConstraintList constraints) {
+        if (constraints == null) {
+            throw new IllegalArgumentException("constraints cannot be null.");
+        }
+
+        setProfiler(constraints, this);
+    }
+
+    /**
+     * Detaches any profiler from the specified list and all of the lists nested within it.
+     *
+     * @param constraints the list of constraints to stop profiling. Cannot be null.
+     * @throws IllegalArgumentException indicates that constraints is null.
+     */
+    public void detach(ConstraintList constraints) {
+        if (constraints == null) {
+            throw new IllegalArgumentException("constraints cannot be null.");
+        }
+
+        setProfiler(constraints, null);
+    }
+
+    private static void setProfiler(Constraint constraint, ConstraintProfiler profiler) {
+        if (constraint instanceof AbstractConstraintList list) {
+            list.setProfiler(profiler);
+
+            for (Constraint child : list.getRealConstraints()) {
+                setProfiler(child, profiler);
+            }
+        }
+    }
+
+    /**
+     * Evaluates the specified constraint and records the result and the time it took.
+     *
+     * @param constraint the constraint to evaluate.
+     * @return true if the constraint has been satisfied; otherwise false is returned.
+     */
+    boolean evaluate(Constraint constraint) {
+        long start = System.nanoTime();
+        boolean answer = constraint.isSatisfied();
+        long elapsed = System.nanoTime() - start;
+
+        ConstraintStatistics stats = statistics.get(constraint);
+
+        if (stats == null) {
+            stats = new ConstraintStatistics(describe(constraint));
+            statistics.put(constraint, stats);
+        }
+
+        stats.record(answer, elapsed);
+
+        return answer;
+    }
+
+    /**
+     * Discards all of the statistics that have been recorded.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    /**
+     * Returns the statistics of every Constraint instance that has been evaluated, ranked by the total time spent
+     * evaluating them.
+     *
+     * @return the statistics of every Constraint instance that has been evaluated, ranked by total time.
+     */
+    public List<ConstraintStatistics> getStatisticsByConstraint() {
+        List<ConstraintStatistics> answer = new ArrayList<>(statistics.values());
+
+        answer.sort(Comparator.comparingLong(ConstraintStatistics::getTotalNanos).reversed());
+
+        return answer;
+    }
+
+    /**
+     * Returns the statistics of every type of Constraint that has been evaluated, ranked by the total time spent
+     * evaluating them.
+     *
+     * @return the statistics of every type of Constraint that has been evaluated, ranked by total time.
+     */
+    public List<ConstraintStatistics> getStatisticsByType() {
+        Map<Class<?>, ConstraintStatistics> types = new LinkedHashMap<>();
+
+        for (Map.Entry<Constraint, ConstraintStatistics> entry : statistics.entrySet()) {
+            Class<?> type = entry.getKey().getClass();
+            ConstraintStatistics stats = types.get(type);
+
+            if (stats == null) {
+                stats = new ConstraintStatistics(type.getSimpleName());
+                types.put(type, stats);
+            }
+
+            stats.add(entry.getValue());
+        }
+
+        List<ConstraintStatistics> answer = new ArrayList<>(types.values());
+
+        answer.sort(Comparator.comparingLong(ConstraintStatistics::getTotalNanos).reversed());
+
+        return answer;
+    }
+
+    /**
+     * Returns a report of the types of constraints and the top 20 constraints ranked by the total time spent
+     * evaluating them.
+     *
+     * @return a report of the constraints ranked by the total time spent evaluating them.
+     */
+    public String getReport() {
+        return getReport(DEFAULT_REPORT_SIZE);
+    }
+
+    /**
+     * Returns a report of the types of constraints and the top constraints ranked by the total time spent
+     * evaluating them. The time of a ConstraintList includes the time of the constraints nested within it.
+     *
+     * @param maxConstraints the maximum number of Constraint instances to include in the report.
+     * @return a report of the constraints ranked by the total time spent evaluating them.
+     */
+    public String getReport(int maxConstraints) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("Constraint Evaluation Report:\n\n");
+        sb.append("By type:\n");
+        appendHeader(sb);
+
+        for (ConstraintStatistics stats : getStatisticsByType()) {
+            appendRow(sb, stats);
+        }
+
+        sb.append("\nBy constraint:\n");
+        appendHeader(sb);
+
+        List<ConstraintStatistics> constraints = getStatisticsByConstraint();
+
+        for (int i = 0; i < constraints.size() && i < maxConstraints; i++) {
+            appendRow(sb, constraints.get(i));
+        }
+
+        return sb.toString();
+    }
+
+    private static void appendHeader(StringBuilder sb) {
+        sb.append(String.format("%12s %12s %10s %12s %10s  %s%n",
+                "Evaluations", "Violations", "Violated", "Total (ms)", "Avg (ns)", "Constraint"));
+    }
+
+    private static void appendRow(StringBuilder sb, ConstraintStatistics stats) {
+        sb.append(String.format("%12d %12d %9.1f%% %12.3f %10.0f  %s%n",
+                stats.getEvaluations(), stats.getViolations(), stats.getViolationRate() * 100.0,
+                stats.getTotalNanos() / 1_000_000.0, stats.getAverageNanos(), stats.getName()));
+    }
+
+    private static String describe(Constraint constraint) {
+        String type = constraint.getClass().getSimpleName();
+
+        if (constraint instanceof Prerequisite prerequisite) {
+            return type + " " + describe(prerequisite.getCourse()) + " requires " +
+                    describe(prerequisite.getPrerequisiteCourse());
+        } else if (constraint instanceof SemesterRestriction sr) {
+            return type + " " + describe(sr.getCourse()) + " semester " + sr.getRestriction().getId();
+        } else if (constraint instanceof ConstraintList cl) {
+            return type + " of " + cl.getNumConstraints() + " constraints";
+        } else if (constraint instanceof CourseListConstraint clc) {
+            return type + " of " + clc.classList.size() + " courses";
+        }
+
+        return type;
+    }
+
+    private static String describe(ScheduledCourse course) {
+        Course c = course.getCourse();
+
+        return c.getDepartment() + " " + c.getNumberAsString();
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * File: ConstraintProgram.java
+ */
+package com.capital7software.ai.localsearch.constraints;
+
+import com.capital7software.ai.localsearch.SearchVariable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A ConstraintProgram is a tree of every, any and none lists that has been compiled into a flat program. Evaluating
+ * the program is a single loop over arrays instead of recursive calls through the lists.
+ * <p>
+ * The tree is normalized before it is compiled. A none list is rewritten with De Morgan's laws into an every list of
+ * negated constraints, and negations are pushed down to the constraints themselves. Every lists nested in every
+ * lists and any lists nested in any lists are merged into their parents, empty lists are replaced by their constant
+ * result, and a constraint that appears more than once in the same list is only kept once.
+ * <p>
+ * Each remaining constraint becomes an instruction with the number of the instruction to jump to if it is satisfied
+ * and the number to jump to if it is not, so evaluation short-circuits exactly as the lists do. A negated constraint
+ * simply has its jumps swapped. The instructions also record the type of their constraint so that each type is
+ * evaluated from its own call site.
+ * <p>
+ * A program remembers the lists it was compiled from and compiles itself again the next time it is evaluated if any
+ * of them have been changed.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public final class ConstraintProgram implements Constraint {
+    // The jump targets that end the program.
+    private static final int SATISFIED = -1;
+    private static final int VIOLATED = -2;
+
+    private static final int PREREQUISITE = 0;
+    private static final int RESTRICTION = 1;
+    private static final int COURSE_LIST = 2;
+    private static final int LIST = 3;
+    private static final int OTHER = 4;
+
+    private final Constraint root;
+    private AbstractConstraintList[] lists;
+    private long[] modifications;
+    private Constraint[] instructions;
+    private int[] types;
+    private int[] onSatisfied;
+    private int[] onViolated;
+    private int entry;
+
+    private ConstraintProgram(Constraint root) {
+        this.root = root;
+        build();
+    }
+
+    /**
+     * Compiles the specified constraint, which is usually a ConstraintList, into a program.
+     *
+     * @param constraint the constraint to compile. Cannot be null.
+     * @return the compiled program.
+     * @throws IllegalArgumentException indicates that constraint is null.
+     */
+    public static ConstraintProgram compile(Constraint constraint) {
+        if (constraint == null) {
+            throw new IllegalArgumentException("constraint cannot be null.");
+        }
+
+        return new ConstraintProgram(constraint);
+    }
+
+    /**
+     * Returns true if the constraint that this program was compiled from is satisfied.
+     *
+     * @return true if the constraint that this program was compiled from is satisfied.
+     */
+    @Override
+    public boolean isSatisfied() {
+        if (!isCurrent()) {
+            build();
+        }
+
+        int pc = entry;
+
+        while (pc >= 0) {
+            boolean satisfied = switch (types[pc]) {
+                case PREREQUISITE -> ((Prerequisite) instructions[pc]).isSatisfied();
+                case RESTRICTION -> ((SemesterRestriction) instructions[pc]).isSatisfied();
+                case COURSE_LIST -> ((CourseListConstraint) instructions[pc]).isSatisfied();
+                case LIST -> ((AbstractConstraintList) instructions[pc]).isSatisfied();
+                default -> instructions[pc].isSatisfied();
+            };
+
+            pc = satisfied ? onSatisfied[pc] : onViolated[pc];
+        }
+
+        return pc == SATISFIED;
+    }
+
+    /**
+     * Returns the variables that the constraints of the program depend on, or null if one of them does not return
+     * its variables.
+     *
+     * @return the variables that the constraints of the program depend on, or null if they are not known.
+     */
+    @Override
+    public List<SearchVariable> getVariables() {
+        return root.getVariables();
+    }
+
+    /**
+     * Returns the number of instructions in the program, which is the number of constraints that remain once the
+     * tree has been normalized.
+     *
+     * @return the number of instructions in the program.
+     */
+    public int size() {
+        if (!isCurrent()) {
+            build();
+        }
+
+        return instructions.length;
+    }
+
+    /**
+     * Returns the constraints of the instructions of the program in the order they are laid out.
+     *
+     * @return the constraints of the instructions of the program.
+     */
+    public List<Constraint> getInstructions() {
+        if (!isCurrent()) {
+            build();
+        }
+
+        return List.of(instructions);
+    }
+
+    private boolean isCurrent() {
+        for (int i = 0; i < lists.length; i++) {
+            if (lists[i].getModifications() != modifications[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void build() {
+        List<AbstractConstraintList> listList = new ArrayList<>();
+        Node node = simplify(normalize(root, false, listList));
+        List<Node> leaves = new ArrayList<>();
+
+        collectLeaves(node, leaves);
+
+        lists = listList.toArray(new AbstractConstraintList[0]);
+        modifications = new long[lists.length];
+
+        for (int i = 0; i < lists.length; i++) {
+            modifications[i] = lists[i].getModifications();
+        }
+
+        int n = leaves.size();
+
+        instructions = new Constraint[n];
+        types = new int[n];
+        onSatisfied = new int[n];
+        onViolated = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            instructions[i] = leaves.get(i).constraint;
+            types[i] = typeOf(instructions[i]);
+        }
+
+        entry = emit(node, 0, SATISFIED, VIOLATED);
+    }
+
+    private static int typeOf(Constraint constraint) {
+        if (constraint instanceof Prerequisite) {
+            return PREREQUISITE;
+        } else if (constraint instanceof SemesterRestriction) {
+            return RESTRICTION;
+        } else if (constraint instanceof CourseListConstraint) {
+            return COURSE_LIST;
+        } else if (constraint instanceof AbstractConstraintList) {
+            return LIST;
+        }
+
+        return OTHER;
+    }
+
+    /**
+     * Fills in the jumps of the instructions of the specified node, whose first instruction is at start, and returns
+     * the instruction that the node begins at. The instructions are numbered from left to right, so the node after
+     * a child begins where the child's instructions end.
+     */
+    private int emit(Node node, int start, int satisfied, int violated) {
+        switch (node.kind) {
+            case CONSTANT -> {
+                return node.value ? satisfied : violated;
+            }
+            case LEAF -> {
+                onSatisfied[start] = node.negated ? violated : satisfied;
+                onViolated[start] = node.negated ? satisfied : violated;
+
+                return start;
+            }
+            default -> {
+                boolean all = node.kind == Kind.ALL;
+                int[] starts = new int[node.children.size()];
+                int next = start;
+
+                for (int i = 0; i < starts.length; i++) {
+                    starts[i] = next;
+                    next += node.children.get(i).leaves;
+                }
+
+                // A child that does not decide the node continues with the next child, and the last child
+                // decides the node either way. Simplified groups never contain constants, so every child has at
+                // least one instruction.
+                for (int i = 0; i < starts.length; i++) {
+                    boolean last = i == starts.length - 1;
+                    int following = last ? (all ? satisfied : violated) : starts[i + 1];
+
+                    emit(node.children.get(i), starts[i], all ? following : satisfied, all ? violated : following);
+                }
+
+                return start;
+            }
+        }
+    }
+
+    private static void collectLeaves(Node node, List<Node> leaves) {
+        if (node.kind == Kind.LEAF) {
+            leaves.add(node);
+        } else if (node.children != null) {
+            for (Node child : node.children) {
+                collectLeaves(child, leaves);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the specified constraint, negated if negate is true, into a tree of ALL and ANY nodes whose leaves
+     * are constraints that are not every, any or none lists.
+     */
+    private static Node normalize(Constraint constraint, boolean negate, List<AbstractConstraintList> lists) {
+        if (constraint instanceof AbstractConstraintList list && !(list instanceof PrerequisiteGraph)
+                && (list instanceof EveryConstraintList || list instanceof AnyConstraintList
+                || list instanceof NoneConstraintList)) {
+            lists.add(list);
+
+            List<Constraint> children = list.getRealConstraints();
+
+            // An empty any list is satisfied, unlike an empty disjunction.
+            if (list instanceof AnyConstraintList && children.isEmpty()) {
+                return Node.constant(!negate);
+            }
+
+            // A none list is satisfied when every one of its constraints is not: none(a, b) = every(!a, !b).
+            boolean none = list instanceof NoneConstraintList;
+            boolean all = list instanceof AnyConstraintList ? negate : !negate;
+            List<Node> nodes = new ArrayList<>(children.size());
+
+            for (Constraint child : children) {
+                nodes.add(normalize(child, none != negate, lists));
+            }
+
+            return Node.group(all ? Kind.ALL : Kind.ANY, nodes);
+        }
+
+        if (constraint instanceof AbstractConstraintList list) {
+            lists.add(list);
+        }
+
+        return Node.leaf(constraint, negate);
+    }
+
+    /**
+     * Merges nested groups of the same kind, folds constants and removes duplicate leaves.
+     */
+    private static Node simplify(Node node) {
+        if (node.kind == Kind.CONSTANT || node.kind == Kind.LEAF) {
+            return node;
+        }
+
+        boolean all = node.kind == Kind.ALL;
+        Map<Object, Node> children = new LinkedHashMap<>();
+
+        for (Node child : node.children) {
+            child = simplify(child);
+
+            if (child.kind == Kind.CONSTANT) {
+                if (child.value != all) {
+                    // false in an ALL, or true in an ANY, decides the group.
+                    return child;
+                }
+            } else if (child.kind == node.kind) {
+                for (Node grandchild : child.children) {
+                    children.putIfAbsent(grandchild.key(), grandchild);
+                }
+            } else {
+                children.putIfAbsent(child.key(), child);
+            }
+        }
+
+        if (children.isEmpty()) {
+            return Node.constant(all);
+        } else if (children.size() == 1) {
+            return children.values().iterator().next();
+        }
+
+        return Node.group(node.kind, new ArrayList<>(children.values()));
+    }
+
+    private enum Kind {
+        ALL, ANY, LEAF, CONSTANT
+    }
+
+    /**
+     * A node of a normalized tree.
+     */
+    private static final class Node {
+        private final Kind kind;
+        private final List<Node> children;
+        private final Constraint constraint;
+        private final boolean negated;
+        private final boolean value;
+        private final int leaves;
+
+        private Node(Kind kind, List<Node> children, Constraint constraint, boolean negated, boolean value) {
+            this.kind = kind;
+            this.children = children;
+            this.constraint = constraint;
+            this.negated = negated;
+            this.value = value;
+
+            int count = kind == Kind.LEAF ? 1 : 0;
+
+            if (children != null) {
+                for (Node child : children) {
+                    count += child.leaves;
+                }
+            }
+
+            this.leaves = count;
+        }
+
+        static Node constant(boolean value) {
+            return new Node(Kind.CONSTANT, null, null, false, value);
+        }
+
+        static Node leaf(Constraint constraint, boolean negated) {
+            return new Node(Kind.LEAF, null, constraint, negated, false);
+        }
+
+        static Node group(Kind kind, List<Node> children) {
+            return new Node(kind, children, null, false, false);
+        }
+
+        /**
+         * Returns the key that identifies duplicates. Two leaves are duplicates if they are the same constraint, or
+         * constraints of the same type over the same variables, with the same negation. Groups are never merged.
+         */
+        Object key() {
+            if (kind != Kind.LEAF) {
+                return this;
+            }
+
+            List<Object> answer = new ArrayList<>();
+
+            answer.add(negated);
+
+            List<SearchVariable> variables = constraint instanceof Prerequisite
+                    || constraint instanceof SemesterRestriction ? constraint.getVariables() : null;
+
+            if (variables == null) {
+                answer.add(new Identity(constraint));
+            } else {
+                answer.add(constraint.getClass());
+
+                for (SearchVariable variable : variables) {
+                    answer.add(new Identity(variable));
+                }
+            }
+
+            return answer;
+        }
+    }
+
+    /**
+     * Wraps an object so that it is compared by identity.
+     */
+    private record Identity(Object object) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Identity that && that.object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
+}
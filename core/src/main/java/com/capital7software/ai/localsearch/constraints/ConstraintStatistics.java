@@ -0,0 +1,122 @@
+/*
+ * File: ConstraintStatistics.java
+ */
+package com.capital7software.ai.localsearch.constraints;
+
+/**
+ * The ConstraintStatistics class accumulates how many times a constraint, or a type of constraint, has been
+ * evaluated, how many of those evaluations were violations, and how much time was spent evaluating it. The time of
+ * a ConstraintList includes the time spent evaluating the constraints contained within it.
+ */
+public class ConstraintStatistics {
+    private final String name;
+    private long evaluations;
+    private long violations;
+    private long nanos;
+
+    /**
+     * Initializes empty statistics with the specified name.
+     *
+     * @param name the name of the constraint or type of constraint these statistics are for. Cannot be null.
+     * @throws IllegalArgumentException indicates that name is null.
+     */
+    public ConstraintStatistics(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("name cannot be null.");
+        }
+
+        this.name = name;
+    }
+
+    /**
+     * Records a single evaluation of the constraint.
+     *
+     * @param satisfied the result of the evaluation.
+     * @param elapsedNanos the number of nanoseconds the evaluation took.
+     */
+    void record(boolean satisfied, long elapsedNanos) {
+        evaluations++;
+        nanos += elapsedNanos;
+
+        if (!satisfied) {
+            violations++;
+        }
+    }
+
+    /**
+     * Adds the specified statistics to these statistics.
+     *
+     * @param other the statistics to add to these statistics.
+     */
+    void add(ConstraintStatistics other) {
+        evaluations += other.evaluations;
+        violations += other.violations;
+        nanos += other.nanos;
+    }
+
+    /**
+     * Returns the name of the constraint or type of constraint these statistics are for.
+     *
+     * @return the name of the constraint or type of constraint these statistics are for.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of times the constraint was evaluated.
+     *
+     * @return the number of times the constraint was evaluated.
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Returns the number of evaluations where the constraint was not satisfied.
+     *
+     * @return the number of evaluations where the constraint was not satisfied.
+     */
+    public long getViolations() {
+        return violations;
+    }
+
+    /**
+     * Returns the fraction of the evaluations where the constraint was not satisfied, or zero if it has never
+     * been evaluated.
+     *
+     * @return the fraction of the evaluations where the constraint was not satisfied.
+     */
+    public double getViolationRate() {
+        return evaluations == 0 ? 0.0 : (double) violations / evaluations;
+    }
+
+    /**
+     * Returns the total number of nanoseconds spent evaluating the constraint.
+     *
+     * @return the total number of nanoseconds spent evaluating the constraint.
+     */
+    public long getTotalNanos() {
+        return nanos;
+    }
+
+    /**
+     * Returns the average number of nanoseconds a single evaluation took, or zero if it has never been evaluated.
+     *
+     * @return the average number of nanoseconds a single evaluation took.
+     */
+    public double getAverageNanos() {
+        return evaluations == 0 ? 0.0 : (double) nanos / evaluations;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ConstraintStatistics {");
+        sb.append("name = '").append(getName()).append('\'');
+        sb.append(", evaluations = ").append(getEvaluations());
+        sb.append(", violations = ").append(getViolations());
+        sb.append(", totalNanos = ").append(getTotalNanos());
+        sb.append('}');
+        return sb.toString();
+    }
+}
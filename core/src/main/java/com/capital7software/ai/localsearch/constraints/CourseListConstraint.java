@@ -4,10 +4,12 @@
 package com.capital7software.ai.localsearch.constraints;
 
 import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.SearchVariable;
 import com.capital7software.ai.localsearch.Semester;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -44,6 +46,34 @@ public abstract class CourseListConstraint implements Constraint, Cloneable {
         this.classList.addAll(classList);
     }
 
+    /**
+     * Returns the semesters that are assigned to the courses.
+     *
+     * @return the semesters that are assigned to the courses.
+     */
+    public List<Semester> getSemesters() {
+        return Collections.unmodifiableList(semesters);
+    }
+
+    /**
+     * Returns the course list of classes that this constraint is applied to.
+     *
+     * @return the course list of classes that this constraint is applied to.
+     */
+    public List<ScheduledCourse> getClassList() {
+        return Collections.unmodifiableList(classList);
+    }
+
+    /**
+     * Returns the courses of the course list.
+     *
+     * @return the courses of the course list.
+     */
+    @Override
+    public List<SearchVariable> getVariables() {
+        return Collections.unmodifiableList(classList);
+    }
+
     public abstract List<ScheduledCourse> getConflicts();
 
     @Override
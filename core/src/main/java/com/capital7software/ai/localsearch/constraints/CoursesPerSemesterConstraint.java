@@ -0,0 +1,300 @@
+/*
+ * File: CoursesPerSemesterConstraint.java
+ */
+package com.capital7software.ai.localsearch.constraints;
+
+import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.ScheduledCourseListener;
+import com.capital7software.ai.localsearch.Semester;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * The CoursesPerSemesterConstraint is a CourseListConstraint that checks a course list to ensure that the number of
+ * classes scheduled per semester is no more than the number specified in the constraint.
+ * <p>
+ * The constraint touches every course, so rather than rescanning the course list each time it is evaluated it
+ * listens to its courses and keeps a count of the courses in each semester, a list of the courses in each semester,
+ * the set of semesters that are over capacity and the number of courses over capacity. Moving a course updates that
+ * state in constant time, and isSatisfied, violationDegree and getConflicts only read it. The courses only hold
+ * the constraint weakly, so a constraint that is no longer needed, such as a clone or one that was removed from its
+ * problem, does not live as long as its courses, and its listeners remove themselves the next time their course
+ * moves. Detaching a constraint stops its courses notifying it straight away.
+ */
+public class CoursesPerSemesterConstraint extends CourseListConstraint {
+    private static final int MIN_COURSES_PER_SEMESTER = 0;
+    private static final int MAX_COURSES_PER_SEMESTER = 6;
+    private static final int NONE = -1;
+
+    private int coursesPerSemester;
+    private Map<Semester, Integer> semesterIndexes;
+    private int[] counts;
+    private BitSet overCapacity;
+    // The number of courses over capacity, summed over the semesters.
+    private int excess;
+    // The index of the semester that each course is counted in, or NONE, and the courses in each semester as linked
+    // lists of course indexes.
+    private int[] courseSemesters;
+    private int[] heads;
+    private int[] next;
+    private int[] previous;
+    // The listener added to each course, or null once this constraint has been detached.
+    private ScheduledCourseListener[] listeners;
+
+    /**
+     * Initializes a new constraint based on the provided list of semesters and scheduled courses. The course list
+     * will be validated using the provided number for the max number of courses per semester.
+     *
+     * @param maxCoursesPerSemester the max number of courses that can be taken in a single semester.
+     * @param semesters the list of semesters that appear in the schedule.
+     * @param classList the list of scheduled courses.
+     * @throws IllegalArgumentException if the max number of courses is less than 0 or greater than 6.
+     */
+    // The listeners only hold this constraint weakly and only call the private moved method, which reads nothing
+    // that a subclass initializes.
+    @SuppressWarnings("this-escape")
+    public CoursesPerSemesterConstraint(int maxCoursesPerSemester, Collection<Semester> semesters, Collection<ScheduledCourse> classList) {
+        super(semesters, classList);
+
+        if (maxCoursesPerSemester < MIN_COURSES_PER_SEMESTER || maxCoursesPerSemester > MAX_COURSES_PER_SEMESTER) {
+            throw new IllegalArgumentException("coursesPerSemester must be greater than equal to " +
+                    MIN_COURSES_PER_SEMESTER + " and less than or equal to " + MAX_COURSES_PER_SEMESTER + ".");
+        }
+
+        this.coursesPerSemester = maxCoursesPerSemester;
+        initCounts();
+    }
+
+    /**
+     * Returns the max number of courses that can be taken in a single semester.
+     *
+     * @return the max number of courses that can be taken in a single semester.
+     */
+    public int getCoursesPerSemester() {
+        return coursesPerSemester;
+    }
+
+    /**
+     * Returns true if this constraint has been satisfied; otherwise false is returned.
+     *
+     * @return true if this constraint has been satisfied; otherwise false is returned.
+     */
+    @Override
+    public boolean isSatisfied() {
+        refresh();
+
+        return overCapacity.isEmpty();
+    }
+
+    /**
+     * Returns a list of ScheduledCourses that are in semesters that exceed the number of courses per semester.
+     *
+     * @return a list of ScheduledCourses that are in semesters that exceed the number of courses per semester.
+     */
+    @Override
+    public List<ScheduledCourse> getConflicts() {
+        refresh();
+
+        if (overCapacity.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+
+        List<ScheduledCourse> answer = new ArrayList<>();
+
+        for (int semester = overCapacity.nextSetBit(0); semester >= 0;
+                semester = overCapacity.nextSetBit(semester + 1)) {
+            for (int course = heads[semester]; course != NONE; course = next[course]) {
+                answer.add(classList.get(course));
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns the number of courses over capacity, summed over the semesters, so a semester with nine courses and a
+     * capacity of three is six times as far from satisfying this constraint as a semester with four.
+     *
+     * @return 0 if this constraint is satisfied; otherwise the number of courses over capacity.
+     */
+    @Override
+    public double violationDegree() {
+        refresh();
+
+        return excess;
+    }
+
+    /**
+     * Returns the number of courses over capacity in the specified semester.
+     *
+     * @param semester the semester. Cannot be null.
+     * @return the number of courses over capacity in the semester, or 0 if it is not over capacity or is not one of
+     * the semesters of this constraint.
+     * @throws IllegalArgumentException indicates that semester is null.
+     */
+    public int getExcess(Semester semester) {
+        if (semester == null) {
+            throw new IllegalArgumentException("semester cannot be null.");
+        }
+
+        refresh();
+
+        int index = semesterIndexes.getOrDefault(semester, NONE);
+
+        return index == NONE ? 0 : Math.max(0, counts[index] - coursesPerSemester);
+    }
+
+    /**
+     * Stops listening to the courses of this constraint, so that they no longer keep it up to date when they move.
+     * The constraint still gives the right answers afterwards, but it counts its courses again each time it is
+     * asked. Detaching a constraint that has already been detached does nothing.
+     */
+    public void detach() {
+        if (listeners == null) {
+            return;
+        }
+
+        for (int i = 0; i < classList.size(); i++) {
+            classList.get(i).removeListener(listeners[i]);
+        }
+
+        listeners = null;
+    }
+
+    private void initCounts() {
+        semesterIndexes = new HashMap<>();
+
+        for (Semester semester : semesters) {
+            semesterIndexes.putIfAbsent(semester, semesterIndexes.size());
+        }
+
+        counts = new int[semesterIndexes.size()];
+        overCapacity = new BitSet(counts.length);
+        heads = new int[counts.length];
+        courseSemesters = new int[classList.size()];
+        next = new int[classList.size()];
+        previous = new int[classList.size()];
+        listeners = new ScheduledCourseListener[classList.size()];
+
+        for (int i = 0; i < classList.size(); i++) {
+            listeners[i] = new CourseListener(this, i);
+            classList.get(i).addListener(listeners[i]);
+        }
+
+        count();
+    }
+
+    // Counts every course from scratch.
+    private void count() {
+        excess = 0;
+        Arrays.fill(counts, 0);
+        overCapacity.clear();
+        Arrays.fill(heads, NONE);
+        Arrays.fill(courseSemesters, NONE);
+
+        for (int course = 0; course < classList.size(); course++) {
+            moved(course);
+        }
+    }
+
+    // A detached constraint is not told when its courses move, so it counts them again.
+    private void refresh() {
+        if (listeners == null) {
+            count();
+        }
+    }
+
+    private void moved(int course) {
+        ScheduledCourse scheduledCourse = classList.get(course);
+        int semester = scheduledCourse.isScheduled()
+                ? semesterIndexes.getOrDefault(scheduledCourse.getSemester(), NONE) : NONE;
+        int current = courseSemesters[course];
+
+        if (semester == current) {
+            return;
+        }
+
+        if (current != NONE) {
+            // unlink the course from the semester it was in
+            if (previous[course] == NONE) {
+                heads[current] = next[course];
+            } else {
+                next[previous[course]] = next[course];
+            }
+
+            if (next[course] != NONE) {
+                previous[next[course]] = previous[course];
+            }
+
+            if (counts[current] > coursesPerSemester) {
+                excess--;
+            }
+
+            if (--counts[current] == coursesPerSemester) {
+                overCapacity.clear(current);
+            }
+        }
+
+        if (semester != NONE) {
+            previous[course] = NONE;
+            next[course] = heads[semester];
+
+            if (heads[semester] != NONE) {
+                previous[heads[semester]] = course;
+            }
+
+            heads[semester] = course;
+
+            if (++counts[semester] == coursesPerSemester + 1) {
+                overCapacity.set(semester);
+            }
+
+            if (counts[semester] > coursesPerSemester) {
+                excess++;
+            }
+        }
+
+        courseSemesters[course] = semester;
+    }
+
+    /**
+     * Returns a copy of this constraint that keeps its own counts and listens to the same courses, even if this
+     * constraint has been detached. Detach the copy once it is no longer needed.
+     *
+     * @return a copy of this constraint.
+     */
+    @Override
+    public CoursesPerSemesterConstraint clone() {
+        CoursesPerSemesterConstraint answer = (CoursesPerSemesterConstraint)super.clone();
+
+        answer.initCounts();
+
+        return answer;
+    }
+
+    /**
+     * Tells a constraint that one of its courses moved, for as long as the constraint is reachable from anything
+     * other than its courses.
+     */
+    private static final class CourseListener implements ScheduledCourseListener {
+        private final WeakReference<CoursesPerSemesterConstraint> constraint;
+        private final int course;
+
+        private CourseListener(CoursesPerSemesterConstraint constraint, int course) {
+            this.constraint = new WeakReference<>(constraint);
+            this.course = course;
+        }
+
+        @Override
+        public void scheduleChanged(ScheduledCourse scheduledCourse) {
+            CoursesPerSemesterConstraint target = constraint.get();
+
+            if (target == null) {
+                scheduledCourse.removeListener(this);
+            } else {
+                target.moved(course);
+            }
+        }
+    }
+}
@@ -4,7 +4,9 @@
 package com.capital7software.ai.localsearch.constraints;
 
 import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.SearchVariable;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -62,6 +64,15 @@ public class Prerequisite implements Constraint, Cloneable {
         return prerequisite;
     }
 
+    /**
+     * Returns the course and the prerequisite course.
+     * @return the course and the prerequisite course.
+     */
+    @Override
+    public List<SearchVariable> getVariables() {
+        return List.of(course, prerequisite);
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("Prerequisite {");
@@ -84,6 +95,22 @@ public class Prerequisite implements Constraint, Cloneable {
         return answer;
     }
 
+    /**
+     * Returns 0 if this prerequisite is satisfied, 1 if either course is not scheduled, and otherwise the number of
+     * semesters that the prerequisite course would have to move back to be taken before the course, measured by the
+     * ids of the semesters.
+     *
+     * @return 0 if this prerequisite is satisfied; otherwise how many semesters it is off by.
+     */
+    @Override
+    public double violationDegree() {
+        if (!course.isScheduled() || !prerequisite.isScheduled()) {
+            return 1.0;
+        }
+
+        return Math.max(0, prerequisite.getSemester().getId() - course.getSemester().getId() + 1);
+    }
+
     @Override
     public Prerequisite clone() {
         Prerequisite answer;
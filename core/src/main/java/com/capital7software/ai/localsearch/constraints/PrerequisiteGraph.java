@@ -0,0 +1,413 @@
+/*
+ * File: PrerequisiteGraph.java
+ */
+package com.capital7software.ai.localsearch.constraints;
+
+import com.capital7software.ai.localsearch.ConflictList;
+import com.capital7software.ai.localsearch.ScheduleConflictList;
+import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.ScheduledCourseListener;
+import com.capital7software.ai.localsearch.Semester;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A PrerequisiteGraph is an EveryConstraintList of Prerequisite and ConcurrentPrerequisite constraints that has been
+ * compiled into a graph. The courses are numbered and the prerequisites become the edges of a compressed sparse row
+ * graph of int arrays, from each prerequisite to the courses that require it, weighted 1 for a prerequisite and 0
+ * for a concurrent prerequisite. The semesters are numbered in order of their ids.
+ * <p>
+ * The graph listens to its courses and keeps the number of the semester that each course is in, so checking the
+ * prerequisites is a scan of primitive arrays rather than a call to every Prerequisite. Conflicts are still reported
+ * as the Prerequisite constraints that are violated so that they are scored like any other prerequisite.
+ * <p>
+ * If the graph has no cycles, its courses are also put in topological order and the earliest and latest semester
+ * that each course can be taken in are found by propagating the longest chain of prerequisites before and after
+ * it. A course is never feasible outside of those bounds, so LocalSearchProblem only chooses random values from
+ * within them.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public class PrerequisiteGraph extends EveryConstraintList {
+    private static final int NONE = -1;
+
+    private final ScheduledCourse[] courses;
+    private final Map<ScheduledCourse, Integer> courseIndexes;
+    private final Semester[] semesters;
+    private final Map<Semester, Integer> semesterIndexes;
+    private final ScheduledCourseListener listener;
+    // The compressed sparse row graph. The edges from course i are offsets[i] to offsets[i + 1] - 1.
+    private final int[] offsets;
+    private final int[] sources;
+    private final int[] targets;
+    private final int[] weights;
+    private final Prerequisite[] edgeConstraints;
+    private final int[] topologicalOrder;
+    private final int[] earliest;
+    private final int[] latest;
+    private final int[] courseSemesters;
+    private final long[] violations;
+
+    /**
+     * Compiles the specified prerequisites into a graph over the specified semesters.
+     *
+     * @param prerequisites the Prerequisite and ConcurrentPrerequisite constraints to compile.
+     * @param semesters the semesters the courses can be scheduled in. Cannot be null or empty.
+     * @throws IllegalArgumentException indicates that either argument is null or that semesters is empty.
+     */
+    public PrerequisiteGraph(Collection<Prerequisite> prerequisites, Collection<Semester> semesters) {
+        super(prerequisites == null ? null : new ArrayList<>(prerequisites));
+
+        if (prerequisites == null) {
+            throw new IllegalArgumentException("prerequisites cannot be null.");
+        }
+
+        if (semesters == null || semesters.isEmpty()) {
+            throw new IllegalArgumentException("semesters cannot be null and cannot be empty.");
+        }
+
+        this.semesters = semesters.stream().sorted().distinct().toArray(Semester[]::new);
+        this.semesterIndexes = new HashMap<>();
+
+        for (int i = 0; i < this.semesters.length; i++) {
+            semesterIndexes.put(this.semesters[i], i);
+        }
+
+        // Number the courses in the order that they first appear.
+        courseIndexes = new IdentityHashMap<>();
+        List<ScheduledCourse> courseList = new ArrayList<>();
+
+        for (Prerequisite prerequisite : prerequisites) {
+            for (ScheduledCourse course : List.of(prerequisite.getPrerequisiteCourse(), prerequisite.getCourse())) {
+                if (!courseIndexes.containsKey(course)) {
+                    courseIndexes.put(course, courseList.size());
+                    courseList.add(course);
+                }
+            }
+        }
+
+        courses = courseList.toArray(new ScheduledCourse[0]);
+
+        int n = courses.length;
+
+        offsets = new int[n + 1];
+        sources = new int[prerequisites.size()];
+        targets = new int[prerequisites.size()];
+        weights = new int[prerequisites.size()];
+        edgeConstraints = new Prerequisite[prerequisites.size()];
+
+        for (Prerequisite prerequisite : prerequisites) {
+            offsets[courseIndexes.get(prerequisite.getPrerequisiteCourse()) + 1]++;
+        }
+
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] next = Arrays.copyOf(offsets, n);
+
+        for (Prerequisite prerequisite : prerequisites) {
+            int source = courseIndexes.get(prerequisite.getPrerequisiteCourse());
+            int edge = next[source]++;
+
+            sources[edge] = source;
+            targets[edge] = courseIndexes.get(prerequisite.getCourse());
+            weights[edge] = prerequisite.isConcurrent() ? 0 : 1;
+            edgeConstraints[edge] = prerequisite;
+        }
+
+        topologicalOrder = sortTopologically();
+        earliest = new int[n];
+        latest = new int[n];
+        Arrays.fill(latest, this.semesters.length - 1);
+
+        if (topologicalOrder != null) {
+            propagateBounds();
+        }
+
+        courseSemesters = new int[n];
+        violations = new long[PrerequisiteKernel.maskLength(edgeConstraints.length)];
+        listener = this::moved;
+
+        for (ScheduledCourse course : courses) {
+            course.addListener(listener);
+            moved(course);
+        }
+    }
+
+    private int[] sortTopologically() {
+        int n = courses.length;
+        int[] inDegree = new int[n];
+
+        for (int target : targets) {
+            inDegree[target]++;
+        }
+
+        int[] answer = new int[n];
+        int head = 0;
+        int tail = 0;
+
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0) {
+                answer[tail++] = i;
+            }
+        }
+
+        while (head < tail) {
+            int course = answer[head++];
+
+            for (int edge = offsets[course]; edge < offsets[course + 1]; edge++) {
+                if (--inDegree[targets[edge]] == 0) {
+                    answer[tail++] = targets[edge];
+                }
+            }
+        }
+
+        return tail == n ? answer : null;
+    }
+
+    private void propagateBounds() {
+        for (int course : topologicalOrder) {
+            for (int edge = offsets[course]; edge < offsets[course + 1]; edge++) {
+                earliest[targets[edge]] = Math.max(earliest[targets[edge]], earliest[course] + weights[edge]);
+            }
+        }
+
+        for (int i = topologicalOrder.length - 1; i >= 0; i--) {
+            int course = topologicalOrder[i];
+
+            for (int edge = offsets[course]; edge < offsets[course + 1]; edge++) {
+                latest[course] = Math.min(latest[course], latest[targets[edge]] - weights[edge]);
+            }
+        }
+    }
+
+    private void moved(ScheduledCourse course) {
+        Integer index = courseIndexes.get(course);
+
+        if (index != null) {
+            courseSemesters[index] = course.isScheduled()
+                    ? semesterIndexes.getOrDefault(course.getSemester(), NONE) : NONE;
+        }
+    }
+
+    private boolean isSatisfied(int edge) {
+        int prerequisiteSemester = courseSemesters[sources[edge]];
+        int courseSemester = courseSemesters[targets[edge]];
+
+        return prerequisiteSemester != NONE && courseSemester != NONE
+                && prerequisiteSemester + weights[edge] <= courseSemester;
+    }
+
+    private int getNumberOfEdges() {
+        // A cleared graph has no edges left to check.
+        return offsets[courses.length];
+    }
+
+    /**
+     * Returns true if the prerequisites are checked with the Vector API, which is the case when the
+     * jdk.incubator.vector module is available, for example because the JVM was started with
+     * --add-modules jdk.incubator.vector. Otherwise they are checked with a scalar loop.
+     *
+     * @return true if the prerequisites are checked with the Vector API.
+     */
+    public static boolean isVectorized() {
+        return PrerequisiteKernel.VECTORIZED;
+    }
+
+    /**
+     * Returns true if at least one of the prerequisites is violated.
+     *
+     * @return true if at least one of the prerequisites is violated.
+     */
+    @Override
+    public boolean hasConflict() {
+        int edges = getNumberOfEdges();
+
+        for (int edge = 0; edge < edges; edge++) {
+            if (!isSatisfied(edge)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the number of prerequisites that are violated.
+     *
+     * @return the number of prerequisites that are violated.
+     */
+    @Override
+    public int getNumberOfConflicts() {
+        return getViolations(violations);
+    }
+
+    /**
+     * Returns the prerequisites that are violated.
+     *
+     * @return the prerequisites that are violated.
+     */
+    @Override
+    public ConflictList getConflicts() {
+        List<Constraint> answer = new ArrayList<>(getViolations(violations));
+
+        for (int word = 0; word < violations.length; word++) {
+            for (long bits = violations[word]; bits != 0; bits &= bits - 1) {
+                answer.add(edgeConstraints[word * Long.SIZE + Long.numberOfTrailingZeros(bits)]);
+            }
+        }
+
+        return new ScheduleConflictList(answer);
+    }
+
+    /**
+     * Checks every prerequisite at once, sets bit i of the specified mask if the prerequisite returned by
+     * getPrerequisite(i) is violated and clears it if it is not, and returns the number of prerequisites that are
+     * violated. Bit i is bit i % 64 of word i / 64.
+     *
+     * @param violations the mask to fill in. Cannot be null and must have room for a bit per prerequisite.
+     * @return the number of prerequisites that are violated.
+     * @throws IllegalArgumentException indicates that violations is null or too short.
+     */
+    public int getViolations(long[] violations) {
+        if (violations == null || violations.length < this.violations.length) {
+            throw new IllegalArgumentException("violations cannot be null and must have a bit per prerequisite.");
+        }
+
+        int edges = getNumberOfEdges();
+
+        if (edges < sources.length) {
+            Arrays.fill(violations, 0, this.violations.length, 0L);
+
+            return 0;
+        }
+
+        return PrerequisiteKernel.checkAll(sources, targets, weights, courseSemesters, violations);
+    }
+
+    /**
+     * Returns the number of prerequisites in this graph.
+     *
+     * @return the number of prerequisites in this graph.
+     */
+    public int getNumPrerequisites() {
+        return getNumberOfEdges();
+    }
+
+    /**
+     * Returns the prerequisite with the specified number, which is its bit in the mask filled in by getViolations.
+     *
+     * @param index the number of the prerequisite.
+     * @return the prerequisite with the specified number.
+     */
+    public Prerequisite getPrerequisite(int index) {
+        return edgeConstraints[index];
+    }
+
+    /**
+     * A PrerequisiteGraph cannot be changed once it has been compiled.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public boolean add(Constraint constraint) {
+        throw new UnsupportedOperationException("a PrerequisiteGraph cannot be changed once it is compiled.");
+    }
+
+    /**
+     * Removes the constraints from this graph and stops listening to its courses. The graph is empty and always
+     * satisfied afterwards.
+     */
+    @Override
+    public void clear() {
+        super.clear();
+
+        for (ScheduledCourse course : courses) {
+            course.removeListener(listener);
+        }
+
+        Arrays.fill(offsets, 0);
+    }
+
+    /**
+     * Returns the courses of this graph in topological order, so that every course comes after its prerequisites,
+     * or null if the prerequisites have a cycle.
+     *
+     * @return the courses of this graph in topological order, or null if the prerequisites have a cycle.
+     */
+    public List<ScheduledCourse> getTopologicalOrder() {
+        if (topologicalOrder == null) {
+            return null;
+        }
+
+        List<ScheduledCourse> answer = new ArrayList<>(topologicalOrder.length);
+
+        for (int course : topologicalOrder) {
+            answer.add(courses[course]);
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns true if the prerequisites do not have a cycle. The earliest and latest semesters of the courses are
+     * only bounded if they do not.
+     *
+     * @return true if the prerequisites do not have a cycle.
+     */
+    public boolean isAcyclic() {
+        return topologicalOrder != null;
+    }
+
+    /**
+     * Returns the number of semesters that the courses can be scheduled in.
+     *
+     * @return the number of semesters that the courses can be scheduled in.
+     */
+    public int getNumSemesters() {
+        return semesters.length;
+    }
+
+    /**
+     * Returns the semester with the specified number, where the semesters are numbered from 0 in order of their ids.
+     *
+     * @param index the number of the semester.
+     * @return the semester with the specified number.
+     */
+    public Semester getSemester(int index) {
+        return semesters[index];
+    }
+
+    /**
+     * Returns the number of the earliest semester that the specified course can be taken in given the longest chain
+     * of prerequisites before it. A course that is not in this graph can be taken in the first semester.
+     *
+     * @param course the course to return the earliest semester of.
+     * @return the number of the earliest semester that the specified course can be taken in.
+     */
+    public int getEarliestSemester(ScheduledCourse course) {
+        Integer index = courseIndexes.get(course);
+
+        return index == null ? 0 : earliest[index];
+    }
+
+    /**
+     * Returns the number of the latest semester that the specified course can be taken in given the longest chain
+     * of courses that require it. A course that is not in this graph can be taken in the last semester.
+     *
+     * @param course the course to return the latest semester of.
+     * @return the number of the latest semester that the specified course can be taken in.
+     */
+    public int getLatestSemester(ScheduledCourse course) {
+        Integer index = courseIndexes.get(course);
+
+        return index == null ? semesters.length - 1 : latest[index];
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * File: PrerequisiteKernel.java
+ */
+package com.capital7software.ai.localsearch.constraints;
+
+/**
+ * A PrerequisiteKernel checks the edges of a compiled prerequisite graph against the semester that each course is
+ * in. Edge i goes from the prerequisite course sources[i] to the course targets[i] with weight weights[i], which is
+ * 1 for a prerequisite and 0 for a concurrent prerequisite. The edge is satisfied if both courses are scheduled and
+ * semesters[sources[i]] + weights[i] &lt;= semesters[targets[i]], where an unscheduled course is in semester -1.
+ * <p>
+ * The edges are checked a word of the mask at a time by a loop without branches, which the JIT can unroll and
+ * schedule without mispredictions however the edges are violated. When the jdk.incubator.vector module is in the
+ * boot layer, for example because the JVM was started with --add-modules jdk.incubator.vector, checkAll uses the
+ * VectorPrerequisiteKernel instead, which checks the edges in as many lanes as the hardware prefers. Both give the
+ * same results.
+ *
+ * @author Vincent J. Palodichuk
+ */
+final class PrerequisiteKernel {
+    /**
+     * The semester of a course that is not scheduled.
+     */
+    static final int UNSCHEDULED = -1;
+
+    /**
+     * True if checkAll checks the edges with the Vector API.
+     */
+    static final boolean VECTORIZED = isVectorAvailable();
+
+    private PrerequisiteKernel() {
+    }
+
+    private static boolean isVectorAvailable() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+
+        try {
+            return VectorPrerequisiteKernel.lanes() > 1;
+        } catch (LinkageError ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of words that a mask of the specified number of edges needs.
+     *
+     * @param edges the number of edges.
+     * @return the number of words that a mask of the specified number of edges needs.
+     */
+    static int maskLength(int edges) {
+        return (edges + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Checks every edge with the Vector API if it is available and with check otherwise. See check.
+     *
+     * @param sources the prerequisite course of each edge.
+     * @param targets the course that requires the prerequisite of each edge.
+     * @param weights the weight of each edge.
+     * @param semesters the semester of each course.
+     * @param violations the mask to fill in. Must have at least maskLength(sources.length) words.
+     * @return the number of edges that are violated.
+     */
+    static int checkAll(int[] sources, int[] targets, int[] weights, int[] semesters, long[] violations) {
+        return VECTORIZED ? VectorPrerequisiteKernel.check(sources, targets, weights, semesters, violations)
+                : check(sources, targets, weights, semesters, violations);
+    }
+
+    /**
+     * Checks every edge, sets bit i of violations if edge i is violated and clears it if it is not, and returns the
+     * number of edges that are violated.
+     *
+     * @param sources the prerequisite course of each edge.
+     * @param targets the course that requires the prerequisite of each edge.
+     * @param weights the weight of each edge.
+     * @param semesters the semester of each course.
+     * @param violations the mask to fill in. Must have at least maskLength(sources.length) words.
+     * @return the number of edges that are violated.
+     */
+    static int check(int[] sources, int[] targets, int[] weights, int[] semesters, long[] violations) {
+        int answer = 0;
+
+        for (int word = 0, start = 0; start < sources.length; word++, start += Long.SIZE) {
+            int end = Math.min(sources.length, start + Long.SIZE);
+            long bits = 0L;
+
+            for (int i = start; i < end; i++) {
+                int prerequisite = semesters[sources[i]];
+                boolean violated = prerequisite == UNSCHEDULED | prerequisite + weights[i] > semesters[targets[i]];
+
+                // A shift of a long only uses the low six bits of i, which is the bit of the edge in its word.
+                bits |= (violated ? 1L : 0L) << i;
+            }
+
+            violations[word] = bits;
+            answer += Long.bitCount(bits);
+        }
+
+        return answer;
+    }
+}
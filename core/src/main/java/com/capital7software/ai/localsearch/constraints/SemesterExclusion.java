@@ -34,6 +34,17 @@ public class SemesterExclusion extends SemesterRestriction {
         return answer;
     }
 
+    /**
+     * Returns 0 if this exclusion is satisfied and 1 if it is not. Moving the course to any other semester satisfies
+     * an exclusion, so every violation of one is as far off as any other.
+     *
+     * @return 0 if this exclusion is satisfied; otherwise 1.
+     */
+    @Override
+    public double violationDegree() {
+        return isSatisfied() ? 0.0 : 1.0;
+    }
+
     @Override
     public boolean equals(Object o) {
         return super.equals(o);
@@ -4,8 +4,10 @@
 package com.capital7software.ai.localsearch.constraints;
 
 import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.SearchVariable;
 import com.capital7software.ai.localsearch.Semester;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -48,6 +50,16 @@ public class SemesterRestriction implements Constraint, Cloneable {
      */
     public Semester getRestriction() { return restriction; }
 
+    /**
+     * Returns the course and, if there is one, the semester that it is restricted to.
+     *
+     * @return the course and the semester that it is restricted to.
+     */
+    @Override
+    public List<SearchVariable> getVariables() {
+        return restriction == null ? List.of(course) : List.of(course, restriction);
+    }
+
     @Override
     public boolean isSatisfied() {
         boolean answer = false;
@@ -59,6 +71,25 @@ public class SemesterRestriction implements Constraint, Cloneable {
         return answer;
     }
 
+    /**
+     * Returns 0 if this restriction is satisfied, 1 if the course is not scheduled, and otherwise the number of
+     * semesters between the semester the course is in and the semester it is restricted to, measured by their ids.
+     *
+     * @return 0 if this restriction is satisfied; otherwise how many semesters it is off by.
+     */
+    @Override
+    public double violationDegree() {
+        if (isSatisfied()) {
+            return 0.0;
+        }
+
+        if (!course.isScheduled() || restriction == null) {
+            return 1.0;
+        }
+
+        return Math.abs(course.getSemester().getId() - restriction.getId());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,79 @@
+/*
+ * File: VectorPrerequisiteKernel.java
+ */
+package com.capital7software.ai.localsearch.constraints;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The VectorPrerequisiteKernel checks the edges of a compiled prerequisite graph with the Vector API. It must only
+ * be loaded once PrerequisiteKernel has found the jdk.incubator.vector module, since loading it without the module
+ * fails.
+ *
+ * @author Vincent J. Palodichuk
+ */
+final class VectorPrerequisiteKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private VectorPrerequisiteKernel() {
+    }
+
+    /**
+     * Returns the number of edges that are checked at once.
+     *
+     * @return the number of edges that are checked at once.
+     */
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    /**
+     * Checks every edge, a vector of edges at a time, and gives the same results as PrerequisiteKernel.check.
+     *
+     * @param sources the prerequisite course of each edge.
+     * @param targets the course that requires the prerequisite of each edge.
+     * @param weights the weight of each edge.
+     * @param semesters the semester of each course.
+     * @param violations the mask to fill in. Must have at least maskLength(sources.length) words.
+     * @return the number of edges that are violated.
+     */
+    static int check(int[] sources, int[] targets, int[] weights, int[] semesters, long[] violations) {
+        int lanes = SPECIES.length();
+        int answer = 0;
+
+        // The number of lanes is a power of two no larger than 64, so the lanes of a vector always fall within
+        // the same word of the mask, and each word is written once.
+        for (int word = 0, start = 0; start < sources.length; word++, start += Long.SIZE) {
+            int end = Math.min(sources.length, start + Long.SIZE);
+            long bits = 0L;
+            int i = start;
+
+            for (; i + lanes <= end; i += lanes) {
+                IntVector prerequisite = IntVector.fromArray(SPECIES, semesters, 0, sources, i);
+                IntVector course = IntVector.fromArray(SPECIES, semesters, 0, targets, i);
+                IntVector weight = IntVector.fromArray(SPECIES, weights, i);
+                VectorMask<Integer> violated = prerequisite.compare(VectorOperators.EQ, PrerequisiteKernel.UNSCHEDULED)
+                        .or(prerequisite.add(weight).compare(VectorOperators.GT, course));
+
+                bits |= violated.toLong() << (i - start);
+            }
+
+            for (; i < end; i++) {
+                int prerequisite = semesters[sources[i]];
+                int course = semesters[targets[i]];
+
+                if (prerequisite == PrerequisiteKernel.UNSCHEDULED || prerequisite + weights[i] > course) {
+                    bits |= 1L << i;
+                }
+            }
+
+            violations[word] = bits;
+            answer += Long.bitCount(bits);
+        }
+
+        return answer;
+    }
+}
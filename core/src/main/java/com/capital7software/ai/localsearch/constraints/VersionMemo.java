@@ -0,0 +1,151 @@
+/*
+ * File: VersionMemo.java
+ */
+package com.capital7software.ai.localsearch.constraints;
+
+import com.capital7software.ai.localsearch.SearchVariable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A VersionMemo caches whether an AbstractConstraintList is satisfied along with the versions of the variables that
+ * its constraints depend on. The cached result is current as long as none of those versions have changed, so checking
+ * it is a few comparisons of longs instead of an evaluation of the constraints.
+ * <p>
+ * The memo also records the number of times that the list and each of the lists nested within it had been changed
+ * when it was created. Once any of them has been changed the variables may be different, and the memo must be
+ * replaced. A list that contains a constraint that does not return its variables, or whose variables are
+ * SearchVariable.UNVERSIONED, gets a memo that is never current.
+ *
+ * @author Vincent J. Palodichuk
+ */
+final class VersionMemo {
+    private final SearchVariable[] variables;
+    private final long[] versions;
+    private final AbstractConstraintList[] lists;
+    private final long[] modifications;
+    private final boolean memoizable;
+    private boolean valid;
+    private boolean result;
+
+    /**
+     * Initializes a memo of the specified list.
+     *
+     * @param list the list to memoize.
+     */
+    VersionMemo(AbstractConstraintList list) {
+        Set<SearchVariable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<SearchVariable> variableList = new ArrayList<>();
+        List<AbstractConstraintList> listList = new ArrayList<>();
+
+        memoizable = collect(list, seen, variableList, listList);
+        variables = variableList.toArray(new SearchVariable[0]);
+        versions = new long[variables.length];
+        lists = listList.toArray(new AbstractConstraintList[0]);
+        modifications = new long[lists.length];
+
+        for (int i = 0; i < lists.length; i++) {
+            modifications[i] = lists[i].getModifications();
+        }
+    }
+
+    // Collects every nested list even once a constraint without variables has been found, so that the memo is
+    // still replaced when the list is changed.
+    private static boolean collect(Constraint constraint, Set<SearchVariable> seen, List<SearchVariable> variables,
+                                   List<AbstractConstraintList> lists) {
+        if (constraint instanceof AbstractConstraintList list) {
+            boolean answer = true;
+
+            lists.add(list);
+
+            for (Constraint child : list.getRealConstraints()) {
+                answer &= collect(child, seen, variables, lists);
+            }
+
+            return answer;
+        }
+
+        List<SearchVariable> dependencies = constraint.getVariables();
+
+        if (dependencies == null) {
+            return false;
+        }
+
+        boolean answer = true;
+
+        for (SearchVariable variable : dependencies) {
+            if (seen.add(variable)) {
+                variables.add(variable);
+            }
+
+            answer &= variable.getVersion() != SearchVariable.UNVERSIONED;
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns true if a result has been stored and none of the versions it depends on have changed since.
+     *
+     * @return true if the stored result is current.
+     */
+    boolean isCurrent() {
+        if (!valid || !isStructureCurrent()) {
+            return false;
+        }
+
+        for (int i = 0; i < variables.length; i++) {
+            if (variables[i].getVersion() != versions[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns true if none of the lists within the memoized list have been changed since the memo was created.
+     *
+     * @return true if none of the lists within the memoized list have been changed since the memo was created.
+     */
+    boolean isStructureCurrent() {
+        for (int i = 0; i < lists.length; i++) {
+            if (lists[i].getModifications() != modifications[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the stored result.
+     *
+     * @return the stored result.
+     */
+    boolean getResult() {
+        return result;
+    }
+
+    /**
+     * Stores the specified result along with the current versions it depends on.
+     *
+     * @param result the result to store.
+     */
+    void store(boolean result) {
+        if (!memoizable) {
+            return;
+        }
+
+        for (int i = 0; i < variables.length; i++) {
+            versions[i] = variables[i].getVersion();
+        }
+
+        this.result = result;
+        valid = true;
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * File: Json.java
+ */
+package com.capital7software.ai.localsearch.io;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Json class is a small reader and writer for JSON documents so that problem definitions and results can be
+ * exchanged without depending on a JSON library. Objects are read as a Map of String to value, arrays as a List,
+ * numbers as a Long if they are integral and otherwise as a Double, and true, false and null as Boolean and null.
+ * The same types, along with any other Number or Collection, can be written.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public final class Json {
+    private final String text;
+    private int position;
+
+    private Json(String text) {
+        this.text = text;
+        this.position = 0;
+    }
+
+    /**
+     * Parses the specified JSON document.
+     *
+     * @param text the JSON document to parse. Cannot be null.
+     * @return the value of the document, which is a Map, List, String, Long, Double, Boolean or null.
+     * @throws IllegalArgumentException indicates that text is null or is not a valid JSON document.
+     */
+    public static Object parse(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("text cannot be null.");
+        }
+
+        Json json = new Json(text);
+        Object answer = json.readValue();
+
+        json.skipWhitespace();
+
+        if (json.position < text.length()) {
+            throw json.error("unexpected trailing characters");
+        }
+
+        return answer;
+    }
+
+    /**
+     * Writes the specified value as a JSON document.
+     *
+     * @param value the value to write, which may be a Map, Collection, String, Number, Boolean or null.
+     * @return the JSON document for the specified value.
+     * @throws IllegalArgumentException indicates that value contains a type that cannot be written.
+     */
+    public static String write(Object value) {
+        StringBuilder sb = new StringBuilder();
+
+        write(sb, value);
+
+        return sb.toString();
+    }
+
+    private static void write(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof String s) {
+            writeString(sb, s);
+        } else if (value instanceof Double d && (d.isNaN() || d.isInfinite())) {
+            sb.append("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            sb.append(value);
+        } else if (value instanceof Map<?, ?> map) {
+            sb.append('{');
+            boolean first = true;
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) {
+                    sb.append(',');
+                }
+
+                writeString(sb, String.valueOf(entry.getKey()));
+                sb.append(':');
+                write(sb, entry.getValue());
+                first = false;
+            }
+
+            sb.append('}');
+        } else if (value instanceof Collection<?> collection) {
+            sb.append('[');
+            boolean first = true;
+
+            for (Object element : collection) {
+                if (!first) {
+                    sb.append(',');
+                }
+
+                write(sb, element);
+                first = false;
+            }
+
+            sb.append(']');
+        } else {
+            throw new IllegalArgumentException("cannot write a " + value.getClass().getName() + " as JSON.");
+        }
+    }
+
+    private static void writeString(StringBuilder sb, String s) {
+        sb.append('"');
+
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+
+        sb.append('"');
+    }
+
+    private Object readValue() {
+        skipWhitespace();
+
+        if (position >= text.length()) {
+            throw error("unexpected end of document");
+        }
+
+        char c = text.charAt(position);
+
+        return switch (c) {
+            case '{' -> readObject();
+            case '[' -> readArray();
+            case '"' -> readString();
+            case 't' -> readLiteral("true", Boolean.TRUE);
+            case 'f' -> readLiteral("false", Boolean.FALSE);
+            case 'n' -> readLiteral("null", null);
+            default -> readNumber();
+        };
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> answer = new LinkedHashMap<>();
+
+        expect('{');
+        skipWhitespace();
+
+        if (peek() == '}') {
+            position++;
+            return answer;
+        }
+
+        while (true) {
+            skipWhitespace();
+
+            if (peek() != '"') {
+                throw error("expected a member name");
+            }
+
+            String name = readString();
+
+            skipWhitespace();
+            expect(':');
+            answer.put(name, readValue());
+            skipWhitespace();
+
+            if (peek() == ',') {
+                position++;
+            } else {
+                expect('}');
+                return answer;
+            }
+        }
+    }
+
+    private List<Object> readArray() {
+        List<Object> answer = new ArrayList<>();
+
+        expect('[');
+        skipWhitespace();
+
+        if (peek() == ']') {
+            position++;
+            return answer;
+        }
+
+        while (true) {
+            answer.add(readValue());
+            skipWhitespace();
+
+            if (peek() == ',') {
+                position++;
+            } else {
+                expect(']');
+                return answer;
+            }
+        }
+    }
+
+    private String readString() {
+        StringBuilder sb = new StringBuilder();
+
+        expect('"');
+
+        while (true) {
+            if (position >= text.length()) {
+                throw error("unterminated string");
+            }
+
+            char c = text.charAt(position++);
+
+            if (c == '"') {
+                return sb.toString();
+            } else if (c == '\\') {
+                if (position >= text.length()) {
+                    throw error("unterminated string");
+                }
+
+                char escaped = text.charAt(position++);
+
+                switch (escaped) {
+                    case '"', '\\', '/' -> sb.append(escaped);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) {
+                            throw error("invalid unicode escape");
+                        }
+
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("invalid unicode escape");
+                        }
+
+                        position += 4;
+                    }
+                    default -> throw error("invalid escape character '" + escaped + "'");
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+
+    private Object readLiteral(String literal, Object value) {
+        if (!text.startsWith(literal, position)) {
+            throw error("unexpected character '" + text.charAt(position) + "'");
+        }
+
+        position += literal.length();
+
+        return value;
+    }
+
+    private Number readNumber() {
+        int start = position;
+        boolean integral = true;
+
+        while (position < text.length()) {
+            char c = text.charAt(position);
+
+            if (c == '.' || c == 'e' || c == 'E') {
+                integral = false;
+            } else if (!(c == '-' || c == '+' || Character.isDigit(c))) {
+                break;
+            }
+
+            position++;
+        }
+
+        String number = text.substring(start, position);
+
+        if (number.isEmpty()) {
+            throw error("unexpected character '" + text.charAt(start) + "'");
+        }
+
+        try {
+            if (integral) {
+                return Long.parseLong(number);
+            }
+
+            return Double.parseDouble(number);
+        } catch (NumberFormatException ex) {
+            throw error("invalid number '" + number + "'");
+        }
+    }
+
+    private char peek() {
+        if (position >= text.length()) {
+            throw error("unexpected end of document");
+        }
+
+        return text.charAt(position);
+    }
+
+    private void expect(char c) {
+        if (peek() != c) {
+            throw error("expected '" + c + "' but found '" + text.charAt(position) + "'");
+        }
+
+        position++;
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid JSON at position " + position + ": " + message + ".");
+    }
+}
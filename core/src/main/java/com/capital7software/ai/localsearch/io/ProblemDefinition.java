@@ -0,0 +1,288 @@
+/*
+ * File: ProblemDefinition.java
+ */
+package com.capital7software.ai.localsearch.io;
+
+import com.capital7software.ai.localsearch.Course;
+import com.capital7software.ai.localsearch.LocalSearchProblem;
+import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.Semester;
+import com.capital7software.ai.localsearch.constraints.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ProblemDefinition class describes a class scheduling problem so that it can be loaded from a JSON document
+ * instead of being compiled into the LocalSearchProblem. A definition can create any number of independent
+ * LocalSearchProblems, which allows the same problem to be searched by more than one thread at a time.
+ * <p>
+ * A definition looks like this:
+ * <pre>
+ * {
+ *   "name": "example",
+ *   "semesters": [ { "id": 1, "name": "Summer", "summer": true }, { "id": 2, "name": "Autumn" } ],
+ *   "courses": [ "MATH 120", "ICS 140", "ICS 492" ],
+ *   "constraints": [
+ *     { "type": "concurrentPrerequisite", "course": "ICS 140", "prerequisite": "MATH 120" },
+ *     { "type": "any", "constraints": [ { "type": "restriction", "course": "ICS 492", "semester": 1 } ] },
+ *     { "type": "coursesPerSemester", "max": 3 }
+ *   ]
+ * }
+ * </pre>
+ * The supported constraint types are prerequisite, concurrentPrerequisite, restriction, exclusion,
+ * coursesPerSemester and the every, any and none lists of nested constraints. All of the top level constraints
+ * must be satisfied.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public class ProblemDefinition {
+    private static final String BUILT_IN_NAME = "built-in";
+
+    private final String name;
+    private final Map<String, Object> document;
+
+    private ProblemDefinition(String name, Map<String, Object> document) {
+        this.name = name;
+        this.document = document;
+    }
+
+    /**
+     * Returns the definition of the problem that is built into the LocalSearchProblem class.
+     *
+     * @return the definition of the problem that is built into the LocalSearchProblem class.
+     */
+    public static ProblemDefinition builtIn() {
+        return new ProblemDefinition(BUILT_IN_NAME, null);
+    }
+
+    /**
+     * Parses a problem definition from the specified JSON document. The document is validated by creating a
+     * problem from it.
+     *
+     * @param json the JSON document that defines the problem. Cannot be null.
+     * @return the problem definition.
+     * @throws IllegalArgumentException indicates that json is null or is not a valid problem definition.
+     */
+    public static ProblemDefinition parse(String json) {
+        return parse(json, null);
+    }
+
+    /**
+     * Reads a problem definition from the specified JSON file. If the definition does not have a name, the name of
+     * the file without its extension is used.
+     *
+     * @param file the JSON file that defines the problem. Cannot be null.
+     * @return the problem definition.
+     * @throws IOException indicates that the file could not be read.
+     * @throws IllegalArgumentException indicates that file is null or is not a valid problem definition.
+     */
+    public static ProblemDefinition read(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("file cannot be null.");
+        }
+
+        String fileName = file.getFileName().toString();
+        int extIndex = fileName.lastIndexOf('.');
+
+        if (extIndex > 0) {
+            fileName = fileName.substring(0, extIndex);
+        }
+
+        return parse(Files.readString(file, StandardCharsets.UTF_8), fileName);
+    }
+
+    private static ProblemDefinition parse(String json, String defaultName) {
+        if (!(Json.parse(json) instanceof Map<?, ?> map)) {
+            throw new IllegalArgumentException("a problem definition must be a JSON object.");
+        }
+
+        Map<String, Object> document = asObject(map, "problem definition");
+        Object name = document.get("name");
+
+        if (name == null) {
+            name = defaultName == null ? "problem" : defaultName;
+        }
+
+        ProblemDefinition answer = new ProblemDefinition(name.toString(), document);
+
+        // Fail fast on an invalid definition rather than at search time.
+        answer.createProblem();
+
+        return answer;
+    }
+
+    /**
+     * Returns the name of this problem.
+     *
+     * @return the name of this problem.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Creates a new LocalSearchProblem from this definition. Every call returns a new problem with its own
+     * variables and constraints.
+     *
+     * @return a new LocalSearchProblem from this definition.
+     */
+    public LocalSearchProblem createProblem() {
+        if (document == null) {
+            return new LocalSearchProblem();
+        }
+
+        List<Semester> semesters = new ArrayList<>();
+
+        for (Object element : getList(document, "semesters")) {
+            Map<String, Object> semester = asObject(element, "semester");
+            Object semesterName = semester.get("name");
+            Object summer = semester.get("summer");
+
+            semesters.add(new Semester(getInt(semester, "id"), semesterName == null ? "" : semesterName.toString(),
+                    Boolean.TRUE.equals(summer)));
+        }
+
+        List<Course> courses = new ArrayList<>();
+
+        for (Object element : getList(document, "courses")) {
+            courses.add(parseCourse(element));
+        }
+
+        LocalSearchProblem answer = new LocalSearchProblem(courses, semesters);
+        Object constraints = document.get("constraints");
+
+        if (constraints != null) {
+            addConstraints(answer, answer.getConstraints(), asList(constraints, "constraints"));
+        }
+
+        return answer;
+    }
+
+    private static void addConstraints(LocalSearchProblem problem, ConstraintList list, List<Object> elements) {
+        for (Object element : elements) {
+            list.add(createConstraint(problem, asObject(element, "constraint")));
+        }
+    }
+
+    private static Constraint createConstraint(LocalSearchProblem problem, Map<String, Object> constraint) {
+        String type = getString(constraint, "type");
+
+        return switch (type) {
+            case "prerequisite" -> new Prerequisite(getCourse(problem, constraint, "course"),
+                    getCourse(problem, constraint, "prerequisite"));
+            case "concurrentPrerequisite" -> new ConcurrentPrerequisite(getCourse(problem, constraint, "course"),
+                    getCourse(problem, constraint, "prerequisite"));
+            case "restriction" -> new SemesterRestriction(getCourse(problem, constraint, "course"),
+                    getSemester(problem, constraint));
+            case "exclusion" -> new SemesterExclusion(getCourse(problem, constraint, "course"),
+                    getSemester(problem, constraint));
+            case "coursesPerSemester" -> new CoursesPerSemesterConstraint(getInt(constraint, "max"),
+                    problem.getSemesters(), problem.getScheduledCourses());
+            case "every", "any", "none" -> {
+                ConstraintList list = switch (type) {
+                    case "every" -> new EveryConstraintList();
+                    case "any" -> new AnyConstraintList();
+                    default -> new NoneConstraintList();
+                };
+
+                addConstraints(problem, list, getList(constraint, "constraints"));
+
+                yield list;
+            }
+            default -> throw new IllegalArgumentException("unknown constraint type '" + type + "'.");
+        };
+    }
+
+    private static Course parseCourse(Object element) {
+        if (!(element instanceof String course)) {
+            throw new IllegalArgumentException("a course must be a string like \"ICS 140\".");
+        }
+
+        int index = course.trim().lastIndexOf(' ');
+
+        if (index <= 0) {
+            throw new IllegalArgumentException("invalid course '" + course + "'.");
+        }
+
+        try {
+            return new Course(course.trim().substring(0, index).trim(),
+                    Integer.parseInt(course.trim().substring(index + 1)));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("invalid course '" + course + "'.", ex);
+        }
+    }
+
+    private static ScheduledCourse getCourse(LocalSearchProblem problem, Map<String, Object> constraint, String key) {
+        Course course = parseCourse(constraint.get(key));
+        ScheduledCourse answer = problem.getScheduledCourse(course.getDepartment(), course.getNumber());
+
+        if (answer == null) {
+            throw new IllegalArgumentException("unknown course '" + constraint.get(key) + "'.");
+        }
+
+        return answer;
+    }
+
+    private static Semester getSemester(LocalSearchProblem problem, Map<String, Object> constraint) {
+        int id = getInt(constraint, "semester");
+        Semester answer = problem.getSemester(id);
+
+        if (answer == null) {
+            throw new IllegalArgumentException("unknown semester " + id + ".");
+        }
+
+        return answer;
+    }
+
+    private static String getString(Map<String, Object> object, String key) {
+        if (!(object.get(key) instanceof String answer)) {
+            throw new IllegalArgumentException("'" + key + "' must be a string.");
+        }
+
+        return answer;
+    }
+
+    private static int getInt(Map<String, Object> object, String key) {
+        if (!(object.get(key) instanceof Long answer)) {
+            throw new IllegalArgumentException("'" + key + "' must be an integer.");
+        }
+
+        return answer.intValue();
+    }
+
+    private static List<Object> getList(Map<String, Object> object, String key) {
+        return asList(object.get(key), key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> asList(Object value, String what) {
+        if (!(value instanceof List<?>)) {
+            throw new IllegalArgumentException("'" + what + "' must be an array.");
+        }
+
+        return (List<Object>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asObject(Object value, String what) {
+        if (!(value instanceof Map<?, ?>)) {
+            throw new IllegalArgumentException("a " + what + " must be an object.");
+        }
+
+        return (Map<String, Object>) value;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ProblemDefinition {");
+        sb.append("name = '").append(getName()).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+}
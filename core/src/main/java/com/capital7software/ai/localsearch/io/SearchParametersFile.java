@@ -0,0 +1,140 @@
+/*
+ * File: SearchParametersFile.java
+ */
+package com.capital7software.ai.localsearch.io;
+
+import com.capital7software.ai.localsearch.ConflictWeights;
+import com.capital7software.ai.localsearch.SearchParameters;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The SearchParametersFile class saves and loads SearchParameters as a JSON document, so that the parameters that a
+ * ParameterRace tunes offline can be given to the searches that use them. A key that is missing takes the value of
+ * SearchParameters.DEFAULT.
+ * <p>
+ * A file looks like this:
+ * <pre>
+ * {
+ *   "maxVariableTries": 256,
+ *   "maxVariableWalk": 256,
+ *   "walkFactor": 2,
+ *   "weights": { "prerequisiteCourse": 1.0, "prerequisite": 1.1, "courseList": 1.2, "restriction": 1.3 }
+ * }
+ * </pre>
+ *
+ * @author Vincent J. Palodichuk
+ */
+public final class SearchParametersFile {
+    private SearchParametersFile() {
+    }
+
+    /**
+     * Parses the parameters from the specified JSON document.
+     *
+     * @param json the JSON document of the parameters. Cannot be null.
+     * @return the parameters.
+     * @throws IllegalArgumentException indicates that json is null or is not a valid parameters document.
+     */
+    public static SearchParameters parse(String json) {
+        Map<String, Object> document = asObject(Json.parse(json), "parameters");
+        SearchParameters defaults = SearchParameters.DEFAULT;
+        ConflictWeights weights = defaults.weights();
+
+        if (document.containsKey("weights")) {
+            Map<String, Object> object = asObject(document.get("weights"), "weights");
+
+            weights = new ConflictWeights(getDouble(object, "prerequisiteCourse", weights.prerequisiteCourse()),
+                    getDouble(object, "prerequisite", weights.prerequisite()),
+                    getDouble(object, "courseList", weights.courseList()),
+                    getDouble(object, "restriction", weights.restriction()));
+        }
+
+        return new SearchParameters(getInt(document, "maxVariableTries", defaults.maxVariableTries()),
+                getInt(document, "maxVariableWalk", defaults.maxVariableWalk()),
+                getInt(document, "walkFactor", defaults.walkFactor()), weights);
+    }
+
+    /**
+     * Reads the parameters from the specified JSON file.
+     *
+     * @param file the JSON file of the parameters. Cannot be null.
+     * @return the parameters.
+     * @throws IOException indicates that the file could not be read.
+     * @throws IllegalArgumentException indicates that file is null or is not a valid parameters document.
+     */
+    public static SearchParameters read(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("file cannot be null.");
+        }
+
+        return parse(Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the specified parameters as a JSON document.
+     *
+     * @param parameters the parameters to write. Cannot be null.
+     * @return the JSON document of the parameters.
+     * @throws IllegalArgumentException indicates that parameters is null.
+     */
+    public static String write(SearchParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("parameters cannot be null.");
+        }
+
+        ConflictWeights weights = parameters.weights();
+        Map<String, Object> weightObject = new LinkedHashMap<>();
+        Map<String, Object> document = new LinkedHashMap<>();
+
+        weightObject.put("prerequisiteCourse", weights.prerequisiteCourse());
+        weightObject.put("prerequisite", weights.prerequisite());
+        weightObject.put("courseList", weights.courseList());
+        weightObject.put("restriction", weights.restriction());
+
+        document.put("maxVariableTries", parameters.maxVariableTries());
+        document.put("maxVariableWalk", parameters.maxVariableWalk());
+        document.put("walkFactor", parameters.walkFactor());
+        document.put("weights", weightObject);
+
+        return Json.write(document);
+    }
+
+    private static int getInt(Map<String, Object> object, String key, int defaultValue) {
+        if (!object.containsKey(key)) {
+            return defaultValue;
+        }
+
+        if (!(object.get(key) instanceof Long answer) || answer < Integer.MIN_VALUE || answer > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("'" + key + "' must be an integer.");
+        }
+
+        return answer.intValue();
+    }
+
+    private static double getDouble(Map<String, Object> object, String key, double defaultValue) {
+        if (!object.containsKey(key)) {
+            return defaultValue;
+        }
+
+        if (!(object.get(key) instanceof Number answer)) {
+            throw new IllegalArgumentException("'" + key + "' must be a number.");
+        }
+
+        return answer.doubleValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asObject(Object value, String what) {
+        if (!(value instanceof Map<?, ?>)) {
+            throw new IllegalArgumentException("the " + what + " must be an object.");
+        }
+
+        return (Map<String, Object>) value;
+    }
+}
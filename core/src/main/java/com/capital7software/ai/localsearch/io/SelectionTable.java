@@ -0,0 +1,204 @@
+/*
+ * File: SelectionTable.java
+ */
+package com.capital7software.ai.localsearch.io;
+
+import com.capital7software.ai.localsearch.AlgorithmSelector;
+import com.capital7software.ai.localsearch.EngineConfiguration;
+import com.capital7software.ai.localsearch.InitialAssignment;
+import com.capital7software.ai.localsearch.InstanceFeatures;
+import com.capital7software.ai.localsearch.MoveType;
+import com.capital7software.ai.localsearch.SearchStrategy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The SelectionTable class saves and loads the table of an AlgorithmSelector as a JSON document, so that a table
+ * can be trained offline on benchmark runs and shipped to the servers that search production requests.
+ * <p>
+ * A table looks like this:
+ * <pre>
+ * {
+ *   "entries": [
+ *     {
+ *       "features": { "variables": 20, "values": 8, "constraints": 60, "prerequisites": 20,
+ *                     "prerequisiteDepth": 3, "prerequisiteDensity": 0.1, "capacityTightness": 0.6,
+ *                     "unaryFraction": 0.3 },
+ *       "configuration": { "strategy": "random-conflict", "moveTypes": [ "reassign" ],
+ *                          "initialAssignment": "random", "neighborhoodSize": 8, "largeNeighborhoodSize": 0,
+ *                          "learnNogoods": false }
+ *     }
+ *   ]
+ * }
+ * </pre>
+ *
+ * @author Vincent J. Palodichuk
+ */
+public final class SelectionTable {
+    private SelectionTable() {
+    }
+
+    /**
+     * Parses the table of a selector from the specified JSON document.
+     *
+     * @param json the JSON document of the table. Cannot be null.
+     * @return a selector with the table.
+     * @throws IllegalArgumentException indicates that json is null or is not a valid table.
+     */
+    public static AlgorithmSelector parse(String json) {
+        Map<String, Object> document = asObject(Json.parse(json), "selection table");
+        List<AlgorithmSelector.Entry> entries = new ArrayList<>();
+
+        for (Object element : asList(document.get("entries"), "entries")) {
+            Map<String, Object> entry = asObject(element, "entry");
+
+            entries.add(new AlgorithmSelector.Entry(parseFeatures(asObject(entry.get("features"), "features")),
+                    parseConfiguration(asObject(entry.get("configuration"), "configuration"))));
+        }
+
+        return new AlgorithmSelector(entries);
+    }
+
+    /**
+     * Reads the table of a selector from the specified JSON file.
+     *
+     * @param file the JSON file of the table. Cannot be null.
+     * @return a selector with the table.
+     * @throws IOException indicates that the file could not be read.
+     * @throws IllegalArgumentException indicates that file is null or is not a valid table.
+     */
+    public static AlgorithmSelector read(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("file cannot be null.");
+        }
+
+        return parse(Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the table of the specified selector as a JSON document.
+     *
+     * @param selector the selector whose table is written. Cannot be null.
+     * @return the JSON document of the table.
+     * @throws IllegalArgumentException indicates that selector is null.
+     */
+    public static String write(AlgorithmSelector selector) {
+        if (selector == null) {
+            throw new IllegalArgumentException("selector cannot be null.");
+        }
+
+        List<Object> entries = new ArrayList<>();
+
+        for (AlgorithmSelector.Entry entry : selector.getEntries()) {
+            InstanceFeatures features = entry.features();
+            EngineConfiguration configuration = entry.configuration();
+            Map<String, Object> featureObject = new LinkedHashMap<>();
+            Map<String, Object> configurationObject = new LinkedHashMap<>();
+            Map<String, Object> entryObject = new LinkedHashMap<>();
+
+            featureObject.put("variables", features.variables());
+            featureObject.put("values", features.values());
+            featureObject.put("constraints", features.constraints());
+            featureObject.put("prerequisites", features.prerequisites());
+            featureObject.put("prerequisiteDepth", features.prerequisiteDepth());
+            featureObject.put("prerequisiteDensity", features.prerequisiteDensity());
+            featureObject.put("capacityTightness", features.capacityTightness());
+            featureObject.put("unaryFraction", features.unaryFraction());
+
+            configurationObject.put("strategy", toName(configuration.strategy()));
+            configurationObject.put("moveTypes", EnumSet.copyOf(configuration.moveTypes()).stream()
+                    .map(SelectionTable::toName).toList());
+            configurationObject.put("initialAssignment", toName(configuration.initialAssignment()));
+            configurationObject.put("neighborhoodSize", configuration.neighborhoodSize());
+            configurationObject.put("largeNeighborhoodSize", configuration.largeNeighborhoodSize());
+            configurationObject.put("learnNogoods", configuration.learnNogoods());
+
+            entryObject.put("features", featureObject);
+            entryObject.put("configuration", configurationObject);
+            entries.add(entryObject);
+        }
+
+        return Json.write(Map.of("entries", entries));
+    }
+
+    private static InstanceFeatures parseFeatures(Map<String, Object> features) {
+        return new InstanceFeatures(getInt(features, "variables"), getInt(features, "values"),
+                getInt(features, "constraints"), getInt(features, "prerequisites"),
+                getInt(features, "prerequisiteDepth"), getDouble(features, "prerequisiteDensity"),
+                getDouble(features, "capacityTightness"), getDouble(features, "unaryFraction"));
+    }
+
+    private static EngineConfiguration parseConfiguration(Map<String, Object> configuration) {
+        Set<MoveType> moveTypes = EnumSet.noneOf(MoveType.class);
+
+        for (Object element : asList(configuration.get("moveTypes"), "moveTypes")) {
+            moveTypes.add(parseEnum(MoveType.class, element, "moveTypes"));
+        }
+
+        return new EngineConfiguration(parseEnum(SearchStrategy.class, configuration.get("strategy"), "strategy"),
+                moveTypes, parseEnum(InitialAssignment.class, configuration.get("initialAssignment"),
+                "initialAssignment"), getInt(configuration, "neighborhoodSize"),
+                getInt(configuration, "largeNeighborhoodSize"),
+                Boolean.TRUE.equals(configuration.get("learnNogoods")));
+    }
+
+    private static String toName(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    private static <T extends Enum<T>> T parseEnum(Class<T> type, Object value, String key) {
+        if (!(value instanceof String name)) {
+            throw new IllegalArgumentException("'" + key + "' must be a string.");
+        }
+
+        try {
+            return Enum.valueOf(type, name.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("unknown " + key + " " + name);
+        }
+    }
+
+    private static int getInt(Map<String, Object> object, String key) {
+        if (!(object.get(key) instanceof Long answer)) {
+            throw new IllegalArgumentException("'" + key + "' must be an integer.");
+        }
+
+        return answer.intValue();
+    }
+
+    private static double getDouble(Map<String, Object> object, String key) {
+        if (!(object.get(key) instanceof Number answer)) {
+            throw new IllegalArgumentException("'" + key + "' must be a number.");
+        }
+
+        return answer.doubleValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> asList(Object value, String what) {
+        if (!(value instanceof List<?>)) {
+            throw new IllegalArgumentException("'" + what + "' must be an array.");
+        }
+
+        return (List<Object>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asObject(Object value, String what) {
+        if (!(value instanceof Map<?, ?>)) {
+            throw new IllegalArgumentException("a " + what + " must be an object.");
+        }
+
+        return (Map<String, Object>) value;
+    }
+}
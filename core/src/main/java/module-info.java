@@ -0,0 +1,11 @@
+module com.capital7software.ai.localsearch {
+    requires jdk.jfr;
+    requires java.base;
+    // Only used to check prerequisites with SIMD instructions when the module has been added to the JVM.
+    requires static jdk.incubator.vector;
+
+    exports com.capital7software.ai.localsearch;
+    exports com.capital7software.ai.localsearch.constraints;
+    exports com.capital7software.ai.localsearch.cache;
+    exports com.capital7software.ai.localsearch.io;
+}
@@ -0,0 +1,105 @@
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.CoursesPerSemesterConstraint;
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+import com.capital7software.ai.localsearch.constraints.Prerequisite;
+import com.capital7software.ai.localsearch.constraints.SemesterRestriction;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlgorithmSelectorTest {
+    private static final EngineConfiguration STEEPEST = new EngineConfiguration(SearchStrategy.STEEPEST_DESCENT,
+            EnumSet.allOf(MoveType.class), InitialAssignment.GREEDY, 16, 0, false);
+
+    @Test
+    public void featuresShouldDescribeTheShapeOfTheProblem() {
+        List<Semester> semesters = List.of(new Semester(1), new Semester(2), new Semester(3));
+        ScheduledCourse ics140 = new ScheduledCourse(new Course("ICS", 140), semesters.get(0));
+        ScheduledCourse ics141 = new ScheduledCourse(new Course("ICS", 141), semesters.get(0));
+        ScheduledCourse ics240 = new ScheduledCourse(new Course("ICS", 240), semesters.get(0));
+        ScheduledCourse ics372 = new ScheduledCourse(new Course("ICS", 372), semesters.get(0));
+        List<ScheduledCourse> courses = List.of(ics140, ics141, ics240, ics372);
+        EveryConstraintList constraints = new EveryConstraintList();
+        LocalSearchProblem domain = new LocalSearchProblem(courses.stream().map(ScheduledCourse::getCourse).toList(),
+                semesters);
+
+        constraints.add(new Prerequisite(ics141, ics140));
+        constraints.add(new Prerequisite(ics240, ics141));
+        constraints.add(new Prerequisite(ics372, ics140));
+        constraints.add(new SemesterRestriction(ics372, semesters.get(2)));
+        constraints.add(new CoursesPerSemesterConstraint(2, semesters, courses));
+
+        InstanceFeatures features = InstanceFeatures.extract(List.copyOf(courses), domain, constraints);
+
+        assertEquals(4, features.variables());
+        assertEquals(3, features.values());
+        assertEquals(5, features.constraints());
+        assertEquals(3, features.prerequisites());
+        assertEquals(2, features.prerequisiteDepth());
+        assertEquals(0.5, features.prerequisiteDensity(), 1e-9);
+        assertEquals(4.0 / 6.0, features.capacityTightness(), 1e-9);
+        assertEquals(0.2, features.unaryFraction(), 1e-9);
+
+        // A cycle is left out of the depth rather than making it infinite.
+        constraints.add(new Prerequisite(ics140, ics240));
+
+        assertEquals(0, InstanceFeatures.extract(List.copyOf(courses), domain, constraints).prerequisiteDepth());
+    }
+
+    @Test
+    public void nearestEntryShouldBeSelected() {
+        InstanceFeatures small = new InstanceFeatures(20, 8, 60, 20, 3, 0.1, 0.6, 0.3);
+        InstanceFeatures tight = new InstanceFeatures(500, 12, 1000, 600, 6, 0.005, 1.0, 0.1);
+        AlgorithmSelector selector = new AlgorithmSelector(List.of(new AlgorithmSelector.Entry(small,
+                EngineConfiguration.DEFAULT), new AlgorithmSelector.Entry(tight, STEEPEST)));
+
+        assertEquals(EngineConfiguration.DEFAULT, selector.select(new InstanceFeatures(25, 8, 70, 22, 4, 0.08, 0.5,
+                0.3)));
+        assertEquals(STEEPEST, selector.select(new InstanceFeatures(450, 12, 950, 550, 7, 0.006, 0.98, 0.1)));
+        assertThrows(IllegalArgumentException.class, () -> selector.select(null));
+        assertThrows(IllegalArgumentException.class, () -> new AlgorithmSelector(List.of()));
+    }
+
+    @Test
+    public void trainingShouldKeepTheFastestConfigurationThatSolvesEachProblem() {
+        InstanceFeatures problem = new InstanceFeatures(20, 8, 60, 20, 3, 0.1, 0.6, 0.3);
+        EngineConfiguration unreliable = new EngineConfiguration(SearchStrategy.HIGHEST_SCORE,
+                EnumSet.of(MoveType.REASSIGN), InitialAssignment.RANDOM, 8, 0, false);
+        AlgorithmSelector selector = AlgorithmSelector.train(List.of(
+                new AlgorithmSelector.Run(problem, EngineConfiguration.DEFAULT, true, 40),
+                new AlgorithmSelector.Run(problem, EngineConfiguration.DEFAULT, true, 60),
+                new AlgorithmSelector.Run(problem, STEEPEST, true, 30),
+                new AlgorithmSelector.Run(problem, STEEPEST, true, 50),
+                new AlgorithmSelector.Run(problem, unreliable, true, 1),
+                new AlgorithmSelector.Run(problem, unreliable, false, 1000)));
+
+        assertEquals(1, selector.getEntries().size());
+        assertEquals(STEEPEST, selector.select(problem));
+    }
+
+    @Test
+    public void defaultSelectorShouldConfigureASearchThatSolvesTheProblem() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        LocalSearch ls = new LocalSearch(problem.getVariables(), problem, problem.getConstraints());
+
+        problem.setSeed(101);
+        ls.setSeed(101);
+
+        EngineConfiguration configuration = AlgorithmSelector.getDefault().configure(ls, problem.getVariables(),
+                problem, problem.getConstraints());
+
+        // Until a table is trained on benchmark runs, the default table only selects the default configuration.
+        assertEquals(1, AlgorithmSelector.getDefault().getEntries().size());
+        assertEquals(EngineConfiguration.DEFAULT, configuration);
+        assertEquals(configuration.strategy(), ls.getStrategy());
+        assertEquals(configuration.initialAssignment(), ls.getInitialAssignment());
+        assertNotNull(ls.search(0));
+        assertTrue(problem.getConstraints().isSatisfied());
+        assertThrows(IllegalArgumentException.class, () -> new EngineConfiguration(SearchStrategy.RANDOM_CONFLICT,
+                EnumSet.noneOf(MoveType.class), InitialAssignment.RANDOM, 8, 0, false));
+    }
+}
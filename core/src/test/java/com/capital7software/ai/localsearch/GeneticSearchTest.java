@@ -0,0 +1,122 @@
+package com.capital7software.ai.localsearch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.capital7software.ai.localsearch.SearchFixtures.countViolations;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeneticSearchTest {
+
+    private static int[] randomAssignment(SearchRegistry registry, Random random) {
+        int[] answer = new int[registry.getNumVariables()];
+
+        for (int id = 0; id < answer.length; id++) {
+            answer[id] = random.nextInt(registry.getNumValues());
+        }
+
+        return answer;
+    }
+
+    @Test
+    public void childrenShouldInheritWholeSemestersFromTheirParents() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        GeneticSearch search = new GeneticSearch(problem.getVariables(), problem, problem.getConstraints());
+        SearchRegistry registry = problem.getRegistry();
+        Random random = new Random(61);
+
+        for (int round = 0; round < 50; round++) {
+            int[] first = randomAssignment(registry, random);
+            int[] second = randomAssignment(registry, random);
+            int[] child = search.crossover(first, second, random);
+
+            for (int id = 0; id < child.length; id++) {
+                assertTrue(child[id] == first[id] || child[id] == second[id]);
+            }
+
+            // A semester that a course inherited from a parent keeps every course the parent scheduled in it,
+            // unless the course inherited a semester that ranks higher from the other parent.
+            for (int id = 0; id < child.length; id++) {
+                if (child[id] == first[id] && child[id] != second[id]) {
+                    for (int other = 0; other < child.length; other++) {
+                        if (first[other] == child[id] && child[other] != child[id]) {
+                            assertEquals(second[other], child[other]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void mutationShouldNotAddConflictsAndShouldBeCountedCorrectly() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        GeneticSearch search = new GeneticSearch(problem.getVariables(), problem, problem.getConstraints());
+        SearchRegistry registry = problem.getRegistry();
+        Neighborhood neighborhood = new Neighborhood(registry, problem.getConstraints());
+        Random random = new Random(67);
+
+        for (int round = 0; round < 20; round++) {
+            int[] assignment = randomAssignment(registry, random);
+
+            neighborhood.snapshot(assignment);
+
+            int before = neighborhood.getViolations();
+            int after = search.mutate(neighborhood, assignment, random, 5);
+
+            assertTrue(after <= before);
+
+            for (int id = 0; id < assignment.length; id++) {
+                registry.getVariable(id).setValue(registry.getValue(assignment[id]));
+            }
+
+            assertEquals(countViolations(problem.getConstraints()), after);
+        }
+    }
+
+    @Test
+    public void searchShouldFindASolution() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        GeneticSearch search = new GeneticSearch(problem.getVariables(), problem, problem.getConstraints());
+
+        search.setSeed(71);
+        search.setPool(new ForkJoinPool(4));
+
+        Map<Object, SearchVariable> solution = search.search(0);
+
+        assertNotNull(solution);
+        assertTrue(problem.getConstraints().isSatisfied());
+        assertEquals(0, search.getBestFitness());
+        assertEquals(problem.getVariables().size(), solution.size());
+    }
+
+    @Test
+    public void searchesWithTheSameSeedShouldNotDependOnThePool() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        List<SearchVariable> variables = problem.getVariables();
+        GeneticSearch serial = new GeneticSearch(variables, problem, problem.getConstraints());
+        GeneticSearch parallel = new GeneticSearch(variables, problem, problem.getConstraints());
+
+        serial.setSeed(73);
+        serial.setPool(new ForkJoinPool(1));
+        parallel.setSeed(73);
+        parallel.setPool(new ForkJoinPool(3));
+
+        serial.search(5);
+
+        List<Object> expected = variables.stream().map(SearchVariable::getValue).toList();
+
+        parallel.search(5);
+
+        assertEquals(expected, variables.stream().map(SearchVariable::getValue).toList());
+        assertEquals(serial.getGenerations(), parallel.getGenerations());
+        assertEquals(serial.getBestFitness(), parallel.getBestFitness());
+        assertThrows(IllegalArgumentException.class, () -> serial.setPopulationSize(3));
+        assertThrows(IllegalArgumentException.class, () -> serial.setMutationSteps(-1));
+        assertThrows(IllegalArgumentException.class, () -> serial.setPool(null));
+    }
+}
@@ -0,0 +1,137 @@
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.Constraint;
+import com.capital7software.ai.localsearch.constraints.ConstraintList;
+import com.capital7software.ai.localsearch.constraints.CoursesPerSemesterConstraint;
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+import com.capital7software.ai.localsearch.constraints.Prerequisite;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GreedyAssignmentTest {
+
+    private static void collect(Constraint constraint, List<Constraint> answer) {
+        if (constraint instanceof EveryConstraintList list) {
+            for (Constraint child : list.getConstraints()) {
+                collect(child, answer);
+            }
+        } else {
+            answer.add(constraint);
+        }
+    }
+
+    private static int countViolations(List<Constraint> constraints) {
+        return (int) constraints.stream().filter(constraint -> !constraint.isSatisfied()).count();
+    }
+
+    @Test
+    public void coursesShouldBeOrderedAfterTheirPrerequisites() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        SearchRegistry registry = problem.getRegistry();
+        GreedyAssignment greedy = new GreedyAssignment(registry, problem.getConstraints(), problem);
+        List<Constraint> constraints = new ArrayList<>();
+
+        collect(problem.getConstraints(), constraints);
+
+        int[] first = greedy.order(new Random(3));
+        int[] positions = new int[first.length];
+
+        assertEquals(registry.getNumVariables(), Arrays.stream(first).distinct().count());
+
+        for (int i = 0; i < first.length; i++) {
+            positions[first[i]] = i;
+        }
+
+        int prerequisites = 0;
+
+        for (Constraint constraint : constraints) {
+            if (constraint instanceof Prerequisite prerequisite) {
+                prerequisites++;
+                assertTrue(positions[registry.getVariableId(prerequisite.getPrerequisiteCourse())]
+                        < positions[registry.getVariableId(prerequisite.getCourse())], prerequisite.toString());
+            }
+        }
+
+        assertTrue(prerequisites > 0);
+
+        boolean diverse = false;
+
+        for (long seed = 4; seed < 14 && !diverse; seed++) {
+            diverse = !Arrays.equals(first, greedy.order(new Random(seed)));
+        }
+
+        assertTrue(diverse);
+    }
+
+    @Test
+    public void greedyAssignmentShouldStartNearASolution() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        ConstraintList constraints = problem.getConstraints();
+        GreedyAssignment greedy = new GreedyAssignment(problem.getRegistry(), constraints, problem);
+        LocalSearch ls = new LocalSearch(problem.getVariables(), problem, constraints);
+        List<Constraint> units = new ArrayList<>();
+        Random random = new Random(17);
+        int greedyViolations = 0;
+        int randomViolations = 0;
+
+        collect(constraints, units);
+
+        for (int round = 0; round < 20; round++) {
+            greedy.assign(random);
+            greedyViolations += countViolations(units);
+
+            for (Constraint constraint : units) {
+                if (constraint instanceof CoursesPerSemesterConstraint capacity) {
+                    assertTrue(capacity.isSatisfied());
+                }
+            }
+
+            for (ScheduledCourse course : problem.getScheduledCourses()) {
+                course.setValue(problem.getRandomValue(course));
+            }
+
+            randomViolations += countViolations(units);
+        }
+
+        assertTrue(greedyViolations < randomViolations, greedyViolations + " >= " + randomViolations);
+
+        problem.setSeed(19);
+        ls.setSeed(19);
+        ls.setInitialAssignment(InitialAssignment.GREEDY);
+
+        assertNotNull(ls.search(0));
+        assertTrue(constraints.isSatisfied());
+        assertEquals(InitialAssignment.GREEDY, ls.getInitialAssignment());
+        assertThrows(IllegalArgumentException.class, () -> ls.setInitialAssignment(null));
+    }
+
+    @Test
+    public void capacitiesShouldOnlyLimitTheirOwnSemesters() {
+        List<Semester> semesters = List.of(new Semester(1), new Semester(2));
+        LocalSearchProblem problem = new LocalSearchProblem(List.of(new Course("ICS", 140), new Course("ICS", 141),
+                new Course("ICS", 240)), semesters);
+        CoursesPerSemesterConstraint first = new CoursesPerSemesterConstraint(1, List.of(problem.getSemesters().get(0)),
+                problem.getScheduledCourses());
+        CoursesPerSemesterConstraint both = new CoursesPerSemesterConstraint(2, problem.getSemesters(),
+                problem.getScheduledCourses());
+
+        problem.getConstraints().add(first);
+        problem.getConstraints().add(both);
+
+        GreedyAssignment greedy = new GreedyAssignment(problem.getRegistry(), problem.getConstraints(), problem);
+
+        // The second semester is not limited by the first capacity, so there is always room for the third course.
+        for (long seed = 0; seed < 20; seed++) {
+            greedy.assign(new Random(seed));
+
+            assertTrue(first.isSatisfied(), "seed " + seed);
+            assertTrue(both.isSatisfied(), "seed " + seed);
+        }
+    }
+}
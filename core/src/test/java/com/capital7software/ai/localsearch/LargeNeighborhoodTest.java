@@ -0,0 +1,109 @@
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+import com.capital7software.ai.localsearch.constraints.Prerequisite;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.capital7software.ai.localsearch.SearchFixtures.countViolations;
+import static com.capital7software.ai.localsearch.SearchFixtures.domainOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LargeNeighborhoodTest {
+
+    @Test
+    public void partsShouldBeSolvedExactly() {
+        List<Semester> semesters = List.of(new Semester(1), new Semester(2), new Semester(3));
+        ScheduledCourse ics140 = new ScheduledCourse(new Course("ICS", 140), semesters.get(2));
+        ScheduledCourse ics141 = new ScheduledCourse(new Course("ICS", 141), semesters.get(2));
+        ScheduledCourse ics240 = new ScheduledCourse(new Course("ICS", 240), semesters.get(2));
+        EveryConstraintList constraints = new EveryConstraintList();
+        SearchRegistry registry = new SearchRegistry(List.of(ics140, ics141, ics240), semesters);
+        VariableDomain domain = domainOf(semesters);
+
+        constraints.add(new Prerequisite(ics141, ics140));
+        constraints.add(new Prerequisite(ics240, ics141));
+
+        LargeNeighborhood neighborhood = new LargeNeighborhood(registry, constraints, domain, 3);
+
+        assertEquals(2, countViolations(constraints));
+        assertTrue(neighborhood.solve(new int[]{0, 1, 2}));
+        assertEquals(0, countViolations(constraints));
+        assertSame(semesters.get(0), ics140.getSemester());
+        assertSame(semesters.get(2), ics240.getSemester());
+        assertFalse(neighborhood.solve(new int[]{2, 0}));
+        assertArrayEquals(new int[]{2, 1, 0}, neighborhood.prerequisiteChain(2));
+    }
+
+    @Test
+    public void partsShouldBeStructured() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        SearchRegistry registry = problem.getRegistry();
+        LargeNeighborhood neighborhood = new LargeNeighborhood(registry, problem.getConstraints(), problem, 5);
+        Random random = new Random(53);
+
+        for (ScheduledCourse course : problem.getScheduledCourses()) {
+            course.setValue(problem.getSemesters().get(random.nextInt(problem.getSemesters().size())));
+        }
+
+        int start = registry.getVariableId(problem.getScheduledCourse("ICS", 440));
+        int[] chain = neighborhood.prerequisiteChain(start);
+        int[] semester = neighborhood.sameSemester(start, random);
+
+        assertEquals(start, chain[0]);
+        assertTrue(chain.length > 1 && chain.length <= 5);
+        assertEquals(start, semester[0]);
+
+        for (int id : semester) {
+            assertSame(registry.getVariable(start).getValue(), registry.getVariable(id).getValue());
+        }
+
+        int[] neighbors = neighborhood.conflictsAndNeighbors(new int[]{start}, random);
+
+        assertEquals(start, neighbors[0]);
+        assertTrue(neighbors.length <= 5);
+    }
+
+    @Test
+    public void repairsShouldNeverMakeTheAssignmentWorse() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        LargeNeighborhood neighborhood = new LargeNeighborhood(problem.getRegistry(), problem.getConstraints(),
+                problem, 5);
+        Random random = new Random(59);
+
+        for (ScheduledCourse course : problem.getScheduledCourses()) {
+            course.setValue(problem.getSemesters().get(random.nextInt(problem.getSemesters().size())));
+        }
+
+        int violations = countViolations(problem.getConstraints());
+
+        for (int i = 0; i < 20 && violations > 0; i++) {
+            ConflictList conflictList = problem.getConstraints().getConflicts();
+            conflictList.scoreConflicts();
+
+            boolean improved = neighborhood.repair(conflictList, random);
+            int after = countViolations(problem.getConstraints());
+
+            assertEquals(improved, after < violations);
+            assertTrue(after <= violations);
+            violations = after;
+        }
+    }
+
+    @Test
+    public void stalledSearchesShouldBeRepaired() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        LocalSearch ls = new LocalSearch(problem.getVariables(), problem, problem.getConstraints());
+
+        problem.setSeed(13);
+        ls.setSeed(13);
+        ls.setLargeNeighborhoodSize(5);
+
+        assertNotNull(ls.search(0));
+        assertTrue(problem.getConstraints().isSatisfied());
+        assertEquals(5, ls.getLargeNeighborhoodSize());
+        assertThrows(IllegalArgumentException.class, () -> ls.setLargeNeighborhoodSize(-1));
+    }
+}
@@ -0,0 +1,74 @@
+package com.capital7software.ai.localsearch;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalSearchEventsTest {
+    private static final String EVENT_PREFIX = "com.capital7software.ai.localsearch.";
+
+    private List<RecordedEvent> recordSearch() throws IOException {
+        LocalSearchProblem lsp = new LocalSearchProblem();
+        LocalSearch ls = new LocalSearch(lsp.getVariables(), lsp, lsp.getConstraints());
+        Path file = Files.createTempFile("local-search", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_PREFIX + "SearchStarted");
+            recording.enable(EVENT_PREFIX + "Restart");
+            recording.enable(EVENT_PREFIX + "WalkPlateau");
+            recording.enable(EVENT_PREFIX + "SolutionFound");
+            recording.enable(EVENT_PREFIX + "MoveEvaluated");
+            recording.start();
+
+            assertNotNull(ls.search());
+
+            recording.stop();
+            recording.dump(file);
+
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(EVENT_PREFIX + name)).count();
+    }
+
+    @Test
+    public void searchCommitsStartedAndSolutionFoundEvents() throws IOException {
+        List<RecordedEvent> events = recordSearch();
+
+        assertEquals(1, count(events, "SearchStarted"));
+        assertEquals(1, count(events, "SolutionFound"));
+
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(EVENT_PREFIX + "SearchStarted")) {
+                assertEquals(19, event.getInt("variables"));
+                assertEquals(8, event.getInt("domainSize"));
+            }
+        }
+    }
+
+    @Test
+    public void solutionFoundEventCountsTheRestarts() throws IOException {
+        List<RecordedEvent> events = recordSearch();
+        long restarts = count(events, "Restart");
+
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(EVENT_PREFIX + "SolutionFound")) {
+                assertEquals(restarts, event.getInt("restarts"));
+                assertEquals(event.getLong("movesEvaluated") / LocalSearch.MOVE_EVENT_SAMPLE_INTERVAL,
+                        count(events, "MoveEvaluated"));
+            }
+        }
+    }
+}
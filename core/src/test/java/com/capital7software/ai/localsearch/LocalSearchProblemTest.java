@@ -0,0 +1,108 @@
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.Constraint;
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+import com.capital7software.ai.localsearch.constraints.NoneConstraintList;
+import com.capital7software.ai.localsearch.constraints.Prerequisite;
+import com.capital7software.ai.localsearch.constraints.SemesterExclusion;
+import com.capital7software.ai.localsearch.constraints.SemesterRestriction;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalSearchProblemTest {
+
+    @Test
+    public void compiledProblemShouldOnlyChooseAllowedSemesters() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        ScheduledCourse ics490 = problem.getScheduledCourse("ICS", 490);
+        ScheduledCourse ics492 = problem.getScheduledCourse("ICS", 492);
+        ScheduledCourse ics499 = problem.getScheduledCourse("ICS", 499);
+        Semester last = problem.getSemester(problem.getSemesters().size());
+
+        problem.compileConstraints();
+
+        assertFalse(problem.getFoldedConstraints().isEmpty());
+
+        for (Constraint constraint : problem.getConstraints().getConstraints()) {
+            assertFalse(constraint instanceof SemesterRestriction);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertFalse(((Semester) problem.getRandomValue(ics490)).isSummer());
+            assertTrue(((Semester) problem.getRandomValue(ics492)).isSummer());
+            assertSame(last, problem.getRandomValue(ics499));
+        }
+
+        for (SearchVariable value : problem.getValues(ics492)) {
+            assertTrue(((Semester) value).isSummer());
+        }
+
+        assertEquals(1, problem.size(ics499));
+    }
+
+    @Test
+    public void isSatisfiedShouldCheckTheFoldedConstraints() {
+        Semester fall = new Semester(1);
+        Semester summer = new Semester(2, "Summer", true);
+        LocalSearchProblem problem = new LocalSearchProblem(List.of(new Course("ICS", 140)), List.of(fall, summer));
+        ScheduledCourse ics140 = problem.getScheduledCourse("ICS", 140);
+
+        problem.getConstraints().add(new SemesterExclusion(ics140, summer));
+        problem.compileConstraints();
+
+        assertEquals(0, problem.getConstraints().getNumConstraints());
+        assertEquals(1, problem.getFoldedConstraints().size());
+
+        ics140.setSemester(summer);
+
+        assertTrue(problem.getConstraints().isSatisfied());
+        assertFalse(problem.isSatisfied());
+
+        ics140.setSemester(fall);
+
+        assertTrue(problem.isSatisfied());
+    }
+
+    @Test
+    public void nestedNoneListsShouldBeFolded() {
+        Semester first = new Semester(1);
+        Semester second = new Semester(2);
+        Semester third = new Semester(3);
+        LocalSearchProblem problem = new LocalSearchProblem(List.of(new Course("ICS", 140), new Course("ICS", 141)),
+                List.of(first, second, third));
+        ScheduledCourse ics140 = problem.getScheduledCourse("ICS", 140);
+        ScheduledCourse ics141 = problem.getScheduledCourse("ICS", 141);
+        NoneConstraintList none = new NoneConstraintList();
+        EveryConstraintList every = new EveryConstraintList();
+
+        none.add(new SemesterRestriction(ics140, first));
+        none.add(new SemesterRestriction(ics140, third));
+        every.add(none);
+        every.add(new Prerequisite(ics141, ics140));
+        problem.getConstraints().add(every);
+        problem.compileConstraints();
+
+        assertEquals(List.of(none), problem.getFoldedConstraints());
+        assertEquals(List.of(second), problem.getValues(ics140));
+    }
+
+    @Test
+    public void coursesWithNoAllowedSemesterShouldKeepTheirConstraints() {
+        Semester fall = new Semester(1);
+        LocalSearchProblem problem = new LocalSearchProblem(List.of(new Course("ICS", 140)), List.of(fall));
+        ScheduledCourse ics140 = problem.getScheduledCourse("ICS", 140);
+
+        problem.getConstraints().add(new SemesterExclusion(ics140, fall));
+        problem.compileConstraints();
+
+        assertTrue(problem.getFoldedConstraints().isEmpty());
+        assertEquals(1, problem.getConstraints().getNumConstraints());
+
+        ics140.setSemester(fall);
+
+        assertFalse(problem.isSatisfied());
+    }
+}
@@ -0,0 +1,202 @@
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.ConstraintProfiler;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalSearchTest {
+
+    @Test
+    public void defaultConstructedLocalSearchIsNotNullAndPerformsAValidSearch() {
+        LocalSearchProblem lsp = new LocalSearchProblem();
+        LocalSearch ls = new LocalSearch(lsp.getVariables(), lsp, lsp.getConstraints());
+
+        assertNotNull(ls);
+
+        List<Map<Object, SearchVariable>> solutions = new ArrayList<>();
+        int count = 0;
+        int maxAssignments = 300;
+        int giveup = 0;
+
+        System.out.print("Performing Local Search with a maximum of " + maxAssignments + " assignments " +
+                "until at least 1 solution is found.");
+
+        while (count <= 0) {
+            final Map<Object, SearchVariable> search = ls.search(maxAssignments);
+
+            if (search != null) {
+
+                if (!solutions.contains(search)) {
+                    solutions.add(search);
+                    count++;
+                }
+            } else {
+                ++giveup;
+            }
+        }
+
+        System.out.println("\nFound " + count + " solution!");
+        System.out.println("Gave up " + giveup + " times while finding that solution.");
+    }
+
+    @Disabled("Disabled as it takes a while to find 2 duplicate solutions!")
+    @Test
+    public void searchUntilTwoDuplicateSolutionsAreFound() {
+        LocalSearchProblem lsp = new LocalSearchProblem();
+        LocalSearch ls = new LocalSearch(lsp.getVariables(), lsp, lsp.getConstraints());
+
+        // Symmetric copies of a solution, such as LIBS 998 and LIBS 999 swapped, are the same plan.
+        ls.setBreakSymmetries(true);
+
+        assertNotNull(ls);
+
+        List<Map<Object, SearchVariable>> solutions = new ArrayList<>();
+        boolean done = false;
+        int count = 0;
+        int duplicateFound = 0;
+        int maxDuplicatesFound = 2;
+        int maxAssignments = 300;
+        int giveup = 0;
+
+        System.out.print("Performing Local Search with a maximum of " + maxAssignments + " assignments " +
+                "until 2 duplicate solutions are found.");
+
+        while (!done) {
+            final Map<Object, SearchVariable> search = ls.search(maxAssignments);
+
+            if (search != null) {
+
+                if (!solutions.contains(search)) {
+                    solutions.add(search);
+                    count++;
+                } else {
+                    if (++duplicateFound > maxDuplicatesFound) {
+                        done = true;
+                    }
+                }
+            } else {
+                ++giveup;
+            }
+        }
+
+        System.out.println("\nFound " + count + " solutions!");
+        System.out.println("Gave up " + giveup + " times while finding those solutions.");
+    }
+
+    @Test
+    public void simpleTest() {
+        LocalSearchProblem lsp = new LocalSearchProblem();
+        LocalSearch ls = new LocalSearch(lsp.getVariables(), lsp, lsp.getConstraints());
+
+        assertNotNull(ls);
+
+        final Map<Object, SearchVariable> search = ls.search();
+
+        assertNotNull(search);
+
+        System.out.println(ls.getLog());
+        System.out.println();
+        System.out.println(ls.getSummary());
+
+        ls.clearLog();
+    }
+
+    @Test
+    public void searchesWithTheSameSeedShouldFindTheSameSolution() {
+        List<Map<Object, SearchVariable>> solutions = new ArrayList<>();
+
+        for (int i = 0; i < 2; i++) {
+            LocalSearchProblem lsp = new LocalSearchProblem();
+            LocalSearch ls = new LocalSearch(lsp.getVariables(), lsp, lsp.getConstraints());
+            lsp.setSeed(20180409);
+            ls.setSeed(20180409);
+            ls.setStrategy(SearchStrategy.HIGHEST_SCORE);
+
+            solutions.add(ls.search());
+        }
+
+        assertNotNull(solutions.get(0));
+        assertEquals(solutions.get(0), solutions.get(1));
+    }
+
+    @Test
+    public void profiledSearchesShouldFindTheSameSolution() {
+        List<Map<Object, SearchVariable>> solutions = new ArrayList<>();
+
+        // Unprofiled searches check the compiled program and profiled ones check the lists, which must agree.
+        for (int i = 0; i < 2; i++) {
+            LocalSearchProblem lsp = new LocalSearchProblem();
+            LocalSearch ls = new LocalSearch(lsp.getVariables(), lsp, lsp.getConstraints());
+            lsp.setSeed(20180409);
+            ls.setSeed(20180409);
+
+            if (i == 1) {
+                ls.setConstraintProfiler(new ConstraintProfiler());
+            }
+
+            solutions.add(ls.search());
+            assertTrue(lsp.getConstraints().isSatisfied());
+        }
+
+        assertNotNull(solutions.get(0));
+        assertEquals(solutions.get(0), solutions.get(1));
+    }
+
+    @Test
+    public void domainsThatReturnCopiesOfTheirValuesShouldStillBeSearched() {
+        LocalSearchProblem lsp = new LocalSearchProblem();
+        // Every value the search draws is equal to, but not the same as, one of getAllValues.
+        VariableDomain copies = new VariableDomain() {
+            @Override
+            public SearchVariable getRandomValue(SearchVariable variable) {
+                return lsp.getRandomValue(variable).clone();
+            }
+
+            @Override
+            public SearchVariable getCloseValue(SearchVariable variable) {
+                return lsp.getCloseValue(variable).clone();
+            }
+
+            @Override
+            public List<SearchVariable> getValues(SearchVariable variable) {
+                return lsp.getValues(variable);
+            }
+
+            @Override
+            public List<SearchVariable> getAllValues() {
+                return lsp.getAllValues();
+            }
+
+            @Override
+            public int size() {
+                return lsp.size();
+            }
+
+            @Override
+            public int size(SearchVariable variable) {
+                return lsp.size(variable);
+            }
+        };
+        LocalSearch ls = new LocalSearch(lsp.getVariables(), copies, lsp.getConstraints());
+        lsp.setSeed(20180409);
+        ls.setSeed(20180409);
+
+        assertNotNull(ls.search(10_000));
+        assertTrue(lsp.getConstraints().isSatisfied());
+    }
+
+    @Test
+    public void searchShouldGiveUpWhenTheTimeLimitHasElapsed() {
+        LocalSearchProblem lsp = new LocalSearchProblem();
+        LocalSearch ls = new LocalSearch(lsp.getVariables(), lsp, lsp.getConstraints());
+
+        assertNull(ls.search(0, Duration.ZERO));
+    }
+}
@@ -0,0 +1,281 @@
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.Constraint;
+import com.capital7software.ai.localsearch.constraints.ConstraintList;
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.capital7software.ai.localsearch.SearchFixtures.countViolations;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NeighborhoodTest {
+
+    private static void randomize(LocalSearchProblem problem, Random random) {
+        for (ScheduledCourse course : problem.getScheduledCourses()) {
+            course.setValue(problem.getSemesters().get(random.nextInt(problem.getSemesters().size())));
+        }
+    }
+
+    @Test
+    public void deltasShouldMatchTheChangeInViolations() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        ConstraintList constraints = problem.getConstraints();
+        Neighborhood neighborhood = new Neighborhood(problem.getRegistry(), constraints);
+        SearchRegistry registry = problem.getRegistry();
+        Random random = new Random(41);
+
+        assertTrue(neighborhood.isParallel());
+
+        for (int round = 0; round < 5; round++) {
+            randomize(problem, random);
+            neighborhood.snapshot();
+
+            int violations = countViolations(constraints);
+
+            assertEquals(violations, neighborhood.getViolations());
+
+            for (int variable = 0; variable < registry.getNumVariables(); variable++) {
+                SearchVariable course = registry.getVariable(variable);
+                Object old = course.getValue();
+
+                for (int value = 0; value < registry.getNumValues(); value++) {
+                    int delta = neighborhood.delta(variable, value);
+
+                    course.setValue(registry.getValue(value));
+                    assertEquals(countViolations(constraints) - violations, delta, course.getName());
+                    course.setValue(old);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void opaqueConstraintsShouldBeScoredOnTheCallingThread() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        EveryConstraintList constraints = new EveryConstraintList();
+        ConstraintList original = problem.getConstraints();
+        Random random = new Random(43);
+
+        for (Constraint constraint : original.getConstraints()) {
+            constraints.add(constraint);
+        }
+
+        // A constraint that does not say what it depends on can only be checked by changing the variables.
+        ScheduledCourse first = problem.getScheduledCourses().get(0);
+        constraints.add(() -> first.getSemester() == problem.getSemesters().get(0));
+
+        Neighborhood parallel = new Neighborhood(problem.getRegistry(), original);
+        Neighborhood serial = new Neighborhood(problem.getRegistry(), constraints);
+        List<SearchVariable> variables = problem.getVariables();
+
+        assertFalse(serial.isParallel());
+        randomize(problem, random);
+        first.setValue(problem.getSemesters().get(0));
+        parallel.snapshot();
+        serial.snapshot();
+
+        long expected = parallel.findBestMove(variables, problem, new ForkJoinPool(4));
+        long actual = serial.findBestMove(variables, problem, ForkJoinPool.commonPool());
+
+        assertNotEquals(Neighborhood.NO_MOVES, expected);
+        assertEquals(countViolations(constraints), serial.getViolations());
+        // Only the moves of the first course can violate the extra constraint, so they can cost one more.
+        assertTrue(Neighborhood.getDelta(actual) >= Neighborhood.getDelta(expected));
+        assertTrue(Neighborhood.getDelta(actual) <= Neighborhood.getDelta(expected) + 1);
+        assertSame(problem.getSemesters().get(0), first.getSemester());
+    }
+
+    @Test
+    public void bestMoveShouldNotDependOnThePool() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        Neighborhood neighborhood = new Neighborhood(problem.getRegistry(), problem.getConstraints());
+        List<SearchVariable> variables = problem.getVariables();
+
+        randomize(problem, new Random(47));
+        neighborhood.snapshot();
+
+        long best = neighborhood.findBestMove(variables, problem, new ForkJoinPool(1));
+
+        assertEquals(best, neighborhood.findBestMove(variables, problem, new ForkJoinPool(8)));
+
+        int lowest = Integer.MAX_VALUE;
+
+        for (SearchVariable variable : variables) {
+            for (SearchVariable value : problem.getValues(variable)) {
+                if (value != variable.getValue()) {
+                    lowest = Math.min(lowest, neighborhood.delta(problem.getRegistry().getVariableId(variable),
+                            problem.getRegistry().getValueId(value)));
+                }
+            }
+        }
+
+        assertEquals(lowest, Neighborhood.getDelta(best));
+        assertNotNull(neighborhood.getVariable(best));
+        assertNotSame(neighborhood.getVariable(best).getValue(), neighborhood.getValue(best));
+        assertEquals(Neighborhood.NO_MOVES, neighborhood.findBestMove(List.of(), problem, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    public void steepestDescentShouldFindASolution() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        LocalSearch ls = new LocalSearch(problem.getVariables(), problem, problem.getConstraints());
+
+        problem.setSeed(11);
+        ls.setSeed(11);
+        ls.setStrategy(SearchStrategy.STEEPEST_DESCENT);
+        ls.setNeighborhoodSize(4);
+        ls.setPool(new ForkJoinPool(2));
+
+        Map<Object, SearchVariable> solution = ls.search(0);
+
+        assertNotNull(solution);
+        assertTrue(problem.getConstraints().isSatisfied());
+        assertEquals(4, ls.getNeighborhoodSize());
+        assertThrows(IllegalArgumentException.class, () -> ls.setNeighborhoodSize(0));
+        assertThrows(IllegalArgumentException.class, () -> ls.setPool(null));
+    }
+
+    @Test
+    public void compoundDeltasShouldMatchTheChangeInViolations() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        ConstraintList constraints = problem.getConstraints();
+        Neighborhood neighborhood = new Neighborhood(problem.getRegistry(), constraints);
+        SearchRegistry registry = problem.getRegistry();
+        Random random = new Random(53);
+        int variables = registry.getNumVariables();
+        int values = registry.getNumValues();
+
+        for (int round = 0; round < 200; round++) {
+            randomize(problem, random);
+            neighborhood.snapshot();
+
+            int violations = countViolations(constraints);
+            int first = random.nextInt(variables);
+            int second = (first + 1 + random.nextInt(variables - 1)) % variables;
+            int firstValue = random.nextInt(values);
+            int secondValue = random.nextInt(values);
+            int delta = neighborhood.delta(first, firstValue, second, secondValue);
+
+            registry.getVariable(first).setValue(registry.getValue(firstValue));
+            registry.getVariable(second).setValue(registry.getValue(secondValue));
+            assertEquals(countViolations(constraints) - violations, delta, "round " + round);
+        }
+    }
+
+    @Test
+    public void compoundMovesShouldBeAppliedAndUndone() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        ConstraintList constraints = problem.getConstraints();
+        Neighborhood neighborhood = new Neighborhood(problem.getRegistry(), constraints);
+        SearchRegistry registry = problem.getRegistry();
+        Random random = new Random(59);
+        int moves = 0;
+
+        for (int round = 0; round < 50; round++) {
+            randomize(problem, random);
+            neighborhood.snapshot();
+
+            int violations = countViolations(constraints);
+            int variable = random.nextInt(registry.getNumVariables());
+            int value = random.nextInt(registry.getNumValues());
+            long move = neighborhood.findBestCompoundMove(variable, value, problem, ForkJoinPool.commonPool(),
+                    EnumSet.allOf(MoveType.class), random);
+
+            if (move == Neighborhood.NO_MOVES) {
+                continue;
+            }
+
+            moves++;
+
+            List<Semester> before = problem.getScheduledCourses().stream().map(ScheduledCourse::getSemester).toList();
+
+            neighborhood.apply(move);
+            assertNotEquals(MoveType.REASSIGN, neighborhood.getType(move));
+            assertSame(registry.getVariable(variable), neighborhood.getVariable(move));
+            assertSame(registry.getValue(value), registry.getVariable(variable).getValue());
+            assertEquals(countViolations(constraints) - violations, Neighborhood.getDelta(move));
+
+            neighborhood.undo(move);
+            assertEquals(before, problem.getScheduledCourses().stream().map(ScheduledCourse::getSemester).toList());
+        }
+
+        assertTrue(moves > 0);
+    }
+
+    @Test
+    public void updateShouldMatchASnapshot() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        ConstraintList constraints = problem.getConstraints();
+        Neighborhood updated = new Neighborhood(problem.getRegistry(), constraints);
+        Neighborhood snapshot = new Neighborhood(problem.getRegistry(), constraints);
+        SearchRegistry registry = problem.getRegistry();
+        Random random = new Random(67);
+
+        randomize(problem, random);
+        updated.update();
+
+        for (int round = 0; round < 50; round++) {
+            for (int i = random.nextInt(3); i >= 0; i--) {
+                registry.getVariable(random.nextInt(registry.getNumVariables()))
+                        .setValue(registry.getValue(random.nextInt(registry.getNumValues())));
+            }
+
+            updated.update();
+            snapshot.snapshot();
+
+            assertEquals(countViolations(constraints), updated.getViolations());
+
+            for (int variable = 0; variable < registry.getNumVariables(); variable++) {
+                assertEquals(snapshot.isInConflict(variable), updated.isInConflict(variable));
+
+                for (int value = 0; value < registry.getNumValues(); value++) {
+                    assertEquals(snapshot.delta(variable, value), updated.delta(variable, value));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void swapsShouldNotNeedARandom() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        Neighborhood neighborhood = new Neighborhood(problem.getRegistry(), problem.getConstraints());
+        SearchRegistry registry = problem.getRegistry();
+        Random random = new Random(61);
+
+        for (int round = 0; round < 20; round++) {
+            randomize(problem, random);
+            neighborhood.snapshot();
+
+            int variable = random.nextInt(registry.getNumVariables());
+            int value = random.nextInt(registry.getNumValues());
+            long move = neighborhood.findBestCompoundMove(variable, value, problem, ForkJoinPool.commonPool(),
+                    EnumSet.of(MoveType.SWAP), null);
+
+            if (move != Neighborhood.NO_MOVES) {
+                assertEquals(MoveType.SWAP, neighborhood.getType(move));
+            }
+        }
+    }
+
+    @Test
+    public void compoundMovesShouldHelpTheSearchFindASolution() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        LocalSearch ls = new LocalSearch(problem.getVariables(), problem, problem.getConstraints());
+
+        problem.setSeed(13);
+        ls.setSeed(13);
+        ls.setMoveTypes(EnumSet.allOf(MoveType.class));
+
+        assertNotNull(ls.search(0));
+        assertTrue(problem.getConstraints().isSatisfied());
+        assertEquals(EnumSet.allOf(MoveType.class), ls.getMoveTypes());
+        assertThrows(IllegalArgumentException.class, () -> ls.setMoveTypes(EnumSet.noneOf(MoveType.class)));
+        assertThrows(IllegalArgumentException.class, () -> ls.setMoveTypes(null));
+    }
+}
@@ -0,0 +1,134 @@
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+import com.capital7software.ai.localsearch.constraints.Prerequisite;
+import com.capital7software.ai.localsearch.constraints.SemesterRestriction;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.capital7software.ai.localsearch.SearchFixtures.domainOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NogoodStoreTest {
+
+    @Test
+    public void nogoodsShouldOnlyBeLearnedFromRepeatedConflicts() {
+        List<Semester> semesters = List.of(new Semester(1), new Semester(2), new Semester(3));
+        ScheduledCourse ics140 = new ScheduledCourse(new Course("ICS", 140), semesters.get(2));
+        ScheduledCourse ics141 = new ScheduledCourse(new Course("ICS", 141), semesters.get(0));
+        EveryConstraintList constraints = new EveryConstraintList();
+        SearchRegistry registry = new SearchRegistry(List.of(ics140, ics141), semesters);
+
+        constraints.add(new Prerequisite(ics141, ics140));
+        constraints.add(new SemesterRestriction(ics140, semesters.get(0)));
+
+        NogoodStore nogoods = new NogoodStore(registry, constraints);
+
+        nogoods.learn();
+
+        assertEquals(2, nogoods.getNumCandidates());
+        assertEquals(0, nogoods.getNumNogoods());
+
+        nogoods.learn();
+
+        assertEquals(2, nogoods.getNumNogoods());
+
+        // The restriction is a nogood on its own, and the prerequisite only with both courses assigned.
+        assertTrue(nogoods.isForbidden(0, semesters.get(2), new boolean[]{false, false}));
+        assertFalse(nogoods.isForbidden(1, semesters.get(0), new boolean[]{false, false}));
+        assertTrue(nogoods.isForbidden(1, semesters.get(0), new boolean[]{true, false}));
+        assertFalse(nogoods.isForbidden(1, semesters.get(1), new boolean[]{true, false}));
+
+        nogoods.learn();
+
+        assertEquals(2, nogoods.getNumNogoods());
+        assertEquals(2, nogoods.getNumCandidates());
+    }
+
+    @Test
+    public void assignmentsShouldAvoidTheNogoods() {
+        List<Semester> semesters = List.of(new Semester(1), new Semester(2), new Semester(3));
+        ScheduledCourse ics140 = new ScheduledCourse(new Course("ICS", 140), semesters.get(1));
+        ScheduledCourse ics141 = new ScheduledCourse(new Course("ICS", 141), semesters.get(0));
+        EveryConstraintList constraints = new EveryConstraintList();
+        SearchRegistry registry = new SearchRegistry(List.of(ics140, ics141), semesters);
+        VariableDomain domain = domainOf(semesters, new Random(79));
+
+        constraints.add(new SemesterRestriction(ics140, semesters.get(0)));
+
+        NogoodStore nogoods = new NogoodStore(registry, constraints);
+
+        nogoods.learn();
+        nogoods.learn();
+
+        int avoided = 0;
+
+        for (int round = 0; round < 100; round++) {
+            nogoods.assign(domain);
+
+            if (ics140.getSemester() != semesters.get(1)) {
+                avoided++;
+            }
+        }
+
+        // A value is only kept if it was drawn MAX_TRIES times in a row.
+        assertTrue(avoided > 95, "avoided " + avoided);
+    }
+
+    @Test
+    public void greedyAssignmentsShouldAvoidTheNogoods() {
+        List<Semester> semesters = List.of(new Semester(1), new Semester(2), new Semester(3));
+        ScheduledCourse ics140 = new ScheduledCourse(new Course("ICS", 140), semesters.get(0));
+        ScheduledCourse ics141 = new ScheduledCourse(new Course("ICS", 141), semesters.get(0));
+        EveryConstraintList constraints = new EveryConstraintList();
+        SearchRegistry registry = new SearchRegistry(List.of(ics140, ics141), semesters);
+        // Without any constraints of its own, the greedy assignment puts every course in the first semester.
+        GreedyAssignment greedy = new GreedyAssignment(registry, new EveryConstraintList(), domainOf(semesters));
+
+        constraints.add(new SemesterRestriction(ics140, semesters.get(1)));
+
+        NogoodStore nogoods = new NogoodStore(registry, constraints);
+
+        nogoods.learn();
+        nogoods.learn();
+
+        for (int round = 0; round < 10; round++) {
+            greedy.assign(new Random(round), nogoods);
+
+            assertSame(semesters.get(1), ics140.getSemester());
+            assertSame(semesters.get(0), ics141.getSemester());
+        }
+
+        greedy.assign(new Random(1));
+
+        assertSame(semesters.get(0), ics140.getSemester());
+    }
+
+    @Test
+    public void searchShouldLearnNogoodsAcrossRestarts() {
+        List<Semester> semesters = List.of(new Semester(1), new Semester(2), new Semester(3));
+        ScheduledCourse ics140 = new ScheduledCourse(new Course("ICS", 140), semesters.get(0));
+        ScheduledCourse ics141 = new ScheduledCourse(new Course("ICS", 141), semesters.get(0));
+        EveryConstraintList constraints = new EveryConstraintList();
+
+        // The courses require each other, so every assignment violates one of the prerequisites.
+        constraints.add(new Prerequisite(ics141, ics140));
+        constraints.add(new Prerequisite(ics140, ics141));
+
+        LocalSearch ls = new LocalSearch(List.of(ics140, ics141), domainOf(semesters, new Random(83)), constraints);
+
+        ls.setSeed(83);
+        ls.setLearnNogoods(true);
+
+        assertTrue(ls.isLearnNogoods());
+        assertNull(ls.search(500));
+        assertTrue(ls.getNumNogoods() > 0);
+
+        ls.setLearnNogoods(false);
+        ls.search(10);
+
+        assertEquals(0, ls.getNumNogoods());
+    }
+}
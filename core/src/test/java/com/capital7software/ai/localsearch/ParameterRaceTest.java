@@ -0,0 +1,85 @@
+package com.capital7software.ai.localsearch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParameterRaceTest {
+    // A walk that is never allowed a step without an improvement only ever restarts, so it never solves the problem.
+    private static final SearchParameters RESTART_ONLY = new SearchParameters(1, 1, 1, ConflictWeights.DEFAULT);
+
+    private static ParameterRace race() {
+        ParameterRace race = new ParameterRace(List.<Supplier<LocalSearchProblem>>of(LocalSearchProblem::new));
+
+        race.setSeed(11);
+        race.setMaxAssignments(2000);
+        race.setPool(new ForkJoinPool(2));
+
+        return race;
+    }
+
+    @Test
+    public void losersShouldBeEliminatedEarly() {
+        ParameterRace race = race();
+
+        race.setSeeds(10);
+
+        assertEquals(SearchParameters.DEFAULT, race.race(List.of(RESTART_ONLY, SearchParameters.DEFAULT)));
+        assertEquals(List.of(SearchParameters.DEFAULT), race.getSurvivors());
+        assertEquals(5, race.getBlocks());
+        assertEquals(10, race.getNumRuns());
+    }
+
+    @Test
+    public void equalCandidatesShouldRunEveryBlock() {
+        ParameterRace race = race();
+        SearchParameters copy = new SearchParameters(256, 256, 2, new ConflictWeights(1.0, 1.1, 1.2, 1.3));
+
+        race.setSeeds(6);
+
+        assertEquals(SearchParameters.DEFAULT, race.race(List.of(SearchParameters.DEFAULT, copy)));
+        assertEquals(2, race.getSurvivors().size());
+        assertEquals(6, race.getBlocks());
+        assertEquals(12, race.getNumRuns());
+    }
+
+    @Test
+    public void parametersShouldBeApplied() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        LocalSearch ls = new LocalSearch(problem.getVariables(), problem, problem.getConstraints());
+
+        problem.setSeed(3);
+        ls.setSeed(3);
+        ls.setParameters(RESTART_ONLY);
+
+        assertSame(RESTART_ONLY, ls.getParameters());
+        assertNull(ls.search(50));
+        assertTrue(ls.getNumAssignments() >= 50);
+
+        ls.setParameters(SearchParameters.DEFAULT);
+
+        assertNotNull(ls.search(0));
+        assertTrue(ls.getNumAssignments() > 0);
+        assertThrows(IllegalArgumentException.class, () -> ls.setParameters(null));
+        assertEquals(38, SearchParameters.DEFAULT.getMaxWalk(1, 19));
+        assertEquals(256, SearchParameters.DEFAULT.getMaxWalk(8, 19));
+    }
+
+    @Test
+    public void candidatesShouldStartWithTheDefaults() {
+        List<SearchParameters> candidates = ParameterRace.sample(8, new Random(5));
+
+        assertEquals(8, candidates.size());
+        assertEquals(SearchParameters.DEFAULT, candidates.get(0));
+        assertEquals(candidates, ParameterRace.sample(8, new Random(5)));
+        assertThrows(IllegalArgumentException.class, () -> ParameterRace.sample(0, new Random(5)));
+        assertThrows(IllegalArgumentException.class, () -> new SearchParameters(0, 1, 1, ConflictWeights.DEFAULT));
+        assertThrows(IllegalArgumentException.class, () -> race().race(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> race().setMinBlocks(1));
+    }
+}
@@ -0,0 +1,220 @@
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.Constraint;
+import com.capital7software.ai.localsearch.constraints.CoursesPerSemesterConstraint;
+import com.capital7software.ai.localsearch.constraints.Prerequisite;
+import com.capital7software.ai.localsearch.constraints.SemesterRestriction;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleConflictListTest {
+    private static final Semester FIRST = new Semester(1);
+    private static final Semester SECOND = new Semester(2);
+
+    private static ScheduledCourse course(int number) {
+        return new ScheduledCourse(new Course("ICS", number), FIRST);
+    }
+
+    @Test
+    public void scoresShouldBeWeightedByTheTypeOfConstraint() {
+        ScheduledCourse ics140 = course(140);
+        ScheduledCourse ics141 = course(141);
+        ScheduledCourse ics240 = course(240);
+        ScheduleConflictList conflicts = new ScheduleConflictList(List.of(
+                new Prerequisite(ics141, ics140),
+                new Prerequisite(ics240, ics141),
+                new SemesterRestriction(ics240, SECOND)));
+
+        conflicts.scoreConflicts();
+
+        Map<SearchVariable, Double> scores = conflicts.getVariablesInConflictWithScores();
+
+        assertEquals(3, conflicts.getNumberOfConflicts());
+        assertEquals(3, conflicts.getNumVariablesInConflict());
+        assertEquals(List.of(ics141, ics140, ics240), new ArrayList<>(scores.keySet()));
+        assertEquals(1.1, scores.get(ics140), 1e-9);
+        assertEquals(2.1, scores.get(ics141), 1e-9);
+        assertEquals(2.3, scores.get(ics240), 1e-9);
+        assertEquals(1.1 + 2.1 + 2.3, conflicts.getConflictsScore(), 1e-9);
+        assertSame(ics240, conflicts.getVariableWithTheHighestScore(new Random(1)));
+    }
+
+    @Test
+    public void scoresShouldUseTheSpecifiedWeights() {
+        ScheduledCourse ics140 = course(140);
+        ScheduledCourse ics141 = course(141);
+        ScheduledCourse ics240 = course(240);
+        ScheduleConflictList conflicts = new ScheduleConflictList(List.of(
+                new Prerequisite(ics141, ics140),
+                new Prerequisite(ics240, ics141),
+                new SemesterRestriction(ics240, SECOND)));
+
+        conflicts.scoreConflicts(new ConflictWeights(2.0, 3.0, 5.0, 7.0));
+
+        Map<SearchVariable, Double> scores = conflicts.getVariablesInConflictWithScores();
+
+        assertEquals(3.0, scores.get(ics140), 1e-9);
+        assertEquals(5.0, scores.get(ics141), 1e-9);
+        assertEquals(9.0, scores.get(ics240), 1e-9);
+        assertEquals(17.0, conflicts.getConflictsScore(), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> conflicts.scoreConflicts(null));
+        assertThrows(IllegalArgumentException.class, () -> new ConflictWeights(1.0, 0.0, 1.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ConflictWeights(1.0, 1.0, Double.NaN, 1.0));
+    }
+
+    @Test
+    public void scoresShouldGrowWithTheDegreeOfTheViolations() {
+        Semester fifth = new Semester(5);
+        ScheduledCourse ics140 = new ScheduledCourse(new Course("ICS", 140), fifth);
+        ScheduledCourse ics141 = course(141);
+        ScheduledCourse ics240 = course(240);
+        List<ScheduledCourse> crowded = new ArrayList<>(List.of(ics141, ics240));
+
+        for (int i = 0; i < 3; i++) {
+            crowded.add(course(300 + i));
+        }
+
+        ScheduleConflictList conflicts = new ScheduleConflictList(List.of(
+                new Prerequisite(ics141, ics140),
+                new SemesterRestriction(ics240, fifth),
+                new CoursesPerSemesterConstraint(2, List.of(FIRST, SECOND, fifth), crowded)));
+
+        conflicts.scoreConflicts(new ConflictWeights(1.0, 1.0, 1.0, 1.0));
+
+        Map<SearchVariable, Double> scores = conflicts.getVariablesInConflictWithScores();
+
+        // The prerequisite is off by five semesters, the restriction by four, and the first semester is three over.
+        assertEquals(5.0, scores.get(ics140), 1e-9);
+        assertEquals(5.0 + 3.0, scores.get(ics141), 1e-9);
+        assertEquals(4.0 + 3.0, scores.get(ics240), 1e-9);
+        assertEquals(3.0, scores.get(crowded.get(4)), 1e-9);
+        assertEquals(5.0 + 8.0 + 7.0 + 3.0 * 3, conflicts.getConflictsScore(), 1e-9);
+    }
+
+    @Test
+    public void tiesShouldBeBrokenInTheOrderTheVariablesWereScored() {
+        List<Constraint> restrictions = new ArrayList<>();
+        List<ScheduledCourse> courses = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            ScheduledCourse course = course(100 + i);
+
+            courses.add(course);
+            restrictions.add(new SemesterRestriction(course, SECOND));
+        }
+
+        ScheduleConflictList conflicts = new ScheduleConflictList(restrictions);
+
+        conflicts.scoreConflicts();
+
+        for (long seed = 0; seed < 20; seed++) {
+            int expected = new Random(seed).nextInt(courses.size());
+
+            assertSame(courses.get(expected), conflicts.getVariableWithTheHighestScore(new Random(seed)));
+            assertSame(courses.get(expected), conflicts.getRandomVariableInConflict(new Random(seed)));
+        }
+
+        Set<SearchVariable> selected = new HashSet<>();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 500; i++) {
+            selected.add(conflicts.getVariableWithTheHighestScore(random));
+        }
+
+        assertEquals(courses.size(), selected.size());
+    }
+
+    @Test
+    public void anotherVariableShouldBeTheFirstOtherVariableScored() {
+        ScheduledCourse ics140 = course(140);
+        ScheduledCourse ics141 = course(141);
+        ScheduledCourse ics999 = course(999);
+        ScheduleConflictList conflicts = new ScheduleConflictList(List.of(new Prerequisite(ics141, ics140)));
+
+        conflicts.scoreConflicts();
+
+        assertSame(ics140, conflicts.getAnotherVariableInConflict(ics141));
+        assertSame(ics141, conflicts.getAnotherVariableInConflict(ics140));
+        assertSame(ics999, conflicts.getAnotherVariableInConflict(ics999));
+        assertSame(ics140, conflicts.getVariableWithTheHighestScore(new Random(1)));
+    }
+
+    @Test
+    public void manyVariablesShouldKeepTheHighestScoreOnTop() {
+        List<Constraint> constraints = new ArrayList<>();
+        List<ScheduledCourse> courses = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            courses.add(course(100 + i));
+        }
+
+        // Course i is restricted i times, so the last course has the highest score.
+        for (int i = 0; i < courses.size(); i++) {
+            for (int j = 0; j <= i; j++) {
+                constraints.add(new SemesterRestriction(courses.get(i), SECOND));
+            }
+        }
+
+        ScheduleConflictList conflicts = new ScheduleConflictList(constraints);
+
+        conflicts.scoreConflicts();
+
+        assertEquals(courses.size(), conflicts.getNumVariablesInConflict());
+        assertSame(courses.get(courses.size() - 1), conflicts.getVariableWithTheHighestScore(new Random(1)));
+        assertEquals(1.3 * courses.size() * (courses.size() + 1) / 2, conflicts.getConflictsScore(), 1e-6);
+    }
+
+    @Test
+    public void scoresShouldNotDependOnTheRegistry() {
+        ScheduledCourse ics140 = course(140);
+        ScheduledCourse ics141 = course(141);
+        ScheduledCourse ics240 = course(240);
+        ScheduledCourse ics999 = course(999);
+        List<Constraint> constraints = List.of(
+                new Prerequisite(ics141, ics140),
+                new Prerequisite(ics240, ics141),
+                new SemesterRestriction(ics240, SECOND));
+        // The registry leaves ics240 out so that both the registry ids and the identity map are used.
+        SearchRegistry registry = new SearchRegistry(List.of(ics141, ics999, ics140), List.of(FIRST, SECOND));
+        ScheduleConflictList expected = new ScheduleConflictList(constraints);
+        ScheduleConflictList conflicts = new ScheduleConflictList(constraints);
+
+        expected.scoreConflicts(ConflictWeights.DEFAULT);
+        conflicts.scoreConflicts(ConflictWeights.DEFAULT, registry);
+
+        assertEquals(expected.getVariablesInConflictWithScores(), conflicts.getVariablesInConflictWithScores());
+        assertEquals(new ArrayList<>(expected.getVariablesInConflictWithScores().keySet()),
+                new ArrayList<>(conflicts.getVariablesInConflictWithScores().keySet()));
+        assertEquals(expected.getConflictsScore(), conflicts.getConflictsScore(), 0.0);
+        assertSame(ics140, conflicts.getAnotherVariableInConflict(ics141));
+        assertSame(ics999, conflicts.getAnotherVariableInConflict(ics999));
+
+        for (long seed = 0; seed < 20; seed++) {
+            assertSame(expected.getVariableWithTheHighestScore(new Random(seed)),
+                    conflicts.getVariableWithTheHighestScore(new Random(seed)));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> conflicts.scoreConflicts(ConflictWeights.DEFAULT, null));
+    }
+
+    @Test
+    public void emptyListShouldHaveNoVariablesInConflict() {
+        ScheduleConflictList conflicts = new ScheduleConflictList(List.of());
+
+        conflicts.scoreConflicts();
+
+        assertTrue(conflicts.isEmpty());
+        assertEquals(0.0, conflicts.getConflictsScore(), 0.0);
+        assertEquals(0, conflicts.getNumVariablesInConflict());
+        assertNull(conflicts.getVariableWithTheHighestScore(new Random(1)));
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleConflictList(null));
+    }
+}
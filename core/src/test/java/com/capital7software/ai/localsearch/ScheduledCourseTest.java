@@ -212,4 +212,24 @@ public class ScheduledCourseTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void listenersShouldBeNotifiedWhenTheSemesterChanges() {
+        ScheduledCourse course = new ScheduledCourse(ICS_141);
+        int[] notifications = new int[1];
+        ScheduledCourseListener listener = changed -> notifications[0]++;
+
+        course.addListener(listener);
+        course.setValue(FIRST_SEMESTER);
+        course.setSemester(FIRST_SEMESTER);
+        course.clearValue();
+
+        assertEquals(2, notifications[0]);
+
+        course.clone().setSemester(SECOND_SEMESTER);
+        assertTrue(course.removeListener(listener));
+        course.setSemester(THIRD_SEMESTER);
+
+        assertEquals(2, notifications[0]);
+    }
+
 }
\ No newline at end of file
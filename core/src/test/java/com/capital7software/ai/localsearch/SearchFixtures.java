@@ -0,0 +1,89 @@
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.Constraint;
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Helpers that the tests of the searches share.
+ */
+final class SearchFixtures {
+    private SearchFixtures() {
+    }
+
+    /**
+     * Returns the number of violated constraints, counting each constraint of an every list on its own the way the
+     * searches count them.
+     *
+     * @param constraint the constraint to count.
+     * @return the number of violated constraints.
+     */
+    static int countViolations(Constraint constraint) {
+        if (constraint instanceof EveryConstraintList list) {
+            int answer = 0;
+
+            for (Constraint child : list.getConstraints()) {
+                answer += countViolations(child);
+            }
+
+            return answer;
+        }
+
+        return constraint.isSatisfied() ? 0 : 1;
+    }
+
+    /**
+     * Returns a domain in which every variable may take any of the specified semesters, and whose random and close
+     * values are always the first semester.
+     *
+     * @param semesters the semesters of the domain.
+     * @return the domain.
+     */
+    static VariableDomain domainOf(List<Semester> semesters) {
+        return domainOf(semesters, null);
+    }
+
+    /**
+     * Returns a domain in which every variable may take any of the specified semesters, and whose random and close
+     * values are drawn from the specified random number generator, or are the first semester if it is null.
+     *
+     * @param semesters the semesters of the domain.
+     * @param random the random number generator of the random and close values, or null.
+     * @return the domain.
+     */
+    static VariableDomain domainOf(List<Semester> semesters, Random random) {
+        return new VariableDomain() {
+            @Override
+            public SearchVariable getRandomValue(SearchVariable variable) {
+                return semesters.get(random == null ? 0 : random.nextInt(semesters.size()));
+            }
+
+            @Override
+            public SearchVariable getCloseValue(SearchVariable variable) {
+                return getRandomValue(variable);
+            }
+
+            @Override
+            public List<SearchVariable> getValues(SearchVariable variable) {
+                return List.copyOf(semesters);
+            }
+
+            @Override
+            public List<SearchVariable> getAllValues() {
+                return List.copyOf(semesters);
+            }
+
+            @Override
+            public int size() {
+                return semesters.size();
+            }
+
+            @Override
+            public int size(SearchVariable variable) {
+                return semesters.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.capital7software.ai.localsearch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchRegistryTest {
+
+    @Test
+    public void idsShouldBeDenseAndInTheOrderRegistered() {
+        Semester first = new Semester(1);
+        Semester second = new Semester(2);
+        ScheduledCourse ics140 = new ScheduledCourse(new Course("ICS", 140));
+        ScheduledCourse ics141 = new ScheduledCourse(new Course("ICS", 141));
+        SearchRegistry registry = new SearchRegistry(List.of(ics140, ics141, ics140), List.of(second, first));
+
+        assertEquals(2, registry.getNumVariables());
+        assertEquals(2, registry.getNumValues());
+        assertEquals(0, registry.getVariableId(ics140));
+        assertEquals(1, registry.getVariableId(ics141));
+        assertEquals(0, registry.getValueId(second));
+        assertEquals(1, registry.getValueId(first));
+        assertSame(ics141, registry.getVariable(1));
+        assertSame(first, registry.getValue(1));
+    }
+
+    @Test
+    public void idsShouldNotChangeWithTheValueOfAVariable() {
+        Semester first = new Semester(1);
+        Semester second = new Semester(2);
+        ScheduledCourse ics140 = new ScheduledCourse(new Course("ICS", 140), first);
+        SearchRegistry registry = new SearchRegistry(List.of(ics140), List.of(first, second));
+        int hash = ics140.hashCode();
+
+        ics140.setValue(second);
+
+        assertNotEquals(hash, ics140.hashCode());
+        assertEquals(0, registry.getVariableId(ics140));
+    }
+
+    @Test
+    public void variablesShouldBeLookedUpByIdentity() {
+        ScheduledCourse ics140 = new ScheduledCourse(new Course("ICS", 140));
+        ScheduledCourse copy = new ScheduledCourse(new Course("ICS", 140));
+        Semester first = new Semester(1);
+        SearchRegistry registry = new SearchRegistry(List.of(ics140), List.of(first));
+
+        assertEquals(ics140, copy);
+        assertEquals(SearchRegistry.UNKNOWN, registry.getVariableId(copy));
+        assertEquals(SearchRegistry.UNKNOWN, registry.getValueId(new Semester(2)));
+        assertEquals(SearchRegistry.UNKNOWN, registry.getValueId(null));
+    }
+
+    @Test
+    public void valuesEqualToARegisteredValueShouldShareItsId() {
+        Semester first = new Semester(1);
+        Semester second = new Semester(2);
+        SearchRegistry registry = new SearchRegistry(List.of(), List.of(first, second, new Semester(1)));
+
+        // The copy of the first semester is registered as well, but the equal values still get its id.
+        assertEquals(3, registry.getNumValues());
+        assertEquals(0, registry.getValueId(new Semester(1)));
+        assertEquals(1, registry.getValueId(new Semester(2)));
+        assertEquals(2, registry.getValueId(registry.getValue(2)));
+    }
+
+    @Test
+    public void problemShouldRegisterItsCoursesAndSemesters() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        SearchRegistry registry = problem.getRegistry();
+
+        assertEquals(problem.getScheduledCourses().size(), registry.getNumVariables());
+        assertEquals(problem.getSemesters().size(), registry.getNumValues());
+
+        for (int id = 0; id < registry.getNumVariables(); id++) {
+            assertSame(problem.getScheduledCourses().get(id), registry.getVariable(id));
+        }
+    }
+
+    @Test
+    public void nullsShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SearchRegistry(null, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new SearchRegistry(List.of(), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SearchRegistry(Arrays.asList((SearchVariable) null), List.of()));
+    }
+}
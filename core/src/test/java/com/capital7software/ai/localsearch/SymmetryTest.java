@@ -0,0 +1,106 @@
+package com.capital7software.ai.localsearch;
+
+import com.capital7software.ai.localsearch.constraints.CoursesPerSemesterConstraint;
+import com.capital7software.ai.localsearch.constraints.EveryConstraintList;
+import com.capital7software.ai.localsearch.constraints.SemesterRestriction;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.capital7software.ai.localsearch.SearchFixtures.domainOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SymmetryTest {
+
+    private static ScheduledCourse find(LocalSearchProblem problem, int number) {
+        return problem.getScheduledCourses().stream()
+                .filter(course -> course.getCourse().getNumber() == number).findFirst().orElseThrow();
+    }
+
+    @Test
+    public void coursesWithIdenticalConstraintsShouldBeInterchangeable() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        SearchRegistry registry = problem.getRegistry();
+        Symmetry symmetry = new Symmetry(registry, problem.getConstraints(), problem);
+        ScheduledCourse libs998 = find(problem, 998);
+        ScheduledCourse libs999 = find(problem, 999);
+
+        assertTrue(symmetry.isSymmetric());
+        assertTrue(symmetry.getVariableClasses().stream()
+                .anyMatch(group -> group.contains(libs998) && group.contains(libs999)));
+        // The prerequisites depend on the order of the semesters.
+        assertTrue(symmetry.getValueClasses().isEmpty());
+
+        Random random = new Random(89);
+        int[] assignment = new int[registry.getNumVariables()];
+
+        for (int id = 0; id < assignment.length; id++) {
+            assignment[id] = random.nextInt(registry.getNumValues());
+        }
+
+        int first = registry.getVariableId(libs998);
+        int second = registry.getVariableId(libs999);
+
+        assignment[first] = 3;
+        assignment[second] = 1;
+
+        int[] swapped = assignment.clone();
+
+        swapped[first] = 1;
+        swapped[second] = 3;
+
+        int[] canonical = symmetry.canonicalize(assignment);
+
+        assertArrayEquals(canonical, symmetry.canonicalize(swapped));
+        assertEquals(1, canonical[Math.min(first, second)]);
+        assertEquals(3, canonical[Math.max(first, second)]);
+        assertArrayEquals(canonical, symmetry.canonicalize(canonical));
+    }
+
+    @Test
+    public void semestersThatNoConstraintTellsApartShouldBeInterchangeable() {
+        List<Semester> semesters = List.of(new Semester(1), new Semester(2), new Semester(3));
+        ScheduledCourse ics140 = new ScheduledCourse(new Course("ICS", 140), semesters.get(0));
+        ScheduledCourse ics141 = new ScheduledCourse(new Course("ICS", 141), semesters.get(0));
+        ScheduledCourse ics240 = new ScheduledCourse(new Course("ICS", 240), semesters.get(0));
+        List<ScheduledCourse> courses = List.of(ics140, ics141, ics240);
+        EveryConstraintList constraints = new EveryConstraintList();
+        SearchRegistry registry = new SearchRegistry(courses, semesters);
+
+        constraints.add(new CoursesPerSemesterConstraint(1, semesters, courses));
+        constraints.add(new SemesterRestriction(ics240, semesters.get(2)));
+
+        Symmetry symmetry = new Symmetry(registry, constraints, domainOf(semesters));
+
+        assertEquals(List.of(List.of(ics140, ics141)), symmetry.getVariableClasses());
+        assertEquals(List.of(List.of(semesters.get(0), semesters.get(1))), symmetry.getValueClasses());
+
+        // The first two semesters are renamed in the order they appear and the first two courses are sorted.
+        assertArrayEquals(new int[]{0, 1, 2}, symmetry.canonicalize(new int[]{1, 0, 2}));
+        assertArrayEquals(new int[]{0, 0, 2}, symmetry.canonicalize(new int[]{1, 1, 2}));
+        assertArrayEquals(new int[]{0, 2, 1}, symmetry.canonicalize(new int[]{2, 1, 0}));
+    }
+
+    @Test
+    public void searchShouldReturnCanonicalSolutions() {
+        for (long seed = 97; seed < 100; seed++) {
+            LocalSearchProblem problem = new LocalSearchProblem();
+            LocalSearch ls = new LocalSearch(problem.getVariables(), problem, problem.getConstraints());
+            SearchRegistry registry = problem.getRegistry();
+
+            problem.setSeed(seed);
+            ls.setSeed(seed);
+            ls.setBreakSymmetries(true);
+
+            Map<Object, SearchVariable> solution = ls.search(0);
+
+            assertNotNull(solution);
+            assertTrue(ls.isBreakSymmetries());
+            assertTrue(problem.getConstraints().isSatisfied());
+            assertTrue(registry.getValueId(find(problem, 998).getSemester())
+                    <= registry.getValueId(find(problem, 999).getSemester()));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.capital7software.ai.localsearch.cache;
+
+import com.capital7software.ai.localsearch.LocalSearchProblem;
+import com.capital7software.ai.localsearch.io.ProblemDefinition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProblemFingerprintTest {
+    static final String DEFINITION = """
+            {
+              "name": "small",
+              "semesters": [ { "id": 1, "name": "Summer", "summer": true }, { "id": 2 }, { "id": 3 } ],
+              "courses": [ "MATH 120", "ICS 140", "ICS 141", "ICS 492" ],
+              "constraints": [
+                { "type": "concurrentPrerequisite", "course": "ICS 140", "prerequisite": "MATH 120" },
+                { "type": "prerequisite", "course": "ICS 141", "prerequisite": "ICS 140" },
+                { "type": "any", "constraints": [
+                  { "type": "restriction", "course": "ICS 492", "semester": 1 }
+                ] },
+                { "type": "coursesPerSemester", "max": 2 }
+              ]
+            }
+            """;
+
+    static final String REORDERED = """
+            {
+              "name": "reordered",
+              "semesters": [ { "id": 3 }, { "id": 2, "name": "Autumn" }, { "id": 1, "summer": true } ],
+              "courses": [ "ICS 492", "ICS 141", "MATH 120", "ICS 140" ],
+              "constraints": [
+                { "type": "coursesPerSemester", "max": 2 },
+                { "type": "any", "constraints": [
+                  { "type": "restriction", "course": "ICS 492", "semester": 1 },
+                  { "type": "restriction", "course": "ICS 492", "semester": 1 }
+                ] },
+                { "type": "every", "constraints": [
+                  { "type": "prerequisite", "course": "ICS 141", "prerequisite": "ICS 140" },
+                  { "type": "concurrentPrerequisite", "course": "ICS 140", "prerequisite": "MATH 120" }
+                ] }
+              ]
+            }
+            """;
+
+    private static String fingerprint(String definition) {
+        return ProblemFingerprint.of(ProblemDefinition.parse(definition).createProblem());
+    }
+
+    @Test
+    public void fingerprintShouldNotDependOnOrder() {
+        assertEquals(fingerprint(DEFINITION), fingerprint(REORDERED));
+        assertEquals(64, fingerprint(DEFINITION).length());
+    }
+
+    @Test
+    public void fingerprintShouldDependOnTheConstraints() {
+        String fingerprint = fingerprint(DEFINITION);
+
+        assertNotEquals(fingerprint, fingerprint(DEFINITION.replace("\"max\": 2", "\"max\": 3")));
+        assertNotEquals(fingerprint, fingerprint(DEFINITION.replace("\"any\"", "\"none\"")));
+        assertNotEquals(fingerprint, fingerprint(DEFINITION.replace("\"concurrentPrerequisite\"",
+                "\"prerequisite\"")));
+        assertNotEquals(fingerprint, fingerprint(DEFINITION.replace("\"restriction\"", "\"exclusion\"")));
+        assertNotEquals(fingerprint, fingerprint(DEFINITION.replace("\"summer\": true", "\"summer\": false")));
+    }
+
+    @Test
+    public void fingerprintShouldNotDependOnTheValues() {
+        LocalSearchProblem problem = ProblemDefinition.parse(DEFINITION).createProblem();
+        String before = ProblemFingerprint.of(problem);
+
+        problem.getScheduledCourses().get(0).setValue(problem.getSemester(2));
+
+        assertEquals(before, ProblemFingerprint.of(problem));
+    }
+
+    @Test
+    public void builtInProblemsShouldHaveTheSameFingerprint() {
+        LocalSearchProblem compiled = new LocalSearchProblem();
+        compiled.compileConstraints();
+
+        assertEquals(ProblemFingerprint.of(new LocalSearchProblem()), ProblemFingerprint.of(new LocalSearchProblem()));
+        assertEquals(ProblemFingerprint.of(new LocalSearchProblem()), ProblemFingerprint.of(compiled));
+        assertThrows(IllegalArgumentException.class, () -> ProblemFingerprint.of(null));
+    }
+}
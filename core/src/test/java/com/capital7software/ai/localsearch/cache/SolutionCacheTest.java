@@ -0,0 +1,116 @@
+package com.capital7software.ai.localsearch.cache;
+
+import com.capital7software.ai.localsearch.LocalSearch;
+import com.capital7software.ai.localsearch.LocalSearchProblem;
+import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.SearchVariable;
+import com.capital7software.ai.localsearch.io.ProblemDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolutionCacheTest {
+    private static Map<Object, SearchVariable> solve(SolutionCache cache, LocalSearchProblem problem) {
+        LocalSearch ls = new LocalSearch(problem.getVariables(), problem, problem.getConstraints());
+        ls.setSeed(11);
+
+        return cache.search(problem, ls, 0, null);
+    }
+
+    @Test
+    public void solvedProblemShouldBeServedFromMemory() {
+        SolutionCache cache = new SolutionCache();
+        Map<Object, SearchVariable> solution = solve(cache, new LocalSearchProblem());
+
+        assertNotNull(solution);
+        assertEquals(1, cache.getMisses());
+
+        LocalSearchProblem problem = new LocalSearchProblem();
+        Map<Object, SearchVariable> cached = cache.get(problem);
+
+        assertNotNull(cached);
+        assertEquals(1, cache.getHits());
+        assertTrue(problem.getConstraints().isSatisfied());
+        assertEquals(solution.size(), cached.size());
+
+        for (Object key : solution.keySet()) {
+            assertEquals(solution.get(key).getValue(), cached.get(key).getValue());
+        }
+    }
+
+    @Test
+    public void leastRecentlyUsedSolutionShouldBeEvicted() {
+        SolutionCache cache = new SolutionCache(1);
+        String other = ProblemFingerprintTest.DEFINITION;
+
+        solve(cache, new LocalSearchProblem());
+        solve(cache, ProblemDefinition.parse(other).createProblem());
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get(new LocalSearchProblem()));
+        assertNotNull(cache.get(ProblemDefinition.parse(ProblemFingerprintTest.REORDERED).createProblem()));
+    }
+
+    @Test
+    public void solutionsShouldSurviveARestart() throws IOException {
+        Path directory = Files.createTempDirectory("solution-cache");
+
+        solve(new SolutionCache(4, directory), new LocalSearchProblem());
+
+        SolutionCache restarted = new SolutionCache(4, directory);
+
+        assertNotNull(restarted.get(new LocalSearchProblem()));
+        assertEquals(1, restarted.size());
+
+        restarted.clear();
+
+        assertNull(new SolutionCache(4, directory).get(new LocalSearchProblem()));
+    }
+
+    @Test
+    public void invalidSolutionShouldNotBeServed() throws IOException {
+        Path directory = Files.createTempDirectory("solution-cache");
+        SolutionCache cache = new SolutionCache(4, directory);
+        LocalSearchProblem problem = new LocalSearchProblem();
+        Map<Object, SearchVariable> solution = solve(cache, problem);
+
+        // Put every course in the first semester, which breaks the prerequisites.
+        for (SearchVariable variable : solution.values()) {
+            ((ScheduledCourse) variable).setSemester(problem.getSemester(1));
+        }
+
+        cache.put(problem, solution);
+
+        LocalSearchProblem another = new LocalSearchProblem();
+
+        assertNull(cache.get(another));
+        assertEquals(1, cache.getInvalidated());
+        assertEquals(0, cache.size());
+        assertFalse(another.getScheduledCourses().get(0).isScheduled());
+        assertNull(new SolutionCache(4, directory).get(new LocalSearchProblem()));
+    }
+
+    @Test
+    public void corruptFileShouldBeAMiss() throws IOException {
+        Path directory = Files.createTempDirectory("solution-cache");
+        LocalSearchProblem problem = new LocalSearchProblem();
+
+        Files.writeString(directory.resolve(ProblemFingerprint.of(problem) + ".json"), "{ not json");
+
+        assertNull(new SolutionCache(4, directory).get(problem));
+        assertThrows(IllegalArgumentException.class, () -> new SolutionCache(0));
+    }
+
+    @Test
+    public void directoryThatCannotBeCreatedShouldBeAnIoError() throws IOException {
+        Path file = Files.createTempFile("solution-cache", ".json");
+
+        assertThrows(UncheckedIOException.class, () -> new SolutionCache(4, file.resolve("solutions")));
+    }
+}
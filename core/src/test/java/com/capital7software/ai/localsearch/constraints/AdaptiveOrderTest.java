@@ -0,0 +1,166 @@
+package com.capital7software.ai.localsearch.constraints;
+
+import com.capital7software.ai.localsearch.Course;
+import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.Semester;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveOrderTest {
+    private static final Semester FIRST = new Semester(1);
+    private static final Semester SECOND = new Semester(2);
+
+    private static long evaluations(ConstraintProfiler profiler) {
+        long answer = 0;
+
+        for (ConstraintStatistics stats : profiler.getStatisticsByConstraint()) {
+            answer += stats.getEvaluations();
+        }
+
+        return answer;
+    }
+
+    private static List<Constraint> restrictions(int satisfied, Semester semester) {
+        List<Constraint> answer = new ArrayList<>();
+
+        for (int i = 0; i < satisfied; i++) {
+            answer.add(new SemesterRestriction(new ScheduledCourse(new Course("ICS", 100 + i), FIRST), FIRST));
+        }
+
+        answer.add(new SemesterRestriction(new ScheduledCourse(new Course("ICS", 499), FIRST), semester));
+
+        return answer;
+    }
+
+    @Test
+    public void decidingConstraintOfAnEveryListShouldBeCheckedFirst() {
+        EveryConstraintList list = new EveryConstraintList(restrictions(5, SECOND));
+        Constraint violated = list.getConstraints().get(5);
+        ConstraintProfiler profiler = new ConstraintProfiler();
+
+        list.setAdaptive(true);
+        profiler.attach(list);
+
+        for (int i = 0; i < AdaptiveOrder.REORDER_INTERVAL; i++) {
+            assertTrue(list.hasConflict());
+        }
+
+        assertSame(violated, list.getEvaluationOrder().get(0));
+        assertSame(list.getConstraints().get(0), list.getRealConstraints().get(0));
+
+        profiler.reset();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(list.hasConflict());
+        }
+
+        assertEquals(100, evaluations(profiler));
+    }
+
+    @Test
+    public void decidingConstraintOfAnAnyListShouldBeCheckedFirst() {
+        List<Constraint> constraints = restrictions(5, FIRST);
+
+        // Only the last restriction is satisfied.
+        for (int i = 0; i < 5; i++) {
+            ScheduledCourse course = ((SemesterRestriction) constraints.get(i)).getCourse();
+
+            constraints.set(i, new SemesterRestriction(course, SECOND));
+        }
+
+        AnyConstraintList list = new AnyConstraintList();
+        ConstraintProfiler profiler = new ConstraintProfiler();
+
+        list.addAll(constraints);
+        list.setAdaptive(true);
+        profiler.attach(list);
+
+        for (int i = 0; i < AdaptiveOrder.REORDER_INTERVAL; i++) {
+            assertFalse(list.hasConflict());
+        }
+
+        profiler.reset();
+
+        for (int i = 0; i < 100; i++) {
+            assertFalse(list.hasConflict());
+        }
+
+        assertEquals(100, evaluations(profiler));
+    }
+
+    @Test
+    public void adaptiveListsShouldAgreeWithListsInInsertionOrder() {
+        Random random = new Random(7);
+        List<ScheduledCourse> courses = new ArrayList<>();
+
+        for (int i = 0; i < 6; i++) {
+            courses.add(new ScheduledCourse(new Course("ICS", 140 + i), FIRST));
+        }
+
+        List<ConstraintList> adaptive = new ArrayList<>();
+        List<ConstraintList> plain = new ArrayList<>();
+
+        for (int type = 0; type < 3; type++) {
+            for (boolean isAdaptive : new boolean[] {true, false}) {
+                AbstractConstraintList list = type == 0 ? new EveryConstraintList()
+                        : type == 1 ? new AnyConstraintList() : new NoneConstraintList();
+
+                for (int i = 0; i < courses.size(); i++) {
+                    list.add(new SemesterRestriction(courses.get(i), i % 2 == 0 ? FIRST : SECOND));
+                }
+
+                list.setAdaptive(isAdaptive);
+                (isAdaptive ? adaptive : plain).add(list);
+            }
+        }
+
+        for (int i = 0; i < 5 * AdaptiveOrder.REORDER_INTERVAL; i++) {
+            ScheduledCourse course = courses.get(random.nextInt(courses.size()));
+
+            course.setSemester(random.nextBoolean() ? FIRST : SECOND);
+
+            for (int type = 0; type < 3; type++) {
+                assertEquals(plain.get(type).hasConflict(), adaptive.get(type).hasConflict());
+                assertEquals(plain.get(type).getNumberOfConflicts(), adaptive.get(type).getNumberOfConflicts());
+                assertEquals(plain.get(type).getConflicts().getConflicts(),
+                        adaptive.get(type).getConflicts().getConflicts());
+            }
+        }
+    }
+
+    @Test
+    public void changingTheListShouldResetTheOrder() {
+        EveryConstraintList list = new EveryConstraintList(restrictions(2, SECOND));
+        EveryConstraintList nested = new EveryConstraintList();
+
+        assertFalse(list.isAdaptive());
+        assertEquals(list.getConstraints(), list.getEvaluationOrder());
+
+        list.add(nested);
+        list.setAdaptive(true);
+
+        assertTrue(list.isAdaptive());
+        assertTrue(nested.isAdaptive());
+
+        for (int i = 0; i < AdaptiveOrder.REORDER_INTERVAL; i++) {
+            list.hasConflict();
+        }
+
+        assertNotEquals(list.getConstraints(), list.getEvaluationOrder());
+
+        list.add(new SemesterRestriction(new ScheduledCourse(new Course("ICS", 140), FIRST), FIRST));
+
+        assertEquals(list.getConstraints(), list.getEvaluationOrder());
+        assertTrue(list.hasConflict());
+
+        list.clear();
+
+        assertFalse(list.hasConflict());
+        assertTrue(list.getEvaluationOrder().isEmpty());
+    }
+}
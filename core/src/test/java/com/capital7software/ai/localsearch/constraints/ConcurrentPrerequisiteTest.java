@@ -144,4 +144,14 @@ public class ConcurrentPrerequisiteTest {
         assertEquals(prerequisiteA.hashCode(), prerequisiteB.hashCode());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void violationDegreeShouldBeTheNumberOfSemestersThePrerequisiteIsOffBy() {
+        Semester fifth = new Semester(5, "Autumn");
+
+        assertEquals(0.0, new ConcurrentPrerequisite(ICS_140_SUMMER, MATH_120_SUMMER).violationDegree(), 0.0);
+        assertEquals(1.0, new ConcurrentPrerequisite(ICS_140_SUMMER, MATH_120_AUTUMN).violationDegree(), 0.0);
+        assertEquals(4.0, new ConcurrentPrerequisite(ICS_140_SUMMER, new ScheduledCourse(MATH_120, fifth))
+                .violationDegree(), 0.0);
+        assertEquals(1.0, new ConcurrentPrerequisite(ICS_140_UNSCHEDULED, MATH_120_SUMMER).violationDegree(), 0.0);
+    }
+}
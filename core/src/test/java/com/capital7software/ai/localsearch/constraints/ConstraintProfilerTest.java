@@ -0,0 +1,139 @@
+package com.capital7software.ai.localsearch.constraints;
+
+import com.capital7software.ai.localsearch.Course;
+import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.Semester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConstraintProfilerTest {
+    private static final String ICS_DEPARTMENT = "ICS";
+
+    private ScheduledCourse ics140;
+    private ScheduledCourse ics141;
+    private ScheduledCourse ics240;
+    private Semester first;
+    private Semester second;
+    private ConstraintList constraintList;
+    private ConstraintList nestedList;
+
+    @BeforeEach
+    public void setupTestHarness() {
+        first = new Semester(1, "Summer", true);
+        second = new Semester(2, "Autumn");
+
+        ics140 = new ScheduledCourse(new Course(ICS_DEPARTMENT, 140), first);
+        ics141 = new ScheduledCourse(new Course(ICS_DEPARTMENT, 141), second);
+        ics240 = new ScheduledCourse(new Course(ICS_DEPARTMENT, 240), first);
+
+        nestedList = new AnyConstraintList();
+        nestedList.add(new SemesterRestriction(ics240, second));
+        nestedList.add(new SemesterRestriction(ics240, first));
+
+        constraintList = new EveryConstraintList();
+        constraintList.add(new Prerequisite(ics141, ics140));
+        constraintList.add(new Prerequisite(ics240, ics141));
+        constraintList.add(nestedList);
+    }
+
+    @Test
+    public void attachedProfilerShouldCountEveryEvaluation() {
+        ConstraintProfiler profiler = new ConstraintProfiler();
+        profiler.attach(constraintList);
+
+        assertFalse(constraintList.isSatisfied());
+        constraintList.getNumberOfConflicts();
+
+        List<ConstraintStatistics> byConstraint = profiler.getStatisticsByConstraint();
+
+        // 2 prerequisites, the nested list and the 2 restrictions inside of it.
+        assertEquals(5, byConstraint.size());
+
+        long evaluations = 0;
+        long violations = 0;
+
+        for (ConstraintStatistics stats : byConstraint) {
+            evaluations += stats.getEvaluations();
+            violations += stats.getViolations();
+        }
+
+        // isSatisfied stops at the second prerequisite, getNumberOfConflicts evaluates all three children and the
+        // nested list evaluates both of its restrictions.
+        assertEquals(2 + 3 + 2, evaluations);
+        assertEquals(1 + 1 + 1, violations);
+    }
+
+    @Test
+    public void statisticsByTypeShouldAggregateInstances() {
+        ConstraintProfiler profiler = new ConstraintProfiler();
+        profiler.attach(constraintList);
+
+        constraintList.getNumberOfConflicts();
+
+        List<ConstraintStatistics> byType = profiler.getStatisticsByType();
+
+        assertEquals(3, byType.size());
+
+        for (ConstraintStatistics stats : byType) {
+            if (stats.getName().equals("Prerequisite")) {
+                assertEquals(2, stats.getEvaluations());
+                assertEquals(1, stats.getViolations());
+                assertEquals(0.5, stats.getViolationRate(), 0.0001);
+            } else if (stats.getName().equals("SemesterRestriction")) {
+                assertEquals(2, stats.getEvaluations());
+            } else {
+                assertEquals("AnyConstraintList", stats.getName());
+                assertEquals(1, stats.getEvaluations());
+                assertEquals(0, stats.getViolations());
+            }
+        }
+    }
+
+    @Test
+    public void detachedProfilerShouldNotCountEvaluations() {
+        ConstraintProfiler profiler = new ConstraintProfiler();
+        profiler.attach(constraintList);
+        profiler.detach(constraintList);
+
+        constraintList.getNumberOfConflicts();
+
+        assertTrue(profiler.getStatisticsByConstraint().isEmpty());
+    }
+
+    @Test
+    public void resetShouldDiscardStatistics() {
+        ConstraintProfiler profiler = new ConstraintProfiler();
+        profiler.attach(constraintList);
+
+        constraintList.getNumberOfConflicts();
+        profiler.reset();
+
+        assertTrue(profiler.getStatisticsByType().isEmpty());
+    }
+
+    @Test
+    public void reportShouldListTypesAndConstraints() {
+        ConstraintProfiler profiler = new ConstraintProfiler();
+        profiler.attach(constraintList);
+
+        constraintList.getNumberOfConflicts();
+
+        String report = profiler.getReport();
+
+        assertTrue(report.contains("By type:"));
+        assertTrue(report.contains("By constraint:"));
+        assertTrue(report.contains("Prerequisite ICS 240 requires ICS 141"));
+        assertTrue(report.contains("SemesterRestriction ICS 240 semester 1"));
+    }
+
+    @Test
+    public void attachWithNullShouldThrow() {
+        ConstraintProfiler profiler = new ConstraintProfiler();
+
+        assertThrows(IllegalArgumentException.class, () -> profiler.attach(null));
+    }
+}
@@ -0,0 +1,157 @@
+package com.capital7software.ai.localsearch.constraints;
+
+import com.capital7software.ai.localsearch.Course;
+import com.capital7software.ai.localsearch.LocalSearchProblem;
+import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.Semester;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConstraintProgramTest {
+    private static final List<Semester> SEMESTERS = List.of(new Semester(1), new Semester(2), new Semester(3));
+
+    private static List<ScheduledCourse> courses(int count) {
+        List<ScheduledCourse> answer = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            answer.add(new ScheduledCourse(new Course("ICS", 100 + i), SEMESTERS.get(0)));
+        }
+
+        return answer;
+    }
+
+    private static Constraint randomTree(Random random, List<ScheduledCourse> courses, int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            ScheduledCourse course = courses.get(random.nextInt(courses.size()));
+            ScheduledCourse other = courses.get(random.nextInt(courses.size()));
+
+            return switch (random.nextInt(4)) {
+                case 0 -> course == other ? new SemesterRestriction(course, SEMESTERS.get(1))
+                        : new Prerequisite(course, other);
+                case 1 -> course == other ? new SemesterExclusion(course, SEMESTERS.get(2))
+                        : new ConcurrentPrerequisite(course, other);
+                case 2 -> new SemesterRestriction(course, SEMESTERS.get(random.nextInt(SEMESTERS.size())));
+                default -> new SemesterExclusion(course, SEMESTERS.get(random.nextInt(SEMESTERS.size())));
+            };
+        }
+
+        AbstractConstraintList list = switch (random.nextInt(3)) {
+            case 0 -> new EveryConstraintList();
+            case 1 -> new AnyConstraintList();
+            default -> new NoneConstraintList();
+        };
+        int size = random.nextInt(4);
+
+        for (int i = 0; i < size; i++) {
+            list.add(randomTree(random, courses, depth - 1));
+        }
+
+        return list;
+    }
+
+    @Test
+    public void programsShouldAgreeWithTheirTrees() {
+        Random random = new Random(11);
+        List<ScheduledCourse> courses = courses(4);
+
+        for (int tree = 0; tree < 200; tree++) {
+            Constraint root = randomTree(random, courses, 4);
+            ConstraintProgram program = ConstraintProgram.compile(root);
+
+            for (int assignment = 0; assignment < 20; assignment++) {
+                for (ScheduledCourse course : courses) {
+                    course.setSemester(SEMESTERS.get(random.nextInt(SEMESTERS.size())));
+                }
+
+                assertEquals(root.isSatisfied(), program.isSatisfied(), "tree " + tree + ": " + root);
+            }
+        }
+    }
+
+    @Test
+    public void treesShouldBeFlattenedAndDeduplicated() {
+        List<ScheduledCourse> courses = courses(3);
+        Prerequisite prerequisite = new Prerequisite(courses.get(1), courses.get(0));
+        EveryConstraintList root = new EveryConstraintList();
+        EveryConstraintList nested = new EveryConstraintList();
+        NoneConstraintList none = new NoneConstraintList();
+
+        nested.add(prerequisite);
+        nested.add(new Prerequisite(courses.get(2), courses.get(1)));
+        none.add(new SemesterRestriction(courses.get(0), SEMESTERS.get(2)));
+        root.add(prerequisite);
+        root.add(nested);
+        root.add(none);
+        root.add(new AnyConstraintList());
+        // A different instance of the same prerequisite is a duplicate as well.
+        root.add(new EveryConstraintList(List.of(new Prerequisite(courses.get(1), courses.get(0)))));
+
+        ConstraintProgram program = ConstraintProgram.compile(root);
+
+        assertEquals(3, program.size());
+        assertSame(prerequisite, program.getInstructions().get(0));
+        assertTrue(program.getInstructions().get(2) instanceof SemesterRestriction);
+
+        courses.get(1).setSemester(SEMESTERS.get(1));
+        courses.get(2).setSemester(SEMESTERS.get(2));
+
+        assertTrue(program.isSatisfied());
+
+        courses.get(0).setSemester(SEMESTERS.get(2));
+
+        assertFalse(program.isSatisfied());
+        assertEquals(root.isSatisfied(), program.isSatisfied());
+    }
+
+    @Test
+    public void emptyListsShouldBeConstants() {
+        assertTrue(ConstraintProgram.compile(new AnyConstraintList()).isSatisfied());
+        assertTrue(ConstraintProgram.compile(new NoneConstraintList()).isSatisfied());
+        assertEquals(0, ConstraintProgram.compile(new EveryConstraintList()).size());
+
+        NoneConstraintList none = new NoneConstraintList();
+
+        none.add(new EveryConstraintList());
+
+        assertFalse(none.isSatisfied());
+        assertFalse(ConstraintProgram.compile(none).isSatisfied());
+    }
+
+    @Test
+    public void changedListsShouldBeCompiledAgain() {
+        List<ScheduledCourse> courses = courses(2);
+        EveryConstraintList root = new EveryConstraintList();
+        AnyConstraintList nested = new AnyConstraintList();
+
+        root.add(nested);
+
+        ConstraintProgram program = ConstraintProgram.compile(root);
+
+        assertTrue(program.isSatisfied());
+
+        nested.add(new SemesterRestriction(courses.get(0), SEMESTERS.get(1)));
+
+        assertFalse(program.isSatisfied());
+        assertEquals(1, program.size());
+        assertThrows(IllegalArgumentException.class, () -> ConstraintProgram.compile(null));
+    }
+
+    @Test
+    public void problemShouldBeCheckedWithItsProgram() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+
+        problem.compileConstraints();
+
+        for (ScheduledCourse course : problem.getScheduledCourses()) {
+            course.setSemester(problem.getSemesters().get(0));
+        }
+
+        assertFalse(problem.isSatisfied());
+        assertEquals(problem.getConstraints().isSatisfied(), problem.isSatisfied());
+    }
+}
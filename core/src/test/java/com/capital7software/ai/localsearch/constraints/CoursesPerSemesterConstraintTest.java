@@ -7,6 +7,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.ref.WeakReference;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
@@ -367,4 +368,143 @@ public class CoursesPerSemesterConstraintTest {
 
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void countsShouldFollowTheCoursesAsTheyMove() {
+        for (int i = 0; i < 500; i++) {
+            ScheduledCourse course = scheduledCourseMap.get(courseList.get(RAND.nextInt(courseList.size())));
+
+            if (RAND.nextInt(10) == 0) {
+                course.clearValue();
+            } else {
+                course.setValue(getRamdomSemester());
+            }
+
+            Map<Semester, Integer> counts = new HashMap<>();
+
+            for (ScheduledCourse scheduledCourse : scheduledCourseMap.values()) {
+                if (scheduledCourse.isScheduled()) {
+                    counts.merge(scheduledCourse.getSemester(), 1, Integer::sum);
+                }
+            }
+
+            Set<ScheduledCourse> expected = new HashSet<>();
+
+            for (ScheduledCourse scheduledCourse : scheduledCourseMap.values()) {
+                if (scheduledCourse.isScheduled() && counts.get(scheduledCourse.getSemester()) > COURSES_PER_SEMESTER) {
+                    expected.add(scheduledCourse);
+                }
+            }
+
+            List<ScheduledCourse> conflicts = coursesPerSemesterConstraint.getConflicts();
+
+            assertEquals(expected.isEmpty(), coursesPerSemesterConstraint.isSatisfied());
+            assertEquals(expected.size(), conflicts.size());
+            assertEquals(expected, new HashSet<>(conflicts));
+        }
+    }
+
+    @Test
+    public void violationDegreeShouldBeTheNumberOfCoursesOverCapacity() {
+        for (int i = 0; i < 500; i++) {
+            ScheduledCourse course = scheduledCourseMap.get(courseList.get(RAND.nextInt(courseList.size())));
+
+            if (RAND.nextInt(10) == 0) {
+                course.clearValue();
+            } else {
+                course.setValue(getRamdomSemester());
+            }
+
+            Map<Semester, Integer> counts = new HashMap<>();
+
+            for (ScheduledCourse scheduledCourse : scheduledCourseMap.values()) {
+                if (scheduledCourse.isScheduled()) {
+                    counts.merge(scheduledCourse.getSemester(), 1, Integer::sum);
+                }
+            }
+
+            int expected = 0;
+
+            for (Semester semester : semesterList) {
+                int excess = Math.max(0, counts.getOrDefault(semester, 0) - COURSES_PER_SEMESTER);
+
+                assertEquals(excess, coursesPerSemesterConstraint.getExcess(semester));
+                expected += excess;
+            }
+
+            assertEquals(expected, coursesPerSemesterConstraint.violationDegree(), 0.0);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> coursesPerSemesterConstraint.getExcess(null));
+    }
+
+    @Test
+    public void cloneShouldKeepItsOwnCounts() {
+        scheduleCourses();
+
+        CoursesPerSemesterConstraint clone = coursesPerSemesterConstraint.clone();
+
+        for (ScheduledCourse course : scheduledCourseMap.values()) {
+            course.setSemester(getSemester(1));
+        }
+
+        assertFalse(coursesPerSemesterConstraint.isSatisfied());
+        assertFalse(clone.isSatisfied());
+        assertEquals(scheduledCourseMap.size(), clone.getConflicts().size());
+    }
+
+    @Test
+    public void detachedConstraintsShouldStillFollowTheCourses() {
+        scheduleCourses();
+
+        CoursesPerSemesterConstraint clone = coursesPerSemesterConstraint.clone();
+
+        clone.detach();
+        clone.detach();
+        assertEquals(coursesPerSemesterConstraint.isSatisfied(), clone.isSatisfied());
+
+        for (ScheduledCourse course : scheduledCourseMap.values()) {
+            course.setSemester(getSemester(1));
+        }
+
+        assertFalse(coursesPerSemesterConstraint.isSatisfied());
+        assertFalse(clone.isSatisfied());
+        assertEquals(scheduledCourseMap.size(), clone.getConflicts().size());
+        assertEquals(coursesPerSemesterConstraint.violationDegree(), clone.violationDegree());
+        assertEquals(coursesPerSemesterConstraint.getExcess(getSemester(1)), clone.getExcess(getSemester(1)));
+
+        // A clone of a detached constraint listens to the courses again.
+        CoursesPerSemesterConstraint attached = clone.clone();
+
+        scheduleCourses();
+        assertEquals(coursesPerSemesterConstraint.isSatisfied(), attached.isSatisfied());
+        assertEquals(coursesPerSemesterConstraint.getConflicts().size(), attached.getConflicts().size());
+    }
+
+    @Test
+    public void coursesShouldNotKeepTheirConstraintsReachable() throws InterruptedException {
+        List<ScheduledCourse> courses = List.of(new ScheduledCourse(new Course("ICS", 140), getSemester(1)),
+                new ScheduledCourse(new Course("ICS", 141), getSemester(1)));
+        WeakReference<CoursesPerSemesterConstraint> reference =
+                new WeakReference<>(new CoursesPerSemesterConstraint(1, semesterList, courses));
+
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(reference.get());
+
+        // The listeners of the collected constraint remove themselves, and the other listeners are still notified.
+        CoursesPerSemesterConstraint constraint = new CoursesPerSemesterConstraint(1, semesterList, courses);
+
+        courses.get(0).setSemester(getSemester(2));
+        courses.get(1).setSemester(getSemester(2));
+
+        assertFalse(constraint.isSatisfied());
+
+        courses.get(1).setSemester(getSemester(3));
+
+        assertTrue(constraint.isSatisfied());
+    }
+}
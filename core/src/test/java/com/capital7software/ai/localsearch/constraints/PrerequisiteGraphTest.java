@@ -0,0 +1,181 @@
+package com.capital7software.ai.localsearch.constraints;
+
+import com.capital7software.ai.localsearch.Course;
+import com.capital7software.ai.localsearch.LocalSearch;
+import com.capital7software.ai.localsearch.LocalSearchProblem;
+import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.Semester;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrerequisiteGraphTest {
+    private static final List<Semester> SEMESTERS = List.of(new Semester(3), new Semester(1), new Semester(2),
+            new Semester(4));
+
+    private static ScheduledCourse course(int number) {
+        return new ScheduledCourse(new Course("ICS", number));
+    }
+
+    @Test
+    public void boundsShouldFollowTheLongestChains() {
+        ScheduledCourse ics120 = course(120);
+        ScheduledCourse ics140 = course(140);
+        ScheduledCourse ics141 = course(141);
+        ScheduledCourse ics240 = course(240);
+        ScheduledCourse ics999 = course(999);
+        PrerequisiteGraph graph = new PrerequisiteGraph(List.of(
+                new Prerequisite(ics240, ics141),
+                new Prerequisite(ics141, ics140),
+                new ConcurrentPrerequisite(ics140, ics120)), SEMESTERS);
+
+        assertTrue(graph.isAcyclic());
+        assertEquals(List.of(ics120, ics140, ics141, ics240), graph.getTopologicalOrder());
+        assertEquals(0, graph.getEarliestSemester(ics120));
+        assertEquals(1, graph.getLatestSemester(ics120));
+        assertEquals(0, graph.getEarliestSemester(ics140));
+        assertEquals(1, graph.getLatestSemester(ics140));
+        assertEquals(2, graph.getEarliestSemester(ics240));
+        assertEquals(3, graph.getLatestSemester(ics240));
+        assertEquals(0, graph.getEarliestSemester(ics999));
+        assertEquals(3, graph.getLatestSemester(ics999));
+        assertEquals(1, graph.getSemester(0).getId());
+        assertEquals(4, graph.getNumSemesters());
+    }
+
+    @Test
+    public void cyclesShouldLeaveTheBoundsOpen() {
+        ScheduledCourse ics140 = course(140);
+        ScheduledCourse ics141 = course(141);
+        PrerequisiteGraph graph = new PrerequisiteGraph(List.of(new Prerequisite(ics141, ics140),
+                new Prerequisite(ics140, ics141)), SEMESTERS);
+
+        assertFalse(graph.isAcyclic());
+        assertNull(graph.getTopologicalOrder());
+        assertEquals(0, graph.getEarliestSemester(ics141));
+        assertEquals(3, graph.getLatestSemester(ics141));
+    }
+
+    @Test
+    public void graphShouldAgreeWithItsPrerequisites() {
+        Random random = new Random(5);
+        List<ScheduledCourse> courses = new ArrayList<>();
+        List<Prerequisite> prerequisites = new ArrayList<>();
+
+        for (int i = 0; i < 12; i++) {
+            courses.add(course(100 + i));
+        }
+
+        for (int i = 0; i < 30; i++) {
+            ScheduledCourse a = courses.get(random.nextInt(courses.size()));
+            ScheduledCourse b = courses.get(random.nextInt(courses.size()));
+
+            if (a != b) {
+                prerequisites.add(random.nextBoolean() ? new Prerequisite(a, b) : new ConcurrentPrerequisite(a, b));
+            }
+        }
+
+        PrerequisiteGraph graph = new PrerequisiteGraph(prerequisites, SEMESTERS);
+
+        for (int i = 0; i < 500; i++) {
+            ScheduledCourse course = courses.get(random.nextInt(courses.size()));
+
+            if (random.nextInt(8) == 0) {
+                course.clearValue();
+            } else {
+                course.setValue(SEMESTERS.get(random.nextInt(SEMESTERS.size())));
+            }
+
+            int violated = 0;
+
+            for (Prerequisite prerequisite : prerequisites) {
+                if (!prerequisite.isSatisfied()) {
+                    violated++;
+                }
+            }
+
+            assertEquals(violated, graph.getNumberOfConflicts());
+            assertEquals(violated, graph.getConflicts().getNumberOfConflicts());
+            assertEquals(violated == 0, graph.isSatisfied());
+        }
+    }
+
+    @Test
+    public void violationsShouldMarkTheViolatedPrerequisites() {
+        ScheduledCourse ics140 = course(140);
+        ScheduledCourse ics141 = course(141);
+        ScheduledCourse ics240 = course(240);
+        PrerequisiteGraph graph = new PrerequisiteGraph(List.of(new Prerequisite(ics141, ics140),
+                new ConcurrentPrerequisite(ics240, ics141)), SEMESTERS);
+        long[] violations = {-1L};
+
+        ics140.setValue(SEMESTERS.get(1));
+        ics141.setValue(SEMESTERS.get(1));
+        ics240.setValue(SEMESTERS.get(1));
+
+        assertEquals(1, graph.getViolations(violations));
+        assertEquals(2, graph.getNumPrerequisites());
+
+        for (int i = 0; i < graph.getNumPrerequisites(); i++) {
+            assertEquals(!graph.getPrerequisite(i).isSatisfied(), (violations[0] & 1L << i) != 0);
+        }
+
+        graph.clear();
+
+        assertEquals(0, graph.getViolations(violations));
+        assertEquals(0L, violations[0]);
+        assertThrows(IllegalArgumentException.class, () -> graph.getViolations(new long[0]));
+    }
+
+    @Test
+    public void graphShouldNotBeChangedOnceCompiled() {
+        ScheduledCourse ics140 = course(140);
+        ScheduledCourse ics141 = course(141);
+        PrerequisiteGraph graph = new PrerequisiteGraph(List.of(new Prerequisite(ics141, ics140)), SEMESTERS);
+
+        assertThrows(UnsupportedOperationException.class, () -> graph.add(new Prerequisite(ics140, ics141)));
+        assertFalse(graph.isSatisfied());
+
+        graph.clear();
+
+        assertTrue(graph.isSatisfied());
+        assertThrows(IllegalArgumentException.class, () -> new PrerequisiteGraph(null, SEMESTERS));
+        assertThrows(IllegalArgumentException.class, () -> new PrerequisiteGraph(List.of(), List.of()));
+    }
+
+    @Test
+    public void compiledProblemShouldBeSolvedWithinTheBounds() {
+        LocalSearchProblem problem = new LocalSearchProblem();
+        int constraints = problem.getConstraints().getNumConstraints();
+
+        problem.compileConstraints();
+        problem.compileConstraints();
+
+        PrerequisiteGraph graph = problem.getPrerequisiteGraph();
+
+        assertNotNull(graph);
+        assertTrue(problem.getConstraints().getNumConstraints() < constraints);
+        assertSame(graph, problem.getConstraints().getConstraints().get(0));
+
+        ScheduledCourse ics440 = problem.getScheduledCourse("ICS", 440);
+
+        for (int i = 0; i < 100; i++) {
+            Semester semester = (Semester) problem.getRandomValue(ics440);
+
+            assertTrue(semester.getId() - 1 >= graph.getEarliestSemester(ics440));
+            assertTrue(semester.getId() - 1 <= graph.getLatestSemester(ics440));
+        }
+
+        problem.setSeed(3);
+
+        LocalSearch ls = new LocalSearch(problem.getVariables(), problem, problem.getConstraints());
+        ls.setSeed(3);
+
+        assertNotNull(ls.search(0));
+        assertTrue(problem.getConstraints().isSatisfied());
+    }
+}
@@ -0,0 +1,110 @@
+package com.capital7software.ai.localsearch.constraints;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrerequisiteKernelTest {
+
+    @Test
+    public void kernelShouldUseTheVectorApiOnlyWhenItIsAvailable() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            assertFalse(PrerequisiteKernel.VECTORIZED);
+        }
+
+        assertEquals(PrerequisiteKernel.VECTORIZED, PrerequisiteGraph.isVectorized());
+    }
+
+    @Test
+    public void vectorKernelShouldAgreeWithTheScalarKernel() {
+        // The build adds jdk.incubator.vector to the test JVM, so the vector kernel can be loaded here.
+        Random random = new Random(23);
+
+        // Sizes on both sides of the lane counts and of the words of the mask.
+        for (int edges : new int[]{0, 1, 3, 4, 7, 8, 15, 16, 17, 63, 64, 65, 130, 1031}) {
+            int courses = 1 + random.nextInt(50);
+            int[] sources = new int[edges];
+            int[] targets = new int[edges];
+            int[] weights = new int[edges];
+            int[] semesters = new int[courses];
+
+            for (int i = 0; i < edges; i++) {
+                sources[i] = random.nextInt(courses);
+                targets[i] = random.nextInt(courses);
+                weights[i] = random.nextInt(2);
+            }
+
+            for (int i = 0; i < courses; i++) {
+                semesters[i] = random.nextInt(6) - 1;
+            }
+
+            long[] scalar = new long[PrerequisiteKernel.maskLength(edges)];
+            long[] vector = new long[scalar.length];
+
+            // Bits left over from an earlier check must be cleared by both.
+            Arrays.fill(vector, -1L);
+
+            int expected = PrerequisiteKernel.check(sources, targets, weights, semesters, scalar);
+
+            assertEquals(expected, VectorPrerequisiteKernel.check(sources, targets, weights, semesters, vector));
+            assertArrayEquals(scalar, vector, "edges " + edges);
+            assertEquals(expected, PrerequisiteKernel.checkAll(sources, targets, weights, semesters, vector));
+            assertArrayEquals(scalar, vector, "edges " + edges);
+        }
+    }
+
+    @Test
+    public void kernelShouldAgreeWithTheDefinition() {
+        Random random = new Random(17);
+
+        // Sizes on both sides of the words of the mask.
+        for (int edges : new int[]{0, 1, 7, 8, 15, 16, 63, 64, 65, 200, 1031}) {
+            int courses = 1 + random.nextInt(50);
+            int[] sources = new int[edges];
+            int[] targets = new int[edges];
+            int[] weights = new int[edges];
+            int[] semesters = new int[courses];
+
+            for (int i = 0; i < edges; i++) {
+                sources[i] = random.nextInt(courses);
+                targets[i] = random.nextInt(courses);
+                weights[i] = random.nextInt(2);
+            }
+
+            for (int i = 0; i < courses; i++) {
+                semesters[i] = random.nextInt(6) - 1;
+            }
+
+            long[] checked = new long[PrerequisiteKernel.maskLength(edges) + 1];
+            int expected = 0;
+
+            // Bits left over from an earlier check must be cleared, and words past the edges left alone.
+            Arrays.fill(checked, -1L);
+            checked[checked.length - 1] = 0L;
+
+            int count = PrerequisiteKernel.check(sources, targets, weights, semesters, checked);
+
+            for (int i = 0; i < edges; i++) {
+                int prerequisite = semesters[sources[i]];
+                int course = semesters[targets[i]];
+                boolean violated = prerequisite < 0 || course < 0 || prerequisite + weights[i] > course;
+
+                assertEquals(violated, (checked[i / 64] & 1L << i) != 0, "edge " + i + " of " + edges);
+
+                if (violated) {
+                    expected++;
+                }
+            }
+
+            assertEquals(expected, count);
+            assertEquals(0L, checked[checked.length - 1]);
+
+            if (edges % 64 != 0) {
+                assertEquals(0L, checked[edges / 64] >>> (edges % 64));
+            }
+        }
+    }
+}
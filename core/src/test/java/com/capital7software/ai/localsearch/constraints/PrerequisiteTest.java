@@ -122,4 +122,15 @@ public class PrerequisiteTest {
         assertNotSame(prerequisite, clone);
         assertEquals(prerequisite, clone);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void violationDegreeShouldBeTheNumberOfSemestersThePrerequisiteIsOffBy() {
+        Semester fifth = new Semester(5, "Autumn");
+
+        assertEquals(0.0, new Prerequisite(ICS_490_AUTUMN, ICS_240_SUMMER).violationDegree(), 0.0);
+        assertEquals(1.0, new Prerequisite(ICS_490_AUTUMN, ICS_240_AUTUMN).violationDegree(), 0.0);
+        assertEquals(5.0, new Prerequisite(new ScheduledCourse(ICS_490, FIRST_SEMESTER),
+                new ScheduledCourse(ICS_240, fifth)).violationDegree(), 0.0);
+        assertEquals(1.0, new Prerequisite(ICS_490_AUTUMN, ICS_240_UNSCHEDULED).violationDegree(), 0.0);
+    }
+}
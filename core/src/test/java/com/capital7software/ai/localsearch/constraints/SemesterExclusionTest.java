@@ -95,4 +95,10 @@ public class SemesterExclusionTest {
         assertEquals(exclusionA.hashCode(), exclusionB.hashCode());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void violationDegreeShouldBeOneForEveryViolation() {
+        assertEquals(0.0, new SemesterExclusion(ICS_490_AUTUMN, FIRST_SEMESTER).violationDegree(), 0.0);
+        assertEquals(1.0, new SemesterExclusion(ICS_490_SUMMER, FIRST_SEMESTER).violationDegree(), 0.0);
+        assertEquals(1.0, new SemesterExclusion(ICS_490_UNSCHEDULED, FIRST_SEMESTER).violationDegree(), 0.0);
+    }
+}
@@ -111,4 +111,14 @@ public class SemesterRestrictionTest {
         assertNotSame(restriction, clone);
         assertEquals(restriction, clone);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void violationDegreeShouldBeTheNumberOfSemestersTheCourseIsOffBy() {
+        Semester eighth = new Semester(8, "Summer");
+
+        assertEquals(0.0, new SemesterRestriction(ICS_490_AUTUMN, SECOND_SEMESTER).violationDegree(), 0.0);
+        assertEquals(1.0, new SemesterRestriction(ICS_490_AUTUMN, FIRST_SEMESTER).violationDegree(), 0.0);
+        assertEquals(6.0, new SemesterRestriction(ICS_490_AUTUMN, eighth).violationDegree(), 0.0);
+        assertEquals(1.0, new SemesterRestriction(ICS_490_UNSCHEDULED, eighth).violationDegree(), 0.0);
+    }
+}
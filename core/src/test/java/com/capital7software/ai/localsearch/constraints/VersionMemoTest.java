@@ -0,0 +1,203 @@
+package com.capital7software.ai.localsearch.constraints;
+
+import com.capital7software.ai.localsearch.Course;
+import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.SearchVariable;
+import com.capital7software.ai.localsearch.Semester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VersionMemoTest {
+    private Semester first;
+    private Semester second;
+    private ScheduledCourse ics140;
+    private ScheduledCourse ics141;
+    private ScheduledCourse ics240;
+    private EveryConstraintList constraintList;
+    private AnyConstraintList nestedList;
+
+    @BeforeEach
+    public void setupTestHarness() {
+        first = new Semester(1);
+        second = new Semester(2);
+        ics140 = new ScheduledCourse(new Course("ICS", 140), first);
+        ics141 = new ScheduledCourse(new Course("ICS", 141), second);
+        ics240 = new ScheduledCourse(new Course("ICS", 240), first);
+
+        nestedList = new AnyConstraintList();
+        nestedList.add(new SemesterRestriction(ics240, second));
+        nestedList.add(new SemesterRestriction(ics240, first));
+
+        constraintList = new EveryConstraintList();
+        constraintList.add(new Prerequisite(ics141, ics140));
+        constraintList.add(nestedList);
+    }
+
+    private static long evaluations(ConstraintProfiler profiler) {
+        long answer = 0;
+
+        for (ConstraintStatistics stats : profiler.getStatisticsByConstraint()) {
+            answer += stats.getEvaluations();
+        }
+
+        return answer;
+    }
+
+    @Test
+    public void versionShouldOnlyChangeWhenTheValueChanges() {
+        long version = ics140.getVersion();
+
+        ics140.setSemester(first);
+        assertEquals(version, ics140.getVersion());
+
+        ics140.setValue(second);
+        assertEquals(version + 1, ics140.getVersion());
+
+        ics140.clearValue();
+        assertEquals(version + 2, ics140.getVersion());
+    }
+
+    @Test
+    public void unchangedListsShouldNotEvaluateTheirConstraints() {
+        ConstraintProfiler profiler = new ConstraintProfiler();
+
+        profiler.attach(constraintList);
+
+        assertTrue(constraintList.isSatisfied());
+        assertTrue(evaluations(profiler) > 0);
+
+        profiler.reset();
+
+        assertTrue(constraintList.isSatisfied());
+        assertEquals(0, constraintList.getNumberOfConflicts());
+        assertTrue(constraintList.getConflicts().isEmpty());
+        assertEquals(0, evaluations(profiler));
+    }
+
+    @Test
+    public void changedVariablesShouldBeEvaluatedAgain() {
+        ConstraintProfiler profiler = new ConstraintProfiler();
+
+        profiler.attach(constraintList);
+        assertTrue(constraintList.isSatisfied());
+
+        ics140.setSemester(second);
+        profiler.reset();
+
+        assertFalse(constraintList.isSatisfied());
+        assertEquals(1, constraintList.getNumberOfConflicts());
+
+        // The nested list does not depend on ICS 140, so only its cached result is used.
+        for (ConstraintStatistics stats : profiler.getStatisticsByConstraint()) {
+            assertFalse(stats.getName().contains("240"));
+        }
+
+        ics140.setSemester(first);
+
+        assertTrue(constraintList.isSatisfied());
+    }
+
+    @Test
+    public void changedNestedListsShouldBeEvaluatedAgain() {
+        ScheduledCourse ics340 = new ScheduledCourse(new Course("ICS", 340), first);
+        EveryConstraintList every = new EveryConstraintList();
+
+        constraintList.add(every);
+        assertTrue(constraintList.isSatisfied());
+
+        every.add(new SemesterRestriction(ics340, second));
+        assertFalse(constraintList.isSatisfied());
+
+        ics340.setSemester(second);
+        assertTrue(constraintList.isSatisfied());
+
+        every.clear();
+        ics340.setSemester(first);
+        assertTrue(constraintList.isSatisfied());
+    }
+
+    @Test
+    public void constraintsWithoutVariablesShouldNeverBeCached() {
+        int[] calls = new int[1];
+        EveryConstraintList list = new EveryConstraintList();
+
+        list.add(() -> ++calls[0] > 0);
+        list.add(new Prerequisite(ics141, ics140));
+
+        assertNull(list.getVariables());
+        assertTrue(list.isSatisfied());
+        assertTrue(list.isSatisfied());
+        assertEquals(2, calls[0]);
+        assertEquals(List.of(ics141, ics140), constraintList.getConstraints().get(0).getVariables());
+    }
+
+    @Test
+    public void constraintsOfUnversionedVariablesShouldNeverBeCached() {
+        int[] calls = new int[1];
+        SearchVariable unversioned = new SearchVariable() {
+            private Object value;
+
+            @Override
+            public Object getUniqueID() {
+                return this;
+            }
+
+            @Override
+            public void setValue(Object value) {
+                this.value = value;
+            }
+
+            @Override
+            public Object getValue() {
+                return value;
+            }
+
+            @Override
+            public void clearValue() {
+                value = null;
+            }
+
+            @Override
+            public String getName() {
+                return "unversioned";
+            }
+
+            @Override
+            public String getValueName() {
+                return "value";
+            }
+
+            @Override
+            public String getValueAsString() {
+                return String.valueOf(value);
+            }
+
+            @Override
+            public SearchVariable clone() {
+                return this;
+            }
+        };
+        EveryConstraintList list = new EveryConstraintList();
+
+        list.add(new Constraint() {
+            @Override
+            public boolean isSatisfied() {
+                return ++calls[0] > 0;
+            }
+
+            @Override
+            public List<SearchVariable> getVariables() {
+                return List.of(unversioned);
+            }
+        });
+
+        assertEquals(SearchVariable.UNVERSIONED, unversioned.getVersion());
+        assertTrue(list.isSatisfied());
+        assertTrue(list.isSatisfied());
+        assertEquals(2, calls[0]);
+    }
+}
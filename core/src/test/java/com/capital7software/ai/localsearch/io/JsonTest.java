@@ -0,0 +1,52 @@
+package com.capital7software.ai.localsearch.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonTest {
+
+    @Test
+    public void parseShouldReadEveryType() {
+        Object value = Json.parse(" { \"a\": 1, \"b\": -2.5, \"c\": \"x\\\"y\\u0041\", "
+                + "\"d\": [true, false, null], \"e\": {} } ");
+
+        assertTrue(value instanceof Map);
+
+        Map<?, ?> map = (Map<?, ?>) value;
+
+        assertEquals(1L, map.get("a"));
+        assertEquals(-2.5, map.get("b"));
+        assertEquals("x\"yA", map.get("c"));
+        assertEquals(List.of(true, false), ((List<?>) map.get("d")).subList(0, 2));
+        assertNull(((List<?>) map.get("d")).get(2));
+        assertTrue(((Map<?, ?>) map.get("e")).isEmpty());
+    }
+
+    @Test
+    public void writeShouldRoundTrip() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", "tab\there");
+        map.put("values", List.of(1, 2.5, "three"));
+        map.put("solved", true);
+        map.put("none", null);
+
+        String json = Json.write(map);
+
+        assertEquals("{\"name\":\"tab\\there\",\"values\":[1,2.5,\"three\"],\"solved\":true,\"none\":null}", json);
+        assertEquals("tab\there", ((Map<?, ?>) Json.parse(json)).get("name"));
+    }
+
+    @Test
+    public void parseShouldRejectInvalidDocuments() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\": }"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[1, 2"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("\"unterminated"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{} extra"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse(null));
+    }
+}
@@ -0,0 +1,85 @@
+package com.capital7software.ai.localsearch.io;
+
+import com.capital7software.ai.localsearch.LocalSearch;
+import com.capital7software.ai.localsearch.LocalSearchProblem;
+import com.capital7software.ai.localsearch.SearchVariable;
+import com.capital7software.ai.localsearch.constraints.AnyConstraintList;
+import com.capital7software.ai.localsearch.constraints.CoursesPerSemesterConstraint;
+import com.capital7software.ai.localsearch.constraints.Prerequisite;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProblemDefinitionTest {
+    static final String DEFINITION = """
+            {
+              "name": "small",
+              "semesters": [
+                { "id": 1, "name": "Summer", "summer": true },
+                { "id": 2, "name": "Autumn" },
+                { "id": 3, "name": "Spring" }
+              ],
+              "courses": [ "MATH 120", "ICS 140", "ICS 141", "ICS 492" ],
+              "constraints": [
+                { "type": "concurrentPrerequisite", "course": "ICS 140", "prerequisite": "MATH 120" },
+                { "type": "prerequisite", "course": "ICS 141", "prerequisite": "ICS 140" },
+                { "type": "any", "constraints": [
+                  { "type": "restriction", "course": "ICS 492", "semester": 1 }
+                ] },
+                { "type": "coursesPerSemester", "max": 2 }
+              ]
+            }
+            """;
+
+    @Test
+    public void parseShouldCreateTheDefinedProblem() {
+        ProblemDefinition definition = ProblemDefinition.parse(DEFINITION);
+        LocalSearchProblem problem = definition.createProblem();
+
+        assertEquals("small", definition.getName());
+        assertEquals(4, problem.getVariables().size());
+        assertEquals(3, problem.size());
+        assertTrue(problem.getSemester(1).isSummer());
+        assertEquals(4, problem.getConstraints().getNumConstraints());
+        assertTrue(problem.getConstraints().getConstraints().get(1) instanceof Prerequisite);
+        assertTrue(problem.getConstraints().getConstraints().get(2) instanceof AnyConstraintList);
+        assertTrue(problem.getConstraints().getConstraints().get(3) instanceof CoursesPerSemesterConstraint);
+    }
+
+    @Test
+    public void createProblemShouldReturnIndependentProblems() {
+        ProblemDefinition definition = ProblemDefinition.parse(DEFINITION);
+
+        assertNotSame(definition.createProblem().getVariables().get(0),
+                definition.createProblem().getVariables().get(0));
+    }
+
+    @Test
+    public void definedProblemShouldBeSolvable() {
+        LocalSearchProblem problem = ProblemDefinition.parse(DEFINITION).createProblem();
+        LocalSearch ls = new LocalSearch(problem.getVariables(), problem, problem.getConstraints());
+
+        Map<Object, SearchVariable> solution = ls.search(1000);
+
+        assertNotNull(solution);
+        assertTrue(problem.getConstraints().isSatisfied());
+    }
+
+    @Test
+    public void builtInShouldCreateTheBuiltInProblem() {
+        assertEquals(19, ProblemDefinition.builtIn().createProblem().getVariables().size());
+    }
+
+    @Test
+    public void parseShouldRejectInvalidDefinitions() {
+        assertThrows(IllegalArgumentException.class, () -> ProblemDefinition.parse("[]"));
+        assertThrows(IllegalArgumentException.class, () -> ProblemDefinition.parse(
+                DEFINITION.replace("\"ICS 141\", ", "")));
+        assertThrows(IllegalArgumentException.class, () -> ProblemDefinition.parse(
+                DEFINITION.replace("\"semester\": 1", "\"semester\": 9")));
+        assertThrows(IllegalArgumentException.class, () -> ProblemDefinition.parse(
+                DEFINITION.replace("\"any\"", "\"some\"")));
+    }
+}
@@ -0,0 +1,38 @@
+package com.capital7software.ai.localsearch.io;
+
+import com.capital7software.ai.localsearch.ConflictWeights;
+import com.capital7software.ai.localsearch.SearchParameters;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchParametersFileTest {
+
+    @Test
+    public void parametersShouldSurviveARoundTrip() {
+        SearchParameters parameters = new SearchParameters(64, 1024, 3, new ConflictWeights(1.0, 1.5, 2.0, 1.2));
+
+        assertEquals(parameters, SearchParametersFile.parse(SearchParametersFile.write(parameters)));
+        assertEquals(SearchParameters.DEFAULT,
+                SearchParametersFile.parse(SearchParametersFile.write(SearchParameters.DEFAULT)));
+    }
+
+    @Test
+    public void missingKeysShouldTakeTheDefaults() {
+        SearchParameters parameters = SearchParametersFile.parse("""
+                { "walkFactor": 4, "weights": { "restriction": 2 } }
+                """);
+
+        assertEquals(new SearchParameters(256, 256, 4, new ConflictWeights(1.0, 1.1, 1.2, 2.0)), parameters);
+        assertEquals(SearchParameters.DEFAULT, SearchParametersFile.parse("{}"));
+    }
+
+    @Test
+    public void invalidParametersShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SearchParametersFile.parse("[]"));
+        assertThrows(IllegalArgumentException.class, () -> SearchParametersFile.parse("{ \"walkFactor\": 1.5 }"));
+        assertThrows(IllegalArgumentException.class, () -> SearchParametersFile.parse("{ \"walkFactor\": 0 }"));
+        assertThrows(IllegalArgumentException.class, () -> SearchParametersFile.parse("{ \"weights\": 1 }"));
+        assertThrows(IllegalArgumentException.class, () -> SearchParametersFile.write(null));
+    }
+}
@@ -0,0 +1,55 @@
+package com.capital7software.ai.localsearch.io;
+
+import com.capital7software.ai.localsearch.AlgorithmSelector;
+import com.capital7software.ai.localsearch.EngineConfiguration;
+import com.capital7software.ai.localsearch.InitialAssignment;
+import com.capital7software.ai.localsearch.InstanceFeatures;
+import com.capital7software.ai.localsearch.MoveType;
+import com.capital7software.ai.localsearch.SearchStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SelectionTableTest {
+
+    @Test
+    public void tablesShouldSurviveARoundTrip() {
+        AlgorithmSelector selector = AlgorithmSelector.getDefault();
+        AlgorithmSelector copy = SelectionTable.parse(SelectionTable.write(selector));
+
+        assertEquals(selector.getEntries(), copy.getEntries());
+    }
+
+    @Test
+    public void tablesShouldBeParsed() {
+        AlgorithmSelector selector = SelectionTable.parse("""
+                { "entries": [ {
+                    "features": { "variables": 20, "values": 8, "constraints": 60, "prerequisites": 20,
+                                  "prerequisiteDepth": 3, "prerequisiteDensity": 0.1, "capacityTightness": 1,
+                                  "unaryFraction": 0.3 },
+                    "configuration": { "strategy": "steepest-descent", "moveTypes": [ "reassign", "swap" ],
+                                       "initialAssignment": "greedy", "neighborhoodSize": 4,
+                                       "largeNeighborhoodSize": 2, "learnNogoods": true } } ] }
+                """);
+        AlgorithmSelector.Entry entry = selector.getEntries().get(0);
+
+        assertEquals(new InstanceFeatures(20, 8, 60, 20, 3, 0.1, 1.0, 0.3), entry.features());
+        assertEquals(new EngineConfiguration(SearchStrategy.STEEPEST_DESCENT, EnumSet.of(MoveType.REASSIGN,
+                MoveType.SWAP), InitialAssignment.GREEDY, 4, 2, true), entry.configuration());
+    }
+
+    @Test
+    public void invalidTablesShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SelectionTable.parse("[]"));
+        assertThrows(IllegalArgumentException.class, () -> SelectionTable.parse("{ \"entries\": [] }"));
+        assertThrows(IllegalArgumentException.class, () -> SelectionTable.parse("""
+                { "entries": [ { "features": { "variables": 1 }, "configuration": {} } ] }
+                """));
+        assertThrows(IllegalArgumentException.class, () -> SelectionTable.write(null));
+        assertEquals(1, new AlgorithmSelector(List.of(AlgorithmSelector.getDefault().getEntries().get(0)))
+                .getEntries().size());
+    }
+}
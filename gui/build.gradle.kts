@@ -0,0 +1,45 @@
+// The JavaFX application.
+plugins {
+    application
+    id("org.openjfx.javafxplugin")
+    id("org.beryx.jlink")
+}
+
+dependencies {
+    implementation(project(":core"))
+}
+
+javafx {
+    version = "21.0.1"
+    modules.add("javafx.controls")
+    modules.add("javafx.fxml")
+}
+
+application {
+    mainClass = "com.capital7software.ai.localsearch.gui.FindScheduleApplication"
+}
+
+jlink {
+    launcher {
+        name = "local-search"
+        moduleName = "com.capital7software.ai.localsearch.gui"
+        mainClass = "com.capital7software.ai.localsearch.gui.FindScheduleApplication"
+    }
+}
+
+tasks.withType<Jar>().configureEach {
+    manifest {
+        attributes["Implementation-Title"] = "AI Local Search Example"
+        attributes["Implementation-Version"] = "1.0.0.0"
+        attributes["Main-Class"] = "com.capital7software.ai.localsearch.gui.FindScheduleApplication"
+    }
+}
+
+//create a single Jar with all dependencies
+tasks.register("fatJar", Jar::class) {
+    group = "build"
+    archiveBaseName = "${rootProject.name}-fat"
+    from(configurations.runtimeClasspath.get().map { if (it.isDirectory) it else zipTree(it) })
+    duplicatesStrategy = DuplicatesStrategy.EXCLUDE
+    with(tasks.jar.get() as CopySpec)
+}
@@ -1,8 +1,10 @@
 /*
  * File: FindScheduleApplication.java
  */
-package com.capital7software.ai.localsearch;
+package com.capital7software.ai.localsearch.gui;
 
+import com.capital7software.ai.localsearch.LocalSearch;
+import com.capital7software.ai.localsearch.LocalSearchProblem;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Application;
@@ -601,6 +603,7 @@ public class FindScheduleApplication extends Application  implements EventHandle
 
         executor.submit(() -> {
             LocalSearchProblem lsp = new LocalSearchProblem();
+            lsp.compileConstraints();
             LocalSearch ls = new LocalSearch(lsp.getVariables(), lsp, lsp.getConstraints());
             String results = "";
             String fileName = "";
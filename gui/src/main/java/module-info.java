@@ -0,0 +1,11 @@
+module com.capital7software.ai.localsearch.gui {
+    requires javafx.controls;
+    requires javafx.fxml;
+    requires java.logging;
+    requires java.base;
+    requires com.capital7software.ai.localsearch;
+
+    opens com.capital7software.ai.localsearch.gui to javafx.fxml;
+
+    exports com.capital7software.ai.localsearch.gui;
+}
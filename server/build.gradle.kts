@@ -0,0 +1,21 @@
+// The HTTP solve service, which serves schedule requests from a single JVM and never loads JavaFX.
+plugins {
+    application
+}
+
+dependencies {
+    implementation(project(":core"))
+}
+
+application {
+    applicationName = "solve-server"
+    mainClass = "com.capital7software.ai.localsearch.server.SolveServer"
+}
+
+tasks.withType<Jar>().configureEach {
+    manifest {
+        attributes["Implementation-Title"] = "AI Local Search Solve Server"
+        attributes["Implementation-Version"] = "1.0.0.0"
+        attributes["Main-Class"] = "com.capital7software.ai.localsearch.server.SolveServer"
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * File: LatencyRecorder.java
+ */
+package com.capital7software.ai.localsearch.server;
+
+import java.util.Arrays;
+
+/**
+ * A LatencyRecorder keeps the most recent latencies that were recorded in a fixed size window and reports the
+ * percentiles of the latencies in that window. The window is a ring buffer, so recording a latency never allocates
+ * and old latencies are forgotten once the window is full. A LatencyRecorder is safe to use from multiple threads.
+ *
+ * @author Vincent J. Palodichuk
+ */
+public class LatencyRecorder {
+    /**
+     * The number of latencies that are kept if no window size is specified.
+     */
+    public static final int DEFAULT_WINDOW = 4096;
+
+    private final long[] window;
+    private int next;
+    private int size;
+    private long count;
+
+    /**
+     * Initializes a recorder that keeps the DEFAULT_WINDOW most recent latencies.
+     */
+    public LatencyRecorder() {
+        this(DEFAULT_WINDOW);
+    }
+
+    /**
+     * Initializes a recorder that keeps the specified number of the most recent latencies.
+     *
+     * @param windowSize the number of latencies to keep. Must be greater than zero.
+     */
+    public LatencyRecorder(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be greater than zero.");
+        }
+
+        window = new long[windowSize];
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds. Must not be negative.
+     */
+    public synchronized void record(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("nanos cannot be negative.");
+        }
+
+        window[next] = nanos;
+        next = (next + 1) % window.length;
+        size = Math.min(size + 1, window.length);
+        count++;
+    }
+
+    /**
+     * Returns the number of latencies that have been recorded, including those that are no longer in the window.
+     *
+     * @return the number of latencies that have been recorded.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the latency in nanoseconds at the specified percentile of the latencies in the window, using the
+     * nearest rank. Returns 0 if no latencies have been recorded.
+     *
+     * @param percentile the percentile to return. Must be greater than 0 and less than or equal to 100.
+     * @return the latency in nanoseconds at the specified percentile.
+     */
+    public long getPercentile(double percentile) {
+        return getPercentiles(percentile)[0];
+    }
+
+    /**
+     * Returns the latencies in nanoseconds at each of the specified percentiles of the latencies in the window,
+     * using the nearest rank. The window is only sorted once however many percentiles are requested.
+     *
+     * @param percentiles the percentiles to return. Each must be greater than 0 and less than or equal to 100.
+     * @return the latencies in nanoseconds at each of the specified percentiles, in the same order.
+     */
+    public long[] getPercentiles(double... percentiles) {
+        for (double percentile : percentiles) {
+            if (!(percentile > 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("percentile must be greater than 0 and at most 100.");
+            }
+        }
+
+        long[] sorted;
+
+        synchronized (this) {
+            sorted = Arrays.copyOf(window, size);
+        }
+
+        Arrays.sort(sorted);
+
+        long[] answer = new long[percentiles.length];
+
+        if (sorted.length > 0) {
+            for (int i = 0; i < percentiles.length; i++) {
+                int rank = (int) Math.ceil(percentiles[i] / 100.0 * sorted.length);
+                answer[i] = sorted[Math.max(rank, 1) - 1];
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Forgets every latency that has been recorded.
+     */
+    public synchronized void reset() {
+        next = 0;
+        size = 0;
+        count = 0;
+    }
+}
@@ -0,0 +1,627 @@
+/*
+ * File: SolveServer.java
+ */
+package com.capital7software.ai.localsearch.server;
+
+import com.capital7software.ai.localsearch.AlgorithmSelector;
+import com.capital7software.ai.localsearch.Course;
+import com.capital7software.ai.localsearch.LocalSearch;
+import com.capital7software.ai.localsearch.LocalSearchProblem;
+import com.capital7software.ai.localsearch.ScheduledCourse;
+import com.capital7software.ai.localsearch.SearchStrategy;
+import com.capital7software.ai.localsearch.SearchVariable;
+import com.capital7software.ai.localsearch.cache.SolutionCache;
+import com.capital7software.ai.localsearch.io.Json;
+import com.capital7software.ai.localsearch.io.ProblemDefinition;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The SolveServer serves schedule requests over HTTP from a single JVM. It is built on the JDK's HttpServer and
+ * handles every request on its own virtual thread, but the searches themselves are CPU bound and so are run on a
+ * bounded pool of platform threads that defaults to one thread per core. A search that cannot start right away waits
+ * in a queue of limited capacity, and a request that arrives when the queue is full is rejected with
+ * 503 Service Unavailable rather than oversubscribing the CPUs.
+ * <p>
+ * The server has two endpoints:
+ * <ul>
+ *     <li>POST /solve searches the problem definition in the request body. The optional query parameters are
+ *     seed, deadline (in milliseconds), maxAssignments and strategy. A strategy of auto configures the search with
+ *     the AlgorithmSelector from the shape of the problem. The deadline is measured from when the request
+ *     arrives, so time spent in the queue counts against it. A request whose deadline passes before its search
+ *     starts is answered with 504 Gateway Timeout; a search that runs out of time is answered with solved set to
+ *     false. When the server has a SolutionCache, a problem that has been solved before is answered from the cache
+ *     without using the search pool, and cached is set to true. A body larger than the maximum body size is
+ *     answered with 413 Content Too Large without being parsed.</li>
+ *     <li>GET /metrics returns the request counts, the state of the search pool and the 50th, 90th, 99th and 100th
+ *     percentiles of the latency of the recent solve requests in milliseconds.</li>
+ * </ul>
+ *
+ * @author Vincent J. Palodichuk
+ */
+public class SolveServer {
+    /**
+     * The deadline of a solve request that does not specify one.
+     */
+    public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(10);
+
+    /**
+     * The longest deadline that a solve request may specify.
+     */
+    public static final Duration MAX_DEADLINE = Duration.ofSeconds(60);
+
+    /**
+     * The largest problem definition in bytes that a solve request may send by default.
+     */
+    public static final int DEFAULT_MAX_BODY_SIZE = 1 << 20;
+
+    // How long past its deadline a request waits for its search to notice the deadline before giving up on it.
+    private static final long DEADLINE_GRACE_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private static final double[] PERCENTILES = { 50, 90, 99, 100 };
+
+    private static final String USAGE = """
+            Usage: solve-server [options]
+
+            Options:
+              --port <n>         the port to listen on (default: 8080)
+              --workers <n>      the number of searches run at once (default: available processors)
+              --queue <n>        the number of searches that may wait to run (default: 4 per worker)
+              --cache-size <n>   the number of solutions cached in memory (default: 1024)
+              --cache-dir <dir>  also cache the solutions in this directory so that they survive restarts
+              --max-body <n>     the largest problem definition in bytes (default: 1048576)
+              --help             print this message
+            """;
+
+    /**
+     * The outcome of a search that was admitted to the search pool.
+     *
+     * @param solution the solution or null if no solution was found.
+     * @param started false if the deadline passed before the search started.
+     * @param queueNanos the time the search spent waiting to start.
+     * @param searchNanos the time the search ran for.
+     */
+    private record Outcome(Map<Object, SearchVariable> solution, boolean started, long queueNanos, long searchNanos) {
+    }
+
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ThreadPoolExecutor searchExecutor;
+    private final LatencyRecorder latencies;
+    private final AtomicLong requests;
+    private final AtomicLong rejected;
+    private final AtomicLong timedOut;
+    private final AtomicInteger activeSearches;
+    private volatile Duration defaultDeadline;
+    private volatile Duration maxDeadline;
+    private volatile int maxBodySize;
+    private volatile SolutionCache solutionCache;
+
+    /**
+     * Initializes a server that is bound to the specified address but not yet started.
+     *
+     * @param address the address to bind to. Port 0 binds to an ephemeral port.
+     * @param workers the number of searches that are run at once. Must be greater than zero.
+     * @param queueCapacity the number of searches that may wait to run. Must not be negative.
+     * @throws IOException indicates that the server could not be bound to the address.
+     */
+    public SolveServer(InetSocketAddress address, int workers, int queueCapacity) throws IOException {
+        if (address == null) {
+            throw new IllegalArgumentException("address cannot be null.");
+        }
+
+        if (workers <= 0) {
+            throw new IllegalArgumentException("workers must be greater than zero.");
+        }
+
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity cannot be negative.");
+        }
+
+        BlockingQueue<Runnable> queue = queueCapacity == 0 ? new SynchronousQueue<>()
+                : new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        searchExecutor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "solve-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        latencies = new LatencyRecorder();
+        requests = new AtomicLong();
+        rejected = new AtomicLong();
+        timedOut = new AtomicLong();
+        activeSearches = new AtomicInteger();
+        defaultDeadline = DEFAULT_DEADLINE;
+        maxDeadline = MAX_DEADLINE;
+        maxBodySize = DEFAULT_MAX_BODY_SIZE;
+
+        server = HttpServer.create(address, 0);
+        server.setExecutor(requestExecutor);
+        server.createContext("/solve", this::handleSolve);
+        server.createContext("/metrics", this::handleMetrics);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        int workers = Runtime.getRuntime().availableProcessors();
+        Integer queue = null;
+        int cacheSize = SolutionCache.DEFAULT_CAPACITY;
+        String cacheDir = null;
+        int maxBodySize = DEFAULT_MAX_BODY_SIZE;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--workers" -> workers = Integer.parseInt(args[++i]);
+                case "--queue" -> queue = Integer.parseInt(args[++i]);
+                case "--cache-size" -> cacheSize = Integer.parseInt(args[++i]);
+                case "--cache-dir" -> cacheDir = args[++i];
+                case "--max-body" -> maxBodySize = Integer.parseInt(args[++i]);
+                default -> {
+                    System.out.print(USAGE);
+                    System.exit(args[i].equals("--help") ? 0 : 2);
+                }
+            }
+        }
+
+        SolveServer solveServer = new SolveServer(new InetSocketAddress(port), workers,
+                queue == null ? workers * 4 : queue);
+        solveServer.setMaxBodySize(maxBodySize);
+        solveServer.setSolutionCache(new SolutionCache(cacheSize, cacheDir == null ? null : Paths.get(cacheDir)));
+        solveServer.start();
+        System.out.println("solve-server listening on port " + solveServer.getPort());
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests, aborts the searches that are running and waits for the requests that are being
+     * handled to finish.
+     */
+    public void stop() {
+        server.stop(0);
+
+        for (Runnable queued : searchExecutor.shutdownNow()) {
+            if (queued instanceof Future<?> future) {
+                future.cancel(true);
+            }
+        }
+
+        requestExecutor.close();
+    }
+
+    /**
+     * Returns the port that this server is bound to.
+     *
+     * @return the port that this server is bound to.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the deadline of a solve request that does not specify one.
+     *
+     * @return the deadline of a solve request that does not specify one.
+     */
+    public Duration getDefaultDeadline() {
+        return defaultDeadline;
+    }
+
+    /**
+     * Sets the deadline of a solve request that does not specify one.
+     *
+     * @param defaultDeadline the deadline of a solve request that does not specify one. Must be positive.
+     */
+    public void setDefaultDeadline(Duration defaultDeadline) {
+        if (defaultDeadline == null || defaultDeadline.isNegative() || defaultDeadline.isZero()) {
+            throw new IllegalArgumentException("defaultDeadline must be positive.");
+        }
+
+        this.defaultDeadline = defaultDeadline;
+    }
+
+    /**
+     * Returns the longest deadline that a solve request may specify.
+     *
+     * @return the longest deadline that a solve request may specify.
+     */
+    public Duration getMaxDeadline() {
+        return maxDeadline;
+    }
+
+    /**
+     * Sets the longest deadline that a solve request may specify. Longer deadlines are shortened to this one.
+     *
+     * @param maxDeadline the longest deadline that a solve request may specify. Must be positive.
+     */
+    public void setMaxDeadline(Duration maxDeadline) {
+        if (maxDeadline == null || maxDeadline.isNegative() || maxDeadline.isZero()) {
+            throw new IllegalArgumentException("maxDeadline must be positive.");
+        }
+
+        this.maxDeadline = maxDeadline;
+    }
+
+    /**
+     * Returns the largest problem definition in bytes that a solve request may send.
+     *
+     * @return the largest problem definition in bytes that a solve request may send.
+     */
+    public int getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * Sets the largest problem definition in bytes that a solve request may send. Larger requests are answered with
+     * 413 Content Too Large.
+     *
+     * @param maxBodySize the largest problem definition in bytes that a solve request may send. Must be positive and
+     *                    less than Integer.MAX_VALUE.
+     */
+    public void setMaxBodySize(int maxBodySize) {
+        if (maxBodySize <= 0 || maxBodySize == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("maxBodySize must be positive and less than Integer.MAX_VALUE.");
+        }
+
+        this.maxBodySize = maxBodySize;
+    }
+
+    /**
+     * Returns the cache that solutions are served from and stored in, which may be null.
+     *
+     * @return the cache that solutions are served from and stored in, which may be null.
+     */
+    public SolutionCache getSolutionCache() {
+        return solutionCache;
+    }
+
+    /**
+     * Sets the cache that solutions are served from and stored in.
+     *
+     * @param solutionCache the cache that solutions are served from and stored in, which may be null to search
+     *                      every problem.
+     */
+    public void setSolutionCache(SolutionCache solutionCache) {
+        this.solutionCache = solutionCache;
+    }
+
+    /**
+     * Returns the latencies of the solve requests that were admitted to the search pool.
+     *
+     * @return the latencies of the solve requests that were admitted to the search pool.
+     */
+    public LatencyRecorder getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * Returns the number of searches that are running right now.
+     *
+     * @return the number of searches that are running right now.
+     */
+    public int getActiveSearches() {
+        return activeSearches.get();
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        long arrival = System.nanoTime();
+
+        try (exchange) {
+            requests.incrementAndGet();
+
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "use POST to solve a problem.");
+                return;
+            }
+
+            ProblemDefinition definition;
+            Map<String, String> parameters;
+            LocalSearchProblem lsp;
+
+            try (InputStream body = exchange.getRequestBody()) {
+                int limit = maxBodySize;
+                // Read one byte past the limit to tell a body that fits exactly from one that is too large.
+                byte[] bytes = body.readNBytes(limit + 1);
+
+                if (bytes.length > limit) {
+                    sendError(exchange, 413, "the problem definition is larger than " + limit + " bytes.");
+                    return;
+                }
+
+                parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+                definition = ProblemDefinition.parse(new String(bytes, StandardCharsets.UTF_8));
+                lsp = definition.createProblem();
+                lsp.compileConstraints();
+            } catch (IllegalArgumentException ex) {
+                sendError(exchange, 400, ex.getMessage());
+                return;
+            }
+
+            Long seed;
+            int maxAssignments;
+            SearchStrategy strategy;
+            long deadline;
+
+            try {
+                seed = parameters.containsKey("seed") ? parseLong("seed", parameters.get("seed")) : null;
+                maxAssignments = (int) parseNonNegative("maxAssignments",
+                        parameters.getOrDefault("maxAssignments", "0"));
+                strategy = parseStrategy(parameters.getOrDefault("strategy", "random-conflict"));
+
+                Duration requested = parameters.containsKey("deadline")
+                        ? Duration.ofMillis(parseNonNegative("deadline", parameters.get("deadline")))
+                        : defaultDeadline;
+
+                deadline = arrival + (requested.compareTo(maxDeadline) > 0 ? maxDeadline : requested).toNanos();
+            } catch (IllegalArgumentException ex) {
+                sendError(exchange, 400, ex.getMessage());
+                return;
+            }
+
+            SolutionCache cache = solutionCache;
+            Map<Object, SearchVariable> cached = cache == null ? null : cache.get(lsp);
+
+            if (cached != null) {
+                send(exchange, 200, toJson(definition.getName(), new Outcome(cached, true, 0, 0), true));
+                latencies.record(System.nanoTime() - arrival);
+                return;
+            }
+
+            Future<Outcome> future;
+
+            try {
+                future = searchExecutor.submit(() -> search(lsp, cache, seed, maxAssignments, strategy, arrival,
+                        deadline));
+            } catch (RejectedExecutionException ex) {
+                rejected.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendError(exchange, 503, "the server is busy.");
+                return;
+            }
+
+            Outcome outcome = await(future, deadline);
+
+            if (outcome == null || !outcome.started()) {
+                timedOut.incrementAndGet();
+                sendError(exchange, 504, "the deadline passed before the problem could be searched.");
+            } else {
+                send(exchange, 200, toJson(definition.getName(), outcome, false));
+            }
+
+            latencies.record(System.nanoTime() - arrival);
+        }
+    }
+
+    private Outcome await(Future<Outcome> future, long deadline) throws IOException {
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0) + DEADLINE_GRACE_NANOS,
+                    TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            return null;
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for the search.", ex);
+        } catch (ExecutionException ex) {
+            throw new IOException(ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    private Outcome search(LocalSearchProblem lsp, SolutionCache cache, Long seed, int maxAssignments,
+                           SearchStrategy strategy, long arrival, long deadline) {
+        long start = System.nanoTime();
+        long remaining = deadline - start;
+
+        if (remaining <= 0) {
+            return new Outcome(null, false, start - arrival, 0);
+        }
+
+        activeSearches.incrementAndGet();
+
+        try {
+            LocalSearch ls = new LocalSearch(lsp.getVariables(), lsp, lsp.getConstraints());
+
+            if (seed != null) {
+                lsp.setSeed(seed);
+                ls.setSeed(seed);
+            }
+
+            if (strategy == null) {
+                AlgorithmSelector.getDefault().configure(ls, lsp.getVariables(), lsp, lsp.getConstraints());
+            } else {
+                ls.setStrategy(strategy);
+            }
+
+            Map<Object, SearchVariable> solution = ls.search(maxAssignments, Duration.ofNanos(remaining));
+
+            if (solution != null && cache != null) {
+                try {
+                    cache.put(lsp, solution);
+                } catch (RuntimeException ex) {
+                    // The solution is still good even if it could not be cached.
+                    Logger.getLogger(SolveServer.class.getName()).log(Level.WARNING,
+                            "could not cache the solution.", ex);
+                }
+            }
+
+            return new Outcome(solution, true, start - arrival, System.nanoTime() - start);
+        } finally {
+            activeSearches.decrementAndGet();
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendError(exchange, 405, "use GET to read the metrics.");
+                return;
+            }
+
+            Map<String, Object> answer = new LinkedHashMap<>();
+            Map<String, Object> latency = new LinkedHashMap<>();
+            long[] values = latencies.getPercentiles(PERCENTILES);
+
+            answer.put("requests", requests.get());
+            answer.put("rejected", rejected.get());
+            answer.put("timedOut", timedOut.get());
+            answer.put("activeSearches", activeSearches.get());
+            answer.put("queuedSearches", searchExecutor.getQueue().size());
+            answer.put("workers", searchExecutor.getMaximumPoolSize());
+
+            SolutionCache cache = solutionCache;
+
+            if (cache != null) {
+                answer.put("cacheHits", cache.getHits());
+                answer.put("cacheMisses", cache.getMisses());
+            }
+
+            latency.put("count", latencies.getCount());
+            latency.put("p50", toMillis(values[0]));
+            latency.put("p90", toMillis(values[1]));
+            latency.put("p99", toMillis(values[2]));
+            latency.put("max", toMillis(values[3]));
+            answer.put("latencyMillis", latency);
+
+            send(exchange, 200, answer);
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static Map<String, Object> toJson(String name, Outcome outcome, boolean cached) {
+        Map<String, Object> answer = new LinkedHashMap<>();
+
+        answer.put("name", name);
+        answer.put("solved", outcome.solution() != null);
+        answer.put("cached", cached);
+        answer.put("queueMillis", toMillis(outcome.queueNanos()));
+        answer.put("searchMillis", toMillis(outcome.searchNanos()));
+
+        if (outcome.solution() != null) {
+            Map<String, Object> schedule = new LinkedHashMap<>();
+
+            for (SearchVariable variable : outcome.solution().values()) {
+                ScheduledCourse scheduledCourse = (ScheduledCourse) variable;
+                Course course = scheduledCourse.getCourse();
+
+                schedule.put(course.getDepartment() + " " + course.getNumberAsString(),
+                        scheduledCourse.getSemester().getId());
+            }
+
+            answer.put("schedule", schedule);
+        }
+
+        return answer;
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> answer = new LinkedHashMap<>();
+
+        if (query == null || query.isEmpty()) {
+            return answer;
+        }
+
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+
+            if (equals <= 0) {
+                throw new IllegalArgumentException("invalid query parameter " + pair);
+            }
+
+            answer.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+        }
+
+        return answer;
+    }
+
+    private static long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(name + " must be a number: " + value);
+        }
+    }
+
+    private static long parseNonNegative(String name, String value) {
+        long answer = parseLong(name, value);
+
+        if (answer < 0) {
+            throw new IllegalArgumentException(name + " cannot be negative: " + value);
+        }
+
+        if (answer > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(name + " is out of range: " + value);
+        }
+
+        return answer;
+    }
+
+    private static SearchStrategy parseStrategy(String value) {
+        // The strategy of a search that is configured by the AlgorithmSelector is null.
+        if (value.equals("auto")) {
+            return null;
+        }
+
+        try {
+            return SearchStrategy.valueOf(value.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("unknown strategy " + value);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, Map.of("error", message == null ? "" : message));
+    }
+
+    private static void send(HttpExchange exchange, int status, Map<String, Object> body) throws IOException {
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
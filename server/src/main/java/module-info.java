@@ -0,0 +1,7 @@
+module com.capital7software.ai.localsearch.server {
+    requires jdk.httpserver;
+    requires java.logging;
+    requires com.capital7software.ai.localsearch;
+
+    exports com.capital7software.ai.localsearch.server;
+}
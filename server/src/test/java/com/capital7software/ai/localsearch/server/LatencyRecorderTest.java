@@ -0,0 +1,58 @@
+package com.capital7software.ai.localsearch.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyRecorderTest {
+    @Test
+    public void percentilesShouldUseTheNearestRank() {
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        for (int i = 100; i >= 1; i--) {
+            recorder.record(i);
+        }
+
+        assertEquals(100, recorder.getCount());
+        assertEquals(50, recorder.getPercentile(50));
+        assertEquals(90, recorder.getPercentile(90));
+        assertEquals(99, recorder.getPercentile(99));
+        assertEquals(100, recorder.getPercentile(100));
+        assertEquals(1, recorder.getPercentile(0.1));
+    }
+
+    @Test
+    public void onlyTheMostRecentLatenciesShouldBeKept() {
+        LatencyRecorder recorder = new LatencyRecorder(4);
+
+        for (int i = 1; i <= 10; i++) {
+            recorder.record(i);
+        }
+
+        assertEquals(10, recorder.getCount());
+        assertArrayEquals(new long[] { 7, 10 }, recorder.getPercentiles(25, 100));
+    }
+
+    @Test
+    public void emptyRecorderShouldReportZero() {
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        assertEquals(0, recorder.getPercentile(99));
+
+        recorder.record(5);
+        recorder.reset();
+
+        assertEquals(0, recorder.getCount());
+        assertEquals(0, recorder.getPercentile(50));
+    }
+
+    @Test
+    public void invalidArgumentsShouldBeRejected() {
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        assertThrows(IllegalArgumentException.class, () -> new LatencyRecorder(0));
+        assertThrows(IllegalArgumentException.class, () -> recorder.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> recorder.getPercentile(0));
+        assertThrows(IllegalArgumentException.class, () -> recorder.getPercentile(101));
+    }
+}
@@ -0,0 +1,234 @@
+package com.capital7software.ai.localsearch.server;
+
+import com.capital7software.ai.localsearch.LocalSearchProblem;
+import com.capital7software.ai.localsearch.SearchVariable;
+import com.capital7software.ai.localsearch.cache.SolutionCache;
+import com.capital7software.ai.localsearch.io.Json;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolveServerTest {
+    private static final String SMALL = """
+            {
+              "name": "small",
+              "semesters": [ { "id": 1 }, { "id": 2 } ],
+              "courses": [ "ICS 140", "ICS 141" ],
+              "constraints": [ { "type": "prerequisite", "course": "ICS 141", "prerequisite": "ICS 140" } ]
+            }
+            """;
+
+    private static final String UNSOLVABLE = """
+            {
+              "name": "unsolvable",
+              "semesters": [ { "id": 1 } ],
+              "courses": [ "ICS 140", "ICS 141" ],
+              "constraints": [ { "type": "prerequisite", "course": "ICS 141", "prerequisite": "ICS 140" } ]
+            }
+            """;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private SolveServer server;
+
+    private void start(int workers, int queueCapacity) throws IOException {
+        server = new SolveServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), workers, queueCapacity);
+        server.start();
+    }
+
+    @AfterEach
+    public void stop() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    private HttpRequest solveRequest(String query, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/solve" + query))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpResponse<String> solve(String query, String body) throws IOException, InterruptedException {
+        return client.send(solveRequest(query, body), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Map<?, ?> metrics() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/metrics"))
+                .GET().build();
+
+        return (Map<?, ?>) Json.parse(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    @Test
+    public void problemShouldBeSolved() throws IOException, InterruptedException {
+        start(2, 4);
+
+        HttpResponse<String> response = solve("?seed=7", SMALL);
+        Map<?, ?> result = (Map<?, ?>) Json.parse(response.body());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("small", result.get("name"));
+        assertEquals(true, result.get("solved"));
+        assertEquals(1L, ((Map<?, ?>) result.get("schedule")).get("ICS 140"));
+        assertEquals(2L, ((Map<?, ?>) result.get("schedule")).get("ICS 141"));
+    }
+
+    @Test
+    public void automaticStrategyShouldSolveTheProblem() throws IOException, InterruptedException {
+        start(1, 1);
+
+        HttpResponse<String> response = solve("?seed=7&strategy=auto", SMALL);
+
+        assertEquals(200, response.statusCode());
+        assertEquals(true, ((Map<?, ?>) Json.parse(response.body())).get("solved"));
+    }
+
+    @Test
+    public void deadlineShouldBeEnforced() throws IOException, InterruptedException {
+        start(1, 1);
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = solve("?deadline=200", UNSOLVABLE);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(200, response.statusCode());
+        assertEquals(false, ((Map<?, ?>) Json.parse(response.body())).get("solved"));
+        assertTrue(millis < 5_000, "took " + millis + " ms");
+    }
+
+    @Test
+    public void requestsShouldBeRejectedWhenThePoolIsFull() throws Exception {
+        start(1, 0);
+
+        CompletableFuture<HttpResponse<String>> first = client.sendAsync(solveRequest("?deadline=2000", UNSOLVABLE),
+                HttpResponse.BodyHandlers.ofString());
+
+        for (int i = 0; i < 200 && server.getActiveSearches() == 0; i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, server.getActiveSearches());
+
+        HttpResponse<String> second = solve("", SMALL);
+
+        assertEquals(503, second.statusCode());
+        assertEquals("1", second.headers().firstValue("Retry-After").orElse(null));
+        assertEquals(200, first.get().statusCode());
+        assertEquals(1L, metrics().get("rejected"));
+    }
+
+    @Test
+    public void deadlineThatPassesInTheQueueShouldTimeOut() throws Exception {
+        start(1, 1);
+
+        CompletableFuture<HttpResponse<String>> first = client.sendAsync(solveRequest("?deadline=1000", UNSOLVABLE),
+                HttpResponse.BodyHandlers.ofString());
+
+        for (int i = 0; i < 200 && server.getActiveSearches() == 0; i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(504, solve("?deadline=100", SMALL).statusCode());
+        assertEquals(200, first.get().statusCode());
+    }
+
+    @Test
+    public void invalidRequestsShouldBeRejected() throws IOException, InterruptedException {
+        start(1, 1);
+
+        assertEquals(400, solve("", "{ not json").statusCode());
+        assertEquals(400, solve("?deadline=-1", SMALL).statusCode());
+        assertEquals(400, solve("?strategy=fastest", SMALL).statusCode());
+
+        HttpResponse<String> overflow = solve("?maxAssignments=" + (Integer.MAX_VALUE + 1L), SMALL);
+
+        assertEquals(400, overflow.statusCode());
+        assertTrue(overflow.body().contains("out of range"), overflow.body());
+        assertTrue(solve("?deadline=-1", SMALL).body().contains("cannot be negative"));
+
+        HttpRequest get = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/solve"))
+                .GET().build();
+
+        assertEquals(405, client.send(get, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    @Test
+    public void bodiesLargerThanTheLimitShouldBeRejected() throws IOException, InterruptedException {
+        start(1, 1);
+
+        int size = SMALL.getBytes(StandardCharsets.UTF_8).length;
+
+        server.setMaxBodySize(size);
+        assertEquals(200, solve("", SMALL).statusCode());
+
+        server.setMaxBodySize(size - 1);
+        assertEquals(413, solve("", SMALL).statusCode());
+
+        assertThrows(IllegalArgumentException.class, () -> server.setMaxBodySize(0));
+        assertThrows(IllegalArgumentException.class, () -> server.setMaxBodySize(Integer.MAX_VALUE));
+        assertEquals(size - 1, server.getMaxBodySize());
+    }
+
+    @Test
+    public void solvedProblemShouldBeServedFromTheCache() throws IOException, InterruptedException {
+        start(1, 1);
+        server.setSolutionCache(new SolutionCache());
+
+        Map<?, ?> first = (Map<?, ?>) Json.parse(solve("", SMALL).body());
+        Map<?, ?> second = (Map<?, ?>) Json.parse(solve("", SMALL.replace("\"small\"", "\"renamed\"")).body());
+
+        assertEquals(false, first.get("cached"));
+        assertEquals(true, second.get("cached"));
+        assertEquals("renamed", second.get("name"));
+        assertEquals(first.get("schedule"), second.get("schedule"));
+        assertEquals(1L, metrics().get("cacheHits"));
+    }
+
+    @Test
+    public void solutionShouldBeReturnedWhenItCannotBeCached() throws IOException, InterruptedException {
+        start(1, 1);
+        server.setSolutionCache(new SolutionCache() {
+            @Override
+            public void put(LocalSearchProblem problem, Map<Object, SearchVariable> solution) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+        });
+
+        HttpResponse<String> response = solve("", SMALL);
+        Map<?, ?> body = (Map<?, ?>) Json.parse(response.body());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(true, body.get("solved"));
+        assertEquals(false, body.get("cached"));
+    }
+
+    @Test
+    public void metricsShouldReportLatencyPercentiles() throws IOException, InterruptedException {
+        start(2, 4);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, solve("?seed=" + i, SMALL).statusCode());
+        }
+
+        Map<?, ?> metrics = metrics();
+        Map<?, ?> latency = (Map<?, ?>) metrics.get("latencyMillis");
+
+        assertEquals(5L, metrics.get("requests"));
+        assertEquals(2L, metrics.get("workers"));
+        assertEquals(5L, latency.get("count"));
+        assertTrue(((Number) latency.get("p50")).doubleValue() > 0);
+        assertTrue(((Number) latency.get("max")).doubleValue() >= ((Number) latency.get("p99")).doubleValue());
+    }
+}
@@ -1,2 +1,3 @@
 rootProject.name = "localsearch-schedule"
 
+include("core", "cli", "server", "gui")
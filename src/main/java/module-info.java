@@ -1,10 +0,0 @@
-module com.capital7software.ai.localsearch {
-    requires javafx.controls;
-    requires javafx.fxml;
-    requires java.logging;
-    requires java.base;
-
-    opens com.capital7software.ai.localsearch to javafx.fxml;
-
-    exports com.capital7software.ai.localsearch;
-}
\ No newline at end of file